@@ -0,0 +1,230 @@
+package com.selimhorri.app.archive;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.OrderItemId;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves soft-deleted shippings whose last change is older than {@code minAge} from
+ * {@code order_items} into {@code order_items_archive}, so active-row queries and indexes
+ * stop wading through dead rows.
+ * <p>
+ * Rows are taken in primary key order, {@code batchSize} at a time, each batch locked,
+ * copied and deleted in its own short transaction and resumed from the last key instead
+ * of an offset. Between batches the archiver sleeps long enough to stay busy for at most
+ * {@code dutyCycle} of the time, so a database slowed down by live traffic gets
+ * proportionally longer pauses. A run stops after {@code maxBatchesPerRun} batches and the
+ * next one picks up where it left off.
+ * <p>
+ * With {@code measureImpact} on, a run also counts the hot table and times the full listing
+ * query before and after archiving. Both scan {@code order_items}, so it is meant for
+ * checking the effect of archiving on demand rather than for every scheduled run.
+ */
+@Slf4j
+public class ShippingArchiver {
+	
+	private static final String KEY_RANGE_START = "(order_id > ? OR (order_id = ? AND product_id > ?))";
+	private static final String KEY_RANGE_END = "(order_id < ? OR (order_id = ? AND product_id <= ?))";
+	private static final String ARCHIVABLE = "is_active = FALSE AND COALESCE(updated_at, created_at) < ?";
+	
+	private static final String SELECT_BATCH_SQL = "SELECT order_id, product_id FROM order_items WHERE "
+			+ ARCHIVABLE + " AND " + KEY_RANGE_START + " ORDER BY order_id, product_id LIMIT ? FOR UPDATE";
+	private static final String COPY_BATCH_SQL = "INSERT INTO order_items_archive "
+			+ "(order_id, product_id, ordered_quantity, order_status, created_at, deleted_at, archived_at) "
+			+ "SELECT order_id, product_id, ordered_quantity, order_status, created_at, updated_at, ? "
+			+ "FROM order_items WHERE " + ARCHIVABLE + " AND " + KEY_RANGE_START + " AND " + KEY_RANGE_END;
+	private static final String DELETE_BATCH_SQL = "DELETE FROM order_items WHERE "
+			+ ARCHIVABLE + " AND " + KEY_RANGE_START + " AND " + KEY_RANGE_END;
+	private static final String COUNT_SQL = "SELECT COUNT(*) FROM order_items";
+	// The listing's own query, timed as the hot-path cost of the dead rows
+	private static final String LISTING_PROBE_SQL = "SELECT order_id, product_id, ordered_quantity FROM order_items "
+			+ "WHERE is_active = TRUE AND order_status = 'ORDERED'";
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final Duration minAge;
+	private final int batchSize;
+	private final int maxBatchesPerRun;
+	private final double dutyCycle;
+	private final Duration minPause;
+	private final boolean measureImpact;
+	
+	private final AtomicLong archivedRows = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+	private final AtomicLong failedBatches = new AtomicLong();
+	private volatile long hotRows = -1L;
+	private volatile long listingQueryNanos = -1L;
+	
+	public ShippingArchiver(final JdbcTemplate jdbcTemplate, final TransactionTemplate transactionTemplate,
+			final Duration minAge, final int batchSize, final int maxBatchesPerRun, final double dutyCycle,
+			final Duration minPause, final boolean measureImpact) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.minAge = minAge;
+		this.batchSize = batchSize;
+		this.maxBatchesPerRun = maxBatchesPerRun;
+		this.dutyCycle = Math.max(0.01, Math.min(1.0, dutyCycle));
+		this.minPause = minPause;
+		this.measureImpact = measureImpact;
+	}
+	
+	/**
+	 * Archives what is due, up to {@code maxBatchesPerRun} batches, and reports the hot
+	 * table size and listing query time measured before and after, or {@code -1} for each
+	 * when {@code measureImpact} is off.
+	 */
+	public ArchiveRun archive() {
+		final long hotRowsBefore = this.measureImpact ? this.countHotRows() : -1L;
+		final long queryNanosBefore = this.measureImpact ? this.timeListingQuery() : -1L;
+		final Timestamp cutoff = Timestamp.from(Instant.now().minus(this.minAge));
+		
+		int archived = 0;
+		int batchCount = 0;
+		OrderItemId after = new OrderItemId(Integer.MIN_VALUE, Integer.MIN_VALUE);
+		while (batchCount < this.maxBatchesPerRun && !Thread.currentThread().isInterrupted()) {
+			final long startNanos = System.nanoTime();
+			final OrderItemId resumeFrom = after;
+			final List<OrderItemId> batch;
+			try {
+				batch = this.transactionTemplate.execute(status -> this.moveBatch(cutoff, resumeFrom));
+			} catch (RuntimeException e) {
+				this.failedBatches.incrementAndGet();
+				log.warn("*** ShippingArchiver; batch after {} failed, stopping this run: {} *", resumeFrom, e.getMessage());
+				break;
+			}
+			if (batch.isEmpty()) {
+				break;
+			}
+			archived += batch.size();
+			batchCount++;
+			this.archivedRows.addAndGet(batch.size());
+			this.batches.incrementAndGet();
+			after = batch.get(batch.size() - 1);
+			if (batch.size() < this.batchSize || !this.pause(System.nanoTime() - startNanos)) {
+				break;
+			}
+		}
+		
+		final boolean remeasure = this.measureImpact && archived > 0;
+		final long hotRowsAfter = remeasure ? this.countHotRows() : hotRowsBefore;
+		final long queryNanosAfter = remeasure ? this.timeListingQuery() : queryNanosBefore;
+		final ArchiveRun run = new ArchiveRun(archived, batchCount, hotRowsBefore, hotRowsAfter,
+				toMicros(queryNanosBefore), toMicros(queryNanosAfter));
+		if (remeasure) {
+			log.info("*** ShippingArchiver; archived {} rows in {} batches, hot table {} -> {} rows, "
+					+ "listing query {} -> {} us *", run.getArchivedRows(), run.getBatches(), run.getHotRowsBefore(),
+					run.getHotRowsAfter(), run.getListingQueryMicrosBefore(), run.getListingQueryMicrosAfter());
+		} else if (archived > 0) {
+			log.info("*** ShippingArchiver; archived {} rows in {} batches *", run.getArchivedRows(), run.getBatches());
+		}
+		return run;
+	}
+	
+	public long getArchivedRowCount() {
+		return this.archivedRows.get();
+	}
+	
+	public long getBatchCount() {
+		return this.batches.get();
+	}
+	
+	public long getFailedBatchCount() {
+		return this.failedBatches.get();
+	}
+	
+	/**
+	 * Rows in {@code order_items} as of the last measurement, {@code -1} before the first one.
+	 */
+	public long getHotRows() {
+		return this.hotRows;
+	}
+	
+	/**
+	 * Duration of the listing query as of the last measurement, {@code -1} before the first one.
+	 */
+	public long getListingQueryNanos() {
+		return this.listingQueryNanos;
+	}
+	
+	private List<OrderItemId> moveBatch(final Timestamp cutoff, final OrderItemId after) {
+		final List<OrderItemId> batch = this.jdbcTemplate.query(SELECT_BATCH_SQL,
+				(rs, rowNum) -> new OrderItemId(rs.getInt("order_id"), rs.getInt("product_id")),
+				cutoff, after.getOrderId(), after.getOrderId(), after.getProductId(), this.batchSize);
+		if (batch.isEmpty()) {
+			return batch;
+		}
+		final OrderItemId last = batch.get(batch.size() - 1);
+		final Object[] range = { cutoff, after.getOrderId(), after.getOrderId(), after.getProductId(),
+				last.getOrderId(), last.getOrderId(), last.getProductId() };
+		final Object[] copyArgs = new Object[range.length + 1];
+		copyArgs[0] = Timestamp.from(Instant.now());
+		System.arraycopy(range, 0, copyArgs, 1, range.length);
+		
+		final int copied = this.jdbcTemplate.update(COPY_BATCH_SQL, copyArgs);
+		final int deleted = this.jdbcTemplate.update(DELETE_BATCH_SQL, range);
+		if (copied != batch.size() || deleted != batch.size()) {
+			// A row in the range changed under us; roll back and let the next run retry
+			throw new IllegalStateException("Expected " + batch.size() + " rows, copied " + copied
+					+ " and deleted " + deleted);
+		}
+		return batch;
+	}
+	
+	private boolean pause(final long batchNanos) {
+		final long pauseNanos = Math.max(this.minPause.toNanos(),
+				(long) (batchNanos * (1.0 - this.dutyCycle) / this.dutyCycle));
+		try {
+			TimeUnit.NANOSECONDS.sleep(pauseNanos);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+	
+	private static long toMicros(final long nanos) {
+		return nanos < 0 ? -1L : TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+	
+	private long countHotRows() {
+		final Long count = this.jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+		this.hotRows = count != null ? count : 0L;
+		return this.hotRows;
+	}
+	
+	private long timeListingQuery() {
+		final long startNanos = System.nanoTime();
+		this.jdbcTemplate.query(LISTING_PROBE_SQL, rs -> {
+			// Rows are read and dropped; only the time matters
+		});
+		this.listingQueryNanos = System.nanoTime() - startNanos;
+		return this.listingQueryNanos;
+	}
+	
+	/**
+	 * Outcome of one {@link ShippingArchiver#archive()} run.
+	 */
+	@Value
+	public static class ArchiveRun {
+		
+		int archivedRows;
+		int batches;
+		long hotRowsBefore;
+		long hotRowsAfter;
+		long listingQueryMicrosBefore;
+		long listingQueryMicrosAfter;
+	
+	}
+
+}
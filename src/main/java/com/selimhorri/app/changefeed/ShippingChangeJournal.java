@@ -0,0 +1,175 @@
+package com.selimhorri.app.changefeed;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.dto.OrderStatus;
+import com.selimhorri.app.dto.ShippingChangeDto;
+import com.selimhorri.app.dto.ShippingChangeType;
+
+/**
+ * Appends shipping changes to {@code order_item_changes}, whose {@code change_id} is the
+ * cursor of the change feed.
+ * <p>
+ * Inside a transaction, changes are only collected and written just before it commits, in
+ * the same transaction: a rollback takes them along, and the gap between taking a
+ * {@code change_id} and committing it stays as short as possible. Ids are still handed out
+ * before commit, so a concurrent transaction may commit a lower id after a higher one was
+ * visible; {@link #read} therefore skips changes younger than the settle window a reader
+ * passes in, rather than letting a cursor jump past a change that is about to appear. Both
+ * the stamp and the cut-off come from the database clock, so skew between the instances
+ * that write and read the journal cannot eat into the window. Stamps keep microseconds, as
+ * MySQL would otherwise truncate them to the second and shorten the window by up to one.
+ */
+public class ShippingChangeJournal {
+	
+	private static final String INSERT_SQL = "INSERT INTO order_item_changes "
+			+ "(order_id, product_id, change_type, changed_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP(6))";
+	private static final String INSERT_ORDER_SQL = "INSERT INTO order_item_changes "
+			+ "(order_id, product_id, change_type, changed_at) "
+			+ "SELECT order_id, product_id, ?, CURRENT_TIMESTAMP(6) FROM order_items WHERE order_id = ? ORDER BY product_id";
+	private static final String READ_SQL = "SELECT c.change_id, c.change_type, c.order_id, c.product_id, c.changed_at, "
+			+ "i.is_active, i.ordered_quantity, i.order_status FROM order_item_changes c "
+			+ "LEFT JOIN order_items i ON i.order_id = c.order_id AND i.product_id = c.product_id "
+			+ "WHERE c.change_id > ? AND c.changed_at <= TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(6)) "
+			+ "ORDER BY c.change_id LIMIT ?";
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final AtomicLong recorded = new AtomicLong();
+	
+	public ShippingChangeJournal(final JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+	
+	/**
+	 * Journals a change of one shipping.
+	 */
+	public void record(final ShippingChangeType changeType, final int orderId, final int productId) {
+		this.enqueue(new PendingChange(changeType, orderId, productId));
+	}
+	
+	/**
+	 * Journals a change of every shipping of the order, e.g. a new order status.
+	 */
+	public void recordOrder(final ShippingChangeType changeType, final int orderId) {
+		this.enqueue(new PendingChange(changeType, orderId, null));
+	}
+	
+	/**
+	 * Up to {@code limit} changes after {@code since} that were journaled at least
+	 * {@code settleWindow} ago by the database clock, oldest first.
+	 */
+	public List<ShippingChangeDto> read(final long since, final Duration settleWindow, final int limit) {
+		return this.jdbcTemplate.query(READ_SQL, ShippingChangeJournal::mapRow,
+				since, -TimeUnit.NANOSECONDS.toMicros(settleWindow.toNanos()), limit);
+	}
+	
+	public long getRecordedCount() {
+		return this.recorded.get();
+	}
+	
+	private void enqueue(final PendingChange change) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			this.write(List.of(change));
+			return;
+		}
+		@SuppressWarnings("unchecked")
+		List<PendingChange> pending = (List<PendingChange>) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			pending = new ArrayList<>();
+			TransactionSynchronizationManager.bindResource(this, pending);
+			TransactionSynchronizationManager.registerSynchronization(new FlushBeforeCommit(pending));
+		}
+		pending.add(change);
+	}
+	
+	private void write(final List<PendingChange> changes) {
+		final List<Object[]> single = new ArrayList<>(changes.size());
+		for (final PendingChange change : changes) {
+			if (change.productId == null) {
+				this.recorded.addAndGet(this.jdbcTemplate.update(INSERT_ORDER_SQL,
+						change.changeType.name(), change.orderId));
+			} else {
+				single.add(new Object[] { change.orderId, change.productId, change.changeType.name() });
+			}
+		}
+		if (!single.isEmpty()) {
+			this.jdbcTemplate.batchUpdate(INSERT_SQL, single);
+			this.recorded.addAndGet(single.size());
+		}
+	}
+	
+	private static ShippingChangeDto mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+		final String orderStatus = rs.getString("order_status");
+		final int orderedQuantity = rs.getInt("ordered_quantity");
+		return ShippingChangeDto.builder()
+				.changeId(rs.getLong("change_id"))
+				.changeType(ShippingChangeType.valueOf(rs.getString("change_type")))
+				.orderId(rs.getInt("order_id"))
+				.productId(rs.getInt("product_id"))
+				.changedAt(rs.getTimestamp("changed_at").toInstant())
+				// An archived row joins as all nulls and reads as inactive
+				.active(rs.getBoolean("is_active"))
+				.orderedQuantity(rs.wasNull() ? null : orderedQuantity)
+				.orderStatus(orderStatus != null ? OrderStatus.valueOf(orderStatus) : null)
+				.build();
+	}
+	
+	private static final class PendingChange {
+		
+		private final ShippingChangeType changeType;
+		private final int orderId;
+		private final Integer productId;
+		
+		PendingChange(final ShippingChangeType changeType, final int orderId, final Integer productId) {
+			this.changeType = changeType;
+			this.orderId = orderId;
+			this.productId = productId;
+		}
+	
+	}
+	
+	/**
+	 * Writes the transaction's changes on commit and keeps them bound to it, not to the
+	 * thread, while an inner transaction suspends it.
+	 */
+	private final class FlushBeforeCommit implements TransactionSynchronization {
+		
+		private final List<PendingChange> pending;
+		
+		FlushBeforeCommit(final List<PendingChange> pending) {
+			this.pending = pending;
+		}
+		
+		@Override
+		public void suspend() {
+			TransactionSynchronizationManager.unbindResource(ShippingChangeJournal.this);
+		}
+		
+		@Override
+		public void resume() {
+			TransactionSynchronizationManager.bindResource(ShippingChangeJournal.this, this.pending);
+		}
+		
+		@Override
+		public void beforeCommit(final boolean readOnly) {
+			write(this.pending);
+		}
+		
+		@Override
+		public void afterCompletion(final int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(ShippingChangeJournal.this);
+		}
+	
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.selimhorri.app.client;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.client.cache.NegativeLookupCache;
+import com.selimhorri.app.client.cache.RefreshAheadCache;
+import com.selimhorri.app.client.hedging.HedgedRequestExecutor;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderDto;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Thin wrapper over the ORDER-SERVICE endpoints used by shipping.
+ * Errors are propagated as {@link org.springframework.web.client.RestClientException}
+ * so that each caller keeps its own failure semantics. Lookups are idempotent and go
+ * through the {@link HedgedRequestExecutor}, and orders known to be missing are
+ * answered from a {@link NegativeLookupCache}. Read paths use {@link #findCachedById(int)},
+ * served from a {@link RefreshAheadCache} that drops an order whenever its status is known
+ * to have moved.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderClient {
+	
+	private final RestTemplate restTemplate;
+	private final HedgedRequestExecutor hedgedRequestExecutor;
+	@Qualifier("orderNotFoundCache")
+	private final NegativeLookupCache<OrderDto> notFoundCache;
+	@Qualifier("orderLookupCache")
+	private final RefreshAheadCache<OrderDto> lookupCache;
+	
+	public OrderDto findById(final int orderId) {
+		return this.notFoundCache.lookup(orderId, () -> this.hedgedRequestExecutor.getForObject(
+				AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" + orderId,
+				OrderDto.class));
+	}
+	
+	/**
+	 * Like {@link #findById(int)}, but possibly answered from the cache. Not for checks
+	 * that decide whether a write may go ahead.
+	 */
+	public OrderDto findCachedById(final int orderId) {
+		return this.lookupCache.get(orderId, () -> this.findById(orderId));
+	}
+	
+	/**
+	 * Drops whatever is cached for an order that has been heard of in the meantime,
+	 * a "not found" as well as a copy with an outdated status.
+	 */
+	public void forget(final int orderId) {
+		this.notFoundCache.evict(orderId);
+		this.lookupCache.evict(orderId);
+	}
+	
+	public void advanceStatus(final int orderId) {
+		try {
+			this.restTemplate.patchForObject(
+					AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" + orderId + "/status",
+					null, // No request body
+					Void.class);
+		} finally {
+			// Even a failed PATCH may have gone through, so never serve the old status
+			this.lookupCache.evict(orderId);
+		}
+	}
+	
+}
@@ -0,0 +1,46 @@
+package com.selimhorri.app.client;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.client.cache.NegativeLookupCache;
+import com.selimhorri.app.client.cache.RefreshAheadCache;
+import com.selimhorri.app.client.hedging.HedgedRequestExecutor;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.ProductDto;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Thin wrapper over the PRODUCT-SERVICE endpoints used by shipping.
+ * Errors are propagated as {@link org.springframework.web.client.RestClientException}
+ * so that each caller keeps its own failure semantics. Lookups are idempotent and go
+ * through the {@link HedgedRequestExecutor}, and products known to be missing are
+ * answered from a {@link NegativeLookupCache}. Read paths that can live with a product a
+ * few seconds old use {@link #findCachedById(int)}, which is served from a {@link RefreshAheadCache}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductClient {
+	
+	private final HedgedRequestExecutor hedgedRequestExecutor;
+	@Qualifier("productNotFoundCache")
+	private final NegativeLookupCache<ProductDto> notFoundCache;
+	@Qualifier("productLookupCache")
+	private final RefreshAheadCache<ProductDto> lookupCache;
+	
+	public ProductDto findById(final int productId) {
+		return this.notFoundCache.lookup(productId, () -> this.hedgedRequestExecutor.getForObject(
+				AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/" + productId,
+				ProductDto.class));
+	}
+	
+	/**
+	 * Like {@link #findById(int)}, but possibly answered from the cache. Not for checks
+	 * that must see the current stock.
+	 */
+	public ProductDto findCachedById(final int productId) {
+		return this.lookupCache.get(productId, () -> this.findById(productId));
+	}
+	
+}
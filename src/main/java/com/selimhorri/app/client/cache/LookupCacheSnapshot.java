@@ -0,0 +1,319 @@
+package com.selimhorri.app.client.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Saves the lookup caches to a file and puts them back on startup, so a restarted instance
+ * answers from warm caches instead of sending every first read to the product and order
+ * services.
+ * <p>
+ * The file is written through a memory-mapped temporary file that is forced to disk and
+ * then moved over the previous snapshot, so a crash mid-write leaves the old one intact. A
+ * 24-byte header holds a magic number, the format version, the time of writing, the body
+ * length and a CRC32 of the body; the body has one section per cache with each entry's id,
+ * age at writing and encoded value. An entry comes back with its age plus the time the file
+ * sat on disk, and only while that is under its section's {@code maxAgeMillis}; that limit is
+ * independent of the cache's TTL, as a restored entry is renewed on its first read. A missing,
+ * foreign, corrupt or unknown-version file is ignored and the caches start cold.
+ */
+@Slf4j
+public class LookupCacheSnapshot {
+	
+	static final int MAGIC = 0x53485053; // "SHPS"
+	static final short VERSION = 1;
+	static final int HEADER_BYTES = 24;
+	private static final int ENTRY_OVERHEAD = Integer.BYTES + Long.BYTES;
+	
+	private final Path path;
+	// Keyed by cache name, in the order sections are written
+	private final Map<String, Section<?>> sections = new LinkedHashMap<>();
+	
+	private final AtomicLong savedEntries = new AtomicLong();
+	private final AtomicLong restoredEntries = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+	private volatile long lastSaveBytes;
+	
+	public LookupCacheSnapshot(final Path path) {
+		this.path = path;
+	}
+	
+	/**
+	 * Includes {@code cache} in the snapshot; its entries are restored while younger than
+	 * {@code maxAgeMillis}.
+	 */
+	public <T> LookupCacheSnapshot section(final RefreshAheadCache<T> cache, final SnapshotCodec<T> codec,
+			final long maxAgeMillis) {
+		this.sections.put(cache.getName(), new Section<>(cache, codec, maxAgeMillis));
+		return this;
+	}
+	
+	public Path getPath() {
+		return this.path;
+	}
+	
+	/**
+	 * Writes the live entries of every section and returns how many were saved.
+	 */
+	public synchronized int save() throws IOException {
+		final List<Collected<?>> collected = new ArrayList<>(this.sections.size());
+		long bound = HEADER_BYTES + Integer.BYTES;
+		for (final Section<?> section : this.sections.values()) {
+			final Collected<?> entries = section.collect();
+			bound += entries.maxEncodedSize();
+			collected.add(entries);
+		}
+		if (bound > Integer.MAX_VALUE) {
+			throw new IOException("Lookup cache snapshot would exceed " + Integer.MAX_VALUE + " bytes");
+		}
+		
+		final Path tmp = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+		final int written;
+		final int entryCount;
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bound);
+			buffer.position(HEADER_BYTES);
+			buffer.putInt(collected.size());
+			int count = 0;
+			for (final Collected<?> entries : collected) {
+				count += entries.writeTo(buffer);
+			}
+			written = buffer.position();
+			entryCount = count;
+			
+			final ByteBuffer body = buffer.duplicate();
+			body.position(HEADER_BYTES).limit(written);
+			final CRC32 crc = new CRC32();
+			crc.update(body);
+			buffer.putInt(0, MAGIC);
+			buffer.putShort(4, VERSION);
+			buffer.putShort(6, (short) 0);
+			buffer.putLong(8, System.currentTimeMillis());
+			buffer.putInt(16, written - HEADER_BYTES);
+			buffer.putInt(20, (int) crc.getValue());
+			buffer.force();
+			channel.truncate(written);
+			channel.force(true);
+		} catch (IOException | RuntimeException e) {
+			this.failures.incrementAndGet();
+			Files.deleteIfExists(tmp);
+			throw e;
+		}
+		try {
+			Files.move(tmp, this.path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tmp, this.path, StandardCopyOption.REPLACE_EXISTING);
+		}
+		this.savedEntries.addAndGet(entryCount);
+		this.lastSaveBytes = written;
+		log.debug("Saved {} lookup cache entries ({} bytes) to {}", entryCount, written, this.path);
+		return entryCount;
+	}
+	
+	/**
+	 * Puts the snapshot's entries back into their caches and returns how many were restored;
+	 * a missing or unreadable file restores nothing.
+	 */
+	public synchronized int restore() {
+		if (!Files.isRegularFile(this.path)) {
+			return 0;
+		}
+		try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			if (size < HEADER_BYTES + Integer.BYTES || size > Integer.MAX_VALUE) {
+				throw new SnapshotFormatException("unexpected size " + size);
+			}
+			final int restored = this.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+			this.restoredEntries.addAndGet(restored);
+			log.info("*** LookupCacheSnapshot; restored {} lookup cache entries from {} *", restored, this.path);
+			return restored;
+		} catch (NoSuchFileException e) {
+			return 0;
+		} catch (IOException | RuntimeException e) {
+			this.failures.incrementAndGet();
+			log.warn("*** LookupCacheSnapshot; ignoring {}, starting with cold caches: {} *", this.path, e.getMessage());
+			return 0;
+		}
+	}
+	
+	/**
+	 * Saves one last time on shutdown; a failure is logged, as the next start merely begins
+	 * with whatever snapshot is left.
+	 */
+	public void close() {
+		try {
+			final int saved = this.save();
+			log.info("*** LookupCacheSnapshot; saved {} lookup cache entries to {} on shutdown *", saved, this.path);
+		} catch (IOException | RuntimeException e) {
+			log.warn("*** LookupCacheSnapshot; could not save {} on shutdown: {} *", this.path, e.getMessage());
+		}
+	}
+	
+	public long getSavedEntryCount() {
+		return this.savedEntries.get();
+	}
+	
+	public long getRestoredEntryCount() {
+		return this.restoredEntries.get();
+	}
+	
+	/**
+	 * Saves that failed plus snapshots that could not be read.
+	 */
+	public long getFailureCount() {
+		return this.failures.get();
+	}
+	
+	public long getLastSaveBytes() {
+		return this.lastSaveBytes;
+	}
+	
+	private int read(final ByteBuffer buffer) {
+		if (buffer.getInt(0) != MAGIC) {
+			throw new SnapshotFormatException("not a lookup cache snapshot");
+		}
+		final short version = buffer.getShort(4);
+		if (version != VERSION) {
+			throw new SnapshotFormatException("unsupported version " + version);
+		}
+		final long writtenAtMillis = buffer.getLong(8);
+		final int bodyLength = buffer.getInt(16);
+		if (bodyLength != buffer.limit() - HEADER_BYTES) {
+			throw new SnapshotFormatException("body length " + bodyLength + " does not match the file");
+		}
+		final ByteBuffer body = buffer.duplicate();
+		body.position(HEADER_BYTES);
+		final CRC32 crc = new CRC32();
+		crc.update(body.duplicate());
+		if ((int) crc.getValue() != buffer.getInt(20)) {
+			throw new SnapshotFormatException("checksum mismatch");
+		}
+		
+		// Time on disk counts towards every entry's age; a clock that went back counts as none
+		final long idleMillis = Math.max(0L, System.currentTimeMillis() - writtenAtMillis);
+		int restored = 0;
+		final int sectionCount = body.getInt();
+		for (int i = 0; i < sectionCount; i++) {
+			final byte[] name = new byte[body.getShort()];
+			body.get(name);
+			final int entryCount = body.getInt();
+			final int sectionBytes = body.getInt();
+			final ByteBuffer entries = body.slice();
+			entries.limit(sectionBytes);
+			body.position(body.position() + sectionBytes);
+			final Section<?> section = this.sections.get(new String(name, StandardCharsets.UTF_8));
+			if (section != null) {
+				restored += section.restore(entries, entryCount, idleMillis);
+			}
+		}
+		return restored;
+	}
+	
+	private static final class Section<T> {
+		
+		private final RefreshAheadCache<T> cache;
+		private final SnapshotCodec<T> codec;
+		private final long maxAgeMillis;
+		
+		Section(final RefreshAheadCache<T> cache, final SnapshotCodec<T> codec, final long maxAgeMillis) {
+			this.cache = cache;
+			this.codec = codec;
+			this.maxAgeMillis = maxAgeMillis;
+		}
+		
+		Collected<T> collect() {
+			final Collected<T> collected = new Collected<>(this);
+			this.cache.forEach(collected::add);
+			return collected;
+		}
+		
+		int restore(final ByteBuffer entries, final int entryCount, final long idleMillis) {
+			int restored = 0;
+			for (int i = 0; i < entryCount; i++) {
+				final int id = entries.getInt();
+				final long ageMillis = entries.getLong();
+				final T value = this.codec.decode(entries);
+				if (this.cache.restore(id, value, ageMillis + idleMillis, this.maxAgeMillis)) {
+					restored++;
+				}
+			}
+			return restored;
+		}
+	
+	}
+	
+	/**
+	 * Entries of one section taken from the cache, least recently read first so restoring
+	 * them in order rebuilds the same eviction order.
+	 */
+	private static final class Collected<T> {
+		
+		private final Section<T> section;
+		private final byte[] name;
+		private final List<Integer> ids = new ArrayList<>();
+		private final List<T> values = new ArrayList<>();
+		private final List<Long> ages = new ArrayList<>();
+		private long maxValueBytes;
+		
+		Collected(final Section<T> section) {
+			this.section = section;
+			this.name = section.cache.getName().getBytes(StandardCharsets.UTF_8);
+		}
+		
+		void add(final int id, final T value, final long ageMillis) {
+			this.ids.add(id);
+			this.values.add(value);
+			this.ages.add(ageMillis);
+			this.maxValueBytes += ENTRY_OVERHEAD + this.section.codec.maxEncodedSize(value);
+		}
+		
+		long maxEncodedSize() {
+			return Short.BYTES + this.name.length + 2 * Integer.BYTES + this.maxValueBytes;
+		}
+		
+		int writeTo(final ByteBuffer buffer) {
+			buffer.putShort((short) this.name.length);
+			buffer.put(this.name);
+			buffer.putInt(this.ids.size());
+			final int lengthAt = buffer.position();
+			buffer.putInt(0);
+			for (int i = 0; i < this.ids.size(); i++) {
+				buffer.putInt(this.ids.get(i));
+				buffer.putLong(this.ages.get(i));
+				this.section.codec.encode(this.values.get(i), buffer);
+			}
+			buffer.putInt(lengthAt, buffer.position() - lengthAt - Integer.BYTES);
+			return this.ids.size();
+		}
+	
+	}
+	
+	private static final class SnapshotFormatException extends RuntimeException {
+		
+		private static final long serialVersionUID = 1L;
+		
+		SnapshotFormatException(final String message) {
+			super(message);
+		}
+	
+	}
+
+}
@@ -0,0 +1,143 @@
+package com.selimhorri.app.client.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * Field by field codecs of the looked up products and orders. Only what this service reads
+ * is kept, so nested order items are dropped. Every field is nullable: numbers carry a
+ * presence byte and strings a length of {@code -1}.
+ */
+public final class LookupSnapshotCodecs {
+	
+	public static final SnapshotCodec<ProductDto> PRODUCT = new SnapshotCodec<>() {
+		
+		@Override
+		public int maxEncodedSize(final ProductDto product) {
+			return 5 + maxSize(product.getProductTitle()) + maxSize(product.getImageUrl()) + maxSize(product.getSku()) + 9 + 5;
+		}
+		
+		@Override
+		public void encode(final ProductDto product, final ByteBuffer out) {
+			putInt(out, product.getProductId());
+			putString(out, product.getProductTitle());
+			putString(out, product.getImageUrl());
+			putString(out, product.getSku());
+			putDouble(out, product.getPriceUnit());
+			putInt(out, product.getQuantity());
+		}
+		
+		@Override
+		public ProductDto decode(final ByteBuffer in) {
+			return ProductDto.builder()
+					.productId(getInt(in))
+					.productTitle(getString(in))
+					.imageUrl(getString(in))
+					.sku(getString(in))
+					.priceUnit(getDouble(in))
+					.quantity(getInt(in))
+					.build();
+		}
+		
+	};
+	
+	public static final SnapshotCodec<OrderDto> ORDER = new SnapshotCodec<>() {
+		
+		@Override
+		public int maxEncodedSize(final OrderDto order) {
+			return 5 + 13 + maxSize(order.getOrderDesc()) + 9 + maxSize(order.getOrderStatus());
+		}
+		
+		@Override
+		public void encode(final OrderDto order, final ByteBuffer out) {
+			putInt(out, order.getOrderId());
+			putDateTime(out, order.getOrderDate());
+			putString(out, order.getOrderDesc());
+			putDouble(out, order.getOrderFee());
+			putString(out, order.getOrderStatus());
+		}
+		
+		@Override
+		public OrderDto decode(final ByteBuffer in) {
+			return OrderDto.builder()
+					.orderId(getInt(in))
+					.orderDate(getDateTime(in))
+					.orderDesc(getString(in))
+					.orderFee(getDouble(in))
+					.orderStatus(getString(in))
+					.build();
+		}
+		
+	};
+	
+	private LookupSnapshotCodecs() {
+	}
+	
+	private static int maxSize(final String value) {
+		return Integer.BYTES + (value == null ? 0 : 3 * value.length());
+	}
+	
+	private static void putInt(final ByteBuffer out, final Integer value) {
+		out.put((byte) (value == null ? 0 : 1));
+		out.putInt(value == null ? 0 : value);
+	}
+	
+	private static Integer getInt(final ByteBuffer in) {
+		final boolean present = in.get() != 0;
+		final int value = in.getInt();
+		return present ? value : null;
+	}
+	
+	private static void putDouble(final ByteBuffer out, final Double value) {
+		out.put((byte) (value == null ? 0 : 1));
+		out.putDouble(value == null ? 0.0 : value);
+	}
+	
+	private static Double getDouble(final ByteBuffer in) {
+		final boolean present = in.get() != 0;
+		final double value = in.getDouble();
+		return present ? value : null;
+	}
+	
+	private static void putDateTime(final ByteBuffer out, final LocalDateTime value) {
+		out.put((byte) (value == null ? 0 : 1));
+		out.putLong(value == null ? 0L : value.toEpochSecond(ZoneOffset.UTC));
+		out.putInt(value == null ? 0 : value.getNano());
+	}
+	
+	private static LocalDateTime getDateTime(final ByteBuffer in) {
+		final boolean present = in.get() != 0;
+		final long epochSecond = in.getLong();
+		final int nano = in.getInt();
+		return present ? LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC) : null;
+	}
+	
+	private static void putString(final ByteBuffer out, final String value) {
+		if (value == null) {
+			out.putInt(-1);
+			return;
+		}
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.putInt(bytes.length);
+		out.put(bytes);
+	}
+	
+	private static String getString(final ByteBuffer in) {
+		final int length = in.getInt();
+		if (length < 0) {
+			return null;
+		}
+		if (length > in.remaining()) {
+			throw new IllegalArgumentException("String of " + length + " bytes overruns the snapshot");
+		}
+		final byte[] bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+}
@@ -0,0 +1,140 @@
+package com.selimhorri.app.client.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Remembers for a short while which ids a downstream service does not know, so listings
+ * do not ask again for the same dead product or order on every request.
+ * <p>
+ * Only definitive answers are cached: a 404 or an empty body. The original 404 is kept
+ * and rethrown on a hit, so callers see exactly what the remote call would have produced
+ * without paying for the round trip or the exception. Transient failures such as 5xx,
+ * timeouts or I/O errors are never cached. The cache is bounded and evicts the oldest
+ * entries first; a TTL of zero disables it.
+ */
+public class NegativeLookupCache<T> {
+	
+	private final String name;
+	private final long ttlNanos;
+	private final int maxEntries;
+	// Guarded by itself; insertion order makes the eldest entry the first to expire
+	private final Map<Integer, Entry> entries;
+	
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	
+	public NegativeLookupCache(final String name, final long ttlMillis, final int maxEntries) {
+		this.name = name;
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+		this.maxEntries = maxEntries;
+		this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Integer, Entry> eldest) {
+				return this.size() > maxEntries;
+			}
+		};
+	}
+	
+	public String getName() {
+		return this.name;
+	}
+	
+	/**
+	 * Runs {@code lookup} unless {@code id} is known to be missing, in which case the
+	 * cached outcome is replayed: {@code null} for an empty body, the original 404 otherwise.
+	 */
+	public T lookup(final int id, final Supplier<T> lookup) {
+		if (this.ttlNanos <= 0 || this.maxEntries <= 0) {
+			return lookup.get();
+		}
+		final Entry cached = this.get(id);
+		if (cached != null) {
+			this.hits.incrementAndGet();
+			if (cached.notFound != null) {
+				throw cached.notFound;
+			}
+			return null;
+		}
+		this.misses.incrementAndGet();
+		final T result;
+		try {
+			result = lookup.get();
+		} catch (HttpClientErrorException.NotFound e) {
+			this.put(id, e);
+			throw e;
+		}
+		if (result == null) {
+			this.put(id, null);
+		}
+		return result;
+	}
+	
+	/**
+	 * Forgets a cached miss, e.g. once the id is known to exist after all.
+	 */
+	public void evict(final int id) {
+		synchronized (this.entries) {
+			this.entries.remove(id);
+		}
+	}
+	
+	/**
+	 * Remote calls saved by replaying a cached miss.
+	 */
+	public long getHitCount() {
+		return this.hits.get();
+	}
+	
+	public long getMissCount() {
+		return this.misses.get();
+	}
+	
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+	
+	private Entry get(final int id) {
+		synchronized (this.entries) {
+			final Entry entry = this.entries.get(id);
+			if (entry == null) {
+				return null;
+			}
+			if (System.nanoTime() - entry.expiresAtNanos >= 0) {
+				this.entries.remove(id);
+				return null;
+			}
+			return entry;
+		}
+	}
+	
+	private void put(final int id, final HttpClientErrorException.NotFound notFound) {
+		final Entry entry = new Entry(System.nanoTime() + this.ttlNanos, notFound);
+		synchronized (this.entries) {
+			// Re-inserting moves the id to the young end of the eviction order
+			this.entries.remove(id);
+			this.entries.put(id, entry);
+		}
+	}
+	
+	private static final class Entry {
+		
+		private final long expiresAtNanos;
+		private final HttpClientErrorException.NotFound notFound;
+		
+		Entry(final long expiresAtNanos, final HttpClientErrorException.NotFound notFound) {
+			this.expiresAtNanos = expiresAtNanos;
+			this.notFound = notFound;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,288 @@
+package com.selimhorri.app.client.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.web.client.HttpClientErrorException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps recently read products or orders for {@code ttl}, and renews a hot entry in the
+ * background before it expires so readers do not periodically pay for the round trip.
+ * <p>
+ * A read that lands in the last {@code refreshAheadFraction} of an entry's lifetime still
+ * gets the cached value straight away, and starts at most one reload of that id on
+ * {@code refreshExecutor}. No more than {@code maxConcurrentRefreshes} reloads are in
+ * flight at once; reads past the cap are simply served the current value and the entry is
+ * picked up again by a later read. A failed reload keeps the old value until it expires,
+ * while a 404 or an empty body drops it. Only entries that are read get renewed, so cold
+ * ids expire on schedule. The cache is bounded and evicts the least recently read entries;
+ * a TTL of zero disables it.
+ */
+@Slf4j
+public class RefreshAheadCache<T> {
+	
+	private final String name;
+	private final long ttlNanos;
+	private final long refreshAheadNanos;
+	private final int maxEntries;
+	private final Executor refreshExecutor;
+	private final Semaphore refreshPermits;
+	// Guarded by itself; access order makes the least recently read entry the first to go
+	private final Map<Integer, Entry<T>> entries;
+	
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong refreshes = new AtomicLong();
+	private final AtomicLong failedRefreshes = new AtomicLong();
+	private final AtomicLong skippedRefreshes = new AtomicLong();
+	private final AtomicLong refreshLagNanos = new AtomicLong();
+	
+	public RefreshAheadCache(final String name, final long ttlMillis, final double refreshAheadFraction,
+			final int maxEntries, final Executor refreshExecutor, final int maxConcurrentRefreshes) {
+		this.name = name;
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+		this.refreshAheadNanos = (long) (this.ttlNanos * Math.max(0.0, Math.min(1.0, refreshAheadFraction)));
+		this.maxEntries = maxEntries;
+		this.refreshExecutor = refreshExecutor;
+		this.refreshPermits = new Semaphore(Math.max(0, maxConcurrentRefreshes));
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Integer, Entry<T>> eldest) {
+				return this.size() > maxEntries;
+			}
+		};
+	}
+	
+	public String getName() {
+		return this.name;
+	}
+	
+	/**
+	 * Returns the cached value of {@code id}, scheduling a renewal if it is about to expire,
+	 * or runs {@code lookup} on the calling thread when there is none. {@code lookup} is kept
+	 * for the renewal, so it must stand on its own off the request thread.
+	 */
+	public T get(final int id, final Supplier<T> lookup) {
+		if (this.ttlNanos <= 0 || this.maxEntries <= 0) {
+			return lookup.get();
+		}
+		final long now = System.nanoTime();
+		final Entry<T> cached = this.current(id, now);
+		if (cached != null) {
+			this.hits.incrementAndGet();
+			if (now - cached.refreshAtNanos >= 0) {
+				this.refreshAhead(id, cached, lookup, now);
+			}
+			return cached.value;
+		}
+		this.misses.incrementAndGet();
+		final T result = lookup.get();
+		if (result != null) {
+			this.put(id, null, result);
+		}
+		return result;
+	}
+	
+	/**
+	 * Forgets {@code id}, e.g. once its remote state is known to have changed.
+	 */
+	public void evict(final int id) {
+		synchronized (this.entries) {
+			this.entries.remove(id);
+		}
+	}
+	
+	public long getHitCount() {
+		return this.hits.get();
+	}
+	
+	public long getMissCount() {
+		return this.misses.get();
+	}
+	
+	/**
+	 * Background reloads that brought back a value or found the id gone.
+	 */
+	public long getRefreshCount() {
+		return this.refreshes.get();
+	}
+	
+	public long getFailedRefreshCount() {
+		return this.failedRefreshes.get();
+	}
+	
+	/**
+	 * Renewals not started because {@code maxConcurrentRefreshes} were already in flight.
+	 */
+	public long getSkippedRefreshCount() {
+		return this.skippedRefreshes.get();
+	}
+	
+	/**
+	 * Summed time from the read that triggered each completed reload until the fresh value
+	 * was in place, in nanoseconds.
+	 */
+	public long getRefreshLagNanos() {
+		return this.refreshLagNanos.get();
+	}
+	
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+	
+	/**
+	 * Visits the live entries from least to most recently read, with how long ago each
+	 * value was loaded, e.g. to save them across a restart.
+	 */
+	public void forEach(final EntryVisitor<T> visitor) {
+		final long now = System.nanoTime();
+		final List<Map.Entry<Integer, Entry<T>>> live;
+		synchronized (this.entries) {
+			live = new ArrayList<>(this.entries.entrySet());
+		}
+		for (final Map.Entry<Integer, Entry<T>> entry : live) {
+			if (now - entry.getValue().expiresAtNanos < 0) {
+				visitor.visit(entry.getKey(), entry.getValue().value,
+						TimeUnit.NANOSECONDS.toMillis(now - entry.getValue().loadedAtNanos));
+			}
+		}
+	}
+	
+	/**
+	 * Puts back a value loaded {@code ageMillis} ago, unless the id is already cached. It is
+	 * served until it is {@code maxAgeMillis} old, which may be well past the TTL, but comes
+	 * back due for renewal: the first read gets it straight away and reloads it in the
+	 * background as for any other entry, so a stale value is served at most until then.
+	 */
+	public boolean restore(final int id, final T value, final long ageMillis, final long maxAgeMillis) {
+		if (this.ttlNanos <= 0 || this.maxEntries <= 0 || value == null || ageMillis < 0 || ageMillis >= maxAgeMillis) {
+			return false;
+		}
+		final long now = System.nanoTime();
+		final long loadedAtNanos = now - TimeUnit.MILLISECONDS.toNanos(ageMillis);
+		final Entry<T> entry = new Entry<>(value, loadedAtNanos, now,
+				loadedAtNanos + TimeUnit.MILLISECONDS.toNanos(maxAgeMillis));
+		synchronized (this.entries) {
+			return this.entries.putIfAbsent(id, entry) == null;
+		}
+	}
+	
+	private void refreshAhead(final int id, final Entry<T> cached, final Supplier<T> lookup, final long triggeredAtNanos) {
+		if (!cached.refreshing.compareAndSet(false, true)) {
+			return;
+		}
+		if (!this.refreshPermits.tryAcquire()) {
+			cached.refreshing.set(false);
+			this.skippedRefreshes.incrementAndGet();
+			return;
+		}
+		try {
+			this.refreshExecutor.execute(() -> {
+				try {
+					this.reload(id, cached, lookup);
+					this.refreshes.incrementAndGet();
+					this.refreshLagNanos.addAndGet(System.nanoTime() - triggeredAtNanos);
+				} catch (RuntimeException e) {
+					this.failedRefreshes.incrementAndGet();
+					log.debug("Refresh of {} {} failed: {}", this.name, id, e.toString());
+					// Leave the old value in place and let a later read try again
+					cached.refreshing.set(false);
+				} finally {
+					this.refreshPermits.release();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			this.refreshPermits.release();
+			cached.refreshing.set(false);
+			this.skippedRefreshes.incrementAndGet();
+		}
+	}
+	
+	private void reload(final int id, final Entry<T> cached, final Supplier<T> lookup) {
+		final T result;
+		try {
+			result = lookup.get();
+		} catch (HttpClientErrorException.NotFound e) {
+			this.remove(id, cached);
+			return;
+		}
+		if (result == null) {
+			this.remove(id, cached);
+		} else {
+			this.put(id, cached, result);
+		}
+	}
+	
+	private Entry<T> current(final int id, final long now) {
+		synchronized (this.entries) {
+			final Entry<T> entry = this.entries.get(id);
+			if (entry == null) {
+				return null;
+			}
+			if (now - entry.expiresAtNanos >= 0) {
+				this.entries.remove(id);
+				return null;
+			}
+			return entry;
+		}
+	}
+	
+	/**
+	 * Stores {@code value}; a renewal ({@code replacing} set) only lands if the entry it
+	 * renews is still the one cached, so an eviction in the meantime wins.
+	 */
+	private void put(final int id, final Entry<T> replacing, final T value) {
+		final long now = System.nanoTime();
+		final Entry<T> entry = new Entry<>(value, now, now + this.ttlNanos - this.refreshAheadNanos, now + this.ttlNanos);
+		synchronized (this.entries) {
+			if (replacing == null || this.entries.get(id) == replacing) {
+				this.entries.put(id, entry);
+			}
+		}
+	}
+	
+	private void remove(final int id, final Entry<T> cached) {
+		synchronized (this.entries) {
+			this.entries.remove(id, cached);
+		}
+	}
+	
+	@FunctionalInterface
+	public interface EntryVisitor<T> {
+		
+		void visit(int id, T value, long ageMillis);
+		
+	}
+	
+	private static final class Entry<T> {
+		
+		private final T value;
+		private final long loadedAtNanos;
+		private final long refreshAtNanos;
+		private final long expiresAtNanos;
+		private final AtomicBoolean refreshing = new AtomicBoolean();
+		
+		Entry(final T value, final long loadedAtNanos, final long refreshAtNanos, final long expiresAtNanos) {
+			this.value = value;
+			this.loadedAtNanos = loadedAtNanos;
+			this.refreshAtNanos = refreshAtNanos;
+			this.expiresAtNanos = expiresAtNanos;
+		}
+	
+	}
+
+}
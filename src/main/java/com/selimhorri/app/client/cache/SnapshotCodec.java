@@ -0,0 +1,19 @@
+package com.selimhorri.app.client.cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary form of a cached value in a {@link LookupCacheSnapshot}.
+ */
+public interface SnapshotCodec<T> {
+	
+	/**
+	 * An upper bound of the bytes {@link #encode} writes for {@code value}.
+	 */
+	int maxEncodedSize(T value);
+	
+	void encode(T value, ByteBuffer out);
+	
+	T decode(ByteBuffer in);
+	
+}
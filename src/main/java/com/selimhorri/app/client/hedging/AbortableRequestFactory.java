@@ -0,0 +1,41 @@
+package com.selimhorri.app.client.hedging;
+
+import java.net.URI;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.springframework.http.HttpMethod;
+
+import com.selimhorri.app.deadline.DeadlineAwareRequestFactory;
+
+/**
+ * Hands each underlying Apache request to the attempt running on the current thread, so
+ * a losing hedge attempt can be aborted on the socket instead of merely abandoned.
+ */
+public class AbortableRequestFactory extends DeadlineAwareRequestFactory {
+	
+	private static final ThreadLocal<HedgedAttempt<?>> CURRENT_ATTEMPT = new ThreadLocal<>();
+	
+	public AbortableRequestFactory(final HttpClient httpClient) {
+		super(httpClient);
+	}
+	
+	static void bind(final HedgedAttempt<?> attempt) {
+		if (attempt == null) {
+			CURRENT_ATTEMPT.remove();
+		} else {
+			CURRENT_ATTEMPT.set(attempt);
+		}
+	}
+	
+	@Override
+	protected HttpUriRequest createHttpUriRequest(final HttpMethod httpMethod, final URI uri) {
+		final HttpUriRequest request = super.createHttpUriRequest(httpMethod, uri);
+		final HedgedAttempt<?> attempt = CURRENT_ATTEMPT.get();
+		if (attempt != null) {
+			attempt.onRequestCreated(request);
+		}
+		return request;
+	}
+	
+}
@@ -0,0 +1,50 @@
+package com.selimhorri.app.client.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket shared by all hedged lookups: every request earns {@code ratio} of a token,
+ * up to {@code maxTokens}, and every hedge spends a whole one. Hedges therefore stay below
+ * {@code ratio} of the traffic, and when everything is slow during an outage the budget
+ * runs dry instead of doubling the load.
+ */
+class HedgeBudget {
+	
+	private static final long UNIT = 1_000L;
+	
+	private final long earnedPerRequest;
+	private final long maxBalance;
+	private final AtomicLong balance;
+	
+	HedgeBudget(final double ratio, final int maxTokens) {
+		this.earnedPerRequest = Math.round(ratio * UNIT);
+		this.maxBalance = maxTokens * UNIT;
+		this.balance = new AtomicLong(this.maxBalance);
+	}
+	
+	void onRequest() {
+		long current;
+		do {
+			current = this.balance.get();
+			if (current >= this.maxBalance) {
+				return;
+			}
+		} while (!this.balance.compareAndSet(current, Math.min(this.maxBalance, current + this.earnedPerRequest)));
+	}
+	
+	boolean tryAcquire() {
+		long current;
+		do {
+			current = this.balance.get();
+			if (current < UNIT) {
+				return false;
+			}
+		} while (!this.balance.compareAndSet(current, current - UNIT));
+		return true;
+	}
+	
+	double tokens() {
+		return this.balance.get() / (double) UNIT;
+	}
+	
+}
@@ -0,0 +1,111 @@
+package com.selimhorri.app.client.hedging;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.http.client.methods.HttpUriRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.timing.DownstreamCall;
+import com.selimhorri.app.timing.RequestTiming;
+import com.selimhorri.app.timing.TimingStage;
+
+/**
+ * One GET against one resolved instance, completing {@link #result()} with the body or
+ * the failure. Completed exchanges feed the service's latency percentile; aborted ones
+ * do not, so cancelled losers cannot drag the hedge delay down.
+ */
+class HedgedAttempt<T> implements Runnable {
+	
+	private final RestTemplate restTemplate;
+	private final String serviceId;
+	private final URI uri;
+	private final Class<T> responseType;
+	private final LatencyPercentileTracker latency;
+	private final CompletableFuture<T> result = new CompletableFuture<>();
+	
+	private volatile HttpUriRequest request;
+	private volatile boolean cancelled;
+	
+	HedgedAttempt(final RestTemplate restTemplate, final String serviceId, final URI uri,
+			final Class<T> responseType, final LatencyPercentileTracker latency) {
+		this.restTemplate = restTemplate;
+		this.serviceId = serviceId;
+		this.uri = uri;
+		this.responseType = responseType;
+		this.latency = latency;
+	}
+	
+	URI uri() {
+		return this.uri;
+	}
+	
+	CompletableFuture<T> result() {
+		return this.result;
+	}
+	
+	boolean isCancelled() {
+		return this.cancelled;
+	}
+	
+	@Override
+	public void run() {
+		if (this.cancelled) {
+			this.result.cancel(false);
+			return;
+		}
+		final long start = System.nanoTime();
+		int status = -1;
+		AbortableRequestFactory.bind(this);
+		try {
+			final ResponseEntity<T> response = this.restTemplate.getForEntity(this.uri, this.responseType);
+			status = response.getStatusCodeValue();
+			this.record(start, status);
+			this.result.complete(response.getBody());
+		} catch (RuntimeException e) {
+			if (e instanceof RestClientResponseException) {
+				status = ((RestClientResponseException) e).getRawStatusCode();
+			}
+			this.record(start, status);
+			this.result.completeExceptionally(e);
+		} finally {
+			AbortableRequestFactory.bind(null);
+		}
+	}
+	
+	private void record(final long start, final int status) {
+		final long nanos = System.nanoTime() - start;
+		if (!this.cancelled && status > 0) {
+			this.latency.record(nanos);
+		}
+		final RequestTiming timing = RequestTiming.current();
+		if (timing != null) {
+			timing.add(TimingStage.forService(this.serviceId), nanos);
+			timing.addDownstreamCall(new DownstreamCall("GET", this.uri.toString(), status, RequestTiming.toMillis(nanos)));
+		}
+	}
+	
+	void onRequestCreated(final HttpUriRequest created) {
+		this.request = created;
+		if (this.cancelled) {
+			created.abort();
+		}
+	}
+	
+	/**
+	 * Aborts the exchange if it is still running; a completed attempt is left untouched.
+	 */
+	void cancel() {
+		if (this.result.isDone()) {
+			return;
+		}
+		this.cancelled = true;
+		final HttpUriRequest current = this.request;
+		if (current != null) {
+			current.abort();
+		}
+	}
+	
+}
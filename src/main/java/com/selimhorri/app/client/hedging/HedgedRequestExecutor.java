@@ -0,0 +1,233 @@
+package com.selimhorri.app.client.hedging;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues idempotent GET lookups against a discovered service, hedging the slow ones.
+ * <p>
+ * The first attempt goes to one instance; if it has not answered within the configured
+ * percentile of that service's recent latency, a second attempt goes to a different
+ * instance. The first successful response wins and the other exchange is aborted. A 4xx
+ * is a definitive answer and is not raced. Hedges are paid for from a shared
+ * {@link HedgeBudget}, so during an outage, when every call is slow, hedging stops
+ * instead of doubling the load on the struggling service.
+ * <p>
+ * When hedging is disabled, or fewer than two instances are registered, lookups go
+ * through the load-balanced {@link RestTemplate} unchanged.
+ */
+@Slf4j
+public class HedgedRequestExecutor {
+	
+	private final RestTemplate loadBalancedRestTemplate;
+	private final RestTemplate instanceRestTemplate;
+	private final DiscoveryClient discoveryClient;
+	private final TaskExecutor hedgeExecutor;
+	private final HedgeBudget budget;
+	private final double percentile;
+	private final long initialDelayNanos;
+	private final long minDelayNanos;
+	private final Map<String, ServiceState> services = new ConcurrentHashMap<>();
+	
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong hedges = new AtomicLong();
+	private final AtomicLong hedgeWins = new AtomicLong();
+	private final AtomicLong budgetExhausted = new AtomicLong();
+	
+	/**
+	 * @param loadBalancedRestTemplate used whenever a lookup is not hedged
+	 * @param instanceRestTemplate plain template for resolved instance URIs, built on an {@link AbortableRequestFactory}
+	 */
+	public HedgedRequestExecutor(final RestTemplate loadBalancedRestTemplate, final RestTemplate instanceRestTemplate,
+			final DiscoveryClient discoveryClient, final TaskExecutor hedgeExecutor,
+			final double percentile, final long initialDelayMillis, final long minDelayMillis,
+			final double budgetRatio, final int budgetMax) {
+		this.loadBalancedRestTemplate = loadBalancedRestTemplate;
+		this.instanceRestTemplate = instanceRestTemplate;
+		this.discoveryClient = discoveryClient;
+		this.hedgeExecutor = hedgeExecutor;
+		this.budget = new HedgeBudget(budgetRatio, budgetMax);
+		this.percentile = percentile;
+		this.initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(initialDelayMillis);
+		this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+	}
+	
+	/**
+	 * Executor that never hedges and simply delegates to {@code restTemplate}.
+	 */
+	public static HedgedRequestExecutor unhedged(final RestTemplate restTemplate) {
+		return new HedgedRequestExecutor(restTemplate, null, null, null, 0, 0, 0, 0, 0);
+	}
+	
+	public <T> T getForObject(final String url, final Class<T> responseType) {
+		if (this.discoveryClient == null) {
+			return this.loadBalancedRestTemplate.getForObject(url, responseType);
+		}
+		final URI uri = URI.create(url);
+		final String serviceId = uri.getHost();
+		final List<ServiceInstance> instances = this.discoveryClient.getInstances(serviceId);
+		if (instances.size() < 2) {
+			return this.loadBalancedRestTemplate.getForObject(url, responseType);
+		}
+		
+		this.requests.incrementAndGet();
+		this.budget.onRequest();
+		final ServiceState service = this.services.computeIfAbsent(serviceId,
+				id -> new ServiceState(new LatencyPercentileTracker(this.percentile)));
+		final int first = Math.floorMod(service.nextInstance.getAndIncrement(), instances.size());
+		final HedgedAttempt<T> primary = new HedgedAttempt<>(this.instanceRestTemplate, serviceId,
+				LoadBalancerUriTools.reconstructURI(instances.get(first), uri), responseType, service.latency);
+		if (!this.submit(primary)) {
+			return this.loadBalancedRestTemplate.getForObject(url, responseType);
+		}
+		
+		try {
+			return primary.result().get(this.hedgeDelayNanos(service), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			// Slower than usual, hedge below
+		} catch (ExecutionException e) {
+			throw propagate(e.getCause());
+		} catch (InterruptedException e) {
+			primary.cancel();
+			throw interrupted(primary);
+		}
+		
+		if (!this.budget.tryAcquire()) {
+			this.budgetExhausted.incrementAndGet();
+			return await(primary);
+		}
+		final HedgedAttempt<T> hedge = new HedgedAttempt<>(this.instanceRestTemplate, serviceId,
+				LoadBalancerUriTools.reconstructURI(instances.get((first + 1) % instances.size()), uri),
+				responseType, service.latency);
+		if (!this.submit(hedge)) {
+			return await(primary);
+		}
+		this.hedges.incrementAndGet();
+		log.debug("** Hedging slow lookup, primary={}, hedge={} *", primary.uri(), hedge.uri());
+		
+		final HedgedAttempt<T> winner = race(primary, hedge);
+		(winner == primary ? hedge : primary).cancel();
+		if (winner == hedge && !hedge.result().isCompletedExceptionally()) {
+			this.hedgeWins.incrementAndGet();
+		}
+		return await(winner);
+	}
+	
+	public long getRequestCount() {
+		return this.requests.get();
+	}
+	
+	public long getHedgeCount() {
+		return this.hedges.get();
+	}
+	
+	public long getHedgeWinCount() {
+		return this.hedgeWins.get();
+	}
+	
+	public long getBudgetExhaustedCount() {
+		return this.budgetExhausted.get();
+	}
+	
+	public double getBudgetTokens() {
+		return this.budget.tokens();
+	}
+	
+	private long hedgeDelayNanos(final ServiceState service) {
+		final long percentileNanos = service.latency.percentileNanos();
+		return percentileNanos < 0 ? this.initialDelayNanos : Math.max(this.minDelayNanos, percentileNanos);
+	}
+	
+	private boolean submit(final HedgedAttempt<?> attempt) {
+		try {
+			this.hedgeExecutor.execute(attempt);
+			return true;
+		} catch (TaskRejectedException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Waits for the first attempt that succeeds or fails with a client error; if both fail
+	 * otherwise, the primary's failure is the one reported.
+	 */
+	private static <T> HedgedAttempt<T> race(final HedgedAttempt<T> primary, final HedgedAttempt<T> hedge) {
+		final CompletableFuture<HedgedAttempt<T>> winner = new CompletableFuture<>();
+		final AtomicInteger failed = new AtomicInteger();
+		watch(primary, winner, failed, primary);
+		watch(hedge, winner, failed, primary);
+		try {
+			return winner.get();
+		} catch (ExecutionException e) {
+			throw propagate(e.getCause());
+		} catch (InterruptedException e) {
+			primary.cancel();
+			hedge.cancel();
+			throw interrupted(primary);
+		}
+	}
+	
+	private static <T> void watch(final HedgedAttempt<T> attempt, final CompletableFuture<HedgedAttempt<T>> winner,
+			final AtomicInteger failed, final HedgedAttempt<T> primary) {
+		attempt.result().whenComplete((body, failure) -> {
+			if (failure == null || failure instanceof HttpClientErrorException) {
+				winner.complete(attempt);
+			} else if (failed.incrementAndGet() == 2) {
+				winner.complete(primary);
+			}
+		});
+	}
+	
+	private static <T> T await(final HedgedAttempt<T> attempt) {
+		try {
+			return attempt.result().get();
+		} catch (ExecutionException e) {
+			throw propagate(e.getCause());
+		} catch (InterruptedException e) {
+			attempt.cancel();
+			throw interrupted(attempt);
+		}
+	}
+	
+	private static RuntimeException propagate(final Throwable failure) {
+		return failure instanceof RuntimeException
+				? (RuntimeException) failure
+				: new RestClientException(failure.getMessage(), failure);
+	}
+	
+	private static RestClientException interrupted(final HedgedAttempt<?> attempt) {
+		Thread.currentThread().interrupt();
+		return new RestClientException("Interrupted while waiting for " + attempt.uri());
+	}
+	
+	private static final class ServiceState {
+		
+		private final LatencyPercentileTracker latency;
+		private final AtomicInteger nextInstance = new AtomicInteger();
+		
+		ServiceState(final LatencyPercentileTracker latency) {
+			this.latency = latency;
+		}
+		
+	}
+	
+}
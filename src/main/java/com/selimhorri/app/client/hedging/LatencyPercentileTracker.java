@@ -0,0 +1,42 @@
+package com.selimhorri.app.client.hedging;
+
+import java.util.Arrays;
+
+/**
+ * Percentile of the most recent latencies of one downstream service. Samples go into a
+ * fixed ring and the percentile is recomputed every {@code RECOMPUTE_EVERY} samples, so
+ * reading it is a single volatile load.
+ */
+class LatencyPercentileTracker {
+	
+	private static final int WINDOW = 512;
+	private static final int RECOMPUTE_EVERY = 32;
+	
+	private final double percentile;
+	// Guarded by this
+	private final long[] samples = new long[WINDOW];
+	private long recorded;
+	private volatile long percentileNanos = -1L;
+	
+	LatencyPercentileTracker(final double percentile) {
+		this.percentile = percentile;
+	}
+	
+	synchronized void record(final long nanos) {
+		this.samples[(int) (this.recorded++ % WINDOW)] = nanos;
+		if (this.recorded % RECOMPUTE_EVERY == 0) {
+			final int size = (int) Math.min(this.recorded, WINDOW);
+			final long[] sorted = Arrays.copyOf(this.samples, size);
+			Arrays.sort(sorted);
+			this.percentileNanos = sorted[Math.min(size - 1, (int) Math.ceil(this.percentile / 100.0 * size) - 1)];
+		}
+	}
+	
+	/**
+	 * @return the latency percentile in nanoseconds, or {@code -1} until enough samples were seen
+	 */
+	long percentileNanos() {
+		return this.percentileNanos;
+	}
+	
+}
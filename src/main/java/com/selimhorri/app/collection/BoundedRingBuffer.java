@@ -0,0 +1,94 @@
+package com.selimhorri.app.collection;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity, lock-free ring buffer for many producers and a single consumer.
+ * <p>
+ * Every slot carries a sequence number telling producers whether it is free for the
+ * current lap and the consumer whether it has been published, so an offer is one
+ * compare-and-set on the tail and never blocks: when the buffer is full it simply
+ * returns {@code false} and the caller decides what to drop.
+ */
+public final class BoundedRingBuffer<E> {
+
+	private final int capacity;
+	private final int mask;
+	private final AtomicReferenceArray<E> slots;
+	private final AtomicLongArray sequences;
+	private final AtomicLong tail = new AtomicLong();
+	// Written by the consumer only
+	private volatile long head;
+
+	public BoundedRingBuffer(final int requestedCapacity) {
+		if (requestedCapacity < 2) {
+			throw new IllegalArgumentException("Capacity must be at least 2, was " + requestedCapacity);
+		}
+		this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+		this.mask = this.capacity - 1;
+		this.slots = new AtomicReferenceArray<>(this.capacity);
+		this.sequences = new AtomicLongArray(this.capacity);
+		for (int i = 0; i < this.capacity; i++) {
+			this.sequences.set(i, i);
+		}
+	}
+
+	public int capacity() {
+		return this.capacity;
+	}
+
+	public int size() {
+		return (int) Math.max(0, Math.min(this.capacity, this.tail.get() - this.head));
+	}
+
+	public int remainingCapacity() {
+		return this.capacity - this.size();
+	}
+
+	public boolean isEmpty() {
+		return this.size() == 0;
+	}
+
+	/**
+	 * Publishes {@code element} unless the buffer is full. Safe to call from any thread.
+	 */
+	public boolean offer(final E element) {
+		long position = this.tail.get();
+		while (true) {
+			final int index = (int) position & this.mask;
+			final long lag = this.sequences.get(index) - position;
+			if (lag == 0) {
+				if (this.tail.compareAndSet(position, position + 1)) {
+					this.slots.lazySet(index, element);
+					this.sequences.set(index, position + 1);
+					return true;
+				}
+				position = this.tail.get();
+			} else if (lag < 0) {
+				return false;
+			} else {
+				position = this.tail.get();
+			}
+		}
+	}
+
+	/**
+	 * Takes the oldest published element, or {@code null} when there is none.
+	 * Must only be called from the single consumer thread.
+	 */
+	public E poll() {
+		final long position = this.head;
+		final int index = (int) position & this.mask;
+		if (this.sequences.get(index) != position + 1) {
+			return null;
+		}
+		final E element = this.slots.get(index);
+		this.slots.lazySet(index, null);
+		this.sequences.set(index, position + this.capacity);
+		this.head = position + 1;
+		return element;
+	}
+
+}
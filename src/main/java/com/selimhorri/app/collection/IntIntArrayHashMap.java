@@ -0,0 +1,204 @@
+package com.selimhorri.app.collection;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code int} to a growable list of {@code int}s, laid out
+ * like {@link IntLongHashMap}: keys, value arrays and their lengths live in flat parallel
+ * arrays, so a key costs one {@code int[]} and nothing is ever boxed. Value lists keep
+ * spare capacity and grow by doubling; a key whose list becomes empty is removed.
+ * Not thread-safe.
+ */
+public final class IntIntArrayHashMap {
+
+	private static final float LOAD_FACTOR = 0.5f;
+	private static final int[] EMPTY = new int[0];
+	private static final int INITIAL_VALUE_CAPACITY = 2;
+
+	private int[] keys;
+	private int[][] values;
+	private int[] lengths;
+	private boolean[] used;
+	private int mask;
+	private int size;
+
+	public IntIntArrayHashMap() {
+		this(16);
+	}
+
+	public IntIntArrayHashMap(final int expectedSize) {
+		this.allocate(capacityFor(expectedSize));
+	}
+
+	/**
+	 * @return the number of keys
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	public boolean containsKey(final int key) {
+		return this.indexOf(key) >= 0;
+	}
+
+	/**
+	 * @return a copy of the values of {@code key} in insertion order, empty when absent
+	 */
+	public int[] get(final int key) {
+		final int index = this.indexOf(key);
+		return index >= 0 ? Arrays.copyOf(this.values[index], this.lengths[index]) : EMPTY;
+	}
+
+	/**
+	 * Appends {@code value} to the list of {@code key}; duplicates are kept.
+	 */
+	public void add(final int key, final int value) {
+		final int index = this.slotFor(key);
+		int[] list = this.values[index];
+		final int length = this.lengths[index];
+		if (list == null) {
+			list = new int[INITIAL_VALUE_CAPACITY];
+			this.values[index] = list;
+		} else if (length == list.length) {
+			list = Arrays.copyOf(list, length << 1);
+			this.values[index] = list;
+		}
+		list[length] = value;
+		this.lengths[index] = length + 1;
+	}
+
+	/**
+	 * Removes one occurrence of {@code value} from the list of {@code key}, moving the last
+	 * value into its place, and drops the key once its list is empty.
+	 * @return whether the value was present
+	 */
+	public boolean removeValue(final int key, final int value) {
+		final int index = this.indexOf(key);
+		if (index < 0) {
+			return false;
+		}
+		final int[] list = this.values[index];
+		final int last = this.lengths[index] - 1;
+		for (int i = 0; i <= last; i++) {
+			if (list[i] == value) {
+				list[i] = list[last];
+				this.lengths[index] = last;
+				if (last == 0) {
+					this.removeAt(index);
+				} else if (last < list.length >> 2) {
+					// Give memory back once a list has shrunk well below its capacity
+					this.values[index] = Arrays.copyOf(list, Math.max(INITIAL_VALUE_CAPACITY, list.length >> 1));
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public boolean remove(final int key) {
+		final int index = this.indexOf(key);
+		if (index < 0) {
+			return false;
+		}
+		this.removeAt(index);
+		return true;
+	}
+
+	public void clear() {
+		Arrays.fill(this.used, false);
+		Arrays.fill(this.values, null);
+		Arrays.fill(this.lengths, 0);
+		this.size = 0;
+	}
+
+	private void removeAt(int index) {
+		// Shift later entries of the probe run back so lookups never stop at a hole
+		int next = index;
+		while (true) {
+			next = (next + 1) & this.mask;
+			if (!this.used[next]) {
+				break;
+			}
+			final int home = hash(this.keys[next]) & this.mask;
+			final boolean stays = index <= next ? index < home && home <= next : index < home || home <= next;
+			if (!stays) {
+				this.keys[index] = this.keys[next];
+				this.values[index] = this.values[next];
+				this.lengths[index] = this.lengths[next];
+				index = next;
+			}
+		}
+		this.used[index] = false;
+		this.values[index] = null;
+		this.lengths[index] = 0;
+		this.size--;
+	}
+
+	private int indexOf(final int key) {
+		int index = hash(key) & this.mask;
+		while (this.used[index]) {
+			if (this.keys[index] == key) {
+				return index;
+			}
+			index = (index + 1) & this.mask;
+		}
+		return -1;
+	}
+
+	private int slotFor(final int key) {
+		int index = hash(key) & this.mask;
+		while (this.used[index]) {
+			if (this.keys[index] == key) {
+				return index;
+			}
+			index = (index + 1) & this.mask;
+		}
+		if (this.size + 1 > this.keys.length * LOAD_FACTOR) {
+			this.rehash(this.keys.length << 1);
+			return this.slotFor(key);
+		}
+		this.used[index] = true;
+		this.keys[index] = key;
+		this.size++;
+		return index;
+	}
+
+	private void rehash(final int capacity) {
+		final int[] oldKeys = this.keys;
+		final int[][] oldValues = this.values;
+		final int[] oldLengths = this.lengths;
+		final boolean[] oldUsed = this.used;
+		this.allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldUsed[i]) {
+				int index = hash(oldKeys[i]) & this.mask;
+				while (this.used[index]) {
+					index = (index + 1) & this.mask;
+				}
+				this.used[index] = true;
+				this.keys[index] = oldKeys[i];
+				this.values[index] = oldValues[i];
+				this.lengths[index] = oldLengths[i];
+			}
+		}
+	}
+
+	private void allocate(final int capacity) {
+		this.keys = new int[capacity];
+		this.values = new int[capacity][];
+		this.lengths = new int[capacity];
+		this.used = new boolean[capacity];
+		this.mask = capacity - 1;
+	}
+
+	private static int capacityFor(final int expectedSize) {
+		final int needed = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR);
+		return Math.max(16, Integer.highestOneBit(needed - 1) << 1);
+	}
+
+	private static int hash(final int key) {
+		final int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+}
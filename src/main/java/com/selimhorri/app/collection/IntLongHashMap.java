@@ -0,0 +1,165 @@
+package com.selimhorri.app.collection;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code int} to {@code long} with linear probing and
+ * backward-shift deletion, so entries are stored in flat primitive arrays without
+ * boxing or per-entry objects. Absent keys read as {@code 0}. Not thread-safe.
+ */
+public final class IntLongHashMap {
+
+	private static final float LOAD_FACTOR = 0.5f;
+
+	@FunctionalInterface
+	public interface EntryConsumer {
+		void accept(int key, long value);
+	}
+
+	private int[] keys;
+	private long[] values;
+	private boolean[] used;
+	private int mask;
+	private int size;
+
+	public IntLongHashMap() {
+		this(16);
+	}
+
+	public IntLongHashMap(final int expectedSize) {
+		this.allocate(capacityFor(expectedSize));
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public boolean containsKey(final int key) {
+		return this.indexOf(key) >= 0;
+	}
+
+	public long get(final int key) {
+		final int index = this.indexOf(key);
+		return index >= 0 ? this.values[index] : 0L;
+	}
+
+	public void put(final int key, final long value) {
+		final int index = this.slotFor(key);
+		this.values[index] = value;
+	}
+
+	/**
+	 * Adds {@code delta} to the value of {@code key}, starting from {@code 0} when absent.
+	 * @return the new value
+	 */
+	public long addTo(final int key, final long delta) {
+		final int index = this.slotFor(key);
+		this.values[index] += delta;
+		return this.values[index];
+	}
+
+	public boolean remove(final int key) {
+		int index = this.indexOf(key);
+		if (index < 0) {
+			return false;
+		}
+		// Shift later entries of the probe run back so lookups never stop at a hole
+		int next = index;
+		while (true) {
+			next = (next + 1) & this.mask;
+			if (!this.used[next]) {
+				break;
+			}
+			final int home = hash(this.keys[next]) & this.mask;
+			final boolean stays = index <= next ? index < home && home <= next : index < home || home <= next;
+			if (!stays) {
+				this.keys[index] = this.keys[next];
+				this.values[index] = this.values[next];
+				index = next;
+			}
+		}
+		this.used[index] = false;
+		this.values[index] = 0L;
+		this.size--;
+		return true;
+	}
+
+	public void clear() {
+		Arrays.fill(this.used, false);
+		Arrays.fill(this.values, 0L);
+		this.size = 0;
+	}
+
+	public void forEach(final EntryConsumer consumer) {
+		for (int i = 0; i < this.keys.length; i++) {
+			if (this.used[i]) {
+				consumer.accept(this.keys[i], this.values[i]);
+			}
+		}
+	}
+
+	private int indexOf(final int key) {
+		int index = hash(key) & this.mask;
+		while (this.used[index]) {
+			if (this.keys[index] == key) {
+				return index;
+			}
+			index = (index + 1) & this.mask;
+		}
+		return -1;
+	}
+
+	private int slotFor(final int key) {
+		int index = hash(key) & this.mask;
+		while (this.used[index]) {
+			if (this.keys[index] == key) {
+				return index;
+			}
+			index = (index + 1) & this.mask;
+		}
+		if (this.size + 1 > this.keys.length * LOAD_FACTOR) {
+			this.rehash(this.keys.length << 1);
+			return this.slotFor(key);
+		}
+		this.used[index] = true;
+		this.keys[index] = key;
+		this.size++;
+		return index;
+	}
+
+	private void rehash(final int capacity) {
+		final int[] oldKeys = this.keys;
+		final long[] oldValues = this.values;
+		final boolean[] oldUsed = this.used;
+		this.allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldUsed[i]) {
+				int index = hash(oldKeys[i]) & this.mask;
+				while (this.used[index]) {
+					index = (index + 1) & this.mask;
+				}
+				this.used[index] = true;
+				this.keys[index] = oldKeys[i];
+				this.values[index] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(final int capacity) {
+		this.keys = new int[capacity];
+		this.values = new long[capacity];
+		this.used = new boolean[capacity];
+		this.mask = capacity - 1;
+	}
+
+	private static int capacityFor(final int expectedSize) {
+		final int needed = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR);
+		return Math.max(16, Integer.highestOneBit(needed - 1) << 1);
+	}
+
+	private static int hash(final int key) {
+		final int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.selimhorri.app.config.archive;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.archive.ShippingArchiver;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Archiving of soft-deleted shippings: old inactive rows leave {@code order_items} for
+ * {@code order_items_archive} in small keyset batches, one short transaction each.
+ */
+@Configuration
+public class ArchiveConfig {
+	
+	@Bean
+	public ShippingArchiver shippingArchiver(final JdbcTemplate jdbcTemplate,
+			final PlatformTransactionManager transactionManager,
+			@Value("${shipping.archive.min-age:P30D}") final Duration minAge,
+			@Value("${shipping.archive.batch-size:200}") final int batchSize,
+			@Value("${shipping.archive.max-batches-per-run:500}") final int maxBatchesPerRun,
+			@Value("${shipping.archive.duty-cycle:0.2}") final double dutyCycle,
+			@Value("${shipping.archive.min-pause:PT0.05S}") final Duration minPause,
+			@Value("${shipping.archive.batch-timeout-seconds:10}") final int batchTimeoutSeconds,
+			@Value("${shipping.archive.measure-impact:false}") final boolean measureImpact) {
+		final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		// A batch holds row locks on the live table, so it must never linger
+		transactionTemplate.setTimeout(batchTimeoutSeconds);
+		return new ShippingArchiver(jdbcTemplate, transactionTemplate,
+				minAge, batchSize, maxBatchesPerRun, dutyCycle, minPause, measureImpact);
+	}
+	
+	@Bean
+	public MeterBinder archiveMetrics(final ShippingArchiver shippingArchiver) {
+		return registry -> {
+			FunctionCounter.builder("shipping.archive.rows", shippingArchiver, ShippingArchiver::getArchivedRowCount)
+					.description("Soft-deleted shippings moved to the archive")
+					.register(registry);
+			FunctionCounter.builder("shipping.archive.batches", shippingArchiver, ShippingArchiver::getBatchCount)
+					.tag("outcome", "committed")
+					.register(registry);
+			FunctionCounter.builder("shipping.archive.batches", shippingArchiver, ShippingArchiver::getFailedBatchCount)
+					.tag("outcome", "failed")
+					.register(registry);
+			Gauge.builder("shipping.archive.hot.rows", shippingArchiver, ShippingArchiver::getHotRows)
+					.description("Rows in order_items at the last measured archiver run")
+					.register(registry);
+			TimeGauge.builder("shipping.archive.listing.query", shippingArchiver, TimeUnit.NANOSECONDS,
+						ShippingArchiver::getListingQueryNanos)
+					.description("Active listing query time at the last measured archiver run")
+					.register(registry);
+		};
+	}
+	
+	
+	
+}
@@ -0,0 +1,34 @@
+package com.selimhorri.app.config.changefeed;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.selimhorri.app.changefeed.ShippingChangeJournal;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Shipping change feed: every write journals its change to {@code order_item_changes},
+ * which consumers page through by cursor instead of re-reading all shippings.
+ */
+@Configuration
+public class ChangeFeedConfig {
+	
+	@Bean
+	public ShippingChangeJournal shippingChangeJournal(final JdbcTemplate jdbcTemplate) {
+		return new ShippingChangeJournal(jdbcTemplate);
+	}
+	
+	@Bean
+	public MeterBinder changeFeedMetrics(final ShippingChangeJournal shippingChangeJournal) {
+		return registry -> FunctionCounter.builder("shipping.changes.recorded", shippingChangeJournal,
+						ShippingChangeJournal::getRecordedCount)
+				.description("Shipping changes written to the change journal")
+				.register(registry);
+	}
+	
+	
+	
+}
@@ -1,22 +1,71 @@
 package com.selimhorri.app.config.client;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.deadline.Deadline;
+import com.selimhorri.app.deadline.DeadlineAwareRequestFactory;
+import com.selimhorri.app.deadline.DeadlinePropagationInterceptor;
+import com.selimhorri.app.timing.RequestTiming;
+import com.selimhorri.app.timing.RequestTimingInterceptor;
+
 @Configuration
 public class ClientConfig {
 
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient httpClientBean(
+			@Value("${shipping.client.max-connections-per-route:20}") final int maxConnectionsPerRoute,
+			@Value("${shipping.client.max-connections-total:100}") final int maxConnectionsTotal) {
+		// The default client allows only 2 connections per route, which serializes parallel lookups
+		return HttpClients.custom()
+				.setMaxConnPerRoute(maxConnectionsPerRoute)
+				.setMaxConnTotal(maxConnectionsTotal)
+				.build();
+	}
+
 	@LoadBalanced
 	@Bean
-	public RestTemplate restTemplateBean() {
-		CloseableHttpClient httpClient = HttpClients.createDefault();
-		HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
-		return new RestTemplate(requestFactory);
+	public RestTemplate restTemplateBean(final CloseableHttpClient httpClient,
+			final DeadlinePropagationInterceptor deadlinePropagationInterceptor) {
+		final DeadlineAwareRequestFactory requestFactory = new DeadlineAwareRequestFactory(httpClient);
+		final RestTemplate restTemplate = new RestTemplate(requestFactory);
+		// Added before load balancing, which appends its own interceptor, so the logical service name is still visible
+		restTemplate.getInterceptors().add(new RequestTimingInterceptor());
+		restTemplate.getInterceptors().add(deadlinePropagationInterceptor);
+		return restTemplate;
+	}
+
+	/**
+	 * Carries the request's timing and deadline over to executor threads.
+	 */
+	public static TaskDecorator requestContextDecorator() {
+		return task -> Deadline.propagating(RequestTiming.propagating(task));
+	}
+
+	/**
+	 * Executor used to fan out downstream lookups; callers block on the results,
+	 * so saturation falls back to running the lookup on the calling thread.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor lookupExecutor(
+			@Value("${shipping.client.lookup-threads:16}") final int lookupThreads) {
+		final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(lookupThreads);
+		executor.setMaxPoolSize(lookupThreads);
+		executor.setQueueCapacity(lookupThreads * 32);
+		executor.setThreadNamePrefix("lookup-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.setTaskDecorator(requestContextDecorator());
+		return executor;
 	}
 
 }
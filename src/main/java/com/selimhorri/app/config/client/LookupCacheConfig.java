@@ -0,0 +1,100 @@
+package com.selimhorri.app.config.client;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.selimhorri.app.client.cache.RefreshAheadCache;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.ProductDto;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class LookupCacheConfig {
+
+	/**
+	 * Small pool that renews hot cache entries; the caches cap how many renewals are in
+	 * flight, so the queue only ever holds that many.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor cacheRefreshExecutor(
+			@Value("${shipping.lookup-cache.refresh-threads:2}") final int refreshThreads,
+			@Value("${shipping.lookup-cache.max-concurrent-refreshes:4}") final int maxConcurrentRefreshes) {
+		final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(refreshThreads);
+		executor.setMaxPoolSize(refreshThreads);
+		executor.setQueueCapacity(Math.max(1, 2 * maxConcurrentRefreshes));
+		executor.setThreadNamePrefix("cache-refresh-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		return executor;
+	}
+
+	@Bean
+	public RefreshAheadCache<ProductDto> productLookupCache(
+			@Qualifier("cacheRefreshExecutor") final ThreadPoolTaskExecutor cacheRefreshExecutor,
+			@Value("${shipping.lookup-cache.product-ttl-ms:30000}") final long ttlMillis,
+			@Value("${shipping.lookup-cache.refresh-ahead-fraction:0.2}") final double refreshAheadFraction,
+			@Value("${shipping.lookup-cache.max-entries:10000}") final int maxEntries,
+			@Value("${shipping.lookup-cache.max-concurrent-refreshes:4}") final int maxConcurrentRefreshes) {
+		return new RefreshAheadCache<>("product", ttlMillis, refreshAheadFraction, maxEntries,
+				cacheRefreshExecutor, maxConcurrentRefreshes);
+	}
+
+	@Bean
+	public RefreshAheadCache<OrderDto> orderLookupCache(
+			@Qualifier("cacheRefreshExecutor") final ThreadPoolTaskExecutor cacheRefreshExecutor,
+			@Value("${shipping.lookup-cache.order-ttl-ms:10000}") final long ttlMillis,
+			@Value("${shipping.lookup-cache.refresh-ahead-fraction:0.2}") final double refreshAheadFraction,
+			@Value("${shipping.lookup-cache.max-entries:10000}") final int maxEntries,
+			@Value("${shipping.lookup-cache.max-concurrent-refreshes:4}") final int maxConcurrentRefreshes) {
+		return new RefreshAheadCache<>("order", ttlMillis, refreshAheadFraction, maxEntries,
+				cacheRefreshExecutor, maxConcurrentRefreshes);
+	}
+
+	@Bean
+	public MeterBinder lookupCacheMetrics(final RefreshAheadCache<ProductDto> productLookupCache,
+			final RefreshAheadCache<OrderDto> orderLookupCache) {
+		return registry -> {
+			for (final RefreshAheadCache<?> cache : new RefreshAheadCache<?>[] {
+					productLookupCache, orderLookupCache }) {
+				FunctionCounter.builder("shipping.lookup.cache.hits", cache, RefreshAheadCache::getHitCount)
+						.tag("service", cache.getName())
+						.register(registry);
+				FunctionCounter.builder("shipping.lookup.cache.misses", cache, RefreshAheadCache::getMissCount)
+						.tag("service", cache.getName())
+						.register(registry);
+				FunctionCounter.builder("shipping.lookup.cache.refreshes", cache, RefreshAheadCache::getRefreshCount)
+						.tag("service", cache.getName())
+						.tag("outcome", "success")
+						.register(registry);
+				FunctionCounter.builder("shipping.lookup.cache.refreshes", cache, RefreshAheadCache::getFailedRefreshCount)
+						.tag("service", cache.getName())
+						.tag("outcome", "failure")
+						.register(registry);
+				FunctionCounter.builder("shipping.lookup.cache.refreshes", cache, RefreshAheadCache::getSkippedRefreshCount)
+						.tag("service", cache.getName())
+						.tag("outcome", "skipped")
+						.description("Renewals not started because the refresh cap was reached")
+						.register(registry);
+				FunctionTimer.builder("shipping.lookup.cache.refresh.lag", cache,
+						RefreshAheadCache::getRefreshCount, RefreshAheadCache::getRefreshLagNanos, TimeUnit.NANOSECONDS)
+						.tag("service", cache.getName())
+						.description("Time from the read that triggered a renewal until the fresh value was cached")
+						.register(registry);
+				Gauge.builder("shipping.lookup.cache.size", cache, RefreshAheadCache::size)
+						.tag("service", cache.getName())
+						.register(registry);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,72 @@
+package com.selimhorri.app.config.client;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.client.cache.LookupCacheSnapshot;
+import com.selimhorri.app.client.cache.LookupSnapshotCodecs;
+import com.selimhorri.app.client.cache.RefreshAheadCache;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.ProductDto;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Carries the lookup caches across restarts: the snapshot is read back as soon as the
+ * caches exist, ahead of warm-up and traffic, and written periodically and on shutdown.
+ * The file belongs on a volume that outlives the container, {@code SHIPPING_SNAPSHOT_DIR};
+ * on a fresh filesystem every start is cold.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shipping.lookup-cache.snapshot.enabled", havingValue = "true", matchIfMissing = true)
+public class LookupCacheSnapshotConfig {
+	
+	@Bean(initMethod = "restore", destroyMethod = "close")
+	public LookupCacheSnapshot lookupCacheSnapshot(final RefreshAheadCache<ProductDto> productLookupCache,
+			final RefreshAheadCache<OrderDto> orderLookupCache,
+			@Value("${shipping.lookup-cache.snapshot.path:${SHIPPING_SNAPSHOT_DIR:/var/lib/shipping-service}/shipping-service-lookup.snapshot}") final String path,
+			@Value("${shipping.lookup-cache.snapshot.product-max-age-ms:900000}") final long productMaxAgeMillis,
+			@Value("${shipping.lookup-cache.snapshot.order-max-age-ms:120000}") final long orderMaxAgeMillis,
+			@Value("${shipping.lookup-cache.snapshot.interval:PT1M}") final Duration interval) {
+		// Otherwise the file left by a crash or read during a rolling redeploy restores nothing
+		if (interval.toMillis() >= Math.min(productMaxAgeMillis, orderMaxAgeMillis)) {
+			throw new IllegalStateException("shipping.lookup-cache.snapshot.interval " + interval
+					+ " must be shorter than the product and order max ages");
+		}
+		return new LookupCacheSnapshot(Paths.get(path))
+				.section(productLookupCache, LookupSnapshotCodecs.PRODUCT, productMaxAgeMillis)
+				.section(orderLookupCache, LookupSnapshotCodecs.ORDER, orderMaxAgeMillis);
+	}
+	
+	@Bean
+	public MeterBinder lookupCacheSnapshotMetrics(final LookupCacheSnapshot lookupCacheSnapshot) {
+		return registry -> {
+			FunctionCounter.builder("shipping.lookup.cache.snapshot.entries", lookupCacheSnapshot,
+						LookupCacheSnapshot::getSavedEntryCount)
+					.tag("operation", "save")
+					.register(registry);
+			FunctionCounter.builder("shipping.lookup.cache.snapshot.entries", lookupCacheSnapshot,
+						LookupCacheSnapshot::getRestoredEntryCount)
+					.tag("operation", "restore")
+					.description("Cache entries written to or restored from the lookup snapshot")
+					.register(registry);
+			FunctionCounter.builder("shipping.lookup.cache.snapshot.failures", lookupCacheSnapshot,
+						LookupCacheSnapshot::getFailureCount)
+					.description("Failed snapshot saves and snapshots ignored as unreadable")
+					.register(registry);
+			Gauge.builder("shipping.lookup.cache.snapshot.size", lookupCacheSnapshot, LookupCacheSnapshot::getLastSaveBytes)
+					.baseUnit("bytes")
+					.register(registry);
+		};
+	}
+	
+	
+	
+}
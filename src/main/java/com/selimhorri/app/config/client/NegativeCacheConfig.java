@@ -0,0 +1,52 @@
+package com.selimhorri.app.config.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.client.cache.NegativeLookupCache;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.ProductDto;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class NegativeCacheConfig {
+
+	@Bean
+	public NegativeLookupCache<ProductDto> productNotFoundCache(
+			@Value("${shipping.negative-cache.ttl-ms:10000}") final long ttlMillis,
+			@Value("${shipping.negative-cache.max-entries:10000}") final int maxEntries) {
+		return new NegativeLookupCache<>("product", ttlMillis, maxEntries);
+	}
+
+	@Bean
+	public NegativeLookupCache<OrderDto> orderNotFoundCache(
+			@Value("${shipping.negative-cache.ttl-ms:10000}") final long ttlMillis,
+			@Value("${shipping.negative-cache.max-entries:10000}") final int maxEntries) {
+		return new NegativeLookupCache<>("order", ttlMillis, maxEntries);
+	}
+
+	@Bean
+	public MeterBinder negativeCacheMetrics(final NegativeLookupCache<ProductDto> productNotFoundCache,
+			final NegativeLookupCache<OrderDto> orderNotFoundCache) {
+		return registry -> {
+			for (final NegativeLookupCache<?> cache : new NegativeLookupCache<?>[] {
+					productNotFoundCache, orderNotFoundCache }) {
+				FunctionCounter.builder("shipping.negative.cache.hits", cache, NegativeLookupCache::getHitCount)
+						.tag("service", cache.getName())
+						.description("Remote lookups avoided by replaying a cached not-found")
+						.register(registry);
+				FunctionCounter.builder("shipping.negative.cache.misses", cache, NegativeLookupCache::getMissCount)
+						.tag("service", cache.getName())
+						.register(registry);
+				Gauge.builder("shipping.negative.cache.size", cache, NegativeLookupCache::size)
+						.tag("service", cache.getName())
+						.register(registry);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.selimhorri.app.config.datasource;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.selimhorri.app.datasource.DataSourceRole;
+import com.selimhorri.app.datasource.ReadYourWritesInterceptor;
+import com.selimhorri.app.datasource.ReplicaLagMonitor;
+import com.selimhorri.app.datasource.ReplicaRoutingDataSource;
+import com.selimhorri.app.resource.ShippingStreamResource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read replica support, enabled by setting {@code shipping.datasource.replica.url}.
+ * <p>
+ * {@code spring.datasource} stays the primary, which Flyway migrates and every write
+ * uses. Read-only transactions run on the replica pool while it keeps up; see
+ * {@link ReplicaLagMonitor} for when they fall back to the primary.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "shipping.datasource.replica", name = "url")
+public class ReplicaRoutingConfig {
+	
+	@Bean
+	@FlywayDataSource
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(final DataSourceProperties dataSourceProperties) {
+		final HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+	
+	@Bean
+	public HikariDataSource replicaDataSource(
+			@Value("${shipping.datasource.replica.url}") final String url,
+			@Value("${shipping.datasource.replica.username:${spring.datasource.username:}}") final String username,
+			@Value("${shipping.datasource.replica.password:${spring.datasource.password:}}") final String password,
+			@Value("${shipping.datasource.replica.maximum-pool-size:10}") final int maximumPoolSize,
+			@Value("${shipping.datasource.replica.migrate:false}") final boolean migrate) {
+		final HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setPoolName("replica");
+		dataSource.setJdbcUrl(url);
+		dataSource.setUsername(username);
+		dataSource.setPassword(password);
+		dataSource.setMaximumPoolSize(maximumPoolSize);
+		dataSource.setReadOnly(true);
+		if (migrate) {
+			// Only for a local stand-in replica; a real one receives the schema by replication
+			log.info("*** ReplicaRoutingConfig; migrating stand-in replica {} *", url);
+			Flyway.configure().dataSource(url, username, password).load().migrate();
+		}
+		return dataSource;
+	}
+	
+	@Bean
+	public ReplicaLagMonitor replicaLagMonitor(
+			@Qualifier("primaryDataSource") final DataSource primaryDataSource,
+			@Qualifier("replicaDataSource") final DataSource replicaDataSource,
+			@Value("${shipping.datasource.replica.max-lag-ms:1000}") final long maxLagMillis,
+			@Value("${shipping.datasource.replica.heartbeat-interval:PT1S}") final Duration heartbeatInterval) {
+		return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLagMillis, heartbeatInterval.toMillis());
+	}
+	
+	@Bean
+	public ReplicaRoutingDataSource replicaRoutingDataSource(
+			@Qualifier("primaryDataSource") final DataSource primaryDataSource,
+			@Qualifier("replicaDataSource") final DataSource replicaDataSource,
+			final ReplicaLagMonitor replicaLagMonitor) {
+		return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor);
+	}
+	
+	@Bean
+	@Primary
+	public DataSource dataSource(final ReplicaRoutingDataSource replicaRoutingDataSource) {
+		return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+	}
+	
+	/**
+	 * Hands the connection back after every transaction instead of holding it for the
+	 * whole request under open-in-view, so each transaction is routed on its own.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer replicaRoutingHibernateCustomizer() {
+		return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+				"DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+	}
+	
+	@Bean
+	public WebMvcConfigurer replicaRoutingWebMvcConfigurer() {
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(final InterceptorRegistry registry) {
+				registry.addInterceptor(new ReadYourWritesInterceptor())
+						.addPathPatterns("/api/shippings", "/api/shippings/**")
+						.excludePathPatterns(ShippingStreamResource.STREAM_PATH);
+			}
+		};
+	}
+	
+	@Bean
+	public MeterBinder replicaRoutingMetrics(final ReplicaRoutingDataSource replicaRoutingDataSource,
+			final ReplicaLagMonitor replicaLagMonitor) {
+		return registry -> {
+			for (final DataSourceRole role : DataSourceRole.values()) {
+				FunctionCounter.builder("shipping.datasource.routed", replicaRoutingDataSource,
+						dataSource -> dataSource.getRoutedCount(role))
+						.tag("role", role.name().toLowerCase())
+						.description("Connections handed out, by the pool they were routed to")
+						.register(registry);
+			}
+			Gauge.builder("shipping.datasource.replica.lag", replicaLagMonitor, ReplicaLagMonitor::getLagMillis)
+					.baseUnit("milliseconds")
+					.description("Replica lag measured by the last heartbeat, -1 before the first")
+					.register(registry);
+			Gauge.builder("shipping.datasource.replica.healthy", replicaLagMonitor,
+					monitor -> monitor.isHealthy() ? 1 : 0)
+					.register(registry);
+		};
+	}
+	
+}
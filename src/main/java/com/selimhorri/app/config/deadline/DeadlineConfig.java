@@ -0,0 +1,69 @@
+package com.selimhorri.app.config.deadline;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.selimhorri.app.deadline.DeadlineHandlerInterceptor;
+import com.selimhorri.app.deadline.DeadlinePropagationInterceptor;
+import com.selimhorri.app.resource.ShippingStreamResource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * End-to-end deadlines for {@code /api/shippings}: bound on the way in, checked between
+ * enrichment steps and turned into timeouts and headers on every downstream call.
+ */
+@Configuration
+public class DeadlineConfig {
+
+	@Bean
+	public DeadlineHandlerInterceptor deadlineHandlerInterceptor(final Environment environment,
+			@Value("${shipping.deadline.default-timeout-ms:10000}") final long defaultTimeoutMillis) {
+		return new DeadlineHandlerInterceptor(defaultTimeoutMillis, environment::resolveRequiredPlaceholders);
+	}
+
+	@Bean
+	public DeadlinePropagationInterceptor deadlinePropagationInterceptor() {
+		return new DeadlinePropagationInterceptor();
+	}
+
+	@Bean
+	public WebMvcConfigurer deadlineWebMvcConfigurer(final DeadlineHandlerInterceptor deadlineHandlerInterceptor) {
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(final InterceptorRegistry registry) {
+				registry.addInterceptor(deadlineHandlerInterceptor)
+						.addPathPatterns("/api/shippings", "/api/shippings/**")
+						// A stream has no deadline, and its async dispatch would run the interceptor twice
+						.excludePathPatterns(ShippingStreamResource.STREAM_PATH);
+			}
+		};
+	}
+
+	@Bean
+	public MeterBinder deadlineMetrics(final DeadlineHandlerInterceptor deadlineHandlerInterceptor,
+			final DeadlinePropagationInterceptor deadlinePropagationInterceptor) {
+		return registry -> {
+			FunctionCounter.builder("shipping.deadline.expired", deadlineHandlerInterceptor,
+					DeadlineHandlerInterceptor::getExpiredCount)
+					.description("Requests still running when their deadline passed")
+					.register(registry);
+			FunctionCounter.builder("shipping.deadline.downstream", deadlinePropagationInterceptor,
+					DeadlinePropagationInterceptor::getSkippedCount)
+					.tag("outcome", "skipped")
+					.description("Downstream calls not made, or made in vain, because the deadline had passed")
+					.register(registry);
+			FunctionCounter.builder("shipping.deadline.downstream", deadlinePropagationInterceptor,
+					DeadlinePropagationInterceptor::getWastedCount)
+					.tag("outcome", "wasted")
+					.description("Downstream calls not made, or made in vain, because the deadline had passed")
+					.register(registry);
+		};
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.selimhorri.app.config.hedging;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.client.hedging.AbortableRequestFactory;
+import com.selimhorri.app.client.hedging.HedgedRequestExecutor;
+import com.selimhorri.app.config.client.ClientConfig;
+import com.selimhorri.app.deadline.DeadlinePropagationInterceptor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Opt-in hedging of the idempotent product and order lookups. Without
+ * {@code shipping.hedging.enabled} the clients get a pass-through executor.
+ */
+@Configuration
+public class HedgingConfig {
+
+	@Bean
+	@ConditionalOnProperty(prefix = "shipping.hedging", name = "enabled", havingValue = "false", matchIfMissing = true)
+	public HedgedRequestExecutor unhedgedRequestExecutor(final RestTemplate restTemplate) {
+		return HedgedRequestExecutor.unhedged(restTemplate);
+	}
+
+	/**
+	 * Runs both attempts of a hedged lookup. It has no queue: when every thread is busy the
+	 * lookup is not hedged and goes through the load-balanced template on the caller.
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "shipping.hedging", name = "enabled", havingValue = "true")
+	public ThreadPoolTaskExecutor hedgeExecutor(@Value("${shipping.hedging.threads:32}") final int threads) {
+		final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(0);
+		executor.setThreadNamePrefix("hedge-");
+		executor.setTaskDecorator(ClientConfig.requestContextDecorator());
+		return executor;
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "shipping.hedging", name = "enabled", havingValue = "true")
+	public HedgedRequestExecutor hedgedRequestExecutor(final RestTemplate restTemplate,
+			final CloseableHttpClient httpClient,
+			final DeadlinePropagationInterceptor deadlinePropagationInterceptor,
+			final DiscoveryClient discoveryClient,
+			final ThreadPoolTaskExecutor hedgeExecutor,
+			@Value("${shipping.hedging.percentile:95}") final double percentile,
+			@Value("${shipping.hedging.initial-delay-ms:200}") final long initialDelayMillis,
+			@Value("${shipping.hedging.min-delay-ms:20}") final long minDelayMillis,
+			@Value("${shipping.hedging.budget-ratio:0.1}") final double budgetRatio,
+			@Value("${shipping.hedging.budget-max:10}") final int budgetMax) {
+		// Attempts target resolved instances, so this template must not be load balanced
+		final RestTemplate instanceRestTemplate = new RestTemplate(new AbortableRequestFactory(httpClient));
+		instanceRestTemplate.getInterceptors().add(deadlinePropagationInterceptor);
+		return new HedgedRequestExecutor(restTemplate, instanceRestTemplate, discoveryClient, hedgeExecutor,
+				percentile, initialDelayMillis, minDelayMillis, budgetRatio, budgetMax);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "shipping.hedging", name = "enabled", havingValue = "true")
+	public MeterBinder hedgingMetrics(final HedgedRequestExecutor hedgedRequestExecutor) {
+		return registry -> {
+			FunctionCounter.builder("shipping.hedging.requests", hedgedRequestExecutor, HedgedRequestExecutor::getRequestCount)
+					.description("Lookups eligible for hedging")
+					.register(registry);
+			FunctionCounter.builder("shipping.hedging.hedges", hedgedRequestExecutor, HedgedRequestExecutor::getHedgeCount)
+					.description("Second attempts sent after the hedge delay")
+					.register(registry);
+			FunctionCounter.builder("shipping.hedging.wins", hedgedRequestExecutor, HedgedRequestExecutor::getHedgeWinCount)
+					.description("Lookups answered by the second attempt")
+					.register(registry);
+			FunctionCounter.builder("shipping.hedging.budget.exhausted", hedgedRequestExecutor,
+					HedgedRequestExecutor::getBudgetExhaustedCount)
+					.description("Hedges skipped because the hedge budget was spent")
+					.register(registry);
+			Gauge.builder("shipping.hedging.budget.tokens", hedgedRequestExecutor, HedgedRequestExecutor::getBudgetTokens)
+					.register(registry);
+		};
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.selimhorri.app.config.limit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.selimhorri.app.limit.AdaptiveConcurrencyLimiter;
+import com.selimhorri.app.limit.ConcurrencyLimitInterceptor;
+import com.selimhorri.app.resource.ShippingCsvResource;
+import com.selimhorri.app.resource.ShippingStreamResource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Adaptive concurrency limits in front of {@code /api/shippings}, one for reads and one
+ * for writes, so slow downstream writes cannot starve cheap reads and vice versa.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "shipping.concurrency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+	@Bean
+	public AdaptiveConcurrencyLimiter readConcurrencyLimiter(
+			@Value("${shipping.concurrency.read.initial-limit:20}") final int initialLimit,
+			@Value("${shipping.concurrency.read.min-limit:4}") final int minLimit,
+			@Value("${shipping.concurrency.read.max-limit:200}") final int maxLimit,
+			@Value("${shipping.concurrency.read.latency-threshold-ms:1000}") final long latencyThresholdMillis,
+			@Value("${shipping.concurrency.backoff-ratio:0.9}") final double backoffRatio) {
+		return new AdaptiveConcurrencyLimiter("read", initialLimit, minLimit, maxLimit, latencyThresholdMillis, backoffRatio);
+	}
+
+	@Bean
+	public AdaptiveConcurrencyLimiter writeConcurrencyLimiter(
+			@Value("${shipping.concurrency.write.initial-limit:10}") final int initialLimit,
+			@Value("${shipping.concurrency.write.min-limit:2}") final int minLimit,
+			@Value("${shipping.concurrency.write.max-limit:100}") final int maxLimit,
+			@Value("${shipping.concurrency.write.latency-threshold-ms:2000}") final long latencyThresholdMillis,
+			@Value("${shipping.concurrency.backoff-ratio:0.9}") final double backoffRatio) {
+		return new AdaptiveConcurrencyLimiter("write", initialLimit, minLimit, maxLimit, latencyThresholdMillis, backoffRatio);
+	}
+
+	@Bean
+	public MeterBinder concurrencyLimitMetrics(final AdaptiveConcurrencyLimiter readConcurrencyLimiter,
+			final AdaptiveConcurrencyLimiter writeConcurrencyLimiter) {
+		return registry -> {
+			for (final AdaptiveConcurrencyLimiter limiter : new AdaptiveConcurrencyLimiter[] {
+					readConcurrencyLimiter, writeConcurrencyLimiter }) {
+				Gauge.builder("shipping.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+						.tag("type", limiter.getName())
+						.description("Current adaptive concurrency limit")
+						.register(registry);
+				Gauge.builder("shipping.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+						.tag("type", limiter.getName())
+						.register(registry);
+				FunctionCounter.builder("shipping.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+						.tag("type", limiter.getName())
+						.description("Requests rejected with 503 by the concurrency limiter")
+						.register(registry);
+			}
+		};
+	}
+
+	@Bean
+	public WebMvcConfigurer concurrencyLimitWebMvcConfigurer(final AdaptiveConcurrencyLimiter readConcurrencyLimiter,
+			final AdaptiveConcurrencyLimiter writeConcurrencyLimiter,
+			@Value("${shipping.concurrency.retry-after-seconds:1}") final int retryAfterSeconds) {
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(final InterceptorRegistry registry) {
+				registry.addInterceptor(new ConcurrencyLimitInterceptor(
+						readConcurrencyLimiter, writeConcurrencyLimiter, retryAfterSeconds))
+						.addPathPatterns("/api/shippings", "/api/shippings/**")
+						// Bulk transfers and streams run for minutes and would read as overload to the latency-based limits
+						.excludePathPatterns(ShippingCsvResource.CSV_PATH, ShippingStreamResource.STREAM_PATH);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.selimhorri.app.config.logging;
+
+import java.util.Iterator;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.logging.AsyncRingBufferAppender;
+import com.selimhorri.app.logging.SamplingTurboFilter;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class LoggingMetricsConfig {
+
+	/**
+	 * Exposes backlog and dropped events of the async appenders on the root logger,
+	 * and events denied by hot-path sampling, as configured in {@code logback-spring.xml}.
+	 */
+	@Bean
+	public MeterBinder loggingPipelineMetrics() {
+		return registry -> {
+			if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext)) {
+				return;
+			}
+			final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+			final Iterator<Appender<ILoggingEvent>> appenders =
+					loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+			while (appenders.hasNext()) {
+				final Appender<ILoggingEvent> appender = appenders.next();
+				if (appender instanceof AsyncRingBufferAppender) {
+					final AsyncRingBufferAppender async = (AsyncRingBufferAppender) appender;
+					Gauge.builder("logging.async.backlog", async, AsyncRingBufferAppender::getBacklog)
+							.tag("appender", async.getName())
+							.description("Log events waiting to be written")
+							.register(registry);
+					Gauge.builder("logging.async.capacity", async, AsyncRingBufferAppender::getCapacity)
+							.tag("appender", async.getName())
+							.register(registry);
+					FunctionCounter.builder("logging.async.dropped", async, AsyncRingBufferAppender::getDiscardedCount)
+							.tag("appender", async.getName())
+							.tag("reason", "threshold")
+							.description("Log events dropped instead of blocking the caller")
+							.register(registry);
+					FunctionCounter.builder("logging.async.dropped", async, AsyncRingBufferAppender::getOverflowCount)
+							.tag("appender", async.getName())
+							.tag("reason", "full")
+							.description("Log events dropped instead of blocking the caller")
+							.register(registry);
+				}
+			}
+			for (final TurboFilter turboFilter : loggerContext.getTurboFilterList()) {
+				if (turboFilter instanceof SamplingTurboFilter) {
+					final SamplingTurboFilter sampling = (SamplingTurboFilter) turboFilter;
+					for (final String prefix : sampling.getSampledPrefixes()) {
+						FunctionCounter.builder("logging.sampled.out", sampling, f -> f.getSampledOutCount(prefix))
+								.tag("logger", prefix)
+								.description("Hot-path log events skipped by per-logger sampling")
+								.register(registry);
+					}
+				}
+			}
+		};
+	}
+
+
+
+}
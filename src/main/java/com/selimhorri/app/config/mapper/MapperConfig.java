@@ -1,11 +1,17 @@
 package com.selimhorri.app.config.mapper;
 
+import java.util.List;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.selimhorri.app.json.ShippingListingHttpMessageConverter;
 
 @Configuration
 public class MapperConfig {
@@ -13,9 +19,24 @@ public class MapperConfig {
 	@Bean
 	public ObjectMapper objectMapperBean() {
 		return new JsonMapper()
+				.registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
 				.enable(SerializationFeature.INDENT_OUTPUT);
 	}
 	
+	/**
+	 * Ahead of the Jackson converter, which would otherwise claim listings as plain beans.
+	 */
+	@Bean
+	public WebMvcConfigurer shippingListingWebMvcConfigurer(final ObjectMapper objectMapper) {
+		return new WebMvcConfigurer() {
+			@Override
+			public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+				converters.add(0, new ShippingListingHttpMessageConverter(objectMapper));
+			}
+		};
+	}
+	
 	
 	
 }
@@ -0,0 +1,25 @@
+package com.selimhorri.app.config.startup;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+	
+	private static final String APP_PACKAGE = "com.selimhorri.app";
+	
+	/**
+	 * With {@code spring.main.lazy-initialization} on, only framework beans are deferred;
+	 * the application's own beans (resources, services, repositories, clients and the
+	 * scheduled jobs, which never fire on a lazy bean) are still created at startup.
+	 */
+	@Bean
+	public static LazyInitializationExcludeFilter applicationBeansLazyInitializationExcludeFilter() {
+		return (beanName, beanDefinition, beanType) -> beanType != null
+				&& beanType.getName().startsWith(APP_PACKAGE);
+	}
+	
+	
+	
+}
@@ -0,0 +1,47 @@
+package com.selimhorri.app.config.startup;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records the time from JVM start until the application is ready to serve traffic.
+ * With {@code shipping.startup.exit-on-ready} the JVM exits right after, which is how
+ * the Docker build runs the class-data sharing training pass.
+ */
+@Component
+@Slf4j
+public class StartupTimeReporter implements ApplicationListener<ApplicationReadyEvent> {
+	
+	private final MeterRegistry meterRegistry;
+	private final boolean exitOnReady;
+	
+	public StartupTimeReporter(final MeterRegistry meterRegistry,
+			@Value("${shipping.startup.exit-on-ready:false}") final boolean exitOnReady) {
+		this.meterRegistry = meterRegistry;
+		this.exitOnReady = exitOnReady;
+	}
+	
+	@Override
+	public void onApplicationEvent(final ApplicationReadyEvent event) {
+		final long timeToReadyMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+		TimeGauge.builder("shipping.startup.time.to.ready", () -> timeToReadyMillis, TimeUnit.MILLISECONDS)
+				.description("Time from JVM start until the application was ready")
+				.register(this.meterRegistry);
+		log.info("Application ready, time-to-ready={}ms", timeToReadyMillis);
+		
+		if (this.exitOnReady) {
+			System.exit(SpringApplication.exit(event.getApplicationContext()));
+		}
+	}
+	
+}
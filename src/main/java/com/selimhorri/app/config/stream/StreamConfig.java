@@ -0,0 +1,88 @@
+package com.selimhorri.app.config.stream;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.stream.ShippingEventBroadcaster;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Server-Sent Events push of shipping changes. Connections are async requests, so idle
+ * subscribers hold no thread; a small pool writes the pending frames.
+ */
+@Configuration
+public class StreamConfig {
+	
+	/**
+	 * Writes pending frames to subscribers. A subscriber has at most one drain task queued,
+	 * so a queue as large as the subscriber cap never overflows.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor streamSendExecutor(
+			@Value("${shipping.stream.send-threads:4}") final int sendThreads,
+			@Value("${shipping.stream.max-subscribers:5000}") final int maxSubscribers) {
+		final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(sendThreads);
+		executor.setMaxPoolSize(sendThreads);
+		executor.setQueueCapacity(maxSubscribers);
+		executor.setThreadNamePrefix("stream-send-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		return executor;
+	}
+	
+	@Bean
+	public ShippingEventBroadcaster shippingEventBroadcaster(final ObjectMapper objectMapper,
+			@Qualifier("streamSendExecutor") final ThreadPoolTaskExecutor streamSendExecutor,
+			@Value("${shipping.stream.buffer-size:256}") final int bufferSize,
+			@Value("${shipping.stream.replay-size:256}") final int replaySize,
+			@Value("${shipping.stream.max-subscribers:5000}") final int maxSubscribers,
+			@Value("${shipping.stream.timeout:PT30M}") final Duration timeout,
+			@Value("${shipping.stream.reconnect-delay:PT3S}") final Duration reconnectDelay,
+			@Value("${shipping.stream.max-frames-per-drain:16}") final int maxFramesPerDrain,
+			@Value("${shipping.stream.write-timeout:PT10S}") final Duration writeTimeout) {
+		return new ShippingEventBroadcaster(objectMapper, streamSendExecutor, bufferSize, replaySize,
+				maxSubscribers, timeout.toMillis(), reconnectDelay.toMillis(), maxFramesPerDrain, writeTimeout.toMillis());
+	}
+	
+	@Bean
+	public MeterBinder streamMetrics(final ShippingEventBroadcaster shippingEventBroadcaster) {
+		return registry -> {
+			Gauge.builder("shipping.stream.subscribers", shippingEventBroadcaster, ShippingEventBroadcaster::getSubscriberCount)
+					.description("Open shipping change streams")
+					.register(registry);
+			FunctionCounter.builder("shipping.stream.events", shippingEventBroadcaster, ShippingEventBroadcaster::getPublishedCount)
+					.tag("outcome", "published")
+					.register(registry);
+			FunctionCounter.builder("shipping.stream.frames.sent", shippingEventBroadcaster, ShippingEventBroadcaster::getSentFrameCount)
+					.description("Events, replays and keep-alives written to subscribers")
+					.register(registry);
+			FunctionCounter.builder("shipping.stream.events", shippingEventBroadcaster, ShippingEventBroadcaster::getReplayedCount)
+					.tag("outcome", "replayed")
+					.register(registry);
+			FunctionCounter.builder("shipping.stream.resets", shippingEventBroadcaster, ShippingEventBroadcaster::getResetCount)
+					.description("Resumptions the replay log could not serve")
+					.register(registry);
+			FunctionCounter.builder("shipping.stream.slow.disconnects", shippingEventBroadcaster,
+						ShippingEventBroadcaster::getSlowDisconnectCount)
+					.description("Subscribers dropped because their buffer was full")
+					.register(registry);
+			FunctionCounter.builder("shipping.stream.stalled.disconnects", shippingEventBroadcaster,
+						ShippingEventBroadcaster::getStalledDisconnectCount)
+					.description("Subscribers dropped because a write to them outlasted the write timeout")
+					.register(registry);
+		};
+	}
+
+
+
+}
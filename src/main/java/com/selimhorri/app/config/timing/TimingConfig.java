@@ -0,0 +1,64 @@
+package com.selimhorri.app.config.timing;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+
+import com.selimhorri.app.resource.ShippingCsvResource;
+import com.selimhorri.app.resource.ShippingStreamResource;
+import com.selimhorri.app.timing.RepositoryTimingInterceptor;
+import com.selimhorri.app.timing.ServerTimingFilter;
+import com.selimhorri.app.timing.SlowRequestRecorder;
+import com.selimhorri.app.timing.SlowRequestsEndpoint;
+
+/**
+ * Request timing for {@code /api/shippings}, switched on with {@code shipping.timing.enabled}.
+ * When it is off none of these beans exist and the timing hooks in clients, executors
+ * and services find no bound request and return immediately.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "shipping.timing", name = "enabled", havingValue = "true")
+public class TimingConfig {
+
+	@Bean
+	public SlowRequestRecorder slowRequestRecorder(
+			@Value("${shipping.timing.slowest-requests:20}") final int slowestRequests) {
+		return new SlowRequestRecorder(slowestRequests);
+	}
+
+	@Bean
+	public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(final SlowRequestRecorder slowRequestRecorder,
+			@Value("${shipping.timing.server-timing-header:true}") final boolean serverTimingHeader) {
+		final FilterRegistrationBean<ServerTimingFilter> registration =
+				new FilterRegistrationBean<>(new ServerTimingFilter(slowRequestRecorder, serverTimingHeader,
+						ShippingCsvResource.CSV_PATH, ShippingStreamResource.STREAM_PATH));
+		registration.addUrlPatterns("/api/shippings", "/api/shippings/*");
+		return registration;
+	}
+
+	@Bean
+	public SlowRequestsEndpoint slowRequestsEndpoint(final SlowRequestRecorder slowRequestRecorder) {
+		return new SlowRequestsEndpoint(slowRequestRecorder);
+	}
+
+	@Bean
+	public static BeanPostProcessor repositoryTimingPostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+				if (!(bean instanceof Repository)) {
+					return bean;
+				}
+				final ProxyFactory proxyFactory = new ProxyFactory(bean);
+				proxyFactory.addAdvice(new RepositoryTimingInterceptor());
+				return proxyFactory.getProxy();
+			}
+		};
+	}
+
+}
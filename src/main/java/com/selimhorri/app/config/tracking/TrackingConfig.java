@@ -0,0 +1,69 @@
+package com.selimhorri.app.config.tracking;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.tracking.ShipmentEventBatcher;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Shipment tracking intake: events posted in bulk are buffered in memory and written
+ * to {@code shipment_events} in JDBC batches.
+ */
+@Configuration
+public class TrackingConfig {
+
+	@Bean
+	public ShipmentEventBatcher shipmentEventBatcher(final JdbcTemplate jdbcTemplate,
+			final PlatformTransactionManager transactionManager,
+			@Value("${shipping.tracking.queue-capacity:100000}") final int capacity,
+			@Value("${shipping.tracking.batch-size:500}") final int batchSize,
+			@Value("${shipping.tracking.max-delay-ms:50}") final long maxDelayMillis,
+			@Value("${shipping.tracking.max-attempts:3}") final int maxAttempts,
+			@Value("${shipping.tracking.retry-backoff-ms:200}") final long retryBackoffMillis) {
+		return new ShipmentEventBatcher(jdbcTemplate, new TransactionTemplate(transactionManager),
+				capacity, batchSize, maxDelayMillis, maxAttempts, retryBackoffMillis);
+	}
+
+	@Bean
+	public MeterBinder trackingMetrics(final ShipmentEventBatcher shipmentEventBatcher) {
+		return registry -> {
+			Gauge.builder("shipping.tracking.backlog", shipmentEventBatcher, ShipmentEventBatcher::getBacklog)
+					.description("Shipment events accepted and not yet committed")
+					.register(registry);
+			Gauge.builder("shipping.tracking.capacity", shipmentEventBatcher, ShipmentEventBatcher::getCapacity)
+					.register(registry);
+			FunctionCounter.builder("shipping.tracking.events", shipmentEventBatcher, ShipmentEventBatcher::getAcceptedCount)
+					.tag("outcome", "accepted")
+					.register(registry);
+			FunctionCounter.builder("shipping.tracking.events", shipmentEventBatcher, ShipmentEventBatcher::getRejectedCount)
+					.tag("outcome", "rejected")
+					.register(registry);
+			FunctionCounter.builder("shipping.tracking.events", shipmentEventBatcher, ShipmentEventBatcher::getWrittenCount)
+					.tag("outcome", "written")
+					.register(registry);
+			FunctionCounter.builder("shipping.tracking.events", shipmentEventBatcher, ShipmentEventBatcher::getDroppedCount)
+					.tag("outcome", "dropped")
+					.register(registry);
+			FunctionCounter.builder("shipping.tracking.batches", shipmentEventBatcher, ShipmentEventBatcher::getBatchCount)
+					.description("Batch inserts committed")
+					.register(registry);
+			final Timer commitLatency = Timer.builder("shipping.tracking.commit.latency")
+					.description("Time from accepting a shipment event to committing it")
+					.publishPercentiles(0.5, 0.99)
+					.register(registry);
+			shipmentEventBatcher.setCommitLatencyRecorder(nanos -> commitLatency.record(nanos, TimeUnit.NANOSECONDS));
+		};
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.selimhorri.app.config.warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.HealthCheckHandler;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.selimhorri.app.client.OrderClient;
+import com.selimhorri.app.client.ProductClient;
+import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.warmup.WarmUpHealthCheckHandler;
+import com.selimhorri.app.warmup.WarmUpHealthIndicator;
+import com.selimhorri.app.warmup.WarmUpRunner;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class WarmUpConfig {
+	
+	private final boolean enabled;
+	private final String contextPath;
+	
+	public WarmUpConfig(@Value("${shipping.warm-up.enabled:true}") final boolean enabled,
+			@Value("${server.servlet.context-path:}") final String contextPath) {
+		this.enabled = enabled;
+		this.contextPath = contextPath;
+	}
+	
+	@Bean
+	public WarmUpRunner warmUpRunner(final OrderItemRepository orderItemRepository,
+			final ProductClient productClient, final OrderClient orderClient,
+			final ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+			@Value("${shipping.warm-up.timeout:PT60S}") final Duration timeout,
+			@Value("${shipping.warm-up.recent-order-items:200}") final int recentOrderItems,
+			@Value("${shipping.warm-up.connections-per-downstream:8}") final int connectionsPerDownstream,
+			@Value("${shipping.warm-up.synthetic-requests:300}") final int syntheticRequests,
+			@Value("${shipping.warm-up.concurrency:4}") final int concurrency) {
+		final WarmUpRunner warmUpRunner = new WarmUpRunner(orderItemRepository, productClient, orderClient,
+				timeout, recentOrderItems, connectionsPerDownstream, syntheticRequests, concurrency);
+		// Push the registration to UP right away instead of waiting for the next replication tick
+		warmUpRunner.onFinished(() -> applicationInfoManager.ifAvailable(manager -> {
+			if (manager.getInfo().getStatus() == InstanceStatus.STARTING) {
+				manager.setInstanceStatus(InstanceStatus.UP);
+			}
+		}));
+		return warmUpRunner;
+	}
+	
+	@EventListener
+	public void startWarmUp(final ApplicationReadyEvent event) {
+		final WarmUpRunner warmUpRunner = event.getApplicationContext().getBean(WarmUpRunner.class);
+		if (!this.enabled || !(event.getApplicationContext() instanceof WebServerApplicationContext)) {
+			warmUpRunner.skip();
+			return;
+		}
+		final int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+		warmUpRunner.start("http://localhost:" + port + this.contextPath);
+	}
+	
+	@Bean
+	public WarmUpHealthIndicator warmUpHealthIndicator(final WarmUpRunner warmUpRunner) {
+		return new WarmUpHealthIndicator(warmUpRunner);
+	}
+	
+	@Bean
+	@ConditionalOnClass(HealthCheckHandler.class)
+	@ConditionalOnProperty(value = "eureka.client.enabled", matchIfMissing = true)
+	public HealthCheckHandler warmUpHealthCheckHandler(final WarmUpRunner warmUpRunner) {
+		return new WarmUpHealthCheckHandler(warmUpRunner);
+	}
+	
+	@Bean
+	public MeterBinder warmUpMetrics(final WarmUpRunner warmUpRunner) {
+		return registry -> {
+			Gauge.builder("shipping.warmup.finished", warmUpRunner, runner -> runner.isFinished() ? 1 : 0)
+					.description("1 once warm-up has completed or timed out")
+					.register(registry);
+			TimeGauge.builder("shipping.warmup.duration", warmUpRunner, TimeUnit.MILLISECONDS,
+					runner -> Math.max(0L, runner.getDurationMillis()))
+					.description("Wall time of the warm-up phase")
+					.register(registry);
+			FunctionCounter.builder("shipping.warmup.lookups", warmUpRunner, WarmUpRunner::getLookupCount)
+					.tag("outcome", "success")
+					.register(registry);
+			FunctionCounter.builder("shipping.warmup.lookups", warmUpRunner, WarmUpRunner::getFailedLookupCount)
+					.tag("outcome", "failure")
+					.register(registry);
+			FunctionCounter.builder("shipping.warmup.requests", warmUpRunner, WarmUpRunner::getRequestCount)
+					.tag("outcome", "success")
+					.register(registry);
+			FunctionCounter.builder("shipping.warmup.requests", warmUpRunner, WarmUpRunner::getFailedRequestCount)
+					.tag("outcome", "failure")
+					.register(registry);
+		};
+	}
+	
+	
+	
+}
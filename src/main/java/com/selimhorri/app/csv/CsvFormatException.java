@@ -0,0 +1,19 @@
+package com.selimhorri.app.csv;
+
+import java.io.IOException;
+
+import lombok.Getter;
+
+@Getter
+public class CsvFormatException extends IOException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private final long lineNumber;
+	
+	public CsvFormatException(final long lineNumber, final String message) {
+		super(message + " at line " + lineNumber);
+		this.lineNumber = lineNumber;
+	}
+	
+}
@@ -0,0 +1,109 @@
+package com.selimhorri.app.csv;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, so input of any size is parsed in constant
+ * memory. Fields may be quoted, with {@code ""} for a quote and line breaks allowed inside
+ * quotes; records end with LF or CRLF. A record longer than {@code maxRecordChars} is
+ * rejected instead of being buffered, which bounds what an unterminated quote can consume.
+ */
+public final class CsvReader implements Closeable {
+
+	private final Reader reader;
+	private final int maxRecordChars;
+	private final StringBuilder field = new StringBuilder(64);
+
+	private long lineNumber = 1;
+	private long recordLineNumber;
+	private int recordChars;
+
+	public CsvReader(final Reader reader, final int maxRecordChars) {
+		this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader, 64 * 1024);
+		this.maxRecordChars = maxRecordChars;
+	}
+
+	/**
+	 * @return the fields of the next record, or {@code null} at the end of the input
+	 * @throws CsvFormatException if the record is malformed; the rest of the input cannot be trusted
+	 */
+	public List<String> readRecord() throws IOException {
+		int c = this.reader.read();
+		if (c == -1) {
+			return null;
+		}
+		this.recordLineNumber = this.lineNumber;
+		this.recordChars = 0;
+		final List<String> fields = new ArrayList<>();
+		this.field.setLength(0);
+		boolean quoted = false;
+		boolean afterQuoted = false;
+		while (true) {
+			if (c == -1) {
+				if (quoted) {
+					throw new CsvFormatException(this.recordLineNumber, "Unterminated quoted field");
+				}
+				fields.add(this.field.toString());
+				return fields;
+			}
+			if (++this.recordChars > this.maxRecordChars) {
+				throw new CsvFormatException(this.recordLineNumber,
+						"Record exceeds " + this.maxRecordChars + " characters");
+			}
+			if (quoted) {
+				if (c == '"') {
+					final int next = this.reader.read();
+					if (next == '"') {
+						this.field.append('"');
+					} else {
+						quoted = false;
+						afterQuoted = true;
+						c = next;
+						continue;
+					}
+				} else {
+					if (c == '\n') {
+						this.lineNumber++;
+					}
+					this.field.append((char) c);
+				}
+			} else if (c == ',') {
+				fields.add(this.field.toString());
+				this.field.setLength(0);
+				afterQuoted = false;
+			} else if (c == '\n' || c == '\r') {
+				if (c == '\r' && (c = this.reader.read()) != '\n') {
+					throw new CsvFormatException(this.recordLineNumber, "Carriage return outside a quoted field");
+				}
+				this.lineNumber++;
+				fields.add(this.field.toString());
+				return fields;
+			} else if (c == '"' && this.field.length() == 0 && !afterQuoted) {
+				quoted = true;
+			} else if (afterQuoted) {
+				throw new CsvFormatException(this.recordLineNumber, "Unexpected character after a quoted field");
+			} else {
+				this.field.append((char) c);
+			}
+			c = this.reader.read();
+		}
+	}
+
+	/**
+	 * Line on which the record last returned by {@link #readRecord()} started, counting from 1.
+	 */
+	public long getRecordLineNumber() {
+		return this.recordLineNumber;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.reader.close();
+	}
+
+}
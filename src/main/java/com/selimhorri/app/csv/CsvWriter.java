@@ -0,0 +1,49 @@
+package com.selimhorri.app.csv;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes RFC 4180 CSV records straight to the underlying writer, quoting only the
+ * fields that need it. {@code null} is written as an empty field.
+ */
+public final class CsvWriter {
+
+	private final Writer writer;
+
+	public CsvWriter(final Writer writer) {
+		this.writer = writer;
+	}
+
+	public void writeRecord(final Object... fields) throws IOException {
+		for (int i = 0; i < fields.length; i++) {
+			if (i > 0) {
+				this.writer.write(',');
+			}
+			if (fields[i] != null) {
+				this.writeField(fields[i].toString());
+			}
+		}
+		this.writer.write("\r\n");
+	}
+
+	public void flush() throws IOException {
+		this.writer.flush();
+	}
+
+	private void writeField(final String value) throws IOException {
+		boolean needsQuotes = false;
+		for (int i = 0; i < value.length() && !needsQuotes; i++) {
+			final char c = value.charAt(i);
+			needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+		}
+		if (!needsQuotes) {
+			this.writer.write(value);
+			return;
+		}
+		this.writer.write('"');
+		this.writer.write(value.replace("\"", "\"\""));
+		this.writer.write('"');
+	}
+
+}
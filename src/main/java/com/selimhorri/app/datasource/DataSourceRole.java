@@ -0,0 +1,11 @@
+package com.selimhorri.app.datasource;
+
+/**
+ * Lookup key of {@link ReplicaRoutingDataSource}.
+ */
+public enum DataSourceRole {
+	
+	PRIMARY,
+	REPLICA
+	
+}
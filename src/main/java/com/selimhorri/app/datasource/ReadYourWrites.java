@@ -0,0 +1,48 @@
+package com.selimhorri.app.datasource;
+
+/**
+ * Oldest write the current request must be able to read, bound to the request thread.
+ * <p>
+ * A write response carries {@link #WRITE_TIMESTAMP_HEADER}; a client that sends the value
+ * back in {@link #MIN_READ_TIMESTAMP_HEADER} is served from the primary until the replica
+ * has caught up with that point. Both values are epoch milliseconds on the service's clock.
+ */
+public final class ReadYourWrites {
+	
+	public static final String WRITE_TIMESTAMP_HEADER = "X-Write-Timestamp";
+	public static final String MIN_READ_TIMESTAMP_HEADER = "X-Min-Read-Timestamp";
+	
+	/**
+	 * Bound for requests that did not ask for a minimum; nothing was written before it.
+	 */
+	public static final long NONE = Long.MIN_VALUE;
+	
+	private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+	
+	private ReadYourWrites() {
+	}
+	
+	/**
+	 * @return whether a request on this thread is tracked, that is replica routing is enabled
+	 */
+	public static boolean isTracking() {
+		return CURRENT.get() != null;
+	}
+	
+	/**
+	 * @return the bound minimum read timestamp, or {@link #NONE}
+	 */
+	public static long minReadTimestamp() {
+		final Long timestamp = CURRENT.get();
+		return timestamp == null ? NONE : timestamp;
+	}
+	
+	public static void bind(final long minReadTimestamp) {
+		CURRENT.set(minReadTimestamp);
+	}
+	
+	public static void clear() {
+		CURRENT.remove();
+	}
+	
+}
@@ -0,0 +1,40 @@
+package com.selimhorri.app.datasource;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Binds the caller's {@link ReadYourWrites#MIN_READ_TIMESTAMP_HEADER} for the duration of
+ * the request. A value that cannot be parsed pins the request to the primary, since the
+ * caller evidently wrote something it expects to see.
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+	
+	@Override
+	public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+			final Object handler) {
+		ReadYourWrites.bind(parseTimestamp(request.getHeader(ReadYourWrites.MIN_READ_TIMESTAMP_HEADER)));
+		return true;
+	}
+	
+	@Override
+	public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+			final Object handler, final Exception ex) {
+		ReadYourWrites.clear();
+	}
+	
+	private static long parseTimestamp(final String header) {
+		if (header == null || header.isBlank()) {
+			return ReadYourWrites.NONE;
+		}
+		try {
+			return Long.parseLong(header.trim());
+		}
+		catch (NumberFormatException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+	
+}
@@ -0,0 +1,103 @@
+package com.selimhorri.app.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures how far the replica trails the primary with a heartbeat row: each check reads
+ * the newest beat the replica has applied and then writes the current time to
+ * {@code replica_heartbeat} on the primary for the next check to find. Everything
+ * committed on the primary before the applied beat was written is visible on the replica.
+ * <p>
+ * Beats are written one {@code heartbeatIntervalMillis} apart, so even a replica that
+ * applies them instantly shows a beat up to one interval old; the lag is what the applied
+ * beat's age exceeds that by. Reading before writing keeps the measurement from depending
+ * on whether the write just made has been replicated yet.
+ * <p>
+ * The replica only serves reads while the last check succeeded and the lag is within
+ * {@code maxLagMillis}; until the first check, after a failed one, or when it falls
+ * behind, reads go to the primary. A negative {@code maxLagMillis} disables the guard,
+ * in which case requests asking to read their own writes always go to the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+	
+	private static final String WRITE_HEARTBEAT = "UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1";
+	private static final String READ_HEARTBEAT = "SELECT beat_millis FROM replica_heartbeat WHERE id = 1";
+	
+	private final JdbcTemplate primary;
+	private final JdbcTemplate replica;
+	private final long maxLagMillis;
+	private final long heartbeatIntervalMillis;
+	
+	private volatile boolean healthy;
+	private volatile long replicatedUpTo = Long.MIN_VALUE;
+	private volatile long lagMillis = -1L;
+	
+	public ReplicaLagMonitor(final DataSource primary, final DataSource replica, final long maxLagMillis,
+			final long heartbeatIntervalMillis) {
+		this.primary = new JdbcTemplate(primary);
+		this.replica = new JdbcTemplate(replica);
+		this.maxLagMillis = maxLagMillis;
+		this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+	}
+	
+	@Scheduled(fixedDelayString = "${shipping.datasource.replica.heartbeat-interval:PT1S}")
+	public void check() {
+		try {
+			if (this.maxLagMillis >= 0) {
+				final Long applied = this.replica.queryForObject(READ_HEARTBEAT, Long.class);
+				final long now = System.currentTimeMillis();
+				this.replicatedUpTo = applied == null ? Long.MIN_VALUE : applied;
+				this.lagMillis = applied == null ? Long.MAX_VALUE : Math.max(0L, now - applied - this.heartbeatIntervalMillis);
+				this.primary.update(WRITE_HEARTBEAT, now);
+			} else {
+				this.replica.queryForObject("SELECT 1", Integer.class);
+			}
+			this.setHealthy(true);
+		}
+		catch (DataAccessException e) {
+			this.setHealthy(false);
+			log.warn("*** ReplicaLagMonitor; heartbeat failed, reads stay on the primary: {} *", e.getMessage());
+		}
+	}
+	
+	private void setHealthy(final boolean healthy) {
+		if (this.healthy != healthy) {
+			log.info("*** ReplicaLagMonitor; replica {} *", healthy ? "reachable" : "unreachable");
+		}
+		this.healthy = healthy;
+	}
+	
+	/**
+	 * @param minReadTimestamp oldest write the reader must see, or {@link ReadYourWrites#NONE}
+	 * @return whether a read-only transaction may run on the replica
+	 */
+	public boolean canServe(final long minReadTimestamp) {
+		if (!this.healthy) {
+			return false;
+		}
+		if (this.maxLagMillis < 0) {
+			return minReadTimestamp == ReadYourWrites.NONE;
+		}
+		return this.lagMillis <= this.maxLagMillis && this.replicatedUpTo >= minReadTimestamp;
+	}
+	
+	public boolean isHealthy() {
+		return this.healthy;
+	}
+	
+	/**
+	 * Lag measured by the last successful check in milliseconds, beyond the one heartbeat
+	 * interval any applied beat may be old, {@code -1} before the first.
+	 */
+	public long getLagMillis() {
+		return this.lagMillis;
+	}
+	
+}
@@ -0,0 +1,50 @@
+package com.selimhorri.app.datasource;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to the replica while
+ * {@link ReplicaLagMonitor#canServe(long)} allows it, and everything else to the primary.
+ * <p>
+ * The decision is taken when a connection is fetched, so this must sit behind a
+ * {@link LazyConnectionDataSourceProxy}: the transaction manager asks for a connection
+ * before it has published the transaction's read-only flag.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+	
+	private final ReplicaLagMonitor lagMonitor;
+	private final AtomicLong primaryConnections = new AtomicLong();
+	private final AtomicLong replicaConnections = new AtomicLong();
+	
+	public ReplicaRoutingDataSource(final DataSource primary, final DataSource replica,
+			final ReplicaLagMonitor lagMonitor) {
+		this.lagMonitor = lagMonitor;
+		this.setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+		this.setDefaultTargetDataSource(primary);
+		this.setLenientFallback(false);
+		this.afterPropertiesSet();
+	}
+	
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+				&& this.lagMonitor.canServe(ReadYourWrites.minReadTimestamp())) {
+			this.replicaConnections.incrementAndGet();
+			return DataSourceRole.REPLICA;
+		}
+		this.primaryConnections.incrementAndGet();
+		return DataSourceRole.PRIMARY;
+	}
+	
+	public long getRoutedCount(final DataSourceRole role) {
+		return role == DataSourceRole.REPLICA ? this.replicaConnections.get() : this.primaryConnections.get();
+	}
+	
+}
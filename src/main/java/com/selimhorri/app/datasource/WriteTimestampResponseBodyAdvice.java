@@ -0,0 +1,38 @@
+package com.selimhorri.app.datasource;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Stamps responses to writes with {@link ReadYourWrites#WRITE_TIMESTAMP_HEADER}. The body
+ * is written after the handler's transaction committed, so the stamp is never earlier
+ * than the write it stands for.
+ */
+@ControllerAdvice
+public class WriteTimestampResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+	
+	@Override
+	public boolean supports(final MethodParameter returnType,
+			final Class<? extends HttpMessageConverter<?>> converterType) {
+		return ReadYourWrites.isTracking();
+	}
+	
+	@Override
+	public Object beforeBodyWrite(final Object body, final MethodParameter returnType,
+			final MediaType selectedContentType, final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+			final ServerHttpRequest request, final ServerHttpResponse response) {
+		final HttpMethod method = request.getMethod();
+		if (method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS) {
+			response.getHeaders().set(ReadYourWrites.WRITE_TIMESTAMP_HEADER,
+					String.valueOf(System.currentTimeMillis()));
+		}
+		return body;
+	}
+	
+}
@@ -0,0 +1,93 @@
+package com.selimhorri.app.deadline;
+
+import java.util.concurrent.TimeUnit;
+
+import com.selimhorri.app.exception.wrapper.DeadlineExceededException;
+
+/**
+ * Point in time after which nobody is waiting for the current request any more, bound
+ * to the request thread and carried over to lookup workers by {@link #propagating(Runnable)}.
+ * <p>
+ * The remaining budget becomes the timeout of every outbound call and is forwarded in
+ * {@link #TIMEOUT_HEADER}, so downstream services can give up at the same moment.
+ * Threads without a bound deadline, such as schedulers, are never cut short.
+ */
+public final class Deadline {
+	
+	/**
+	 * Remaining budget in milliseconds, read from inbound and written to outbound requests.
+	 * A relative value keeps it independent of clock skew between hosts.
+	 */
+	public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+	
+	private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+	
+	private final long expiresAtNanos;
+	private final long timeoutMillis;
+	
+	private Deadline(final long timeoutMillis) {
+		this.timeoutMillis = timeoutMillis;
+		this.expiresAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+	}
+	
+	public static Deadline after(final long timeoutMillis) {
+		return new Deadline(timeoutMillis);
+	}
+	
+	public static Deadline current() {
+		return CURRENT.get();
+	}
+	
+	/**
+	 * Binds {@code deadline} to the current thread and returns the previously bound one.
+	 */
+	public static Deadline bind(final Deadline deadline) {
+		final Deadline previous = CURRENT.get();
+		if (deadline == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(deadline);
+		}
+		return previous;
+	}
+	
+	public static Runnable propagating(final Runnable task) {
+		final Deadline deadline = CURRENT.get();
+		if (deadline == null) {
+			return task;
+		}
+		return () -> {
+			final Deadline previous = bind(deadline);
+			try {
+				task.run();
+			} finally {
+				bind(previous);
+			}
+		};
+	}
+	
+	/**
+	 * Stops the current work with a {@link DeadlineExceededException} if the deadline
+	 * bound to this thread has passed.
+	 */
+	public static void checkNotExpired(final String work) {
+		final Deadline deadline = CURRENT.get();
+		if (deadline != null && deadline.isExpired()) {
+			throw new DeadlineExceededException(String.format(
+					"Deadline of %d ms exceeded before %s", deadline.timeoutMillis, work));
+		}
+	}
+	
+	public long getTimeoutMillis() {
+		return this.timeoutMillis;
+	}
+	
+	public long remainingMillis() {
+		return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(this.expiresAtNanos - System.nanoTime()));
+	}
+	
+	public boolean isExpired() {
+		return System.nanoTime() - this.expiresAtNanos >= 0;
+	}
+	
+}
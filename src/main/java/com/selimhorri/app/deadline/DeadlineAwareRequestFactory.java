@@ -0,0 +1,39 @@
+package com.selimhorri.app.deadline;
+
+import java.net.URI;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * Turns the remaining budget of the current {@link Deadline} into the pool, connect and
+ * read timeouts of each request, so a slow downstream call cannot outlive its caller.
+ */
+public class DeadlineAwareRequestFactory extends HttpComponentsClientHttpRequestFactory {
+	
+	public DeadlineAwareRequestFactory(final HttpClient httpClient) {
+		super(httpClient);
+	}
+	
+	@Override
+	protected HttpContext createHttpContext(final HttpMethod httpMethod, final URI uri) {
+		final Deadline deadline = Deadline.current();
+		if (deadline == null) {
+			return super.createHttpContext(httpMethod, uri);
+		}
+		// Zero means no timeout to HttpClient, so an exhausted budget still gets a minimal one
+		final int timeoutMillis = (int) Math.max(1L, Math.min(Integer.MAX_VALUE, deadline.remainingMillis()));
+		final HttpClientContext context = HttpClientContext.create();
+		context.setRequestConfig(RequestConfig.custom()
+				.setConnectionRequestTimeout(timeoutMillis)
+				.setConnectTimeout(timeoutMillis)
+				.setSocketTimeout(timeoutMillis)
+				.build());
+		return context;
+	}
+	
+}
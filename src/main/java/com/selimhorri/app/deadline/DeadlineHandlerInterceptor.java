@@ -0,0 +1,89 @@
+package com.selimhorri.app.deadline;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Binds a {@link Deadline} for each request: the caller's {@link Deadline#TIMEOUT_HEADER}
+ * when it is present and shorter, otherwise the handler's {@link RequestDeadline} or
+ * the default timeout.
+ */
+public class DeadlineHandlerInterceptor implements HandlerInterceptor {
+	
+	private static final String DEADLINE_ATTRIBUTE = DeadlineHandlerInterceptor.class.getName() + ".deadline";
+	
+	private final long defaultTimeoutMillis;
+	private final UnaryOperator<String> placeholderResolver;
+	private final Map<Method, Long> timeoutsByHandler = new ConcurrentHashMap<>();
+	private final AtomicLong expired = new AtomicLong();
+	
+	public DeadlineHandlerInterceptor(final long defaultTimeoutMillis, final UnaryOperator<String> placeholderResolver) {
+		this.defaultTimeoutMillis = defaultTimeoutMillis;
+		this.placeholderResolver = placeholderResolver;
+	}
+	
+	/**
+	 * Requests that were still running when their deadline passed.
+	 */
+	public long getExpiredCount() {
+		return this.expired.get();
+	}
+	
+	@Override
+	public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+			final Object handler) {
+		long timeoutMillis = handler instanceof HandlerMethod
+				? this.timeoutsByHandler.computeIfAbsent(((HandlerMethod) handler).getMethod(), this::timeoutOf)
+				: this.defaultTimeoutMillis;
+		final Long requested = parseTimeout(request.getHeader(Deadline.TIMEOUT_HEADER));
+		if (requested != null) {
+			timeoutMillis = Math.min(timeoutMillis, requested);
+		}
+		final Deadline deadline = Deadline.after(timeoutMillis);
+		request.setAttribute(DEADLINE_ATTRIBUTE, deadline);
+		Deadline.bind(deadline);
+		return true;
+	}
+	
+	@Override
+	public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+			final Object handler, final Exception ex) {
+		final Deadline deadline = (Deadline) request.getAttribute(DEADLINE_ATTRIBUTE);
+		if (deadline != null) {
+			request.removeAttribute(DEADLINE_ATTRIBUTE);
+			Deadline.bind(null);
+			if (deadline.isExpired()) {
+				this.expired.incrementAndGet();
+			}
+		}
+	}
+	
+	private long timeoutOf(final Method method) {
+		final RequestDeadline annotation = method.getAnnotation(RequestDeadline.class);
+		return annotation != null
+				? Long.parseLong(this.placeholderResolver.apply(annotation.value()).trim())
+				: this.defaultTimeoutMillis;
+	}
+	
+	private static Long parseTimeout(final String header) {
+		if (header == null) {
+			return null;
+		}
+		try {
+			final long millis = Long.parseLong(header.trim());
+			return millis >= 0 ? millis : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+	
+}
@@ -0,0 +1,59 @@
+package com.selimhorri.app.deadline;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.selimhorri.app.exception.wrapper.DeadlineExceededException;
+
+/**
+ * Forwards the remaining budget of the current {@link Deadline} downstream and refuses
+ * to start calls once it has passed. Calls that were started in time but answered only
+ * after the deadline are counted as wasted.
+ */
+public class DeadlinePropagationInterceptor implements ClientHttpRequestInterceptor {
+	
+	private final AtomicLong skipped = new AtomicLong();
+	private final AtomicLong wasted = new AtomicLong();
+	
+	/**
+	 * Outbound calls not made because the deadline had already passed.
+	 */
+	public long getSkippedCount() {
+		return this.skipped.get();
+	}
+	
+	/**
+	 * Outbound calls that completed after the deadline, whose answer nobody was waiting for.
+	 */
+	public long getWastedCount() {
+		return this.wasted.get();
+	}
+	
+	@Override
+	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+			final ClientHttpRequestExecution execution) throws IOException {
+		final Deadline deadline = Deadline.current();
+		if (deadline == null) {
+			return execution.execute(request, body);
+		}
+		if (deadline.isExpired()) {
+			this.skipped.incrementAndGet();
+			throw new DeadlineExceededException(String.format("Deadline of %d ms exceeded before %s %s",
+					deadline.getTimeoutMillis(), request.getMethodValue(), request.getURI()));
+		}
+		request.getHeaders().set(Deadline.TIMEOUT_HEADER, String.valueOf(deadline.remainingMillis()));
+		try {
+			return execution.execute(request, body);
+		} finally {
+			if (deadline.isExpired()) {
+				this.wasted.incrementAndGet();
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,21 @@
+package com.selimhorri.app.deadline;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Default deadline of a handler method, overriding {@code shipping.deadline.default-timeout-ms}.
+ * The value is in milliseconds and may be a property placeholder. A shorter
+ * {@link Deadline#TIMEOUT_HEADER} sent by the caller still wins.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestDeadline {
+	
+	String value();
+	
+}
@@ -0,0 +1,63 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import com.selimhorri.app.dto.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A soft-deleted shipping moved out of {@code order_items}. Rows are written by
+ * {@link com.selimhorri.app.archive.ShippingArchiver} and only ever read here.
+ */
+@Entity
+@Table(name = "order_items_archive")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class ArchivedOrderItem implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "archive_id", nullable = false, updatable = false)
+	private Long archiveId;
+	
+	@Column(name = "order_id", nullable = false, updatable = false)
+	private Integer orderId;
+	
+	@Column(name = "product_id", nullable = false, updatable = false)
+	private Integer productId;
+	
+	@Column(name = "ordered_quantity", updatable = false)
+	private Integer orderedQuantity;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "order_status", updatable = false, length = 20)
+	private OrderStatus orderStatus;
+	
+	@Column(name = "created_at", updatable = false)
+	private Instant createdAt;
+	
+	@Column(name = "deleted_at", updatable = false)
+	private Instant deletedAt;
+	
+	@Column(name = "archived_at", nullable = false, updatable = false)
+	private Instant archivedAt;
+
+}
@@ -4,12 +4,13 @@ import java.io.Serializable;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.Id;
+import javax.persistence.IdClass;
 import javax.persistence.Table;
 
-import org.hibernate.annotations.GenericGenerator;
+import com.selimhorri.app.dto.OrderStatus;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,6 +20,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "order_items")
+@IdClass(OrderItemId.class)
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
@@ -32,6 +34,7 @@ public final class OrderItem extends AbstractMappedEntity implements Serializabl
 	@Column(name = "order_id", nullable = false, updatable = false)
 	private Integer orderId;
 
+	@Id
 	@Column(name = "product_id", nullable = false, updatable = false)
 	private Integer productId;
 
@@ -41,4 +44,8 @@ public final class OrderItem extends AbstractMappedEntity implements Serializabl
 	@Column(name = "is_active")
 	private boolean isActive;
 
+	@Enumerated(EnumType.STRING)
+	@Column(name = "order_status", length = 20)
+	private OrderStatus orderStatus;
+
 }
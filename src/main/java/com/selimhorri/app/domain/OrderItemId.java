@@ -0,0 +1,22 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Primary key of {@link OrderItem}: an order ships each of its products once.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class OrderItemId implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer orderId;
+	private Integer productId;
+	
+}
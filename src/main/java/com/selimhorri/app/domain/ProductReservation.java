@@ -0,0 +1,37 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "product_reservations")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+public final class ProductReservation extends AbstractMappedEntity implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@Column(name = "product_id", nullable = false, updatable = false)
+	private Integer productId;
+
+	@Column(name = "stock_quantity", nullable = false)
+	private int stockQuantity;
+
+	@Column(name = "reserved_quantity", nullable = false)
+	private int reservedQuantity;
+
+}
@@ -0,0 +1,57 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import com.selimhorri.app.dto.ShipmentEventType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One carrier tracking scan. Rows are append-only: they are inserted in batches by
+ * {@link com.selimhorri.app.tracking.ShipmentEventBatcher} and only ever read here.
+ */
+@Entity
+@Table(name = "shipment_events")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class ShipmentEvent implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "event_id", nullable = false, updatable = false)
+	private Long eventId;
+
+	@Column(name = "order_id", nullable = false, updatable = false)
+	private Integer orderId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "event_type", nullable = false, updatable = false, length = 32)
+	private ShipmentEventType eventType;
+
+	@Column(name = "location", updatable = false)
+	private String location;
+
+	@Column(name = "occurred_at", nullable = false, updatable = false)
+	private Instant occurredAt;
+
+	@Column(name = "received_at", nullable = false, updatable = false)
+	private Instant receivedAt;
+
+}
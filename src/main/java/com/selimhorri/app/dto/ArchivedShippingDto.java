@@ -0,0 +1,37 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ArchivedShippingDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Long archiveId;
+	private Integer orderId;
+	private Integer productId;
+	private Integer orderedQuantity;
+	private OrderStatus orderStatus;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant createdAt;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant deletedAt;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant archivedAt;
+	
+}
@@ -0,0 +1,7 @@
+package com.selimhorri.app.dto;
+
+public enum LookupStatus {
+    FOUND,
+    NOT_FOUND,
+    ERROR
+}
@@ -0,0 +1,45 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional criteria of the shipping listing, bound from query parameters. Time bounds
+ * are ISO-8601 instants; {@code createdAfter} is inclusive and {@code createdBefore}
+ * exclusive, so consecutive windows never overlap.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderItemFilter implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer productId;
+	private Integer minQuantity;
+	private Integer maxQuantity;
+	
+	@DateTimeFormat(iso = ISO.DATE_TIME)
+	private Instant createdAfter;
+	
+	@DateTimeFormat(iso = ISO.DATE_TIME)
+	private Instant createdBefore;
+	
+	@DateTimeFormat(iso = ISO.DATE_TIME)
+	private Instant updatedSince;
+	
+	public boolean isEmpty() {
+		return this.productId == null && this.minQuantity == null && this.maxQuantity == null
+				&& this.createdAfter == null && this.createdBefore == null && this.updatedSince == null;
+	}
+	
+}
@@ -0,0 +1,36 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-order outcome of a multi-get, holding every shipping of the order, so a single
+ * missing or failing order does not fail the whole batch.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderItemLookupDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private LookupStatus status;
+	
+	@JsonProperty("shippings")
+	@JsonInclude(Include.NON_NULL)
+	private List<OrderItemDto> orderItemDtos;
+	
+	@JsonInclude(Include.NON_NULL)
+	private String msg;
+	
+}
@@ -0,0 +1,26 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An active shipping as the in-memory index knows it: keys and quantity only, without the
+ * product and order details of an {@link OrderItemDto}.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductShippingDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer orderId;
+	private Integer productId;
+	private Integer orderedQuantity;
+	
+}
@@ -0,0 +1,37 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ShipmentEventDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Long eventId;
+	private Integer orderId;
+	private ShipmentEventType eventType;
+	private String location;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant occurredAt;
+	
+	@JsonInclude(Include.NON_NULL)
+	@JsonFormat(shape = Shape.STRING)
+	private Instant receivedAt;
+	
+}
@@ -0,0 +1,11 @@
+package com.selimhorri.app.dto;
+
+public enum ShipmentEventType {
+    PICKED_UP,
+    IN_TRANSIT,
+    ARRIVED_AT_FACILITY,
+    OUT_FOR_DELIVERY,
+    DELIVERED,
+    DELIVERY_FAILED,
+    RETURNED
+}
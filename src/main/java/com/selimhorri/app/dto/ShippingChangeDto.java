@@ -0,0 +1,39 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One journaled change, with the shipping as it is now rather than as it was then:
+ * consumers apply it as an upsert, or as a removal when {@code active} is false.
+ * The state fields are null once the row has been archived.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ShippingChangeDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Long changeId;
+	private ShippingChangeType changeType;
+	private Integer orderId;
+	private Integer productId;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant changedAt;
+	
+	private boolean active;
+	private Integer orderedQuantity;
+	private OrderStatus orderStatus;
+	
+}
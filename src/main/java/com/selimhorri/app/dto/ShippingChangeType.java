@@ -0,0 +1,7 @@
+package com.selimhorri.app.dto;
+
+public enum ShippingChangeType {
+    CREATED,
+    UPDATED,
+    DEACTIVATED
+}
@@ -0,0 +1,31 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a CSV import. Rows are committed chunk by chunk, so when {@code completed}
+ * is {@code false} every row counted as imported is already stored. Only the first
+ * errors are listed; {@code rowsRejected} counts all of them.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ShippingCsvImportResultDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private long rowsRead;
+	private long rowsImported;
+	private long rowsRejected;
+	private boolean completed;
+	private List<CsvRowErrorDto> errors;
+	private boolean errorsTruncated;
+	
+}
@@ -0,0 +1,23 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ShippingStatsDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private long activeShippings;
+	private long totalQuantity;
+	private List<ProductShippingStatsDto> products;
+	
+}
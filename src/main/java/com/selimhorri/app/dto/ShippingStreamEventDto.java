@@ -0,0 +1,23 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ShippingStreamEventDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private ShippingChangeType changeType;
+	private Integer orderId;
+	private Integer productId;
+	private Integer orderedQuantity;
+	
+}
@@ -0,0 +1,18 @@
+package com.selimhorri.app.dto.response.collection;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class DtoMapResponse<K, V> {
+	
+	private Map<K, V> results;
+	
+}
@@ -0,0 +1,51 @@
+package com.selimhorri.app.dto.response.collection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.ProductDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An enriched shipping listing kept as rows plus the product and order each one resolved
+ * to, without a DTO per row. It is written as a {@link DtoCollectionResponse} of
+ * {@link OrderItemDto}s by {@link com.selimhorri.app.json.ShippingListingJsonWriter}.
+ */
+@AllArgsConstructor
+@Getter
+public final class ShippingListing {
+	
+	private final List<OrderItem> orderItems;
+	private final Map<Integer, ProductDto> products;
+	private final Map<Integer, OrderDto> orders;
+	
+	public ProductDto productOf(final OrderItem orderItem) {
+		return this.products.get(orderItem.getProductId());
+	}
+	
+	public OrderDto orderOf(final OrderItem orderItem) {
+		return this.orders.get(orderItem.getOrderId());
+	}
+	
+	/**
+	 * The same listing as a DTO graph, for callers that need the objects rather than the JSON.
+	 */
+	public List<OrderItemDto> toDtos() {
+		return this.orderItems.stream()
+				.map(orderItem -> OrderItemDto.builder()
+						.productId(orderItem.getProductId())
+						.orderId(orderItem.getOrderId())
+						.orderedQuantity(orderItem.getOrderedQuantity())
+						.productDto(this.productOf(orderItem))
+						.orderDto(this.orderOf(orderItem))
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+}
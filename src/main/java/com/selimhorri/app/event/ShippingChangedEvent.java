@@ -0,0 +1,39 @@
+package com.selimhorri.app.event;
+
+import com.selimhorri.app.domain.OrderItem;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published whenever a shipping becomes active or is deactivated. Listeners that keep
+ * derived in-memory state use {@code @TransactionalEventListener}, so they only see
+ * changes that were actually committed.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ShippingChangedEvent {
+	
+	public enum Type { CREATED, DELETED }
+	
+	private final Type type;
+	private final int orderId;
+	private final int productId;
+	private final int orderedQuantity;
+	
+	public static ShippingChangedEvent created(final OrderItem orderItem) {
+		return of(Type.CREATED, orderItem);
+	}
+	
+	public static ShippingChangedEvent deleted(final OrderItem orderItem) {
+		return of(Type.DELETED, orderItem);
+	}
+	
+	private static ShippingChangedEvent of(final Type type, final OrderItem orderItem) {
+		return new ShippingChangedEvent(type, orderItem.getOrderId(), orderItem.getProductId(),
+				orderItem.getOrderedQuantity() != null ? orderItem.getOrderedQuantity() : 0);
+	}
+	
+}
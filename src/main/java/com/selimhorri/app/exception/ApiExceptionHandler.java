@@ -4,6 +4,7 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -13,7 +14,10 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
+import com.selimhorri.app.exception.wrapper.ConcurrencyLimitExceededException;
+import com.selimhorri.app.exception.wrapper.DeadlineExceededException;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
+import com.selimhorri.app.exception.wrapper.TrackingBacklogFullException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -80,4 +84,52 @@ public class ApiExceptionHandler {
 				badRequest);
 	}
 
+	@ExceptionHandler(value = ConcurrencyLimitExceededException.class)
+	public ResponseEntity<ExceptionMsg> handleConcurrencyLimitExceededException(final ConcurrencyLimitExceededException e) {
+
+		log.info("**ApiExceptionHandler controller, handle concurrency limit exceeded*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+
+		return ResponseEntity.status(serviceUnavailable)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+				.body(ExceptionMsg.builder()
+						.msg("#### " + e.getMessage() + "! ####")
+						.httpStatus(serviceUnavailable)
+						.timestamp(ZonedDateTime
+								.now(ZoneId.systemDefault()))
+						.build());
+	}
+
+	@ExceptionHandler(value = TrackingBacklogFullException.class)
+	public ResponseEntity<ExceptionMsg> handleTrackingBacklogFullException(final TrackingBacklogFullException e) {
+
+		log.info("**ApiExceptionHandler controller, handle tracking backlog full*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+
+		return ResponseEntity.status(serviceUnavailable)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+				.body(ExceptionMsg.builder()
+						.msg("#### " + e.getMessage() + "! ####")
+						.httpStatus(serviceUnavailable)
+						.timestamp(ZonedDateTime
+								.now(ZoneId.systemDefault()))
+						.build());
+	}
+
+	@ExceptionHandler(value = DeadlineExceededException.class)
+	public ResponseEntity<ExceptionMsg> handleDeadlineExceededException(final DeadlineExceededException e) {
+
+		log.info("**ApiExceptionHandler controller, handle deadline exceeded*\n");
+		final var gatewayTimeout = HttpStatus.GATEWAY_TIMEOUT;
+
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+						.msg("#### " + e.getMessage() + "! ####")
+						.httpStatus(gatewayTimeout)
+						.timestamp(ZonedDateTime
+								.now(ZoneId.systemDefault()))
+						.build(),
+				gatewayTimeout);
+	}
+
 }
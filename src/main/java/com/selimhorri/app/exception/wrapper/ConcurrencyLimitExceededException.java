@@ -0,0 +1,17 @@
+package com.selimhorri.app.exception.wrapper;
+
+import lombok.Getter;
+
+@Getter
+public class ConcurrencyLimitExceededException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private final int retryAfterSeconds;
+	
+	public ConcurrencyLimitExceededException(final String message, final int retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+	
+}
@@ -0,0 +1,11 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class DeadlineExceededException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public DeadlineExceededException(final String message) {
+		super(message);
+	}
+	
+}
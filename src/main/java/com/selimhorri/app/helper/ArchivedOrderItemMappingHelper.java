@@ -0,0 +1,21 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.ArchivedOrderItem;
+import com.selimhorri.app.dto.ArchivedShippingDto;
+
+public interface ArchivedOrderItemMappingHelper {
+	
+	public static ArchivedShippingDto map(final ArchivedOrderItem archivedOrderItem) {
+		return ArchivedShippingDto.builder()
+				.archiveId(archivedOrderItem.getArchiveId())
+				.orderId(archivedOrderItem.getOrderId())
+				.productId(archivedOrderItem.getProductId())
+				.orderedQuantity(archivedOrderItem.getOrderedQuantity())
+				.orderStatus(archivedOrderItem.getOrderStatus())
+				.createdAt(archivedOrderItem.getCreatedAt())
+				.deletedAt(archivedOrderItem.getDeletedAt())
+				.archivedAt(archivedOrderItem.getArchivedAt())
+				.build();
+	}
+	
+}
@@ -3,6 +3,7 @@ package com.selimhorri.app.helper;
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.OrderStatus;
 import com.selimhorri.app.dto.ProductDto;
 
 public interface OrderItemMappingHelper {
@@ -37,6 +38,7 @@ public interface OrderItemMappingHelper {
 				.orderId(orderItemDto.getOrderId())
 				.isActive(true)
 				.orderedQuantity(orderItemDto.getOrderedQuantity())
+				.orderStatus(OrderStatus.CREATED)
 				.build();
 	}
 	
@@ -0,0 +1,31 @@
+package com.selimhorri.app.helper;
+
+import java.time.Instant;
+
+import com.selimhorri.app.domain.ShipmentEvent;
+import com.selimhorri.app.dto.ShipmentEventDto;
+
+public interface ShipmentEventMappingHelper {
+	
+	public static ShipmentEventDto map(final ShipmentEvent shipmentEvent) {
+		return ShipmentEventDto.builder()
+				.eventId(shipmentEvent.getEventId())
+				.orderId(shipmentEvent.getOrderId())
+				.eventType(shipmentEvent.getEventType())
+				.location(shipmentEvent.getLocation())
+				.occurredAt(shipmentEvent.getOccurredAt())
+				.receivedAt(shipmentEvent.getReceivedAt())
+				.build();
+	}
+	
+	public static ShipmentEvent mapForIngestion(final ShipmentEventDto shipmentEventDto, final Instant receivedAt) {
+		return ShipmentEvent.builder()
+				.orderId(shipmentEventDto.getOrderId())
+				.eventType(shipmentEventDto.getEventType())
+				.location(shipmentEventDto.getLocation())
+				.occurredAt(shipmentEventDto.getOccurredAt())
+				.receivedAt(receivedAt)
+				.build();
+	}
+	
+}
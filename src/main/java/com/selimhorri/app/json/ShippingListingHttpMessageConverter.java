@@ -0,0 +1,55 @@
+package com.selimhorri.app.json;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.dto.response.collection.ShippingListing;
+
+/**
+ * Writes {@link ShippingListing} response bodies with {@link ShippingListingJsonWriter},
+ * through a generator from the application's {@link ObjectMapper} so indentation and any
+ * nested values match the regular Jackson converter. Write-only.
+ */
+public class ShippingListingHttpMessageConverter extends AbstractHttpMessageConverter<ShippingListing> {
+	
+	private final ObjectMapper objectMapper;
+	
+	public ShippingListingHttpMessageConverter(final ObjectMapper objectMapper) {
+		super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+		this.objectMapper = objectMapper;
+	}
+	
+	@Override
+	protected boolean supports(final Class<?> clazz) {
+		return ShippingListing.class.isAssignableFrom(clazz);
+	}
+	
+	@Override
+	protected boolean canRead(final MediaType mediaType) {
+		return false;
+	}
+	
+	@Override
+	protected ShippingListing readInternal(final Class<? extends ShippingListing> clazz,
+			final HttpInputMessage inputMessage) {
+		throw new HttpMessageNotReadableException("Shipping listings are write-only", inputMessage);
+	}
+	
+	@Override
+	protected void writeInternal(final ShippingListing listing, final HttpOutputMessage outputMessage)
+			throws IOException {
+		// Flushed rather than closed, which would close the response stream as well
+		final JsonGenerator generator = this.objectMapper.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8);
+		ShippingListingJsonWriter.write(listing, generator);
+		generator.flush();
+	}
+	
+}
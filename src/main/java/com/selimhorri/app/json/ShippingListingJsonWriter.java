@@ -0,0 +1,179 @@
+package com.selimhorri.app.json;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.ShippingListing;
+
+/**
+ * Writes a {@link ShippingListing} field by field, producing exactly what Jackson writes
+ * for the equivalent {@code DtoCollectionResponse<OrderItemDto>}: same property order, same
+ * nulls, same date format. Indentation comes from the generator, so a generator created by
+ * the application's {@code ObjectMapper} gives byte-identical output.
+ * <p>
+ * Keep in step with {@code OrderItemDto}, {@code ProductDto} and {@code OrderDto}.
+ */
+public final class ShippingListingJsonWriter {
+	
+	// Field names pre-encoded once instead of on every row
+	private static final SerializableString COLLECTION = new SerializedString("collection");
+	private static final SerializableString PRODUCT_ID = new SerializedString("productId");
+	private static final SerializableString ORDER_ID = new SerializedString("orderId");
+	private static final SerializableString ORDERED_QUANTITY = new SerializedString("orderedQuantity");
+	private static final SerializableString PRODUCT = new SerializedString("product");
+	private static final SerializableString ORDER = new SerializedString("order");
+	private static final SerializableString PRODUCT_TITLE = new SerializedString("productTitle");
+	private static final SerializableString IMAGE_URL = new SerializedString("imageUrl");
+	private static final SerializableString SKU = new SerializedString("sku");
+	private static final SerializableString PRICE_UNIT = new SerializedString("priceUnit");
+	private static final SerializableString QUANTITY = new SerializedString("quantity");
+	private static final SerializableString ORDER_ITEM_DTOS = new SerializedString("orderItemDtos");
+	private static final SerializableString ORDER_DATE = new SerializedString("orderDate");
+	private static final SerializableString ORDER_DESC = new SerializedString("orderDesc");
+	private static final SerializableString ORDER_FEE = new SerializedString("orderFee");
+	private static final SerializableString ORDER_STATUS = new SerializedString("orderStatus");
+	
+	private static final DateTimeFormatter ORDER_DATE_FORMAT = DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT);
+	// Length of an order date in AppConstant.LOCAL_DATE_TIME_FORMAT, dd-MM-yyyy__HH:mm:ss:SSSSSS
+	private static final int ORDER_DATE_LENGTH = 27;
+	
+	private ShippingListingJsonWriter() {
+	}
+	
+	public static void write(final ShippingListing listing, final JsonGenerator generator) throws IOException {
+		final char[] dateBuffer = new char[ORDER_DATE_LENGTH];
+		generator.writeStartObject();
+		generator.writeFieldName(COLLECTION);
+		generator.writeStartArray();
+		for (final OrderItem orderItem : listing.getOrderItems()) {
+			generator.writeStartObject();
+			writeInteger(generator, PRODUCT_ID, orderItem.getProductId());
+			writeInteger(generator, ORDER_ID, orderItem.getOrderId());
+			writeInteger(generator, ORDERED_QUANTITY, orderItem.getOrderedQuantity());
+			final ProductDto product = listing.productOf(orderItem);
+			if (product != null) {
+				generator.writeFieldName(PRODUCT);
+				writeProduct(generator, product);
+			}
+			final OrderDto order = listing.orderOf(orderItem);
+			if (order != null) {
+				generator.writeFieldName(ORDER);
+				writeOrder(generator, order, dateBuffer);
+			}
+			generator.writeEndObject();
+		}
+		generator.writeEndArray();
+		generator.writeEndObject();
+	}
+	
+	private static void writeProduct(final JsonGenerator generator, final ProductDto product) throws IOException {
+		generator.writeStartObject();
+		writeInteger(generator, PRODUCT_ID, product.getProductId());
+		writeString(generator, PRODUCT_TITLE, product.getProductTitle());
+		writeString(generator, IMAGE_URL, product.getImageUrl());
+		writeString(generator, SKU, product.getSku());
+		writeDouble(generator, PRICE_UNIT, product.getPriceUnit());
+		writeInteger(generator, QUANTITY, product.getQuantity());
+		if (product.getOrderItemDtos() != null) {
+			// Never sent by PRODUCT-SERVICE in practice; left to the codec
+			generator.writeFieldName(ORDER_ITEM_DTOS);
+			generator.writeObject(product.getOrderItemDtos());
+		}
+		generator.writeEndObject();
+	}
+	
+	private static void writeOrder(final JsonGenerator generator, final OrderDto order, final char[] dateBuffer)
+			throws IOException {
+		generator.writeStartObject();
+		writeInteger(generator, ORDER_ID, order.getOrderId());
+		writeOrderDate(generator, order.getOrderDate(), dateBuffer);
+		writeString(generator, ORDER_DESC, order.getOrderDesc());
+		writeDouble(generator, ORDER_FEE, order.getOrderFee());
+		writeString(generator, ORDER_STATUS, order.getOrderStatus());
+		if (order.getOrderItemDtos() != null) {
+			generator.writeFieldName(ORDER_ITEM_DTOS);
+			generator.writeObject(order.getOrderItemDtos());
+		}
+		generator.writeEndObject();
+	}
+	
+	/**
+	 * Writes the date digit by digit into {@code buffer}; going through the formatter
+	 * allocates a few hundred bytes per row, more than the rest of the row together.
+	 */
+	private static void writeOrderDate(final JsonGenerator generator, final LocalDateTime date, final char[] buffer)
+			throws IOException {
+		generator.writeFieldName(ORDER_DATE);
+		if (date == null) {
+			generator.writeNull();
+			return;
+		}
+		if (date.getYear() < 1 || date.getYear() > 9999) {
+			// Signed or wider years; rare enough to leave to the formatter
+			generator.writeString(ORDER_DATE_FORMAT.format(date));
+			return;
+		}
+		digits(buffer, 0, date.getDayOfMonth(), 2);
+		buffer[2] = '-';
+		digits(buffer, 3, date.getMonthValue(), 2);
+		buffer[5] = '-';
+		digits(buffer, 6, date.getYear(), 4);
+		buffer[10] = '_';
+		buffer[11] = '_';
+		digits(buffer, 12, date.getHour(), 2);
+		buffer[14] = ':';
+		digits(buffer, 15, date.getMinute(), 2);
+		buffer[17] = ':';
+		digits(buffer, 18, date.getSecond(), 2);
+		buffer[20] = ':';
+		digits(buffer, 21, date.getNano() / 1_000, 6);
+		generator.writeString(buffer, 0, ORDER_DATE_LENGTH);
+	}
+	
+	private static void digits(final char[] buffer, final int offset, final int value, final int width) {
+		int remaining = value;
+		for (int i = offset + width - 1; i >= offset; i--) {
+			buffer[i] = (char) ('0' + remaining % 10);
+			remaining /= 10;
+		}
+	}
+	
+	private static void writeString(final JsonGenerator generator, final SerializableString name, final String value) throws IOException {
+		generator.writeFieldName(name);
+		if (value != null) {
+			generator.writeString(value);
+		}
+		else {
+			generator.writeNull();
+		}
+	}
+	
+	private static void writeInteger(final JsonGenerator generator, final SerializableString name, final Integer value) throws IOException {
+		generator.writeFieldName(name);
+		if (value != null) {
+			generator.writeNumber(value.intValue());
+		}
+		else {
+			generator.writeNull();
+		}
+	}
+	
+	private static void writeDouble(final JsonGenerator generator, final SerializableString name, final Double value) throws IOException {
+		generator.writeFieldName(name);
+		if (value != null) {
+			generator.writeNumber(value.doubleValue());
+		}
+		else {
+			generator.writeNull();
+		}
+	}
+	
+}
@@ -0,0 +1,96 @@
+package com.selimhorri.app.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit that adapts to observed latency using AIMD: while requests finish
+ * under {@code latencyThreshold} and the limit is actually being used, it grows by one;
+ * a slow or failed request shrinks it by {@code backoffRatio}. Only one decrease is
+ * applied per round of requests, so a burst of slow responses that all started before
+ * the previous decrease does not collapse the limit at once.
+ * <p>
+ * Admission is a single compare-and-set on the in-flight count, so requests over the
+ * limit are turned away immediately instead of queueing.
+ */
+public class AdaptiveConcurrencyLimiter {
+	
+	private final String name;
+	private final int minLimit;
+	private final int maxLimit;
+	private final long latencyThresholdNanos;
+	private final double backoffRatio;
+	
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicLong rejected = new AtomicLong();
+	// Guarded by this; read without the lock for admission
+	private volatile double limit;
+	private boolean decreased;
+	private long lastDecreaseNanos;
+	
+	public AdaptiveConcurrencyLimiter(final String name, final int initialLimit, final int minLimit,
+			final int maxLimit, final long latencyThresholdMillis, final double backoffRatio) {
+		this.name = name;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+		this.backoffRatio = backoffRatio;
+		this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+	}
+	
+	public String getName() {
+		return this.name;
+	}
+	
+	public int getLimit() {
+		return (int) this.limit;
+	}
+	
+	public int getInFlight() {
+		return this.inFlight.get();
+	}
+	
+	public long getRejectedCount() {
+		return this.rejected.get();
+	}
+	
+	/**
+	 * @return {@code true} if the caller may proceed and must later call {@link #release}
+	 */
+	public boolean tryAcquire() {
+		int current;
+		do {
+			current = this.inFlight.get();
+			if (current >= (int) this.limit) {
+				this.rejected.incrementAndGet();
+				return false;
+			}
+		} while (!this.inFlight.compareAndSet(current, current + 1));
+		return true;
+	}
+	
+	/**
+	 * Returns the permit and feeds the outcome into the limit.
+	 * @param startNanos {@link System#nanoTime()} when the permit was acquired
+	 * @param inFlightAtStart in-flight count, including this request, when it was admitted
+	 * @param failed whether the request failed in a way that signals overload
+	 */
+	public void release(final long startNanos, final int inFlightAtStart, final boolean failed) {
+		this.inFlight.decrementAndGet();
+		final long now = System.nanoTime();
+		final boolean overloaded = failed || now - startNanos > this.latencyThresholdNanos;
+		synchronized (this) {
+			if (overloaded) {
+				if (!this.decreased || startNanos - this.lastDecreaseNanos > 0) {
+					this.limit = Math.max(this.minLimit, this.limit * this.backoffRatio);
+					this.decreased = true;
+					this.lastDecreaseNanos = now;
+				}
+			} else if (inFlightAtStart * 2 >= this.limit) {
+				this.limit = Math.min(this.maxLimit, this.limit + 1);
+			}
+		}
+	}
+	
+}
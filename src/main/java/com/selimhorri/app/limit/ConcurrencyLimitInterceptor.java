@@ -0,0 +1,62 @@
+package com.selimhorri.app.limit;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.selimhorri.app.exception.wrapper.ConcurrencyLimitExceededException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Admits shipping requests through the read limiter (GET, HEAD) or the write limiter
+ * (everything else) and rejects the excess with {@link ConcurrencyLimitExceededException}.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+	
+	private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+	
+	private final AdaptiveConcurrencyLimiter readLimiter;
+	private final AdaptiveConcurrencyLimiter writeLimiter;
+	private final int retryAfterSeconds;
+	
+	@Override
+	public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+			final Object handler) {
+		final AdaptiveConcurrencyLimiter limiter = isRead(request) ? this.readLimiter : this.writeLimiter;
+		if (!limiter.tryAcquire()) {
+			throw new ConcurrencyLimitExceededException(
+					String.format("Too many concurrent %s requests, retry later", limiter.getName()),
+					this.retryAfterSeconds);
+		}
+		request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limiter, System.nanoTime(), limiter.getInFlight()));
+		return true;
+	}
+	
+	@Override
+	public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+			final Object handler, final Exception ex) {
+		final Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+		if (permit != null) {
+			request.removeAttribute(PERMIT_ATTRIBUTE);
+			permit.limiter.release(permit.startNanos, permit.inFlightAtStart,
+					ex != null || response.getStatus() >= 500);
+		}
+	}
+	
+	private static boolean isRead(final HttpServletRequest request) {
+		final String method = request.getMethod();
+		return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+	}
+	
+	@RequiredArgsConstructor
+	private static final class Permit {
+		private final AdaptiveConcurrencyLimiter limiter;
+		private final long startNanos;
+		private final int inFlightAtStart;
+	}
+	
+}
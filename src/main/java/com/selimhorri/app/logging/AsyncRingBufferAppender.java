@@ -0,0 +1,196 @@
+package com.selimhorri.app.logging;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.selimhorri.app.collection.BoundedRingBuffer;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+/**
+ * Hands log events to the attached appenders from one background thread, so request
+ * threads never wait on console or file I/O.
+ * <p>
+ * Events go through a {@link BoundedRingBuffer} and are never blocked on: once fewer
+ * than {@code discardingThreshold} slots are left, INFO and below are dropped to keep
+ * room for warnings and errors, and when the buffer is full every event is dropped.
+ * Dropped events are counted so they can be exported as metrics.
+ * <pre>
+ * &lt;appender name="ASYNC" class="com.selimhorri.app.logging.AsyncRingBufferAppender"&gt;
+ *   &lt;capacity&gt;8192&lt;/capacity&gt;
+ *   &lt;appender-ref ref="CONSOLE"/&gt;
+ * &lt;/appender&gt;
+ * </pre>
+ */
+public class AsyncRingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+		implements AppenderAttachable<ILoggingEvent> {
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+	private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+	private final AtomicLong discarded = new AtomicLong();
+	private final AtomicLong overflowed = new AtomicLong();
+
+	private int capacity = 8192;
+	private int discardingThreshold = -1;
+	private int maxFlushTime = 1000;
+
+	private BoundedRingBuffer<ILoggingEvent> buffer;
+	private volatile Thread worker;
+	private volatile boolean workerParked;
+
+	public void setCapacity(final int capacity) {
+		this.capacity = capacity;
+	}
+
+	public void setDiscardingThreshold(final int discardingThreshold) {
+		this.discardingThreshold = discardingThreshold;
+	}
+
+	/**
+	 * Milliseconds to keep draining on shutdown before remaining events are abandoned.
+	 */
+	public void setMaxFlushTime(final int maxFlushTime) {
+		this.maxFlushTime = maxFlushTime;
+	}
+
+	public int getCapacity() {
+		return this.buffer != null ? this.buffer.capacity() : this.capacity;
+	}
+
+	public int getBacklog() {
+		return this.buffer != null ? this.buffer.size() : 0;
+	}
+
+	/**
+	 * Events at INFO or below dropped because the buffer was nearly full.
+	 */
+	public long getDiscardedCount() {
+		return this.discarded.get();
+	}
+
+	/**
+	 * Events of any level dropped because the buffer was full.
+	 */
+	public long getOverflowCount() {
+		return this.overflowed.get();
+	}
+
+	@Override
+	public void start() {
+		if (this.isStarted()) {
+			return;
+		}
+		if (this.capacity < 2) {
+			this.addError("Invalid capacity " + this.capacity);
+			return;
+		}
+		this.buffer = new BoundedRingBuffer<>(this.capacity);
+		if (this.discardingThreshold < 0) {
+			this.discardingThreshold = this.buffer.capacity() / 5;
+		}
+		final Thread thread = new Thread(this::drainLoop, "AsyncRingBufferAppender-Worker-" + this.getName());
+		thread.setDaemon(true);
+		this.worker = thread;
+		super.start();
+		thread.start();
+	}
+
+	@Override
+	public void stop() {
+		if (!this.isStarted()) {
+			return;
+		}
+		super.stop();
+		final Thread thread = this.worker;
+		LockSupport.unpark(thread);
+		try {
+			thread.join(this.maxFlushTime);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (thread.isAlive()) {
+			this.addWarn("Worker did not drain within " + this.maxFlushTime + " ms, backlog=" + this.getBacklog());
+		}
+		this.appenders.detachAndStopAllAppenders();
+	}
+
+	@Override
+	protected void append(final ILoggingEvent event) {
+		if (this.buffer.remainingCapacity() <= this.discardingThreshold
+				&& event.getLevel().toInt() <= Level.INFO_INT) {
+			this.discarded.incrementAndGet();
+			return;
+		}
+		// Freeze message, MDC and thread name while still on the calling thread
+		event.prepareForDeferredProcessing();
+		if (!this.buffer.offer(event)) {
+			this.overflowed.incrementAndGet();
+			return;
+		}
+		if (this.workerParked) {
+			LockSupport.unpark(this.worker);
+		}
+	}
+
+	private void drainLoop() {
+		while (true) {
+			final ILoggingEvent event = this.buffer.poll();
+			if (event != null) {
+				this.appenders.appendLoopOnAppenders(event);
+				continue;
+			}
+			if (!this.isStarted()) {
+				return;
+			}
+			this.workerParked = true;
+			if (this.buffer.isEmpty() && this.isStarted()) {
+				LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+			}
+			this.workerParked = false;
+		}
+	}
+
+	@Override
+	public void addAppender(final Appender<ILoggingEvent> appender) {
+		this.appenders.addAppender(appender);
+	}
+
+	@Override
+	public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+		return this.appenders.iteratorForAppenders();
+	}
+
+	@Override
+	public Appender<ILoggingEvent> getAppender(final String name) {
+		return this.appenders.getAppender(name);
+	}
+
+	@Override
+	public boolean isAttached(final Appender<ILoggingEvent> appender) {
+		return this.appenders.isAttached(appender);
+	}
+
+	@Override
+	public void detachAndStopAllAppenders() {
+		this.appenders.detachAndStopAllAppenders();
+	}
+
+	@Override
+	public boolean detachAppender(final Appender<ILoggingEvent> appender) {
+		return this.appenders.detachAppender(appender);
+	}
+
+	@Override
+	public boolean detachAppender(final String name) {
+		return this.appenders.detachAppender(name);
+	}
+
+}
@@ -0,0 +1,115 @@
+package com.selimhorri.app.logging;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Caps hot-path logging per logger: each configured logger (or package prefix) may emit
+ * at most the given number of INFO-or-below events per second and the rest are denied
+ * before any message formatting happens. Warnings and errors always pass.
+ * <pre>
+ * &lt;turboFilter class="com.selimhorri.app.logging.SamplingTurboFilter"&gt;
+ *   &lt;sample&gt;com.selimhorri.app.resource=20&lt;/sample&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+	private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+	private static final Sampler UNSAMPLED = new Sampler(Integer.MAX_VALUE);
+
+	// Reverse order puts a nested prefix before its parent, so the more specific entry wins
+	private final Map<String, Integer> ratesByPrefix = new TreeMap<>(Collections.reverseOrder());
+	private final Map<String, Sampler> samplersByLogger = new ConcurrentHashMap<>();
+	private final Map<String, Sampler> samplersByPrefix = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds a {@code logger-or-prefix=eventsPerSecond} entry.
+	 */
+	public void addSample(final String sample) {
+		final int separator = sample.lastIndexOf('=');
+		if (separator <= 0) {
+			this.addError("Expected <logger>=<events per second> but got [" + sample + "]");
+			return;
+		}
+		this.ratesByPrefix.put(sample.substring(0, separator).trim(),
+				Integer.parseInt(sample.substring(separator + 1).trim()));
+	}
+
+	public Set<String> getSampledPrefixes() {
+		return Collections.unmodifiableSet(this.ratesByPrefix.keySet());
+	}
+
+	/**
+	 * Events denied so far for the given configured logger or prefix.
+	 */
+	public long getSampledOutCount(final String prefix) {
+		final Sampler sampler = this.samplersByPrefix.get(prefix);
+		return sampler != null ? sampler.denied.get() : 0L;
+	}
+
+	@Override
+	public void start() {
+		this.ratesByPrefix.forEach((prefix, rate) -> this.samplersByPrefix.put(prefix, new Sampler(rate)));
+		super.start();
+	}
+
+	@Override
+	public FilterReply decide(final Marker marker, final Logger logger, final Level level,
+			final String format, final Object[] params, final Throwable t) {
+		// isXxxEnabled() checks carry no message and must not use up the budget
+		if (format == null || level.toInt() > Level.INFO_INT || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+			return FilterReply.NEUTRAL;
+		}
+		final Sampler sampler = this.samplersByLogger.computeIfAbsent(logger.getName(), this::samplerFor);
+		return sampler == UNSAMPLED || sampler.tryAcquire() ? FilterReply.NEUTRAL : FilterReply.DENY;
+	}
+
+	private Sampler samplerFor(final String loggerName) {
+		for (final String prefix : this.ratesByPrefix.keySet()) {
+			if (loggerName.equals(prefix) || loggerName.startsWith(prefix + ".")) {
+				return this.samplersByPrefix.get(prefix);
+			}
+		}
+		return UNSAMPLED;
+	}
+
+	private static final class Sampler {
+
+		private final int eventsPerSecond;
+		private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+		private final AtomicLong used = new AtomicLong();
+		private final AtomicLong denied = new AtomicLong();
+
+		Sampler(final int eventsPerSecond) {
+			this.eventsPerSecond = eventsPerSecond;
+		}
+
+		boolean tryAcquire() {
+			final long now = System.nanoTime();
+			final long start = this.windowStart.get();
+			if (now - start >= WINDOW_NANOS && this.windowStart.compareAndSet(start, now)) {
+				this.used.set(0);
+			}
+			if (this.used.incrementAndGet() <= this.eventsPerSecond) {
+				return true;
+			}
+			this.denied.incrementAndGet();
+			return false;
+		}
+
+	}
+
+}
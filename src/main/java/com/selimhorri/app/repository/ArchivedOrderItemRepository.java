@@ -0,0 +1,13 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.selimhorri.app.domain.ArchivedOrderItem;
+
+public interface ArchivedOrderItemRepository extends JpaRepository<ArchivedOrderItem, Long> {
+	
+	List<ArchivedOrderItem> findByOrderIdOrderByProductIdAscArchivedAtAsc(final Integer orderId);
+	
+}
@@ -1,14 +1,46 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.domain.OrderItemId;
+import com.selimhorri.app.dto.OrderStatus;
+import com.selimhorri.app.repository.projection.ActiveShippingRow;
+import com.selimhorri.app.repository.projection.ProductShippingTotals;
 
-public interface OrderItemRepository extends JpaRepository<OrderItem, Integer> {
+public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemId>, JpaSpecificationExecutor<OrderItem> {
     List<OrderItem> findByIsActiveTrue();
-    Optional<OrderItem> findByOrderIdAndIsActiveTrue(Integer orderId); // Cambiado de "Id" a "OrderId"
+    Slice<OrderItem> findByIsActiveTrue(Pageable pageable);
+    List<OrderItem> findByIsActiveTrueAndOrderStatus(OrderStatus orderStatus);
+    Slice<OrderItem> findByIsActiveTrueAndOrderStatus(OrderStatus orderStatus, Pageable pageable);
+    List<OrderItem> findByOrderIdAndIsActiveTrueOrderByProductId(Integer orderId);
+    boolean existsByOrderIdAndIsActiveTrue(Integer orderId);
+    List<OrderItem> findByOrderIdInAndIsActiveTrue(Collection<Integer> orderIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderItem o SET o.orderStatus = :orderStatus, o.updatedAt = CURRENT_TIMESTAMP WHERE o.orderId = :orderId")
+    int updateOrderStatus(@Param("orderId") Integer orderId, @Param("orderStatus") OrderStatus orderStatus);
+
+    @Query("SELECT o.productId AS productId, COUNT(o) AS shippingCount, SUM(o.orderedQuantity) AS totalQuantity "
+            + "FROM OrderItem o WHERE o.isActive = true GROUP BY o.productId")
+    List<ProductShippingTotals> sumActiveByProductId();
+
+    @Query("SELECT COALESCE(SUM(o.orderedQuantity), 0) FROM OrderItem o WHERE o.isActive = true AND o.productId = :productId")
+    long sumActiveOrderedQuantityByProductId(@Param("productId") Integer productId);
+
+    @Query("SELECT o.orderId AS orderId, o.productId AS productId, o.orderedQuantity AS orderedQuantity "
+            + "FROM OrderItem o WHERE o.isActive = true")
+    List<ActiveShippingRow> findActiveRows();
 
 }
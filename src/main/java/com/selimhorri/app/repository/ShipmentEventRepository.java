@@ -0,0 +1,13 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.selimhorri.app.domain.ShipmentEvent;
+
+public interface ShipmentEventRepository extends JpaRepository<ShipmentEvent, Long> {
+	
+	List<ShipmentEvent> findByOrderIdOrderByOccurredAtAscEventIdAsc(final Integer orderId);
+	
+}
@@ -0,0 +1,12 @@
+package com.selimhorri.app.repository.projection;
+
+/**
+ * Key columns of one active shipping, without loading the entity.
+ */
+public interface ActiveShippingRow {
+	
+	Integer getOrderId();
+	Integer getProductId();
+	Integer getOrderedQuantity();
+	
+}
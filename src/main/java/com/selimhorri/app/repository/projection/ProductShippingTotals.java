@@ -0,0 +1,12 @@
+package com.selimhorri.app.repository.projection;
+
+/**
+ * Active shipping count and ordered quantity of one product, as returned by a grouped query.
+ */
+public interface ProductShippingTotals {
+	
+	Integer getProductId();
+	Long getShippingCount();
+	Long getTotalQuantity();
+	
+}
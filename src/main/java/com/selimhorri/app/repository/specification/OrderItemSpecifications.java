@@ -0,0 +1,53 @@
+package com.selimhorri.app.repository.specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.criteria.Predicate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderItemFilter;
+import com.selimhorri.app.dto.OrderStatus;
+
+/**
+ * Criteria queries over {@link OrderItem}. Only the criteria present in a filter become
+ * predicates, so every combination compiles into one parameterized statement.
+ */
+public final class OrderItemSpecifications {
+	
+	private OrderItemSpecifications() {
+	}
+	
+	/**
+	 * Active, ORDERED shippings matching every criterion set in {@code filter}.
+	 */
+	public static Specification<OrderItem> listed(final OrderItemFilter filter) {
+		return (root, query, cb) -> {
+			final List<Predicate> predicates = new ArrayList<>(8);
+			predicates.add(cb.isTrue(root.get("isActive")));
+			predicates.add(cb.equal(root.get("orderStatus"), OrderStatus.ORDERED));
+			if (filter.getProductId() != null) {
+				predicates.add(cb.equal(root.get("productId"), filter.getProductId()));
+			}
+			if (filter.getMinQuantity() != null) {
+				predicates.add(cb.greaterThanOrEqualTo(root.get("orderedQuantity"), filter.getMinQuantity()));
+			}
+			if (filter.getMaxQuantity() != null) {
+				predicates.add(cb.lessThanOrEqualTo(root.get("orderedQuantity"), filter.getMaxQuantity()));
+			}
+			if (filter.getCreatedAfter() != null) {
+				predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedAfter()));
+			}
+			if (filter.getCreatedBefore() != null) {
+				predicates.add(cb.lessThan(root.get("createdAt"), filter.getCreatedBefore()));
+			}
+			if (filter.getUpdatedSince() != null) {
+				predicates.add(cb.greaterThanOrEqualTo(root.get("updatedAt"), filter.getUpdatedSince()));
+			}
+			return cb.and(predicates.toArray(new Predicate[0]));
+		};
+	}
+	
+}
@@ -0,0 +1,262 @@
+package com.selimhorri.app.reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.domain.ProductReservation;
+import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.repository.ProductReservationRepository;
+import com.selimhorri.app.repository.projection.ProductShippingTotals;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process stock ledger guarding shipping creation against oversell.
+ * <p>
+ * Each product owns one {@link AtomicLong} packing the last known stock quantity
+ * (high 32 bits) and the units reserved by active shippings (low 32 bits), so a
+ * reservation is a single compare-and-set that checks and claims availability
+ * atomically, without locks. Cells are seeded from PRODUCT-SERVICE on first use,
+ * persisted to {@code product_reservations} in the background and restored on startup.
+ * The flush runs behind the shippings it counts, so on restore only the stock comes from
+ * that table; reservations are recounted from the active {@code order_items}.
+ * <p>
+ * The ledger is the single source of truth for reservations only while the service runs as
+ * a single instance: availability is checked against this process's cells, and a flush
+ * overwrites {@code product_reservations} with them, so a second instance would oversell
+ * and the last one to flush would win.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StockReservationLedger {
+
+	private final ProductReservationRepository productReservationRepository;
+	private final OrderItemRepository orderItemRepository;
+
+	private final Map<Integer, AtomicLong> cells = new ConcurrentHashMap<>();
+	private final Set<Integer> dirtyProductIds = ConcurrentHashMap.newKeySet();
+
+	@PostConstruct
+	public void load() {
+		// Shippings committed after the last flush, e.g. before a crash, are only in order_items
+		final Map<Integer, Long> activeQuantities = this.orderItemRepository.sumActiveByProductId().stream()
+				.collect(Collectors.toMap(ProductShippingTotals::getProductId, ProductShippingTotals::getTotalQuantity));
+		int recounted = 0;
+		for (final ProductReservation reservation : this.productReservationRepository.findAll()) {
+			final int productId = reservation.getProductId();
+			final int reserved = activeQuantities.getOrDefault(productId, 0L).intValue();
+			this.cells.put(productId, new AtomicLong(pack(reservation.getStockQuantity(), reserved)));
+			if (reserved != reservation.getReservedQuantity()) {
+				this.dirtyProductIds.add(productId);
+				recounted++;
+			}
+		}
+		log.info("Stock reservation ledger restored, products={}, recounted={}", this.cells.size(), recounted);
+	}
+
+	public boolean isTracked(final int productId) {
+		return this.cells.containsKey(productId);
+	}
+
+	public Set<Integer> trackedProductIds() {
+		return Set.copyOf(this.cells.keySet());
+	}
+
+	/**
+	 * Starts tracking a product with the given stock and nothing reserved; a product that
+	 * is already tracked keeps its current state.
+	 */
+	public void seed(final int productId, final int stockQuantity) {
+		this.seed(productId, stockQuantity, 0);
+	}
+
+	/**
+	 * Starts tracking a product with the given stock and the units already held by its
+	 * active shippings, so releasing those later gives back only what was counted; a
+	 * product that is already tracked keeps its current state.
+	 */
+	public void seed(final int productId, final int stockQuantity, final int reservedQuantity) {
+		if (this.cells.putIfAbsent(productId, new AtomicLong(pack(stockQuantity, reservedQuantity))) == null) {
+			this.dirtyProductIds.add(productId);
+		}
+	}
+
+	public int available(final int productId) {
+		final AtomicLong cell = this.cells.get(productId);
+		if (cell == null) {
+			return 0;
+		}
+		final long state = cell.get();
+		return stock(state) - reserved(state);
+	}
+
+	/**
+	 * Claims {@code quantity} units if that many are still available. When called inside
+	 * a transaction, the claim is given back automatically if the transaction rolls back.
+	 */
+	public boolean tryReserve(final int productId, final int quantity) {
+		if (quantity <= 0) {
+			// A negative claim would quietly release units held by other shippings
+			throw new IllegalArgumentException("Quantity to reserve must be positive, got " + quantity);
+		}
+		final AtomicLong cell = this.cells.get(productId);
+		if (cell == null) {
+			return false;
+		}
+		long state;
+		do {
+			state = cell.get();
+			if (stock(state) - reserved(state) < quantity) {
+				return false;
+			}
+		} while (!cell.compareAndSet(state, pack(stock(state), reserved(state) + quantity)));
+		this.dirtyProductIds.add(productId);
+		this.releaseOnRollback(productId, quantity);
+		return true;
+	}
+
+	/**
+	 * Counts {@code quantity} units as reserved whether or not they are available, for
+	 * shippings that were placed elsewhere, e.g. imported ones. A product that is not
+	 * tracked yet is left alone, as seeding it counts its active rows. Inside a transaction,
+	 * the units are given back if the transaction rolls back.
+	 */
+	public void reserveUnchecked(final int productId, final int quantity) {
+		if (quantity <= 0) {
+			throw new IllegalArgumentException("Quantity to reserve must be positive, got " + quantity);
+		}
+		final AtomicLong cell = this.cells.get(productId);
+		if (cell == null) {
+			return;
+		}
+		long state;
+		do {
+			state = cell.get();
+		} while (!cell.compareAndSet(state, pack(stock(state), reserved(state) + quantity)));
+		this.dirtyProductIds.add(productId);
+		this.releaseOnRollback(productId, quantity);
+	}
+
+	/**
+	 * Gives units back to the product. Inside a transaction, the release only
+	 * happens once the transaction has committed.
+	 */
+	public void releaseOnCommit(final int productId, final int quantity) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					release(productId, quantity);
+				}
+			});
+		} else {
+			this.release(productId, quantity);
+		}
+	}
+
+	private void releaseOnRollback(final int productId, final int quantity) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(final int status) {
+					if (status == STATUS_ROLLED_BACK) {
+						release(productId, quantity);
+					}
+				}
+			});
+		}
+	}
+
+	private void release(final int productId, final int quantity) {
+		final AtomicLong cell = this.cells.get(productId);
+		if (cell == null) {
+			return;
+		}
+		long state;
+		do {
+			state = cell.get();
+		} while (!cell.compareAndSet(state, pack(stock(state), Math.max(0, reserved(state) - quantity))));
+		this.dirtyProductIds.add(productId);
+	}
+
+	/**
+	 * Replaces the stock quantity with the value currently reported by PRODUCT-SERVICE,
+	 * keeping outstanding reservations.
+	 */
+	public void updateStock(final int productId, final int stockQuantity) {
+		final AtomicLong cell = this.cells.get(productId);
+		if (cell == null) {
+			this.seed(productId, stockQuantity);
+			return;
+		}
+		long state;
+		do {
+			state = cell.get();
+			if (stock(state) == stockQuantity) {
+				return;
+			}
+		} while (!cell.compareAndSet(state, pack(stockQuantity, reserved(state))));
+		this.dirtyProductIds.add(productId);
+	}
+
+	/**
+	 * Writes every product changed since the previous flush to {@code product_reservations},
+	 * replacing what is stored; see the class comment on running a single instance.
+	 */
+	@PreDestroy
+	public synchronized void flush() {
+		if (this.dirtyProductIds.isEmpty()) {
+			return;
+		}
+		final List<Integer> productIds = new ArrayList<>(this.dirtyProductIds);
+		this.dirtyProductIds.removeAll(productIds);
+
+		final Map<Integer, ProductReservation> existing = this.productReservationRepository.findAllById(productIds)
+				.stream()
+				.collect(Collectors.toMap(ProductReservation::getProductId, Function.identity()));
+		final List<ProductReservation> reservations = new ArrayList<>(productIds.size());
+		for (final Integer productId : productIds) {
+			final long state = this.cells.get(productId).get();
+			final ProductReservation reservation = existing.computeIfAbsent(productId,
+					id -> ProductReservation.builder().productId(id).build());
+			reservation.setStockQuantity(stock(state));
+			reservation.setReservedQuantity(reserved(state));
+			reservations.add(reservation);
+		}
+		try {
+			this.productReservationRepository.saveAll(reservations);
+		} catch (RuntimeException e) {
+			// Retry on the next flush
+			this.dirtyProductIds.addAll(productIds);
+			throw e;
+		}
+	}
+
+	private static long pack(final int stock, final int reserved) {
+		return ((long) stock << 32) | (reserved & 0xFFFFFFFFL);
+	}
+
+	private static int stock(final long state) {
+		return (int) (state >>> 32);
+	}
+
+	private static int reserved(final long state) {
+		return (int) state;
+	}
+
+}
@@ -1,20 +1,37 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.beans.factory.annotation.Value;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.deadline.RequestDeadline;
+import com.selimhorri.app.domain.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.OrderItemFilter;
+import com.selimhorri.app.dto.OrderItemLookupDto;
+import com.selimhorri.app.dto.OrderStatus;
+import com.selimhorri.app.dto.ProductShippingDto;
+import com.selimhorri.app.dto.ShippingStatsDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoMapResponse;
+import com.selimhorri.app.dto.response.collection.ShippingListing;
 import com.selimhorri.app.service.OrderItemService;
+import com.selimhorri.app.service.ShippingIndexService;
+import com.selimhorri.app.service.ShippingStatsService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,18 +43,84 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderItemResource {
 	
 	private final OrderItemService orderItemService;
+	private final ShippingStatsService shippingStatsService;
+	private final ShippingIndexService shippingIndexService;
+	
+	@Value("${shipping.lookup.max-order-ids:500}")
+	private int maxLookupOrderIds;
 	
+	/**
+	 * Active shippings, optionally narrowed by {@code productId}, {@code minQuantity},
+	 * {@code maxQuantity}, {@code createdAfter}, {@code createdBefore} and {@code updatedSince}.
+	 * The criteria are applied in the database before any remote enrichment. The body has the
+	 * shape of a {@code DtoCollectionResponse<OrderItemDto>} but is written straight from the
+	 * rows by {@link com.selimhorri.app.json.ShippingListingHttpMessageConverter}.
+	 */
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAll() {
+	@RequestDeadline("${shipping.deadline.find-all-timeout-ms:5000}")
+	public ResponseEntity<ShippingListing> findAll(final OrderItemFilter filter) {
 		log.info("*** OrderItemDto List, controller; fetch all orderItems *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAll()));
+		return ResponseEntity.ok(this.orderItemService.findListing(filter));
+	}
+	
+	@GetMapping(params = "orderIds")
+	@RequestDeadline("${shipping.deadline.lookup-timeout-ms:3000}")
+	public ResponseEntity<DtoMapResponse<Integer, OrderItemLookupDto>> findAllByOrderIds(
+			@RequestParam("orderIds") final List<Integer> orderIds) {
+		log.info("*** OrderItemLookupDto Map, controller; fetch orderItems by order ids *");
+		return ResponseEntity.ok(this.lookup(orderIds));
+	}
+	
+	@PostMapping("/lookup")
+	@RequestDeadline("${shipping.deadline.lookup-timeout-ms:3000}")
+	public ResponseEntity<DtoMapResponse<Integer, OrderItemLookupDto>> lookupByOrderIds(
+			@RequestBody final List<Integer> orderIds) {
+		log.info("*** OrderItemLookupDto Map, controller; lookup orderItems by order ids *");
+		return ResponseEntity.ok(this.lookup(orderIds));
+	}
+	
+	/**
+	 * Active shipping count and ordered quantity, overall and per product, served from
+	 * in-memory aggregates instead of a full enriched listing.
+	 */
+	@GetMapping("/stats")
+	public ResponseEntity<ShippingStatsDto> findStats() {
+		log.info("*** ShippingStatsDto, resource; fetch shipping stats *");
+		return ResponseEntity.ok(this.shippingStatsService.getStats());
 	}
 	
+	/**
+	 * Active shippings containing the product, answered from the in-memory index with just
+	 * their order id, product id and quantity.
+	 */
+	@GetMapping("/by-product/{productId}")
+	public ResponseEntity<DtoCollectionResponse<ProductShippingDto>> findByProductId(
+			@PathVariable("productId") final String productId) {
+		log.info("*** ProductShippingDto List, resource; fetch shippings by product id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(
+				this.shippingIndexService.findByProductId(Integer.parseInt(productId))));
+	}
+	
+	/**
+	 * Every active shipping of the order, read in one query with each distinct product
+	 * looked up once. Before shippings were keyed by order and product this returned a single
+	 * {@link OrderItemDto}; one shipping is now at {@code /{orderId}/{productId}}.
+	 */
 	@GetMapping("/{orderId}")
-	public ResponseEntity<OrderItemDto> findById(
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findByOrderId(
 			@PathVariable("orderId") final String orderId) {
+		log.info("*** OrderItemDto List, resource; fetch orderItems by order id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(
+				this.orderItemService.findByOrderId(Integer.parseInt(orderId))));
+	}
+	
+	@GetMapping("/{orderId}/{productId}")
+	public ResponseEntity<OrderItemDto> findById(
+			@PathVariable("orderId") final String orderId,
+			@PathVariable("productId") final String productId) {
 		log.info("*** OrderItemDto, resource; fetch orderItem by id *");
-		return ResponseEntity.ok(this.orderItemService.findById(Integer.parseInt(orderId)));
+		return ResponseEntity.ok(this.orderItemService.findById(
+				new OrderItemId(Integer.parseInt(orderId), Integer.parseInt(productId))));
 	}
 	
 	@PostMapping
@@ -49,22 +132,50 @@ public class OrderItemResource {
 		return ResponseEntity.ok(this.orderItemService.save(orderItemDto));
 	}
 	
+	/**
+	 * Deactivates every active shipping of the order; one shipping is deleted at
+	 * {@code /{orderId}/{productId}}.
+	 */
 	@DeleteMapping("/{orderId}")
-	public ResponseEntity<Boolean> deleteById(
+	public ResponseEntity<Boolean> deleteByOrderId(
 			@PathVariable("orderId") final String orderId) {
+		log.info("*** Boolean, resource; delete orderItems by order id *");
+		this.orderItemService.deleteByOrderId(Integer.parseInt(orderId));
+		return ResponseEntity.ok(true);
+	}
+	
+	@DeleteMapping("/{orderId}/{productId}")
+	public ResponseEntity<Boolean> deleteById(
+			@PathVariable("orderId") final String orderId,
+			@PathVariable("productId") final String productId) {
 		log.info("*** Boolean, resource; delete orderItem by id *");
-		this.orderItemService.deleteById(Integer.parseInt(orderId));
+		this.orderItemService.deleteById(
+				new OrderItemId(Integer.parseInt(orderId), Integer.parseInt(productId)));
+		return ResponseEntity.ok(true);
+	}
+	
+	/**
+	 * Inbound hook for ORDER-SERVICE to push order status transitions,
+	 * keeping the local copy used by the listing filter up to date.
+	 */
+	@PatchMapping("/{orderId}/status")
+	public ResponseEntity<Boolean> updateOrderStatus(
+			@PathVariable("orderId") final String orderId,
+			@RequestParam("orderStatus") final OrderStatus orderStatus) {
+		log.info("*** Boolean, resource; update order status of orderItem *");
+		this.orderItemService.updateOrderStatus(Integer.parseInt(orderId), orderStatus);
 		return ResponseEntity.ok(true);
 	}
 	
+	private DtoMapResponse<Integer, OrderItemLookupDto> lookup(final List<Integer> orderIds) {
+		if (orderIds.isEmpty()) {
+			throw new IllegalArgumentException("A lookup needs at least one order id");
+		}
+		if (orderIds.size() > this.maxLookupOrderIds) {
+			throw new IllegalArgumentException(
+					"A lookup accepts at most " + this.maxLookupOrderIds + " order ids");
+		}
+		return new DtoMapResponse<>(this.orderItemService.findAllByOrderIds(orderIds));
+	}
+	
 }
-
-
-
-
-
-
-
-
-
-
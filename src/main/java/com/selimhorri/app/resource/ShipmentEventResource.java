@@ -0,0 +1,50 @@
+package com.selimhorri.app.resource;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.ShipmentEventDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.ShipmentEventService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/shippings")
+@Slf4j
+@RequiredArgsConstructor
+public class ShipmentEventResource {
+	
+	private final ShipmentEventService shipmentEventService;
+	
+	/**
+	 * Bulk intake for carrier tracking scans. Answers 202 with the number of events queued
+	 * once they are buffered for the batch writer, or 503 when the backlog is full.
+	 */
+	@PostMapping("/events")
+	public ResponseEntity<Integer> ingest(@RequestBody final List<ShipmentEventDto> shipmentEventDtos) {
+		log.info("*** Integer, resource; ingest shipment events *");
+		return ResponseEntity.status(HttpStatus.ACCEPTED).body(this.shipmentEventService.ingest(shipmentEventDtos));
+	}
+	
+	/**
+	 * Committed tracking events of the shipping, oldest first.
+	 */
+	@GetMapping("/{orderId}/events")
+	public ResponseEntity<DtoCollectionResponse<ShipmentEventDto>> findByOrderId(
+			@PathVariable("orderId") final String orderId) {
+		log.info("*** ShipmentEventDto List, resource; fetch shipment events by order id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(
+				this.shipmentEventService.findByOrderId(Integer.parseInt(orderId))));
+	}
+	
+}
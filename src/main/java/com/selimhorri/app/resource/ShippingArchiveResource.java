@@ -0,0 +1,36 @@
+package com.selimhorri.app.resource;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.ArchivedShippingDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.ShippingArchiveService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/shippings/archive")
+@Slf4j
+@RequiredArgsConstructor
+public class ShippingArchiveResource {
+	
+	private final ShippingArchiveService shippingArchiveService;
+	
+	/**
+	 * Deleted shippings of the order that the archiver has already moved out of the live
+	 * table; the regular endpoints no longer see them.
+	 */
+	@GetMapping("/{orderId}")
+	public ResponseEntity<DtoCollectionResponse<ArchivedShippingDto>> findByOrderId(
+			@PathVariable("orderId") final String orderId) {
+		log.info("*** ArchivedShippingDto List, resource; fetch archived shippings by order id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(
+				this.shippingArchiveService.findByOrderId(Integer.parseInt(orderId))));
+	}
+	
+}
@@ -0,0 +1,36 @@
+package com.selimhorri.app.resource;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.ShippingChangePageDto;
+import com.selimhorri.app.service.ShippingChangeService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/shippings/changes")
+@Slf4j
+@RequiredArgsConstructor
+public class ShippingChangeResource {
+	
+	private final ShippingChangeService shippingChangeService;
+	
+	/**
+	 * Shippings created, updated or deactivated after the cursor, for consumers that keep a
+	 * copy in sync. Start from 0 for a full snapshot and pass {@code nextCursor} back as
+	 * {@code since}; {@code hasMore} says whether to ask again right away.
+	 */
+	@GetMapping
+	public ResponseEntity<ShippingChangePageDto> findChanges(
+			@RequestParam(name = "since", defaultValue = "0") final long since,
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** ShippingChangePageDto, resource; fetch shipping changes since cursor *");
+		return ResponseEntity.ok(this.shippingChangeService.findChanges(since, limit));
+	}
+	
+}
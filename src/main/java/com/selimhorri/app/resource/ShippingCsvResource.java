@@ -0,0 +1,51 @@
+package com.selimhorri.app.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.ShippingCsvImportResultDto;
+import com.selimhorri.app.service.ShippingCsvService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk CSV import and export of shippings. Both directions stream, so these requests are
+ * long-running by design and are kept out of the concurrency limits and response buffering
+ * applied to the rest of {@code /api/shippings}.
+ */
+@RestController
+@RequestMapping(ShippingCsvResource.CSV_PATH)
+@Slf4j
+@RequiredArgsConstructor
+public class ShippingCsvResource {
+	
+	public static final String CSV_PATH = "/api/shippings/csv";
+	public static final String TEXT_CSV = "text/csv";
+	
+	private final ShippingCsvService shippingCsvService;
+	
+	@PostMapping(consumes = TEXT_CSV)
+	public ResponseEntity<ShippingCsvImportResultDto> importCsv(final InputStream body) throws IOException {
+		log.info("*** ShippingCsvImportResultDto, resource; import orderItems from CSV *");
+		return ResponseEntity.ok(this.shippingCsvService.importCsv(body));
+	}
+	
+	@GetMapping(produces = TEXT_CSV)
+	public void exportCsv(final HttpServletResponse response) throws IOException {
+		log.info("*** Void, resource; export orderItems to CSV *");
+		response.setContentType(TEXT_CSV + ";charset=UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"shippings.csv\"");
+		this.shippingCsvService.exportCsv(response.getOutputStream());
+	}
+	
+}
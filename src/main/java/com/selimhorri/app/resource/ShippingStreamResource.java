@@ -0,0 +1,54 @@
+package com.selimhorri.app.resource;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.selimhorri.app.service.ShippingStreamService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping(ShippingStreamResource.STREAM_PATH)
+@Slf4j
+@RequiredArgsConstructor
+public class ShippingStreamResource {
+	
+	public static final String STREAM_PATH = "/api/shippings/stream";
+	public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+	
+	private final ShippingStreamService shippingStreamService;
+	
+	/**
+	 * Server-Sent Events of shippings created or deactivated from now on, instead of
+	 * polling the listing. An {@code EventSource} resumes on reconnect through
+	 * {@code Last-Event-ID}; a {@code reset} event means the gap could not be replayed and
+	 * the client should resync. Answers 503 when the instance has no room for another
+	 * subscriber.
+	 */
+	@GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> stream(
+			@RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) final String lastEventId) {
+		log.info("*** SseEmitter, resource; stream shipping changes *");
+		final SseEmitter emitter = this.shippingStreamService.subscribe(lastEventId);
+		if (emitter == null) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, "5")
+					.build();
+		}
+		return ResponseEntity.ok()
+				.cacheControl(CacheControl.noCache())
+				// Keeps reverse proxies from buffering the stream
+				.header("X-Accel-Buffering", "no")
+				.body(emitter);
+	}
+	
+}
@@ -0,0 +1,39 @@
+package com.selimhorri.app.scheduler;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.client.cache.LookupCacheSnapshot;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Saves the lookup caches now and then, so a crash loses at most one interval of warmth.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shipping.lookup-cache.snapshot.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LookupCacheSnapshotScheduler {
+	
+	private final LookupCacheSnapshot lookupCacheSnapshot;
+	
+	@Scheduled(
+			initialDelayString = "${shipping.lookup-cache.snapshot.interval:PT1M}",
+			fixedDelayString = "${shipping.lookup-cache.snapshot.interval:PT1M}")
+	public void save() {
+		try {
+			this.lookupCacheSnapshot.save();
+		} catch (IOException e) {
+			log.warn("*** LookupCacheSnapshotScheduler; could not save {}: {} *",
+					this.lookupCacheSnapshot.getPath(), e.getMessage());
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,107 @@
+package com.selimhorri.app.scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.client.OrderClient;
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderStatus;
+import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
+import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.service.OrderItemService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically compares the locally stored order status of active shippings with
+ * ORDER-SERVICE and repairs any drift, e.g. a missed inbound status notification.
+ */
+@Component
+@Slf4j
+public class OrderStatusReconciliationScheduler {
+	
+	private final OrderItemRepository orderItemRepository;
+	private final OrderClient orderClient;
+	private final OrderItemService orderItemService;
+	private final int batchSize;
+	
+	public OrderStatusReconciliationScheduler(
+			final OrderItemRepository orderItemRepository,
+			final OrderClient orderClient,
+			final OrderItemService orderItemService,
+			@Value("${shipping.reconciliation.batch-size:200}") final int batchSize) {
+		this.orderItemRepository = orderItemRepository;
+		this.orderClient = orderClient;
+		this.orderItemService = orderItemService;
+		this.batchSize = batchSize;
+	}
+	
+	@Scheduled(
+			initialDelayString = "${shipping.reconciliation.initial-delay:PT10S}",
+			fixedDelayString = "${shipping.reconciliation.fixed-delay:PT5M}")
+	public void reconcile() {
+		int checked = 0;
+		int repaired = 0;
+		// Unique sort order, so paging neither skips nor repeats the items of an order
+		Pageable pageable = PageRequest.of(0, this.batchSize, Sort.by("orderId", "productId"));
+		Slice<OrderItem> slice;
+		Integer lastOrderId = null;
+		do {
+			slice = this.orderItemRepository.findByIsActiveTrue(pageable);
+			for (final OrderItem orderItem : slice) {
+				// The status belongs to the order, and updateOrderStatus covers all its items
+				if (orderItem.getOrderId().equals(lastOrderId)) {
+					continue;
+				}
+				lastOrderId = orderItem.getOrderId();
+				checked++;
+				try {
+					if (this.reconcile(orderItem)) {
+						repaired++;
+					}
+				} catch (RuntimeException e) {
+					// e.g. no ORDER-SERVICE instance or a failed update; one order must not end the sweep
+					log.warn("Skipping reconciliation, orderId={} error={}", orderItem.getOrderId(), e.toString());
+				}
+			}
+			pageable = slice.nextPageable();
+		} while (slice.hasNext());
+		log.info("Order status reconciliation done, checked={} repaired={}", checked, repaired);
+	}
+	
+	private boolean reconcile(final OrderItem orderItem) {
+		final OrderDto order = this.orderClient.findById(orderItem.getOrderId());
+		if (order == null || order.getOrderStatus() == null) {
+			return false;
+		}
+		
+		final OrderStatus remoteStatus;
+		try {
+			remoteStatus = OrderStatus.valueOf(order.getOrderStatus());
+		} catch (IllegalArgumentException e) {
+			log.warn("Skipping reconciliation, orderId={} unknownStatus={}", orderItem.getOrderId(), order.getOrderStatus());
+			return false;
+		}
+		if (remoteStatus == orderItem.getOrderStatus()) {
+			return false;
+		}
+		
+		try {
+			// Through the service, so the repair is journaled for the change feed in the same transaction
+			this.orderItemService.updateOrderStatus(orderItem.getOrderId(), remoteStatus);
+		} catch (OrderItemNotFoundException e) {
+			// Archived in the meantime
+			return false;
+		}
+		return true;
+	}
+	
+	
+	
+}
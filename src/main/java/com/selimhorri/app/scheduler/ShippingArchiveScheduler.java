@@ -0,0 +1,31 @@
+package com.selimhorri.app.scheduler;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.archive.ShippingArchiver;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Moves soft-deleted shippings past their retention in the live table to the archive,
+ * a bounded number of throttled batches per run.
+ */
+@Component
+@ConditionalOnProperty(name = "shipping.archive.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ShippingArchiveScheduler {
+	
+	private final ShippingArchiver shippingArchiver;
+	
+	@Scheduled(
+			initialDelayString = "${shipping.archive.initial-delay:PT2M}",
+			fixedDelayString = "${shipping.archive.fixed-delay:PT15M}")
+	public void archive() {
+		this.shippingArchiver.archive();
+	}
+	
+	
+	
+}
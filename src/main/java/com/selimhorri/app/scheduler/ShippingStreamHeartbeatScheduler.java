@@ -0,0 +1,26 @@
+package com.selimhorri.app.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.stream.ShippingEventBroadcaster;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps idle shipping streams alive and detects subscribers that have gone away.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShippingStreamHeartbeatScheduler {
+	
+	private final ShippingEventBroadcaster shippingEventBroadcaster;
+	
+	@Scheduled(fixedRateString = "${shipping.stream.heartbeat-interval:PT15S}")
+	public void heartbeat() {
+		this.shippingEventBroadcaster.heartbeat();
+	}
+	
+	
+	
+}
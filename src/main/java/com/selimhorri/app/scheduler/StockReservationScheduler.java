@@ -0,0 +1,55 @@
+package com.selimhorri.app.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+import com.selimhorri.app.client.ProductClient;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.reservation.StockReservationLedger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Persists the stock reservation ledger and keeps its stock quantities
+ * in line with PRODUCT-SERVICE.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StockReservationScheduler {
+	
+	private final StockReservationLedger stockReservationLedger;
+	private final ProductClient productClient;
+	
+	@Scheduled(fixedDelayString = "${shipping.reservation.flush-interval:PT5S}")
+	public void flush() {
+		this.stockReservationLedger.flush();
+	}
+	
+	@Scheduled(
+			initialDelayString = "${shipping.reservation.reconcile-interval:PT1M}",
+			fixedDelayString = "${shipping.reservation.reconcile-interval:PT1M}")
+	public void reconcile() {
+		int updated = 0;
+		for (final Integer productId : this.stockReservationLedger.trackedProductIds()) {
+			try {
+				final ProductDto product = this.productClient.findById(productId);
+				this.stockReservationLedger.updateStock(productId,
+						product == null || product.getQuantity() == null ? 0 : product.getQuantity());
+				updated++;
+			} catch (HttpClientErrorException.NotFound e) {
+				this.stockReservationLedger.updateStock(productId, 0);
+				updated++;
+			} catch (RestClientException e) {
+				log.warn("Skipping stock reconciliation, productId={} error={}", productId, e.getMessage());
+			}
+		}
+		log.info("Stock reservation reconciliation done, updated={}", updated);
+	}
+	
+	
+	
+}
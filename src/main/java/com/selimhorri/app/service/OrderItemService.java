@@ -1,14 +1,27 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
+import com.selimhorri.app.domain.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.OrderItemFilter;
+import com.selimhorri.app.dto.OrderItemLookupDto;
+import com.selimhorri.app.dto.OrderStatus;
+import com.selimhorri.app.dto.response.collection.ShippingListing;
 
 public interface OrderItemService {
 	
 	List<OrderItemDto> findAll();
-	OrderItemDto findById(final int shippingId);
+	List<OrderItemDto> findAll(final OrderItemFilter filter);
+	ShippingListing findListing(final OrderItemFilter filter);
+	OrderItemDto findById(final OrderItemId orderItemId);
+	List<OrderItemDto> findByOrderId(final int orderId);
+	Map<Integer, OrderItemLookupDto> findAllByOrderIds(final Collection<Integer> orderIds);
 	OrderItemDto save(final OrderItemDto orderItemDto);
-	void deleteById(final int shippingId);
+	void deleteById(final OrderItemId orderItemId);
+	void deleteByOrderId(final int orderId);
+	void updateOrderStatus(final int orderId, final OrderStatus orderStatus);
 	
 }
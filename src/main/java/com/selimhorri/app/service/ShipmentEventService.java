@@ -0,0 +1,12 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.ShipmentEventDto;
+
+public interface ShipmentEventService {
+	
+	int ingest(final List<ShipmentEventDto> shipmentEventDtos);
+	List<ShipmentEventDto> findByOrderId(final Integer orderId);
+	
+}
@@ -0,0 +1,11 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.ArchivedShippingDto;
+
+public interface ShippingArchiveService {
+	
+	List<ArchivedShippingDto> findByOrderId(final Integer orderId);
+	
+}
@@ -0,0 +1,9 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.ShippingChangePageDto;
+
+public interface ShippingChangeService {
+	
+	ShippingChangePageDto findChanges(final long since, final Integer limit);
+	
+}
@@ -0,0 +1,14 @@
+package com.selimhorri.app.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.selimhorri.app.dto.ShippingCsvImportResultDto;
+
+public interface ShippingCsvService {
+	
+	ShippingCsvImportResultDto importCsv(final InputStream inputStream) throws IOException;
+	void exportCsv(final OutputStream outputStream) throws IOException;
+	
+}
@@ -0,0 +1,12 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.ProductShippingDto;
+
+public interface ShippingIndexService {
+	
+	List<ProductShippingDto> findByProductId(final int productId);
+	void rebuild();
+	
+}
@@ -0,0 +1,10 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.ShippingStatsDto;
+
+public interface ShippingStatsService {
+	
+	ShippingStatsDto getStats();
+	void rebuild();
+	
+}
@@ -0,0 +1,9 @@
+package com.selimhorri.app.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ShippingStreamService {
+	
+	SseEmitter subscribe(final String lastEventId);
+	
+}
@@ -1,24 +1,51 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
-import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.changefeed.ShippingChangeJournal;
+import com.selimhorri.app.client.OrderClient;
+import com.selimhorri.app.client.ProductClient;
+import com.selimhorri.app.deadline.Deadline;
 import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.domain.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.LookupStatus;
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.OrderItemFilter;
+import com.selimhorri.app.dto.OrderItemLookupDto;
 import com.selimhorri.app.dto.OrderStatus;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.ShippingChangeType;
+import com.selimhorri.app.dto.response.collection.ShippingListing;
+import com.selimhorri.app.event.ShippingChangedEvent;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
 import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.repository.specification.OrderItemSpecifications;
+import com.selimhorri.app.reservation.StockReservationLedger;
 import com.selimhorri.app.service.OrderItemService;
+import com.selimhorri.app.timing.RequestTiming;
+import com.selimhorri.app.timing.TimingStage;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,71 +57,105 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderItemServiceImpl implements OrderItemService {
 
 	private final OrderItemRepository orderItemRepository;
-	private final RestTemplate restTemplate;
+	private final ProductClient productClient;
+	private final OrderClient orderClient;
+	@Qualifier("lookupExecutor")
+	private final Executor lookupExecutor;
+	private final StockReservationLedger stockReservationLedger;
+	private final ApplicationEventPublisher applicationEventPublisher;
+	private final ShippingChangeJournal shippingChangeJournal;
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<OrderItemDto> findAll() {
-		log.info("*** OrderItemDto List, service; fetch all active orderItems *");
-		return this.orderItemRepository.findByIsActiveTrue()
-				.stream()
-				.map(OrderItemMappingHelper::map)
-				.filter(o -> {
-					// Verificar producto
-					if (o.getProductDto() != null && o.getProductDto().getProductId() != null) {
-						try {
-							ProductDto product = this.restTemplate.getForObject(
-									AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/" +
-											o.getProductDto().getProductId(),
-									ProductDto.class);
-							if (product == null) {
-								log.warn("Product {} not found", o.getProductDto().getProductId());
-								return false;
-							}
-							o.setProductDto(product);
-						} catch (RestClientException e) {
-							log.warn("Failed to fetch product with id: {}", o.getProductDto().getProductId(), e);
-							return false;
-						}
-					} else {
-						return false;
-					}
-
-					// Verificar orden
-					if (o.getOrderDto() != null && o.getOrderDto().getOrderId() != null) {
-						try {
-							OrderDto order = this.restTemplate.getForObject(
-									AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" +
-											o.getOrderDto().getOrderId(),
-									OrderDto.class);
-							if (order == null) {
-								log.warn("Order {} not found", o.getOrderDto().getOrderId());
-								return false;
-							}
-							System.out.println("====================");
-							System.out.println(OrderStatus.ORDERED.name());
-							System.out.println(order.getOrderStatus());
-							System.out.println("====================");
-
-							if (!OrderStatus.ORDERED.name().equals(order.getOrderStatus())) {
-								return false;
-							}
-							o.setOrderDto(order);
-						} catch (RestClientException e) {
-							log.warn("Failed to fetch order with id: {}", o.getOrderDto().getOrderId(), e);
-							return false;
-						}
-					} else {
-						return false;
-					}
-
-					return true;
-				})
-				.distinct()
-				.collect(Collectors.toUnmodifiableList());
+		return this.findListing(null).toDtos();
 	}
 
 	@Override
-	public OrderItemDto findById(final int orderItemId) {
+	@Transactional(readOnly = true)
+	public List<OrderItemDto> findAll(final OrderItemFilter filter) {
+		return this.findListing(filter).toDtos();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public ShippingListing findListing(final OrderItemFilter filter) {
+		if (filter == null || filter.isEmpty()) {
+			log.info("*** OrderItemDto List, service; fetch all active orderItems *");
+			return this.resolve(this.orderItemRepository.findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED));
+		}
+		log.info("*** OrderItemDto List, service; fetch filtered active orderItems *");
+		if (filter.getMinQuantity() != null && filter.getMaxQuantity() != null
+				&& filter.getMinQuantity() > filter.getMaxQuantity()) {
+			throw new IllegalArgumentException("minQuantity must not be greater than maxQuantity");
+		}
+		if (filter.getCreatedAfter() != null && filter.getCreatedBefore() != null
+				&& !filter.getCreatedAfter().isBefore(filter.getCreatedBefore())) {
+			throw new IllegalArgumentException("createdAfter must be before createdBefore");
+		}
+		return this.resolve(this.orderItemRepository.findAll(OrderItemSpecifications.listed(filter)));
+	}
+
+	private ShippingListing resolve(final List<OrderItem> orderItems) {
+		// The ORDERED filter and any listing criteria run in the database, against the
+		// locally maintained status, so only surviving rows are enriched from the remote services.
+		// Rows keep their entity; each distinct product and order is resolved once and shared
+		final Map<Integer, ProductDto> products = new HashMap<>();
+		final Map<Integer, OrderDto> orders = new HashMap<>();
+		final List<OrderItem> resolved = new ArrayList<>(orderItems.size());
+		for (final OrderItem orderItem : orderItems) {
+			// Each item costs remote calls, so stop as soon as the caller has given up
+			Deadline.checkNotExpired("enriching shipping of order " + orderItem.getOrderId());
+			if (resolveOnce(products, orderItem.getProductId(), this::resolveProduct) != null
+					&& resolveOnce(orders, orderItem.getOrderId(), this::resolveOrder) != null) {
+				resolved.add(orderItem);
+			}
+		}
+		return new ShippingListing(resolved, products, orders);
+	}
+
+	/**
+	 * Looks {@code id} up at most once per listing; a miss or failure is kept as {@code null},
+	 * which {@code computeIfAbsent} would not store, so later rows skip it without a call.
+	 */
+	private static <T> T resolveOnce(final Map<Integer, T> resolved, final Integer id, final Function<Integer, T> lookup) {
+		if (resolved.containsKey(id)) {
+			return resolved.get(id);
+		}
+		final T value = lookup.apply(id);
+		resolved.put(id, value);
+		return value;
+	}
+
+	private ProductDto resolveProduct(final Integer productId) {
+		try {
+			final ProductDto product = this.productClient.findCachedById(productId);
+			if (product == null) {
+				log.warn("Product not found, productId={}", productId);
+			}
+			return product;
+		} catch (RestClientException e) {
+			log.warn("Failed to fetch product, productId={}", productId, e);
+			return null;
+		}
+	}
+
+	private OrderDto resolveOrder(final Integer orderId) {
+		try {
+			final OrderDto order = this.orderClient.findCachedById(orderId);
+			if (order == null) {
+				log.warn("Order not found, orderId={}", orderId);
+			}
+			return order;
+		} catch (RestClientException e) {
+			log.warn("Failed to fetch order, orderId={}", orderId, e);
+			return null;
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public OrderItemDto findById(final OrderItemId orderItemId) {
 		log.info("*** OrderItemDto, service; fetch orderItem by id *");
 
 		OrderItem orderItem = this.orderItemRepository.findById(orderItemId)
@@ -102,18 +163,15 @@ public class OrderItemServiceImpl implements OrderItemService {
 				.orElseThrow(() -> new OrderItemNotFoundException(
 						String.format("Active OrderItem with id: %s not found", orderItemId)));
 
-		OrderItemDto dto = OrderItemMappingHelper.map(orderItem);
+		OrderItemDto dto = map(orderItem);
 
 		// Verificar y cargar producto
 		if (dto.getProductDto() != null && dto.getProductDto().getProductId() != null) {
 			try {
-				ProductDto product = this.restTemplate.getForObject(
-						AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/" +
-								dto.getProductDto().getProductId(),
-						ProductDto.class);
+				ProductDto product = this.productClient.findCachedById(dto.getProductDto().getProductId());
 				dto.setProductDto(product);
 			} catch (RestClientException e) {
-				log.error("Failed to fetch product details for order item: {}", orderItemId, e);
+				log.error("Failed to fetch product details, orderItemId={}", orderItemId, e);
 				throw new OrderItemNotFoundException("Product information not available for this order item");
 			}
 		}
@@ -121,10 +179,7 @@ public class OrderItemServiceImpl implements OrderItemService {
 		// Verificar y cargar orden, y comprobar su estado
 		if (dto.getOrderDto() != null && dto.getOrderDto().getOrderId() != null) {
 			try {
-				OrderDto order = this.restTemplate.getForObject(
-						AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" +
-								dto.getOrderDto().getOrderId(),
-						OrderDto.class);
+				OrderDto order = this.orderClient.findCachedById(dto.getOrderDto().getOrderId());
 
 				if (order == null) {
 					throw new OrderItemNotFoundException("Associated order not found");
@@ -137,7 +192,7 @@ public class OrderItemServiceImpl implements OrderItemService {
 
 				dto.setOrderDto(order);
 			} catch (RestClientException e) {
-				log.error("Failed to fetch order details for order item: {}", orderItemId, e);
+				log.error("Failed to fetch order details, orderItemId={}", orderItemId, e);
 				throw new OrderItemNotFoundException("Order information not available for this order item");
 			}
 		} else {
@@ -147,6 +202,101 @@ public class OrderItemServiceImpl implements OrderItemService {
 		return dto;
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public Map<Integer, OrderItemLookupDto> findAllByOrderIds(final Collection<Integer> orderIds) {
+		log.info("*** OrderItemLookupDto Map, service; fetch orderItems by order ids *");
+		final Set<Integer> distinctOrderIds = orderIds.stream()
+				.filter(Objects::nonNull)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		final Map<Integer, List<OrderItem>> orderItems = this.orderItemRepository
+				.findByOrderIdInAndIsActiveTrue(distinctOrderIds)
+				.stream()
+				.sorted(Comparator.comparing(OrderItem::getProductId))
+				.collect(Collectors.groupingBy(OrderItem::getOrderId));
+
+		// One lookup per distinct product and order, all in flight at once
+		final Map<Integer, CompletableFuture<ProductDto>> products = orderItems.values().stream()
+				.flatMap(List::stream)
+				.map(OrderItem::getProductId)
+				.distinct()
+				.collect(Collectors.toMap(Function.identity(), productId -> CompletableFuture.supplyAsync(
+						() -> this.productClient.findCachedById(productId), this.lookupExecutor)));
+		final Map<Integer, CompletableFuture<OrderDto>> orders = orderItems.keySet().stream()
+				.collect(Collectors.toMap(Function.identity(), orderId -> CompletableFuture.supplyAsync(
+						() -> this.orderClient.findCachedById(orderId), this.lookupExecutor)));
+
+		final Map<Integer, OrderItemLookupDto> results = new LinkedHashMap<>();
+		for (final Integer orderId : distinctOrderIds) {
+			Deadline.checkNotExpired("enriching shipping of order " + orderId);
+			final List<OrderItem> items = orderItems.get(orderId);
+			if (items == null) {
+				results.put(orderId, lookupResult(LookupStatus.NOT_FOUND, null,
+						String.format("Active OrderItem with id: %s not found", orderId)));
+			} else {
+				results.put(orderId, this.enrich(orderId, items, products, orders.get(orderId)));
+			}
+		}
+		return results;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderItemDto> findByOrderId(final int orderId) {
+		log.info("*** OrderItemDto List, service; fetch orderItems by order id *");
+		final OrderItemLookupDto lookup = this.findAllByOrderIds(List.of(orderId)).get(orderId);
+		if (lookup.getStatus() != LookupStatus.FOUND) {
+			throw new OrderItemNotFoundException(lookup.getMsg());
+		}
+		return lookup.getOrderItemDtos();
+	}
+
+	private OrderItemLookupDto enrich(final int orderId, final List<OrderItem> orderItems,
+			final Map<Integer, CompletableFuture<ProductDto>> products, final CompletableFuture<OrderDto> order) {
+		final List<OrderItemDto> dtos = new ArrayList<>(orderItems.size());
+		for (final OrderItem orderItem : orderItems) {
+			final OrderItemDto dto = map(orderItem);
+			try {
+				dto.setProductDto(products.get(orderItem.getProductId()).join());
+			} catch (CompletionException e) {
+				log.warn("Failed to fetch product, productId={}", orderItem.getProductId(), e.getCause());
+				return lookupResult(LookupStatus.ERROR, null, "Product information not available for this order item");
+			}
+			dtos.add(dto);
+		}
+		final OrderDto orderDto;
+		try {
+			orderDto = order.join();
+		} catch (CompletionException e) {
+			log.warn("Failed to fetch order, orderId={}", orderId, e.getCause());
+			return lookupResult(LookupStatus.ERROR, null, "Order information not available for this order item");
+		}
+		if (orderDto == null) {
+			return lookupResult(LookupStatus.NOT_FOUND, null, "Associated order not found");
+		}
+		if (!OrderStatus.ORDERED.name().equals(orderDto.getOrderStatus())) {
+			return lookupResult(LookupStatus.NOT_FOUND, null, "Shipping not found");
+		}
+		dtos.forEach(dto -> dto.setOrderDto(orderDto));
+		return lookupResult(LookupStatus.FOUND, dtos, null);
+	}
+
+	private static OrderItemDto map(final OrderItem orderItem) {
+		final long start = RequestTiming.startStage();
+		final OrderItemDto dto = OrderItemMappingHelper.map(orderItem);
+		RequestTiming.endStage(TimingStage.MAPPING, start);
+		return dto;
+	}
+
+	private static OrderItemLookupDto lookupResult(final LookupStatus status, final List<OrderItemDto> dtos,
+			final String msg) {
+		return OrderItemLookupDto.builder()
+				.status(status)
+				.orderItemDtos(dtos)
+				.msg(msg)
+				.build();
+	}
+
 	@Override
 	public OrderItemDto save(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; save orderItem *");
@@ -156,20 +306,28 @@ public class OrderItemServiceImpl implements OrderItemService {
 					"To create a shipping you have to provide a valid orderId, productId and orderedQuantity");
 		}
 
+		if (this.orderItemRepository.findById(new OrderItemId(orderItemDto.getOrderId(), orderItemDto.getProductId()))
+				.filter(OrderItem::isActive)
+				.isPresent()) {
+			throw new IllegalArgumentException("Order " + orderItemDto.getOrderId()
+					+ " already has a shipping for product " + orderItemDto.getProductId());
+		}
+
 		// Verify the order exists first
 		OrderDto order;
+		final boolean firstItem;
 		try {
-			order = this.restTemplate.getForObject(
-					AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/"
-							+ orderItemDto.getOrderId(),
-					OrderDto.class);
+			order = this.orderClient.findById(orderItemDto.getOrderId());
 
 			if (order == null) {
 				throw new OrderItemNotFoundException(
 						"Order with ID " + orderItemDto.getOrderId() + " not found");
 			}
 
-			if (!order.getOrderStatus().equals(OrderStatus.CREATED.name())) {
+			// Further products join an order this service already moved to ORDERED
+			firstItem = order.getOrderStatus().equals(OrderStatus.CREATED.name());
+			if (!firstItem && !(order.getOrderStatus().equals(OrderStatus.ORDERED.name())
+					&& this.orderItemRepository.existsByOrderIdAndIsActiveTrue(orderItemDto.getOrderId()))) {
 				throw new IllegalArgumentException(
 						"Cannot create a shipping for an order that is in any state other than CREATED");
 			}
@@ -177,43 +335,51 @@ public class OrderItemServiceImpl implements OrderItemService {
 			throw new OrderItemNotFoundException("Error verifying order existence: " + e.getMessage());
 		}
 
-		// Verify the product exists
-		try {
-			ProductDto product = this.restTemplate.getForObject(
-					AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/"
-							+ orderItemDto.getProductId(),
-					ProductDto.class);
+		// Seed the reservation ledger from PRODUCT-SERVICE the first time a product is seen
+		final int productId = orderItemDto.getProductId();
+		if (!this.stockReservationLedger.isTracked(productId)) {
+			try {
+				ProductDto product = this.productClient.findById(productId);
 
-			if (product == null) {
-				throw new OrderItemNotFoundException(
-						"Product with ID " + orderItemDto.getProductId() + " not found");
-			}
+				if (product == null) {
+					throw new OrderItemNotFoundException(
+							"Product with ID " + orderItemDto.getProductId() + " not found");
+				}
 
-			if (product.getQuantity() < orderItemDto.getOrderedQuantity()) {
-				throw new IllegalArgumentException(
-						"You cannot order more units than there is available, available units: "
-								+ product.getQuantity());
+				// Rows created before the product was tracked already hold units
+				this.stockReservationLedger.seed(productId, product.getQuantity(),
+						(int) this.orderItemRepository.sumActiveOrderedQuantityByProductId(productId));
+			} catch (RestClientException e) {
+				throw new OrderItemNotFoundException("Error verifying product existence: " + e.getMessage());
 			}
-		} catch (RestClientException e) {
-			throw new OrderItemNotFoundException("Error verifying product existence: " + e.getMessage());
+		}
+
+		// Atomically reserve the units; given back if the transaction rolls back
+		if (!this.stockReservationLedger.tryReserve(productId, orderItemDto.getOrderedQuantity())) {
+			throw new IllegalArgumentException(
+					"You cannot order more units than there is available, available units: "
+							+ this.stockReservationLedger.available(productId));
 		}
 
 		// Save the order item
-		OrderItemDto savedItem = OrderItemMappingHelper.map(
-				this.orderItemRepository.save(OrderItemMappingHelper.mapForCreation(orderItemDto)));
+		final OrderItem orderItem = this.orderItemRepository.save(OrderItemMappingHelper.mapForCreation(orderItemDto));
+		OrderItemDto savedItem = OrderItemMappingHelper.map(orderItem);
+		this.applicationEventPublisher.publishEvent(ShippingChangedEvent.created(orderItem));
+		this.shippingChangeJournal.record(ShippingChangeType.CREATED, orderItem.getOrderId(), orderItem.getProductId());
+
+		if (!firstItem) {
+			orderItem.setOrderStatus(OrderStatus.ORDERED);
+			return savedItem;
+		}
 
 		// Update order status after successful save
 		try {
-			String patchUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/"
-					+ orderItemDto.getOrderId() + "/status";
-
-			this.restTemplate.patchForObject(
-					patchUrl,
-					null, // No request body
-					Void.class);
-
+			this.orderClient.advanceStatus(orderItemDto.getOrderId());
+			// The order moved from CREATED to ORDERED; the managed entity is flushed on commit
+			orderItem.setOrderStatus(OrderStatus.ORDERED);
 		} catch (RestClientException e) {
-			log.error("Failed to update order status after saving item: " + e.getMessage());
+			log.error("Failed to update order status after saving item, orderId={} error={}",
+					orderItemDto.getOrderId(), e.getMessage());
 
 		}
 
@@ -221,40 +387,63 @@ public class OrderItemServiceImpl implements OrderItemService {
 	}
 
 	@Override
-	@Transactional
-	public void deleteById(final int orderItemId) {
+	public void deleteById(final OrderItemId orderItemId) {
 		log.info("*** Void, service; soft delete orderItem by id *");
+		final OrderItem orderItem = this.orderItemRepository.findById(orderItemId)
+				.filter(OrderItem::isActive)
+				.orElseThrow(() -> new OrderItemNotFoundException(
+						String.format("OrderItem with id: %s not found", orderItemId)));
+		this.deactivate(orderItemId.getOrderId(), List.of(orderItem));
+	}
 
-		this.orderItemRepository.findByOrderIdAndIsActiveTrue(orderItemId)
-				.ifPresentOrElse(orderItem -> {
-					// Verificar si la orden asociada tiene estado ORDERED
-					try {
-						OrderDto order = this.restTemplate.getForObject(
-								AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" +
-										orderItem.getOrderId(),
-								OrderDto.class);
-
-						if (order == null) {
-							throw new OrderItemNotFoundException("Associated order not found");
-						}
-
-						if (!OrderStatus.ORDERED.name().equals(order.getOrderStatus())) {
-							throw new IllegalStateException(
-									"Cannot delete order item - associated order is not in ORDERED status");
-						}
-
-						orderItem.setActive(false);
-						this.orderItemRepository.save(orderItem);
-						log.info("OrderItem with id {} has been deactivated", orderItemId);
-
-					} catch (RestClientException e) {
-						log.error("Failed to fetch order details for order item: {}", orderItemId, e);
-						throw new OrderItemNotFoundException("Order information not available for this order item");
-					}
-
-				}, () -> {
-					throw new OrderItemNotFoundException(
-							String.format("OrderItem with id: %s not found", orderItemId));
-				});
+	@Override
+	public void deleteByOrderId(final int orderId) {
+		log.info("*** Void, service; soft delete orderItems by order id *");
+		final List<OrderItem> orderItems = this.orderItemRepository.findByOrderIdAndIsActiveTrueOrderByProductId(orderId);
+		if (orderItems.isEmpty()) {
+			throw new OrderItemNotFoundException(String.format("OrderItem with id: %s not found", orderId));
+		}
+		this.deactivate(orderId, orderItems);
 	}
+
+	private void deactivate(final int orderId, final List<OrderItem> orderItems) {
+		// Verificar si la orden asociada tiene estado ORDERED
+		try {
+			OrderDto order = this.orderClient.findById(orderId);
+
+			if (order == null) {
+				throw new OrderItemNotFoundException("Associated order not found");
+			}
+
+			if (!OrderStatus.ORDERED.name().equals(order.getOrderStatus())) {
+				throw new IllegalStateException(
+						"Cannot delete order item - associated order is not in ORDERED status");
+			}
+		} catch (RestClientException e) {
+			log.error("Failed to fetch order details, orderId={}", orderId, e);
+			throw new OrderItemNotFoundException("Order information not available for this order item");
+		}
+
+		for (final OrderItem orderItem : orderItems) {
+			orderItem.setActive(false);
+			this.orderItemRepository.save(orderItem);
+			this.applicationEventPublisher.publishEvent(ShippingChangedEvent.deleted(orderItem));
+			this.shippingChangeJournal.record(ShippingChangeType.DEACTIVATED, orderId, orderItem.getProductId());
+			this.stockReservationLedger.releaseOnCommit(orderItem.getProductId(), orderItem.getOrderedQuantity());
+			log.info("OrderItem deactivated, orderId={} productId={}", orderId, orderItem.getProductId());
+		}
+	}
+
+	@Override
+	public void updateOrderStatus(final int orderId, final OrderStatus orderStatus) {
+		log.info("*** Void, service; update local order status of orderItem *");
+		// ORDER-SERVICE just told us about this order, so an earlier 404 or cached status no longer holds
+		this.orderClient.forget(orderId);
+		if (this.orderItemRepository.updateOrderStatus(orderId, orderStatus) == 0) {
+			throw new OrderItemNotFoundException(
+					String.format("OrderItem with id: %s not found", orderId));
+		}
+		this.shippingChangeJournal.recordOrder(ShippingChangeType.UPDATED, orderId);
+	}
+
 }
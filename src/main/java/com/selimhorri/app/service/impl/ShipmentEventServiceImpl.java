@@ -0,0 +1,91 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.domain.ShipmentEvent;
+import com.selimhorri.app.dto.ShipmentEventDto;
+import com.selimhorri.app.exception.wrapper.TrackingBacklogFullException;
+import com.selimhorri.app.helper.ShipmentEventMappingHelper;
+import com.selimhorri.app.repository.ShipmentEventRepository;
+import com.selimhorri.app.service.ShipmentEventService;
+import com.selimhorri.app.tracking.ShipmentEventBatcher;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ShipmentEventServiceImpl implements ShipmentEventService {
+	
+	private static final int MAX_LOCATION_LENGTH = 255;
+	
+	private final ShipmentEventRepository shipmentEventRepository;
+	private final ShipmentEventBatcher shipmentEventBatcher;
+	
+	@Value("${shipping.tracking.max-events-per-request:5000}")
+	private int maxEventsPerRequest;
+	
+	@Value("${shipping.tracking.retry-after-seconds:1}")
+	private int retryAfterSeconds;
+	
+	/**
+	 * Validates the events and hands them to the batch writer; they become visible to
+	 * {@link #findByOrderId(Integer)} once their batch has been committed.
+	 */
+	@Override
+	public int ingest(final List<ShipmentEventDto> shipmentEventDtos) {
+		log.info("*** ShipmentEventDto List, service; ingest shipment events *");
+		if (shipmentEventDtos == null || shipmentEventDtos.isEmpty()) {
+			throw new IllegalArgumentException("Input must not be empty");
+		}
+		if (shipmentEventDtos.size() > this.maxEventsPerRequest) {
+			throw new IllegalArgumentException(
+					"An ingest request accepts at most " + this.maxEventsPerRequest + " events");
+		}
+		final Instant receivedAt = Instant.now();
+		final List<ShipmentEvent> events = new ArrayList<>(shipmentEventDtos.size());
+		for (int i = 0; i < shipmentEventDtos.size(); i++) {
+			final ShipmentEventDto shipmentEventDto = shipmentEventDtos.get(i);
+			validate(i, shipmentEventDto);
+			events.add(ShipmentEventMappingHelper.mapForIngestion(shipmentEventDto, receivedAt));
+		}
+		if (!this.shipmentEventBatcher.offer(events)) {
+			throw new TrackingBacklogFullException("Shipment event backlog is full, retry later", this.retryAfterSeconds);
+		}
+		return events.size();
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<ShipmentEventDto> findByOrderId(final Integer orderId) {
+		log.info("*** ShipmentEventDto List, service; fetch shipment events by order id *");
+		return this.shipmentEventRepository.findByOrderIdOrderByOccurredAtAscEventIdAsc(orderId)
+				.stream()
+				.map(ShipmentEventMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private static void validate(final int index, final ShipmentEventDto shipmentEventDto) {
+		if (shipmentEventDto == null) {
+			throw new IllegalArgumentException("Event " + index + " must not be null");
+		}
+		if (shipmentEventDto.getOrderId() == null
+				|| shipmentEventDto.getEventType() == null
+				|| shipmentEventDto.getOccurredAt() == null) {
+			throw new IllegalArgumentException("Event " + index + " requires orderId, eventType and occurredAt");
+		}
+		if (shipmentEventDto.getLocation() != null && shipmentEventDto.getLocation().length() > MAX_LOCATION_LENGTH) {
+			throw new IllegalArgumentException(
+					"Event " + index + " location exceeds " + MAX_LOCATION_LENGTH + " characters");
+		}
+	}
+	
+}
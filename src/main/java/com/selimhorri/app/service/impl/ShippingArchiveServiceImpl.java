@@ -0,0 +1,34 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.dto.ArchivedShippingDto;
+import com.selimhorri.app.helper.ArchivedOrderItemMappingHelper;
+import com.selimhorri.app.repository.ArchivedOrderItemRepository;
+import com.selimhorri.app.service.ShippingArchiveService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ShippingArchiveServiceImpl implements ShippingArchiveService {
+	
+	private final ArchivedOrderItemRepository archivedOrderItemRepository;
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<ArchivedShippingDto> findByOrderId(final Integer orderId) {
+		log.info("*** ArchivedShippingDto List, service; fetch archived shippings by order id *");
+		return this.archivedOrderItemRepository.findByOrderIdOrderByProductIdAscArchivedAtAsc(orderId)
+				.stream()
+				.map(ArchivedOrderItemMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+}
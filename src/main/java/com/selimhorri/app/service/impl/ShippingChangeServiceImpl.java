@@ -0,0 +1,66 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.changefeed.ShippingChangeJournal;
+import com.selimhorri.app.dto.ShippingChangeDto;
+import com.selimhorri.app.dto.ShippingChangePageDto;
+import com.selimhorri.app.service.ShippingChangeService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class ShippingChangeServiceImpl implements ShippingChangeService {
+	
+	private final ShippingChangeJournal shippingChangeJournal;
+	private final int defaultPageSize;
+	private final int maxPageSize;
+	private final Duration settleWindow;
+	
+	public ShippingChangeServiceImpl(final ShippingChangeJournal shippingChangeJournal,
+			@Value("${shipping.changes.default-page-size:500}") final int defaultPageSize,
+			@Value("${shipping.changes.max-page-size:5000}") final int maxPageSize,
+			@Value("${shipping.changes.settle-window:PT2S}") final Duration settleWindow) {
+		this.shippingChangeJournal = shippingChangeJournal;
+		this.defaultPageSize = defaultPageSize;
+		this.maxPageSize = maxPageSize;
+		this.settleWindow = settleWindow;
+	}
+	
+	/**
+	 * Changes after the cursor {@code since}, oldest first. The next page starts at
+	 * {@code nextCursor}, which stays at {@code since} when nothing new has settled yet.
+	 * <p>
+	 * Deliberately not read-only, so it stays on the primary: the settle window only holds
+	 * back changes that are still committing, and a lagging replica could hide an older
+	 * change past it, which the cursor would then skip for good.
+	 */
+	@Override
+	@Transactional
+	public ShippingChangePageDto findChanges(final long since, final Integer limit) {
+		log.info("*** ShippingChangePageDto, service; fetch shipping changes since cursor *");
+		if (since < 0) {
+			throw new IllegalArgumentException("Cursor must not be negative");
+		}
+		final int pageSize = limit != null ? limit : this.defaultPageSize;
+		if (pageSize < 1 || pageSize > this.maxPageSize) {
+			throw new IllegalArgumentException("Limit must be between 1 and " + this.maxPageSize);
+		}
+		// One extra row tells whether another page follows
+		final List<ShippingChangeDto> changes = this.shippingChangeJournal.read(since, this.settleWindow, pageSize + 1);
+		final boolean hasMore = changes.size() > pageSize;
+		final List<ShippingChangeDto> page = hasMore ? changes.subList(0, pageSize) : changes;
+		return ShippingChangePageDto.builder()
+				.changes(List.copyOf(page))
+				.nextCursor(page.isEmpty() ? since : page.get(page.size() - 1).getChangeId())
+				.hasMore(hasMore)
+				.build();
+	}
+	
+}
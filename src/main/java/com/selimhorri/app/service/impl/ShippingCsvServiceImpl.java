@@ -0,0 +1,362 @@
+package com.selimhorri.app.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.changefeed.ShippingChangeJournal;
+import com.selimhorri.app.csv.CsvFormatException;
+import com.selimhorri.app.csv.CsvReader;
+import com.selimhorri.app.csv.CsvWriter;
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.domain.OrderItemId;
+import com.selimhorri.app.dto.CsvRowErrorDto;
+import com.selimhorri.app.dto.OrderStatus;
+import com.selimhorri.app.dto.ShippingChangeType;
+import com.selimhorri.app.dto.ShippingCsvImportResultDto;
+import com.selimhorri.app.event.ShippingChangedEvent;
+import com.selimhorri.app.reservation.StockReservationLedger;
+import com.selimhorri.app.service.ShippingCsvService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk CSV transfer of {@code order_items}, in constant memory both ways.
+ * <p>
+ * An import is parsed record by record and written in chunks of {@code chunk-size} rows,
+ * each one JDBC batch insert in its own transaction. A chunk publishes a
+ * {@link ShippingChangedEvent} per active row, so the in-memory stats and index pick the
+ * rows up once it commits. Imported rows are taken as already placed: they skip the
+ * ORDER-SERVICE checks and the availability check that {@code POST /api/shippings}
+ * performs, but active ones are still counted in the {@link StockReservationLedger} within
+ * the chunk's transaction, so deleting them later gives back only units that were counted.
+ * An export streams {@code order_items} through a forward-only cursor with a fetch size.
+ */
+@Service
+@Slf4j
+public class ShippingCsvServiceImpl implements ShippingCsvService {
+
+	private static final String[] COLUMNS = {
+			"order_id", "product_id", "ordered_quantity", "order_status", "is_active", "created_at", "updated_at" };
+
+	private static final String INSERT_SQL = "INSERT INTO order_items "
+			+ "(order_id, product_id, ordered_quantity, order_status, is_active, created_at, updated_at) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?)";
+	private static final String EXISTING_SQL = "SELECT order_id, product_id FROM order_items WHERE order_id IN (:orderIds)";
+	private static final String EXPORT_SQL = "SELECT order_id, product_id, ordered_quantity, order_status, "
+			+ "is_active, created_at, updated_at FROM order_items ORDER BY order_id, product_id";
+	private static final int MAX_RECORD_CHARS = 4096;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final TransactionTemplate readOnlyTransactionTemplate;
+	private final ApplicationEventPublisher applicationEventPublisher;
+	private final ShippingChangeJournal shippingChangeJournal;
+	private final StockReservationLedger stockReservationLedger;
+	private final int chunkSize;
+	private final int fetchSize;
+	private final int maxReportedErrors;
+
+	public ShippingCsvServiceImpl(final JdbcTemplate jdbcTemplate,
+			final NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+			final PlatformTransactionManager transactionManager,
+			final ApplicationEventPublisher applicationEventPublisher,
+			final ShippingChangeJournal shippingChangeJournal,
+			final StockReservationLedger stockReservationLedger,
+			@Value("${shipping.csv.chunk-size:1000}") final int chunkSize,
+			@Value("${shipping.csv.fetch-size:1000}") final int fetchSize,
+			@Value("${shipping.csv.max-reported-errors:1000}") final int maxReportedErrors) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTransactionTemplate.setReadOnly(true);
+		this.applicationEventPublisher = applicationEventPublisher;
+		this.shippingChangeJournal = shippingChangeJournal;
+		this.stockReservationLedger = stockReservationLedger;
+		this.chunkSize = chunkSize;
+		this.fetchSize = fetchSize;
+		this.maxReportedErrors = maxReportedErrors;
+	}
+
+	/**
+	 * Imports rows under a header naming at least {@code order_id}, {@code product_id} and
+	 * {@code ordered_quantity}. Optional {@code order_status} (default ORDERED),
+	 * {@code is_active} (default true) and {@code created_at} (ISO-8601, default now) are
+	 * honoured and any other column is ignored, so an export can be imported as is.
+	 */
+	@Override
+	public ShippingCsvImportResultDto importCsv(final InputStream inputStream) throws IOException {
+		log.info("*** ShippingCsvImportResultDto, service; import orderItems from CSV *");
+		final ImportReport report = new ImportReport(this.maxReportedErrors);
+		try (CsvReader reader = new CsvReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), MAX_RECORD_CHARS)) {
+			final Map<String, Integer> header = readHeader(reader);
+			final List<ImportRow> chunk = new ArrayList<>(this.chunkSize);
+			List<String> record;
+			while ((record = reader.readRecord()) != null) {
+				if (record.size() == 1 && record.get(0).isBlank()) {
+					continue;
+				}
+				report.rowsRead++;
+				try {
+					chunk.add(new ImportRow(reader.getRecordLineNumber(), parse(header, record)));
+				} catch (IllegalArgumentException e) {
+					report.reject(reader.getRecordLineNumber(), e.getMessage());
+					continue;
+				}
+				if (chunk.size() == this.chunkSize) {
+					this.writeChunk(chunk, report);
+					chunk.clear();
+				}
+			}
+			this.writeChunk(chunk, report);
+			report.completed = true;
+		} catch (CsvFormatException e) {
+			// Nothing after a malformed record can be trusted; what was committed stays
+			report.reject(e.getLineNumber(), e.getMessage());
+		}
+		log.info("Shipping CSV import done, read={} imported={} rejected={} completed={}",
+				report.rowsRead, report.rowsImported, report.rowsRejected, report.completed);
+		return report.toDto();
+	}
+
+	@Override
+	public void exportCsv(final OutputStream outputStream) throws IOException {
+		log.info("*** Void, service; export orderItems to CSV *");
+		final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+		final CsvWriter csvWriter = new CsvWriter(writer);
+		csvWriter.writeRecord((Object[]) COLUMNS);
+		try {
+			this.readOnlyTransactionTemplate.executeWithoutResult(status -> this.jdbcTemplate.query(connection -> {
+				final var statement = connection.prepareStatement(EXPORT_SQL,
+						ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+				statement.setFetchSize(this.fetchSize);
+				return statement;
+			}, (ResultSet rs) -> {
+				try {
+					csvWriter.writeRecord(rs.getInt(1), rs.getInt(2), rs.getObject(3), rs.getString(4),
+							rs.getBoolean(5), toInstant(rs.getTimestamp(6)), toInstant(rs.getTimestamp(7)));
+				} catch (IOException e) {
+					// The client went away; stop reading rows
+					throw new UncheckedIOException(e);
+				}
+			}));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		csvWriter.flush();
+	}
+
+	private void writeChunk(final List<ImportRow> chunk, final ImportReport report) {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		try {
+			this.insertNew(chunk, report);
+		} catch (DuplicateKeyException e) {
+			// A shipping was created concurrently after the existence check; the rerun sees it
+			this.insertNew(chunk, report);
+		}
+	}
+
+	private void insertNew(final List<ImportRow> chunk, final ImportReport report) {
+		final List<CsvRowErrorDto> duplicates = new ArrayList<>();
+		final List<ImportRow> inserted = this.transactionTemplate.execute(status -> {
+			duplicates.clear();
+			final Set<OrderItemId> taken = new HashSet<>(this.namedParameterJdbcTemplate.query(EXISTING_SQL,
+					Map.of("orderIds", chunk.stream().map(row -> row.orderItem.getOrderId()).distinct().collect(Collectors.toList())),
+					(rs, rowNum) -> new OrderItemId(rs.getInt(1), rs.getInt(2))));
+			final List<ImportRow> rows = new ArrayList<>(chunk.size());
+			for (final ImportRow row : chunk) {
+				if (taken.add(new OrderItemId(row.orderItem.getOrderId(), row.orderItem.getProductId()))) {
+					rows.add(row);
+				} else {
+					duplicates.add(CsvRowErrorDto.builder()
+							.line(row.line)
+							.msg("Shipping for order " + row.orderItem.getOrderId() + " and product "
+									+ row.orderItem.getProductId() + " already exists")
+							.build());
+				}
+			}
+			final Timestamp now = Timestamp.from(Instant.now());
+			this.jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+				final OrderItem orderItem = row.orderItem;
+				ps.setInt(1, orderItem.getOrderId());
+				ps.setInt(2, orderItem.getProductId());
+				ps.setInt(3, orderItem.getOrderedQuantity());
+				ps.setString(4, orderItem.getOrderStatus().name());
+				ps.setBoolean(5, orderItem.isActive());
+				ps.setTimestamp(6, orderItem.getCreatedAt() != null ? Timestamp.from(orderItem.getCreatedAt()) : now);
+				ps.setTimestamp(7, now);
+			});
+			// Recorded like the journal's backfill, so feed consumers do not take inactive rows for live shippings
+			rows.forEach(row -> this.shippingChangeJournal.record(
+					row.orderItem.isActive() ? ShippingChangeType.CREATED : ShippingChangeType.DEACTIVATED,
+					row.orderItem.getOrderId(), row.orderItem.getProductId()));
+			// Placed elsewhere, so counted even past the known stock; a rollback gives them back
+			rows.stream()
+					.filter(row -> row.orderItem.isActive())
+					.forEach(row -> this.stockReservationLedger.reserveUnchecked(
+							row.orderItem.getProductId(), row.orderItem.getOrderedQuantity()));
+			// Delivered to the @TransactionalEventListener consumers once this chunk commits
+			rows.stream()
+					.filter(row -> row.orderItem.isActive())
+					.forEach(row -> this.applicationEventPublisher.publishEvent(ShippingChangedEvent.created(row.orderItem)));
+			return rows;
+		});
+		duplicates.forEach(duplicate -> report.reject(duplicate.getLine(), duplicate.getMsg()));
+		report.rowsImported += inserted.size();
+	}
+
+	private static Map<String, Integer> readHeader(final CsvReader reader) throws IOException {
+		final List<String> names = reader.readRecord();
+		if (names == null) {
+			throw new IllegalArgumentException("CSV input is empty");
+		}
+		final Map<String, Integer> header = new HashMap<>();
+		for (int i = 0; i < names.size(); i++) {
+			header.putIfAbsent(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+		}
+		for (final String required : new String[] { "order_id", "product_id", "ordered_quantity" }) {
+			if (!header.containsKey(required)) {
+				throw new IllegalArgumentException("CSV header must contain " + required);
+			}
+		}
+		return header;
+	}
+
+	private static OrderItem parse(final Map<String, Integer> header, final List<String> record) {
+		final int orderId = positiveInt(header, record, "order_id");
+		final int productId = positiveInt(header, record, "product_id");
+		final int orderedQuantity = positiveInt(header, record, "ordered_quantity");
+
+		final String status = field(header, record, "order_status");
+		final OrderStatus orderStatus;
+		try {
+			orderStatus = status.isEmpty() ? OrderStatus.ORDERED : OrderStatus.valueOf(status.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown order_status " + status);
+		}
+
+		final String active = field(header, record, "is_active").toLowerCase(Locale.ROOT);
+		if (!active.isEmpty() && !active.equals("true") && !active.equals("false")) {
+			throw new IllegalArgumentException("is_active must be true or false but was " + active);
+		}
+
+		final String createdAt = field(header, record, "created_at");
+		final Instant created;
+		try {
+			created = createdAt.isEmpty() ? null : Instant.parse(createdAt);
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("created_at must be an ISO-8601 instant but was " + createdAt);
+		}
+
+		final OrderItem orderItem = OrderItem.builder()
+				.orderId(orderId)
+				.productId(productId)
+				.orderedQuantity(orderedQuantity)
+				.orderStatus(orderStatus)
+				.isActive(!active.equals("false"))
+				.build();
+		orderItem.setCreatedAt(created);
+		return orderItem;
+	}
+
+	private static int positiveInt(final Map<String, Integer> header, final List<String> record, final String column) {
+		final String value = field(header, record, column);
+		if (value.isEmpty()) {
+			throw new IllegalArgumentException(column + " is required");
+		}
+		try {
+			final int parsed = Integer.parseInt(value);
+			if (parsed > 0) {
+				return parsed;
+			}
+		} catch (NumberFormatException e) {
+			// Reported below
+		}
+		throw new IllegalArgumentException(column + " must be a positive integer but was " + value);
+	}
+
+	private static String field(final Map<String, Integer> header, final List<String> record, final String column) {
+		final Integer index = header.get(column);
+		return index != null && index < record.size() ? record.get(index).trim() : "";
+	}
+
+	private static Instant toInstant(final Timestamp timestamp) {
+		return timestamp != null ? timestamp.toInstant() : null;
+	}
+
+	private static final class ImportRow {
+
+		private final long line;
+		private final OrderItem orderItem;
+
+		ImportRow(final long line, final OrderItem orderItem) {
+			this.line = line;
+			this.orderItem = orderItem;
+		}
+
+	}
+
+	private static final class ImportReport {
+
+		private final int maxReportedErrors;
+		private final List<CsvRowErrorDto> errors = new ArrayList<>();
+		private long rowsRead;
+		private long rowsImported;
+		private long rowsRejected;
+		private boolean completed;
+
+		ImportReport(final int maxReportedErrors) {
+			this.maxReportedErrors = maxReportedErrors;
+		}
+
+		void reject(final long line, final String msg) {
+			this.rowsRejected++;
+			if (this.errors.size() < this.maxReportedErrors) {
+				this.errors.add(CsvRowErrorDto.builder().line(line).msg(msg).build());
+			}
+		}
+
+		ShippingCsvImportResultDto toDto() {
+			return ShippingCsvImportResultDto.builder()
+					.rowsRead(this.rowsRead)
+					.rowsImported(this.rowsImported)
+					.rowsRejected(this.rowsRejected)
+					.completed(this.completed)
+					.errors(this.errors)
+					.errorsTruncated(this.rowsRejected > this.errors.size())
+					.build();
+		}
+
+	}
+
+}
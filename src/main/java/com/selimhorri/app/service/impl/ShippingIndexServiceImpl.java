@@ -0,0 +1,115 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.collection.IntIntArrayHashMap;
+import com.selimhorri.app.collection.LongIntHashMap;
+import com.selimhorri.app.dto.ProductShippingDto;
+import com.selimhorri.app.event.ShippingChangedEvent;
+import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.repository.projection.ActiveShippingRow;
+import com.selimhorri.app.service.ShippingIndexService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of active shippings, answering "which shippings contain product X"
+ * without touching the database.
+ * <p>
+ * Two primitive maps hold the whole index: the ordered quantity of each shipping, keyed
+ * by its order id and product id packed into one {@code long}, and product id to the
+ * order ids that contain it. It is loaded from a projection query at startup and then follows every
+ * committed {@link ShippingChangedEvent}, like the shipping stats.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ShippingIndexServiceImpl implements ShippingIndexService {
+
+	private final OrderItemRepository orderItemRepository;
+
+	// Guarded by this
+	private final LongIntHashMap quantitiesByShipping = new LongIntHashMap();
+	private final IntIntArrayHashMap orderIdsByProductId = new IntIntArrayHashMap();
+
+	@Override
+	@PostConstruct
+	public void rebuild() {
+		final List<ActiveShippingRow> rows = this.orderItemRepository.findActiveRows();
+		synchronized (this) {
+			this.quantitiesByShipping.clear();
+			this.orderIdsByProductId.clear();
+			for (final ActiveShippingRow row : rows) {
+				this.index(row.getOrderId(), row.getProductId(),
+						row.getOrderedQuantity() != null ? row.getOrderedQuantity() : 0);
+			}
+		}
+		log.info("Shipping index rebuilt, shippings={}", rows.size());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onShippingChanged(final ShippingChangedEvent event) {
+		synchronized (this) {
+			if (event.getType() == ShippingChangedEvent.Type.CREATED) {
+				this.index(event.getOrderId(), event.getProductId(), event.getOrderedQuantity());
+			} else {
+				this.unindex(event.getOrderId(), event.getProductId());
+			}
+		}
+	}
+
+	@Override
+	public List<ProductShippingDto> findByProductId(final int productId) {
+		log.info("*** ProductShippingDto List, service; fetch active shippings by product id *");
+		// Order id in the high half, so sorting the packed pairs sorts by order id
+		final long[] orderQuantities;
+		synchronized (this) {
+			final int[] orderIds = this.orderIdsByProductId.get(productId);
+			orderQuantities = new long[orderIds.length];
+			for (int i = 0; i < orderIds.length; i++) {
+				orderQuantities[i] = pack(orderIds[i], this.quantitiesByShipping.get(pack(orderIds[i], productId)));
+			}
+		}
+		Arrays.sort(orderQuantities);
+		final List<ProductShippingDto> shippings = new ArrayList<>(orderQuantities.length);
+		for (final long orderQuantity : orderQuantities) {
+			shippings.add(ProductShippingDto.builder()
+					.orderId((int) (orderQuantity >>> 32))
+					.productId(productId)
+					.orderedQuantity(quantityOf(orderQuantity))
+					.build());
+		}
+		return shippings;
+	}
+
+	private void index(final int orderId, final int productId, final int orderedQuantity) {
+		final long shipping = pack(orderId, productId);
+		if (!this.quantitiesByShipping.containsKey(shipping)) {
+			this.orderIdsByProductId.add(productId, orderId);
+		}
+		this.quantitiesByShipping.put(shipping, orderedQuantity);
+	}
+
+	private void unindex(final int orderId, final int productId) {
+		if (this.quantitiesByShipping.remove(pack(orderId, productId))) {
+			this.orderIdsByProductId.removeValue(productId, orderId);
+		}
+	}
+
+	private static long pack(final int high, final int low) {
+		return (long) high << 32 | (low & 0xFFFFFFFFL);
+	}
+
+	private static int quantityOf(final long row) {
+		return (int) row;
+	}
+
+}
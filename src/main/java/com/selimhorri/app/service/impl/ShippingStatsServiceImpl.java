@@ -0,0 +1,102 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.collection.IntLongHashMap;
+import com.selimhorri.app.dto.ProductShippingStatsDto;
+import com.selimhorri.app.dto.ShippingStatsDto;
+import com.selimhorri.app.event.ShippingChangedEvent;
+import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.repository.projection.ProductShippingTotals;
+import com.selimhorri.app.service.ShippingStatsService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Active shipping count and ordered quantity per product, kept in memory.
+ * <p>
+ * The aggregates are rebuilt from one grouped query at startup and then adjusted by
+ * every committed {@link ShippingChangedEvent}, so serving them costs one pass over
+ * the distinct products regardless of how many shipping rows exist.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ShippingStatsServiceImpl implements ShippingStatsService {
+
+	private final OrderItemRepository orderItemRepository;
+
+	// Guarded by this
+	private final IntLongHashMap shippingCounts = new IntLongHashMap();
+	private final IntLongHashMap quantities = new IntLongHashMap();
+	private long totalShippings;
+	private long totalQuantity;
+
+	@Override
+	@PostConstruct
+	public void rebuild() {
+		final List<ProductShippingTotals> totals = this.orderItemRepository.sumActiveByProductId();
+		synchronized (this) {
+			this.shippingCounts.clear();
+			this.quantities.clear();
+			this.totalShippings = 0;
+			this.totalQuantity = 0;
+			for (final ProductShippingTotals productTotals : totals) {
+				final long quantity = productTotals.getTotalQuantity() != null ? productTotals.getTotalQuantity() : 0L;
+				this.shippingCounts.put(productTotals.getProductId(), productTotals.getShippingCount());
+				this.quantities.put(productTotals.getProductId(), quantity);
+				this.totalShippings += productTotals.getShippingCount();
+				this.totalQuantity += quantity;
+			}
+		}
+		log.info("Shipping stats rebuilt, products={}", totals.size());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onShippingChanged(final ShippingChangedEvent event) {
+		final int sign = event.getType() == ShippingChangedEvent.Type.CREATED ? 1 : -1;
+		synchronized (this) {
+			final long count = this.shippingCounts.addTo(event.getProductId(), sign);
+			this.quantities.addTo(event.getProductId(), (long) sign * event.getOrderedQuantity());
+			if (count <= 0) {
+				this.shippingCounts.remove(event.getProductId());
+				this.quantities.remove(event.getProductId());
+			}
+			this.totalShippings += sign;
+			this.totalQuantity += (long) sign * event.getOrderedQuantity();
+		}
+	}
+
+	@Override
+	public ShippingStatsDto getStats() {
+		log.info("*** ShippingStatsDto, service; fetch shipping stats *");
+		final List<ProductShippingStatsDto> products;
+		final long shippings;
+		final long quantity;
+		synchronized (this) {
+			products = new ArrayList<>(this.shippingCounts.size());
+			this.shippingCounts.forEach((productId, count) -> products.add(ProductShippingStatsDto.builder()
+					.productId(productId)
+					.activeShippings(count)
+					.totalQuantity(this.quantities.get(productId))
+					.build()));
+			shippings = this.totalShippings;
+			quantity = this.totalQuantity;
+		}
+		products.sort(Comparator.comparing(ProductShippingStatsDto::getProductId));
+		return ShippingStatsDto.builder()
+				.activeShippings(shippings)
+				.totalQuantity(quantity)
+				.products(products)
+				.build();
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.selimhorri.app.service.impl;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.selimhorri.app.dto.ShippingChangeType;
+import com.selimhorri.app.dto.ShippingStreamEventDto;
+import com.selimhorri.app.event.ShippingChangedEvent;
+import com.selimhorri.app.service.ShippingStreamService;
+import com.selimhorri.app.stream.ShippingEventBroadcaster;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Live stream of shipping creations and deactivations, pushed once their transaction has
+ * committed, like the updates of the shipping stats and index.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ShippingStreamServiceImpl implements ShippingStreamService {
+	
+	private final ShippingEventBroadcaster shippingEventBroadcaster;
+	
+	@Override
+	public SseEmitter subscribe(final String lastEventId) {
+		log.info("*** SseEmitter, service; subscribe to shipping changes *");
+		return this.shippingEventBroadcaster.subscribe(lastEventId);
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onShippingChanged(final ShippingChangedEvent event) {
+		this.shippingEventBroadcaster.publish(ShippingStreamEventDto.builder()
+				.changeType(event.getType() == ShippingChangedEvent.Type.CREATED
+						? ShippingChangeType.CREATED : ShippingChangeType.DEACTIVATED)
+				.orderId(event.getOrderId())
+				.productId(event.getProductId())
+				.orderedQuantity(event.getOrderedQuantity())
+				.build());
+	}
+	
+}
@@ -0,0 +1,426 @@
+package com.selimhorri.app.stream;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.collection.BoundedRingBuffer;
+import com.selimhorri.app.dto.ShippingStreamEventDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes committed shipping changes to Server-Sent Events subscribers.
+ * <p>
+ * A subscriber is an async {@link SseEmitter} plus a bounded buffer of frames; nothing
+ * holds a thread while it is idle. Each event is serialized once and offered to every
+ * buffer without blocking, and a subscriber with pending frames gets a single drain task on
+ * the shared {@code sendExecutor}. A drain writes at most {@code maxFramesPerDrain} frames
+ * and then goes to the back of the executor's queue, so a busy subscriber takes turns with
+ * the others. A subscriber whose buffer overflows is disconnected instead of slowing anyone
+ * else down; its client reconnects with {@code Last-Event-ID} and catches up from the replay
+ * log if the gap still fits, otherwise it gets a {@code reset} event telling it to resync,
+ * e.g. from the change feed.
+ * <p>
+ * Writes block, so a client that stopped reading holds a send thread. {@link #heartbeat()}
+ * disconnects any subscriber whose write has been in progress for longer than
+ * {@code writeTimeoutMillis}, so no more frames are queued for it. The thread itself is only
+ * freed when the container's connection timeout fails the write; that timeout is left alone
+ * as it also governs every other endpoint's reads and keep-alives, so the other subscribers
+ * share the remaining threads in the meantime.
+ * <p>
+ * Event ids are {@code <instance>-<sequence>}: the replay log lives in this instance's
+ * memory only, so an id minted by another instance or before a restart always resets.
+ */
+@Slf4j
+public class ShippingEventBroadcaster {
+	
+	public static final String RESET_EVENT = "reset";
+	private static final long NOT_WRITING = Long.MIN_VALUE;
+	
+	private final ObjectWriter objectWriter;
+	private final Executor sendExecutor;
+	private final int bufferSize;
+	private final int replaySize;
+	private final int maxSubscribers;
+	private final long emitterTimeoutMillis;
+	private final long reconnectDelayMillis;
+	private final int maxFramesPerDrain;
+	private final long writeTimeoutNanos;
+	private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+	private final SseEventBuilder heartbeat = PreparedFrame.of(SseEmitter.event().comment("keep-alive"));
+	
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+	// Slots taken by subscribers that have not left yet, claimed before one is created
+	private final AtomicInteger connected = new AtomicInteger();
+	// Guarded by itself, together with the sequence, so a subscription sees each event exactly once
+	private final ArrayDeque<Frame> replayLog;
+	private long sequence;
+	
+	private final AtomicLong published = new AtomicLong();
+	private final AtomicLong sentFrames = new AtomicLong();
+	private final AtomicLong replayed = new AtomicLong();
+	private final AtomicLong resets = new AtomicLong();
+	private final AtomicLong slowDisconnects = new AtomicLong();
+	private final AtomicLong stalledDisconnects = new AtomicLong();
+	
+	public ShippingEventBroadcaster(final ObjectMapper objectMapper, final Executor sendExecutor,
+			final int bufferSize, final int replaySize, final int maxSubscribers,
+			final long emitterTimeoutMillis, final long reconnectDelayMillis, final int maxFramesPerDrain,
+			final long writeTimeoutMillis) {
+		// A line break would end the data field early
+		this.objectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+		this.sendExecutor = sendExecutor;
+		this.bufferSize = bufferSize;
+		this.replaySize = replaySize;
+		this.maxSubscribers = maxSubscribers;
+		this.emitterTimeoutMillis = emitterTimeoutMillis;
+		this.reconnectDelayMillis = reconnectDelayMillis;
+		this.maxFramesPerDrain = maxFramesPerDrain;
+		this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+		this.replayLog = new ArrayDeque<>(replaySize);
+	}
+	
+	/**
+	 * Opens a stream that first replays what followed {@code lastEventId}, if given, and
+	 * then carries every new event. Returns {@code null} when {@code maxSubscribers} are
+	 * already connected.
+	 */
+	public SseEmitter subscribe(final String lastEventId) {
+		int current;
+		do {
+			current = this.connected.get();
+			if (current >= this.maxSubscribers) {
+				return null;
+			}
+		} while (!this.connected.compareAndSet(current, current + 1));
+		final Subscriber subscriber = new Subscriber(new SseEmitter(this.emitterTimeoutMillis));
+		subscriber.offer(PreparedFrame.of(SseEmitter.event().reconnectTime(this.reconnectDelayMillis).comment("connected")));
+		synchronized (this.replayLog) {
+			if (lastEventId != null && !lastEventId.isBlank()) {
+				this.replay(subscriber, lastEventId.trim());
+			}
+			this.subscribers.add(subscriber);
+		}
+		return subscriber.emitter;
+	}
+	
+	/**
+	 * Sends {@code event} to every subscriber and keeps it for replay.
+	 */
+	public void publish(final ShippingStreamEventDto event) {
+		final String json;
+		try {
+			json = this.objectWriter.writeValueAsString(event);
+		} catch (JsonProcessingException e) {
+			log.error("*** ShippingEventBroadcaster; cannot serialize {} *", event, e);
+			return;
+		}
+		synchronized (this.replayLog) {
+			final long id = ++this.sequence;
+			final Frame frame = new Frame(id, PreparedFrame.of(SseEmitter.event().id(this.instanceId + "-" + id).data(json)));
+			if (this.replayLog.size() == this.replaySize) {
+				this.replayLog.pollFirst();
+			}
+			this.replayLog.addLast(frame);
+			for (final Subscriber subscriber : this.subscribers) {
+				subscriber.offer(frame.data);
+			}
+		}
+		this.published.incrementAndGet();
+	}
+	
+	/**
+	 * Writes a comment line to every subscriber, so idle connections are neither cut by
+	 * proxies nor kept open after the client is gone, and disconnects subscribers stuck in
+	 * a write for longer than the write timeout.
+	 */
+	public void heartbeat() {
+		final long now = System.nanoTime();
+		for (final Subscriber subscriber : this.subscribers) {
+			if (subscriber.isWriteStalled(now)) {
+				this.stalledDisconnects.incrementAndGet();
+				subscriber.close(false);
+			} else {
+				subscriber.offer(this.heartbeat);
+			}
+		}
+	}
+	
+	public int getSubscriberCount() {
+		return this.subscribers.size();
+	}
+	
+	public long getPublishedCount() {
+		return this.published.get();
+	}
+	
+	public long getSentFrameCount() {
+		return this.sentFrames.get();
+	}
+	
+	public long getReplayedCount() {
+		return this.replayed.get();
+	}
+	
+	/**
+	 * Resumptions that could not be served from the replay log.
+	 */
+	public long getResetCount() {
+		return this.resets.get();
+	}
+	
+	/**
+	 * Subscribers disconnected because their buffer was full.
+	 */
+	public long getSlowDisconnectCount() {
+		return this.slowDisconnects.get();
+	}
+	
+	/**
+	 * Subscribers disconnected because a write to them outlasted the write timeout.
+	 */
+	public long getStalledDisconnectCount() {
+		return this.stalledDisconnects.get();
+	}
+	
+	private void replay(final Subscriber subscriber, final String lastEventId) {
+		final long last = this.parseSequence(lastEventId);
+		final Frame oldest = this.replayLog.peekFirst();
+		final long oldestId = oldest != null ? oldest.id : this.sequence + 1;
+		final long missed = this.sequence - last;
+		// One slot is taken by the greeting
+		if (last < 0 || last > this.sequence || last < oldestId - 1 || missed > this.bufferSize - 1) {
+			this.resets.incrementAndGet();
+			subscriber.offer(PreparedFrame.of(SseEmitter.event().name(RESET_EVENT).data("{}")));
+			return;
+		}
+		final List<Frame> frames = new ArrayList<>((int) missed);
+		this.replayLog.descendingIterator().forEachRemaining(frame -> {
+			if (frame.id > last) {
+				frames.add(frame);
+			}
+		});
+		for (int i = frames.size() - 1; i >= 0; i--) {
+			subscriber.offer(frames.get(i).data);
+		}
+		this.replayed.addAndGet(frames.size());
+	}
+	
+	private long parseSequence(final String lastEventId) {
+		final int separator = lastEventId.lastIndexOf('-');
+		if (separator < 0 || !this.instanceId.equals(lastEventId.substring(0, separator))) {
+			return -1L;
+		}
+		try {
+			return Long.parseLong(lastEventId.substring(separator + 1));
+		} catch (NumberFormatException e) {
+			return -1L;
+		}
+	}
+	
+	private static final class Frame {
+		
+		private final long id;
+		private final SseEventBuilder data;
+		
+		Frame(final long id, final SseEventBuilder data) {
+			this.id = id;
+			this.data = data;
+		}
+	
+	}
+	
+	/**
+	 * An event rendered once and sent as is to any number of emitters; Spring's own builder
+	 * appends to itself on every {@code build()}.
+	 */
+	private static final class PreparedFrame implements SseEventBuilder {
+		
+		private final Set<DataWithMediaType> data;
+		
+		private PreparedFrame(final Set<DataWithMediaType> data) {
+			this.data = data;
+		}
+		
+		static SseEventBuilder of(final SseEventBuilder builder) {
+			// Order matters: the parts are written one after the other
+			return new PreparedFrame(Collections.unmodifiableSet(new LinkedHashSet<>(builder.build())));
+		}
+		
+		@Override
+		public Set<DataWithMediaType> build() {
+			return this.data;
+		}
+		
+		@Override
+		public SseEventBuilder id(final String id) {
+			throw new UnsupportedOperationException();
+		}
+		
+		@Override
+		public SseEventBuilder name(final String eventName) {
+			throw new UnsupportedOperationException();
+		}
+		
+		@Override
+		public SseEventBuilder reconnectTime(final long reconnectTimeMillis) {
+			throw new UnsupportedOperationException();
+		}
+		
+		@Override
+		public SseEventBuilder comment(final String comment) {
+			throw new UnsupportedOperationException();
+		}
+		
+		@Override
+		public SseEventBuilder data(final Object object) {
+			throw new UnsupportedOperationException();
+		}
+		
+		@Override
+		public SseEventBuilder data(final Object object, final MediaType mediaType) {
+			throw new UnsupportedOperationException();
+		}
+	
+	}
+	
+	/**
+	 * One connection. Frames are offered from any thread; the thread that wins
+	 * {@code draining} is the buffer's only consumer and the emitter's only writer.
+	 */
+	private final class Subscriber {
+		
+		private final SseEmitter emitter;
+		private final BoundedRingBuffer<SseEventBuilder> buffer;
+		private final AtomicBoolean draining = new AtomicBoolean();
+		private final AtomicBoolean closed = new AtomicBoolean();
+		private final AtomicBoolean left = new AtomicBoolean();
+		private volatile boolean completed;
+		// System.nanoTime() when the write in progress started, NOT_WRITING between writes
+		private volatile long writeStartedNanos = NOT_WRITING;
+		
+		Subscriber(final SseEmitter emitter) {
+			this.emitter = emitter;
+			this.buffer = new BoundedRingBuffer<>(bufferSize);
+			emitter.onCompletion(this::completed);
+			emitter.onError(error -> this.completed());
+			emitter.onTimeout(() -> {
+				// The client reconnects with its Last-Event-ID
+				this.completed();
+				emitter.complete();
+			});
+		}
+		
+		void offer(final SseEventBuilder frame) {
+			if (this.closed.get()) {
+				return;
+			}
+			if (!this.buffer.offer(frame)) {
+				this.close(true);
+				return;
+			}
+			this.scheduleDrain();
+		}
+		
+		/**
+		 * Stops feeding the subscriber; the emitter itself is completed by the drain task,
+		 * as a write in progress holds it.
+		 */
+		void close(final boolean slow) {
+			if (this.closed.compareAndSet(false, true)) {
+				this.leave();
+				if (slow) {
+					slowDisconnects.incrementAndGet();
+				}
+				this.scheduleDrain();
+			}
+		}
+		
+		boolean isWriteStalled(final long nowNanos) {
+			final long startedNanos = this.writeStartedNanos;
+			return startedNanos != NOT_WRITING && nowNanos - startedNanos > writeTimeoutNanos;
+		}
+		
+		private void completed() {
+			this.completed = true;
+			this.closed.set(true);
+			this.leave();
+		}
+		
+		/**
+		 * Gives the subscriber's slot back, once, whichever of close, completion, error or
+		 * timeout comes first.
+		 */
+		private void leave() {
+			if (this.left.compareAndSet(false, true)) {
+				subscribers.remove(this);
+				connected.decrementAndGet();
+			}
+		}
+		
+		private void scheduleDrain() {
+			if (!this.draining.compareAndSet(false, true)) {
+				return;
+			}
+			try {
+				sendExecutor.execute(this::drain);
+			} catch (RejectedExecutionException e) {
+				this.draining.set(false);
+				this.completed();
+			}
+		}
+		
+		private void drain() {
+			try {
+				SseEventBuilder frame;
+				int budget = maxFramesPerDrain;
+				while (budget-- > 0 && !this.closed.get() && (frame = this.buffer.poll()) != null) {
+					this.writeStartedNanos = System.nanoTime();
+					try {
+						this.emitter.send(frame);
+					} finally {
+						this.writeStartedNanos = NOT_WRITING;
+					}
+					sentFrames.incrementAndGet();
+				}
+				if (this.closed.get() && !this.completed) {
+					this.completed = true;
+					this.emitter.complete();
+				}
+			} catch (IOException | IllegalStateException e) {
+				// The client went away; the container reports the error to the emitter
+				this.completed();
+			} finally {
+				this.draining.set(false);
+			}
+			// Frames left over by the budget, or offered after the last poll found the flag still set
+			if (!this.completed && (this.closed.get() || !this.buffer.isEmpty())) {
+				this.scheduleDrain();
+			}
+		}
+	
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.selimhorri.app.timing;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class DownstreamCall implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private final String method;
+	private final String uri;
+	private final int status;
+	private final double durationMillis;
+	
+}
@@ -0,0 +1,21 @@
+package com.selimhorri.app.timing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Attributes time spent in Spring Data repository calls to the {@link TimingStage#DB} stage.
+ */
+public class RepositoryTimingInterceptor implements MethodInterceptor {
+	
+	@Override
+	public Object invoke(final MethodInvocation invocation) throws Throwable {
+		final long start = RequestTiming.startStage();
+		try {
+			return invocation.proceed();
+		} finally {
+			RequestTiming.endStage(TimingStage.DB, start);
+		}
+	}
+	
+}
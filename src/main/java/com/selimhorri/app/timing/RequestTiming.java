@@ -0,0 +1,150 @@
+package com.selimhorri.app.timing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-request stage durations and downstream calls, bound to the request thread and
+ * carried over to lookup workers by {@link #propagating(Runnable)}.
+ * <p>
+ * When timing is disabled no instance is ever bound, so the static hooks placed on the
+ * hot path reduce to a {@link ThreadLocal} read and allocate nothing:
+ * <pre>
+ * final long start = RequestTiming.startStage();
+ * ...
+ * RequestTiming.endStage(TimingStage.MAPPING, start);
+ * </pre>
+ */
+public final class RequestTiming {
+
+	private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+	private static final TimingStage[] STAGES = TimingStage.values();
+
+	private final long startNanos = System.nanoTime();
+	private final long startedAtMillis = System.currentTimeMillis();
+	private final AtomicLongArray stageNanos = new AtomicLongArray(STAGES.length);
+	private final List<DownstreamCall> downstreamCalls = Collections.synchronizedList(new ArrayList<>(4));
+	private volatile long serializationStartNanos;
+
+	public static RequestTiming current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Binds {@code timing} to the current thread and returns the previously bound one.
+	 */
+	public static RequestTiming bind(final RequestTiming timing) {
+		final RequestTiming previous = CURRENT.get();
+		if (timing == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(timing);
+		}
+		return previous;
+	}
+
+	/**
+	 * @return a start mark, or {@code 0} when the current request is not being timed
+	 */
+	public static long startStage() {
+		return CURRENT.get() != null ? System.nanoTime() : 0L;
+	}
+
+	public static void endStage(final TimingStage stage, final long startMark) {
+		if (startMark == 0L) {
+			return;
+		}
+		final RequestTiming timing = CURRENT.get();
+		if (timing != null) {
+			timing.add(stage, System.nanoTime() - startMark);
+		}
+	}
+
+	public static Runnable propagating(final Runnable task) {
+		final RequestTiming timing = CURRENT.get();
+		if (timing == null) {
+			return task;
+		}
+		return () -> {
+			final RequestTiming previous = bind(timing);
+			try {
+				task.run();
+			} finally {
+				bind(previous);
+			}
+		};
+	}
+
+	public void add(final TimingStage stage, final long nanos) {
+		this.stageNanos.addAndGet(stage.ordinal(), nanos);
+	}
+
+	public void addDownstreamCall(final DownstreamCall call) {
+		this.downstreamCalls.add(call);
+	}
+
+	public void markSerializationStart() {
+		this.serializationStartNanos = System.nanoTime();
+	}
+
+	/**
+	 * Closes the serialization stage, if one was started, and returns the total elapsed time.
+	 */
+	public long finish() {
+		final long now = System.nanoTime();
+		if (this.serializationStartNanos != 0L) {
+			this.add(TimingStage.SERIALIZATION, now - this.serializationStartNanos);
+		}
+		return now - this.startNanos;
+	}
+
+	/**
+	 * Renders the stages that took any time, plus the total, as a {@code Server-Timing} value.
+	 */
+	public String toServerTimingHeader(final long totalNanos) {
+		final StringBuilder header = new StringBuilder(128);
+		for (final TimingStage stage : STAGES) {
+			final long nanos = this.stageNanos.get(stage.ordinal());
+			if (nanos > 0) {
+				header.append(stage.getMetricName()).append(";dur=").append(formatMillis(nanos)).append(", ");
+			}
+		}
+		return header.append("total;dur=").append(formatMillis(totalNanos)).toString();
+	}
+
+	public SlowRequest toSlowRequest(final String method, final String uri, final int status, final long totalNanos) {
+		final Map<String, Double> stages = new LinkedHashMap<>();
+		for (final TimingStage stage : STAGES) {
+			stages.put(stage.getMetricName(), toMillis(this.stageNanos.get(stage.ordinal())));
+		}
+		final List<DownstreamCall> calls;
+		synchronized (this.downstreamCalls) {
+			calls = new ArrayList<>(this.downstreamCalls);
+		}
+		return SlowRequest.builder()
+				.method(method)
+				.uri(uri)
+				.status(status)
+				.startedAt(Instant.ofEpochMilli(this.startedAtMillis))
+				.totalMillis(toMillis(totalNanos))
+				.stages(stages)
+				.downstreamCalls(calls)
+				.build();
+	}
+
+	public static double toMillis(final long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	private static String formatMillis(final long nanos) {
+		return String.format(Locale.ROOT, "%.2f", toMillis(nanos));
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.selimhorri.app.timing;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Attributes outbound calls to the product, order or generic downstream stage by the
+ * logical service name in the URI, and records each call for the slow-request view.
+ * Must run before load balancing rewrites the host.
+ */
+public class RequestTimingInterceptor implements ClientHttpRequestInterceptor {
+	
+	@Override
+	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+			final ClientHttpRequestExecution execution) throws IOException {
+		final RequestTiming timing = RequestTiming.current();
+		if (timing == null) {
+			return execution.execute(request, body);
+		}
+		final long start = System.nanoTime();
+		int status = -1;
+		try {
+			final ClientHttpResponse response = execution.execute(request, body);
+			status = response.getRawStatusCode();
+			return response;
+		} finally {
+			final long nanos = System.nanoTime() - start;
+			timing.add(TimingStage.forService(request.getURI().getHost()), nanos);
+			timing.addDownstreamCall(new DownstreamCall(request.getMethodValue(), request.getURI().toString(),
+					status, RequestTiming.toMillis(nanos)));
+		}
+	}
+	
+}
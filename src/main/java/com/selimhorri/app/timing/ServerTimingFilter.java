@@ -0,0 +1,65 @@
+package com.selimhorri.app.timing;
+
+import java.io.IOException;
+import java.util.Set;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Times each shipping request stage by stage. The breakdown is written to the
+ * {@code Server-Timing} header when enabled, which needs the body buffered because
+ * serialization is only over once the body has been written, and the request is
+ * offered to the {@link SlowRequestRecorder}. Responses on {@code streamedPaths} are
+ * never buffered and go without the header.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+	
+	public static final String SERVER_TIMING_HEADER = "Server-Timing";
+	
+	private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+	
+	private final SlowRequestRecorder slowRequestRecorder;
+	private final boolean serverTimingHeader;
+	private final Set<String> streamedPaths;
+	
+	public ServerTimingFilter(final SlowRequestRecorder slowRequestRecorder, final boolean serverTimingHeader,
+			final String... streamedPaths) {
+		this.slowRequestRecorder = slowRequestRecorder;
+		this.serverTimingHeader = serverTimingHeader;
+		this.streamedPaths = Set.of(streamedPaths);
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		final RequestTiming timing = new RequestTiming();
+		final RequestTiming previous = RequestTiming.bind(timing);
+		final ContentCachingResponseWrapper bufferedResponse = this.serverTimingHeader
+				&& !this.streamedPaths.contains(URL_PATH_HELPER.getPathWithinApplication(request))
+				? new ContentCachingResponseWrapper(response) : null;
+		try {
+			filterChain.doFilter(request, bufferedResponse != null ? bufferedResponse : response);
+		} finally {
+			RequestTiming.bind(previous);
+			final long totalNanos = timing.finish();
+			if (bufferedResponse != null) {
+				bufferedResponse.setHeader(SERVER_TIMING_HEADER, timing.toServerTimingHeader(totalNanos));
+				bufferedResponse.copyBodyToResponse();
+			}
+			if (this.slowRequestRecorder.isCandidate(totalNanos)) {
+				final String query = request.getQueryString();
+				this.slowRequestRecorder.record(timing.toSlowRequest(request.getMethod(),
+						query != null ? request.getRequestURI() + "?" + query : request.getRequestURI(),
+						response.getStatus(), totalNanos));
+			}
+		}
+	}
+	
+}
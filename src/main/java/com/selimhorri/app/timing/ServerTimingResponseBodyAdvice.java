@@ -0,0 +1,35 @@
+package com.selimhorri.app.timing;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks the point where a response body is handed to the message converter, so the
+ * rest of the request is attributed to serialization.
+ */
+@ControllerAdvice
+public class ServerTimingResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+	
+	@Override
+	public boolean supports(final MethodParameter returnType,
+			final Class<? extends HttpMessageConverter<?>> converterType) {
+		return RequestTiming.current() != null;
+	}
+	
+	@Override
+	public Object beforeBodyWrite(final Object body, final MethodParameter returnType,
+			final MediaType selectedContentType, final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+			final ServerHttpRequest request, final ServerHttpResponse response) {
+		final RequestTiming timing = RequestTiming.current();
+		if (timing != null) {
+			timing.markSerializationStart();
+		}
+		return body;
+	}
+	
+}
@@ -0,0 +1,36 @@
+package com.selimhorri.app.timing;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.ser.InstantSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class SlowRequest implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String method;
+	private String uri;
+	private int status;
+	@JsonSerialize(using = InstantSerializer.class)
+	@JsonFormat(shape = Shape.STRING)
+	private Instant startedAt;
+	private double totalMillis;
+	private Map<String, Double> stages;
+	private List<DownstreamCall> downstreamCalls;
+	
+}
@@ -0,0 +1,60 @@
+package com.selimhorri.app.timing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the slowest {@code capacity} requests seen since startup (or the last reset).
+ * Requests faster than the current fastest entry of a full recorder are rejected with a
+ * single volatile read, so only genuinely slow requests pay for a snapshot and a lock.
+ */
+public class SlowRequestRecorder {
+	
+	private static final Comparator<SlowRequest> FASTEST_FIRST = Comparator.comparingDouble(SlowRequest::getTotalMillis);
+	
+	private final int capacity;
+	// Guarded by this
+	private final PriorityQueue<SlowRequest> slowest;
+	private volatile long admissionThresholdNanos;
+	
+	public SlowRequestRecorder(final int capacity) {
+		this.capacity = capacity;
+		this.slowest = new PriorityQueue<>(Math.max(1, capacity), FASTEST_FIRST);
+	}
+	
+	public boolean isCandidate(final long totalNanos) {
+		return this.capacity > 0 && totalNanos > this.admissionThresholdNanos;
+	}
+	
+	public synchronized void record(final SlowRequest request) {
+		if (this.capacity <= 0) {
+			return;
+		}
+		if (this.slowest.size() < this.capacity) {
+			this.slowest.add(request);
+		} else if (request.getTotalMillis() > this.slowest.peek().getTotalMillis()) {
+			this.slowest.poll();
+			this.slowest.add(request);
+		}
+		if (this.slowest.size() == this.capacity) {
+			this.admissionThresholdNanos = (long) (this.slowest.peek().getTotalMillis() * 1_000_000L);
+		}
+	}
+	
+	/**
+	 * @return the recorded requests, slowest first
+	 */
+	public synchronized List<SlowRequest> snapshot() {
+		final List<SlowRequest> requests = new ArrayList<>(this.slowest);
+		requests.sort(FASTEST_FIRST.reversed());
+		return requests;
+	}
+	
+	public synchronized void reset() {
+		this.slowest.clear();
+		this.admissionThresholdNanos = 0L;
+	}
+	
+}
@@ -0,0 +1,31 @@
+package com.selimhorri.app.timing;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code /actuator/slowrequests}: the slowest shipping requests with their stage
+ * breakdown and downstream calls. A DELETE clears the recorder.
+ */
+@Endpoint(id = "slowrequests")
+@RequiredArgsConstructor
+public class SlowRequestsEndpoint {
+	
+	private final SlowRequestRecorder slowRequestRecorder;
+	
+	@ReadOperation
+	public List<SlowRequest> slowRequests() {
+		return this.slowRequestRecorder.snapshot();
+	}
+	
+	@DeleteOperation
+	public void reset() {
+		this.slowRequestRecorder.reset();
+	}
+	
+}
@@ -0,0 +1,39 @@
+package com.selimhorri.app.timing;
+
+/**
+ * Stages of a shipping request reported in the {@code Server-Timing} header. Stages
+ * that run in parallel, such as concurrent product lookups, report their summed time.
+ */
+public enum TimingStage {
+	
+	DB("db"),
+	PRODUCT("product"),
+	ORDER("order"),
+	DOWNSTREAM("downstream"),
+	MAPPING("mapping"),
+	SERIALIZATION("serialization");
+	
+	private final String metricName;
+	
+	TimingStage(final String metricName) {
+		this.metricName = metricName;
+	}
+	
+	public String getMetricName() {
+		return this.metricName;
+	}
+	
+	/**
+	 * Stage of a call to the given logical service name.
+	 */
+	public static TimingStage forService(final String serviceId) {
+		if ("PRODUCT-SERVICE".equalsIgnoreCase(serviceId)) {
+			return PRODUCT;
+		}
+		if ("ORDER-SERVICE".equalsIgnoreCase(serviceId)) {
+			return ORDER;
+		}
+		return DOWNSTREAM;
+	}
+	
+}
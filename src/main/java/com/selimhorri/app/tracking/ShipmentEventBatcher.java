@@ -0,0 +1,253 @@
+package com.selimhorri.app.tracking;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.collection.BoundedRingBuffer;
+import com.selimhorri.app.domain.ShipmentEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffers incoming shipment events and writes them to {@code shipment_events} from one
+ * background thread, as JDBC batch inserts committed one transaction per batch.
+ * <p>
+ * A caller claims room for all of its events before publishing any, so a request is
+ * either queued in full or rejected, and the {@link BoundedRingBuffer} behind the claim
+ * never blocks it. The writer commits as soon as {@code batchSize} events are waiting
+ * or the oldest waiting event is {@code maxDelay} old, whichever comes first. Inserts go
+ * through plain JDBC because Hibernate does not batch inserts into identity-keyed tables.
+ */
+@Slf4j
+public class ShipmentEventBatcher {
+
+	private static final String INSERT_SQL = "INSERT INTO shipment_events "
+			+ "(order_id, event_type, location, occurred_at, received_at) VALUES (?, ?, ?, ?, ?)";
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+	private static final ParameterizedPreparedStatementSetter<QueuedEvent> INSERT_SETTER = (ps, queued) -> {
+		final ShipmentEvent event = queued.event;
+		ps.setInt(1, event.getOrderId());
+		ps.setString(2, event.getEventType().name());
+		ps.setString(3, event.getLocation());
+		ps.setTimestamp(4, Timestamp.from(event.getOccurredAt()));
+		ps.setTimestamp(5, Timestamp.from(event.getReceivedAt()));
+	};
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int capacity;
+	private final int batchSize;
+	private final long maxDelayNanos;
+	private final int maxAttempts;
+	private final long retryBackoffMillis;
+
+	private final BoundedRingBuffer<QueuedEvent> buffer;
+	// Claimed by callers and not yet committed or dropped, including the batch being written
+	private final AtomicInteger backlog = new AtomicInteger();
+	private final AtomicLong accepted = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+
+	private volatile LongConsumer commitLatencyRecorder = nanos -> { };
+	private volatile boolean running;
+	private volatile Thread writer;
+	private volatile boolean writerParked;
+
+	public ShipmentEventBatcher(final JdbcTemplate jdbcTemplate, final TransactionTemplate transactionTemplate,
+			final int capacity, final int batchSize, final long maxDelayMillis,
+			final int maxAttempts, final long retryBackoffMillis) {
+		if (batchSize < 1 || capacity < batchSize) {
+			throw new IllegalArgumentException(
+					"Expected 1 <= batchSize <= capacity but got batchSize=" + batchSize + " capacity=" + capacity);
+		}
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.capacity = capacity;
+		this.batchSize = batchSize;
+		this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.retryBackoffMillis = retryBackoffMillis;
+		this.buffer = new BoundedRingBuffer<>(Math.max(2, capacity));
+	}
+
+	/**
+	 * Receives the time from {@link #offer(List)} to the commit of each event.
+	 */
+	public void setCommitLatencyRecorder(final LongConsumer commitLatencyRecorder) {
+		this.commitLatencyRecorder = commitLatencyRecorder;
+	}
+
+	@PostConstruct
+	public synchronized void start() {
+		if (this.running) {
+			return;
+		}
+		final Thread thread = new Thread(this::writeLoop, "ShipmentEventBatcher-Writer");
+		thread.setDaemon(true);
+		this.writer = thread;
+		this.running = true;
+		thread.start();
+	}
+
+	/**
+	 * Stops accepting events and waits for everything already accepted to be written.
+	 */
+	@PreDestroy
+	public synchronized void stop() throws InterruptedException {
+		if (!this.running) {
+			return;
+		}
+		this.running = false;
+		LockSupport.unpark(this.writer);
+		this.writer.join();
+		log.info("Shipment event batcher stopped, written={} dropped={}", this.written.get(), this.dropped.get());
+	}
+
+	/**
+	 * Queues all of {@code events} for writing, or none of them when they do not fit
+	 * into the remaining capacity.
+	 *
+	 * @return {@code false} if the events were rejected
+	 */
+	public boolean offer(final List<ShipmentEvent> events) {
+		final int count = events.size();
+		int claimed;
+		do {
+			claimed = this.backlog.get();
+			if (!this.running || claimed + count > this.capacity) {
+				this.rejected.addAndGet(count);
+				return false;
+			}
+		} while (!this.backlog.compareAndSet(claimed, claimed + count));
+		if (!this.running) {
+			// Lost a race with stop(), which may already have seen an empty backlog
+			this.backlog.addAndGet(-count);
+			this.rejected.addAndGet(count);
+			return false;
+		}
+
+		// The claim keeps the buffer from ever holding more than capacity events, so offers cannot fail
+		final long now = System.nanoTime();
+		for (final ShipmentEvent event : events) {
+			this.buffer.offer(new QueuedEvent(event, now));
+		}
+		this.accepted.addAndGet(count);
+		if (this.writerParked) {
+			LockSupport.unpark(this.writer);
+		}
+		return true;
+	}
+
+	public int getBacklog() {
+		return this.backlog.get();
+	}
+
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	public long getAcceptedCount() {
+		return this.accepted.get();
+	}
+
+	public long getRejectedCount() {
+		return this.rejected.get();
+	}
+
+	public long getWrittenCount() {
+		return this.written.get();
+	}
+
+	/**
+	 * Events given up on after {@code maxAttempts} failed batch inserts.
+	 */
+	public long getDroppedCount() {
+		return this.dropped.get();
+	}
+
+	public long getBatchCount() {
+		return this.batches.get();
+	}
+
+	private void writeLoop() {
+		final List<QueuedEvent> batch = new ArrayList<>(this.batchSize);
+		while (true) {
+			QueuedEvent queued;
+			while (batch.size() < this.batchSize && (queued = this.buffer.poll()) != null) {
+				batch.add(queued);
+			}
+			final long waited = batch.isEmpty() ? 0L : System.nanoTime() - batch.get(0).enqueuedNanos;
+			if (batch.size() == this.batchSize || (!batch.isEmpty() && (waited >= this.maxDelayNanos || !this.running))) {
+				this.write(batch);
+				batch.clear();
+				continue;
+			}
+			if (batch.isEmpty() && !this.running && this.backlog.get() == 0) {
+				return;
+			}
+			this.writerParked = true;
+			if (this.buffer.isEmpty() && this.running) {
+				LockSupport.parkNanos(this, batch.isEmpty() ? IDLE_PARK_NANOS : this.maxDelayNanos - waited);
+			}
+			this.writerParked = false;
+		}
+	}
+
+	private void write(final List<QueuedEvent> batch) {
+		final int count = batch.size();
+		for (int attempt = 1; ; attempt++) {
+			try {
+				this.transactionTemplate.executeWithoutResult(
+						status -> this.jdbcTemplate.batchUpdate(INSERT_SQL, batch, count, INSERT_SETTER));
+				break;
+			} catch (RuntimeException e) {
+				if (attempt >= this.maxAttempts) {
+					log.error("Dropping shipment events after {} failed attempts, events={}", attempt, count, e);
+					this.dropped.addAndGet(count);
+					this.backlog.addAndGet(-count);
+					return;
+				}
+				log.warn("Shipment event batch insert failed, retrying, attempt={} events={} error={}",
+						attempt, count, e.getMessage());
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(this.retryBackoffMillis * attempt));
+			}
+		}
+		final long committedNanos = System.nanoTime();
+		final LongConsumer recorder = this.commitLatencyRecorder;
+		for (final QueuedEvent queued : batch) {
+			recorder.accept(committedNanos - queued.enqueuedNanos);
+		}
+		this.written.addAndGet(count);
+		this.batches.incrementAndGet();
+		this.backlog.addAndGet(-count);
+	}
+
+	private static final class QueuedEvent {
+
+		private final ShipmentEvent event;
+		private final long enqueuedNanos;
+
+		QueuedEvent(final ShipmentEvent event, final long enqueuedNanos) {
+			this.event = event;
+			this.enqueuedNanos = enqueuedNanos;
+		}
+
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.selimhorri.app.warmup;
+
+import com.netflix.appinfo.HealthCheckHandler;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+
+/**
+ * Keeps the Eureka registration at {@code STARTING} while the instance warms up, so clients
+ * never pick it from the registry cold. Once warm, an instance still {@code STARTING} is
+ * reported {@code UP}; any other status (for instance one set through the service registry
+ * endpoint) is left as it is.
+ */
+public class WarmUpHealthCheckHandler implements HealthCheckHandler {
+	
+	private final WarmUpRunner warmUpRunner;
+	
+	public WarmUpHealthCheckHandler(final WarmUpRunner warmUpRunner) {
+		this.warmUpRunner = warmUpRunner;
+	}
+	
+	@Override
+	public InstanceStatus getStatus(final InstanceStatus currentStatus) {
+		if (!this.warmUpRunner.isFinished()) {
+			return InstanceStatus.STARTING;
+		}
+		return currentStatus == null || currentStatus == InstanceStatus.STARTING
+				? InstanceStatus.UP
+				: currentStatus;
+	}
+	
+}
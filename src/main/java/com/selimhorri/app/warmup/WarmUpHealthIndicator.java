@@ -0,0 +1,37 @@
+package com.selimhorri.app.warmup;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+/**
+ * Out of service until warm-up has finished, so the readiness group (and anything probing
+ * it) holds traffic back from a cold instance.
+ */
+public class WarmUpHealthIndicator extends AbstractHealthIndicator {
+	
+	private final WarmUpRunner warmUpRunner;
+	
+	public WarmUpHealthIndicator(final WarmUpRunner warmUpRunner) {
+		super("Warm-up health check failed");
+		this.warmUpRunner = warmUpRunner;
+	}
+	
+	@Override
+	protected void doHealthCheck(final Health.Builder builder) {
+		if (this.warmUpRunner.isFinished()) {
+			builder.up();
+		}
+		else {
+			builder.outOfService();
+		}
+		builder.withDetail("state", this.warmUpRunner.getState())
+				.withDetail("lookups", this.warmUpRunner.getLookupCount())
+				.withDetail("failedLookups", this.warmUpRunner.getFailedLookupCount())
+				.withDetail("requests", this.warmUpRunner.getRequestCount())
+				.withDetail("failedRequests", this.warmUpRunner.getFailedRequestCount());
+		if (this.warmUpRunner.isFinished()) {
+			builder.withDetail("durationMs", this.warmUpRunner.getDurationMillis());
+		}
+	}
+	
+}
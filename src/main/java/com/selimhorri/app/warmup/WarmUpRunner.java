@@ -0,0 +1,274 @@
+package com.selimhorri.app.warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.client.OrderClient;
+import com.selimhorri.app.client.ProductClient;
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderStatus;
+import com.selimhorri.app.repository.OrderItemRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warms a fresh instance before it is advertised: loads the products and orders of the
+ * most recently updated active shippings into the lookup caches, {@code connectionsPerDownstream}
+ * at a time so each downstream pool opens that many keep-alive connections, then replays read-only
+ * requests against the instance's own {@code /api/shippings} endpoints to load classes and
+ * get the request path compiled.
+ * <p>
+ * The instance counts as warm once both steps are done or {@code timeout} has passed,
+ * whichever comes first; failed lookups or requests do not hold it back.
+ */
+@Slf4j
+public class WarmUpRunner {
+	
+	public enum State { PENDING, RUNNING, COMPLETED, TIMED_OUT, DISABLED }
+	
+	private static final int LOOKUP_BATCH = 20;
+	
+	private final OrderItemRepository orderItemRepository;
+	private final ProductClient productClient;
+	private final OrderClient orderClient;
+	private final Duration timeout;
+	private final int recentOrderItems;
+	private final int connectionsPerDownstream;
+	private final int syntheticRequests;
+	private final int concurrency;
+	private final List<Runnable> finishListeners = new ArrayList<>();
+	
+	private final AtomicLong lookups = new AtomicLong();
+	private final AtomicLong failedLookups = new AtomicLong();
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong failedRequests = new AtomicLong();
+	private volatile State state = State.PENDING;
+	private volatile long durationMillis = -1L;
+	
+	public WarmUpRunner(final OrderItemRepository orderItemRepository, final ProductClient productClient,
+			final OrderClient orderClient, final Duration timeout, final int recentOrderItems,
+			final int connectionsPerDownstream, final int syntheticRequests, final int concurrency) {
+		this.orderItemRepository = orderItemRepository;
+		this.productClient = productClient;
+		this.orderClient = orderClient;
+		this.timeout = timeout;
+		this.recentOrderItems = recentOrderItems;
+		this.connectionsPerDownstream = connectionsPerDownstream;
+		this.syntheticRequests = syntheticRequests;
+		this.concurrency = concurrency;
+	}
+	
+	/**
+	 * Runs {@code listener} once warm-up has finished, however it finished.
+	 */
+	public synchronized void onFinished(final Runnable listener) {
+		this.finishListeners.add(listener);
+	}
+	
+	public State getState() {
+		return this.state;
+	}
+	
+	public boolean isFinished() {
+		final State current = this.state;
+		return current != State.PENDING && current != State.RUNNING;
+	}
+	
+	/**
+	 * Wall time of the warm-up in milliseconds, {@code -1} until it has finished.
+	 */
+	public long getDurationMillis() {
+		return this.durationMillis;
+	}
+	
+	public long getLookupCount() {
+		return this.lookups.get();
+	}
+	
+	public long getFailedLookupCount() {
+		return this.failedLookups.get();
+	}
+	
+	public long getRequestCount() {
+		return this.requests.get();
+	}
+	
+	public long getFailedRequestCount() {
+		return this.failedRequests.get();
+	}
+	
+	/**
+	 * Marks the instance warm without doing anything, when warm-up is switched off.
+	 */
+	public void skip() {
+		this.finish(State.DISABLED, System.nanoTime());
+	}
+	
+	/**
+	 * Starts warming in the background against {@code baseUrl}, the instance's own root
+	 * including the context path.
+	 */
+	public CompletableFuture<State> start(final String baseUrl) {
+		final long startNanos = System.nanoTime();
+		this.state = State.RUNNING;
+		log.info("*** WarmUpRunner; warming up against {}, timeout {} *", baseUrl, this.timeout);
+		final ExecutorService runner = Executors.newSingleThreadExecutor(daemon("warm-up"));
+		final CompletableFuture<State> result = CompletableFuture
+				.runAsync(() -> this.warmUp(baseUrl), runner)
+				.orTimeout(this.timeout.toMillis(), TimeUnit.MILLISECONDS)
+				.handle((ignored, e) -> {
+					if (e instanceof TimeoutException) {
+						this.finish(State.TIMED_OUT, startNanos);
+					} else {
+						if (e != null) {
+							log.warn("*** WarmUpRunner; warm-up failed: {} *", e.toString());
+						}
+						this.finish(State.COMPLETED, startNanos);
+					}
+					return this.state;
+				});
+		runner.shutdown();
+		return result;
+	}
+	
+	private void warmUp(final String baseUrl) {
+		final List<OrderItem> recent = this.orderItemRepository.findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED,
+				PageRequest.of(0, Math.max(1, this.recentOrderItems), Sort.by(Sort.Direction.DESC, "updatedAt")))
+				.getContent();
+		final List<Integer> productIds = recent.stream().map(OrderItem::getProductId).distinct()
+				.collect(Collectors.toList());
+		final List<Integer> orderIds = recent.stream().map(OrderItem::getOrderId).distinct()
+				.collect(Collectors.toList());
+		
+		// Products and orders side by side, each with its own set of concurrent callers
+		final CompletableFuture<Void> products = CompletableFuture.runAsync(() -> this.fanOut(productIds.size(),
+				this.connectionsPerDownstream, i -> this.lookup(() -> this.productClient.findCachedById(productIds.get(i)))));
+		final CompletableFuture<Void> orders = CompletableFuture.runAsync(() -> this.fanOut(orderIds.size(),
+				this.connectionsPerDownstream, i -> this.lookup(() -> this.orderClient.findCachedById(orderIds.get(i)))));
+		CompletableFuture.allOf(products, orders).join();
+		log.info("*** WarmUpRunner; prefetched {} products and {} orders, failures={} *",
+				productIds.size(), orderIds.size(), this.failedLookups.get());
+		
+		final List<String> paths = syntheticPaths(productIds, orderIds);
+		final RestTemplate restTemplate = selfClient();
+		this.fanOut(this.syntheticRequests, this.concurrency, i -> {
+			try {
+				restTemplate.getForEntity(baseUrl + paths.get(i % paths.size()), String.class);
+				this.requests.incrementAndGet();
+			} catch (RestClientException e) {
+				this.failedRequests.incrementAndGet();
+			}
+		});
+	}
+	
+	private void lookup(final Runnable call) {
+		try {
+			call.run();
+			this.lookups.incrementAndGet();
+		} catch (RuntimeException e) {
+			this.failedLookups.incrementAndGet();
+		}
+	}
+	
+	/**
+	 * Calls {@code task} for 0 to {@code count - 1} on {@code parallelism} threads, stopping
+	 * early once the warm-up has finished, for instance by timing out.
+	 */
+	private void fanOut(final int count, final int parallelism, final IntConsumer task) {
+		if (count == 0) {
+			return;
+		}
+		final int threads = Math.max(1, Math.min(parallelism, count));
+		final ExecutorService executor = Executors.newFixedThreadPool(threads, daemon("warm-up-worker"));
+		final AtomicInteger next = new AtomicInteger();
+		try {
+			final List<CompletableFuture<Void>> workers = new ArrayList<>(threads);
+			for (int t = 0; t < threads; t++) {
+				workers.add(CompletableFuture.runAsync(() -> {
+					int i;
+					while (!this.isFinished() && (i = next.getAndIncrement()) < count) {
+						task.accept(i);
+					}
+				}, executor));
+			}
+			CompletableFuture.allOf(workers.toArray(new CompletableFuture<?>[0])).join();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	private static List<String> syntheticPaths(final List<Integer> productIds, final List<Integer> orderIds) {
+		final List<String> paths = new ArrayList<>();
+		paths.add("/api/shippings/stats");
+		productIds.forEach(productId -> paths.add("/api/shippings/by-product/" + productId));
+		orderIds.forEach(orderId -> {
+			paths.add("/api/shippings/" + orderId);
+			paths.add("/api/shippings/" + orderId + "/events");
+		});
+		for (int from = 0; from < orderIds.size(); from += LOOKUP_BATCH) {
+			paths.add("/api/shippings?orderIds=" + orderIds.subList(from, Math.min(orderIds.size(), from + LOOKUP_BATCH))
+					.stream().map(String::valueOf).collect(Collectors.joining(",")));
+		}
+		return paths;
+	}
+	
+	private static RestTemplate selfClient() {
+		final SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+		requestFactory.setConnectTimeout(1_000);
+		requestFactory.setReadTimeout(10_000);
+		final RestTemplate restTemplate = new RestTemplate(requestFactory);
+		// 404s for shippings that are no longer ORDERED exercise the same path as hits
+		restTemplate.setErrorHandler(new DefaultResponseErrorHandler() {
+			@Override
+			public boolean hasError(final ClientHttpResponse response) {
+				return false;
+			}
+		});
+		return restTemplate;
+	}
+	
+	private void finish(final State finalState, final long startNanos) {
+		final List<Runnable> listeners;
+		synchronized (this) {
+			if (this.isFinished()) {
+				return;
+			}
+			this.durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+			this.state = finalState;
+			listeners = List.copyOf(this.finishListeners);
+		}
+		log.info("*** WarmUpRunner; warm-up {} after {} ms, lookups={} failedLookups={} requests={} failedRequests={} *",
+				finalState, this.durationMillis, this.lookups.get(), this.failedLookups.get(),
+				this.requests.get(), this.failedRequests.get());
+		listeners.forEach(Runnable::run);
+	}
+	
+	private static ThreadFactory daemon(final String name) {
+		final AtomicInteger counter = new AtomicInteger();
+		return task -> {
+			final Thread thread = new Thread(task, name + "-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+	
+}
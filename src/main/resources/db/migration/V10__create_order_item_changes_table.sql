@@ -0,0 +1,18 @@
+-- Change journal behind GET /api/shippings/changes: one row per create, update or
+-- deactivation of a shipping, in commit order of change_id
+CREATE TABLE order_item_changes (
+    change_id BIGINT NOT NULL AUTO_INCREMENT,
+    order_id INT NOT NULL,
+    product_id INT NOT NULL,
+    change_type VARCHAR(16) NOT NULL,
+    changed_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (change_id)
+);
+
+-- Existing shippings, so a consumer starting from cursor 0 gets a full snapshot
+INSERT INTO order_item_changes (order_id, product_id, change_type, changed_at)
+SELECT order_id, product_id,
+    CASE WHEN is_active THEN 'CREATED' ELSE 'DEACTIVATED' END,
+    COALESCE(updated_at, created_at)
+FROM order_items
+ORDER BY order_id, product_id;
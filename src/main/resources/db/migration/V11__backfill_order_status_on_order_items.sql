@@ -0,0 +1,3 @@
+-- Rows from before V3 listed as ORDERED, as they were until then, instead of vanishing from
+-- listings until the first reconciliation sweep; the sweep still corrects any that are not
+UPDATE order_items SET order_status = 'ORDERED' WHERE order_status IS NULL;
@@ -0,0 +1,4 @@
+-- Locally maintained copy of the ORDER-SERVICE status, NULL until the first reconciliation sweep
+ALTER TABLE order_items ADD COLUMN order_status VARCHAR(20) NULL;
+
+CREATE INDEX idx_order_items_active_status ON order_items (is_active, order_status);
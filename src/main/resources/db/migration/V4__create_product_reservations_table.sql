@@ -0,0 +1,8 @@
+CREATE TABLE product_reservations (
+    product_id INT NOT NULL,
+    stock_quantity INT NOT NULL,
+    reserved_quantity INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NULL DEFAULT NULL,
+    PRIMARY KEY (product_id)
+);
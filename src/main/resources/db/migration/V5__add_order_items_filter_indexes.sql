@@ -0,0 +1,4 @@
+-- Listing filters always start with is_active = true AND order_status = 'ORDERED'
+CREATE INDEX idx_order_items_listing_product ON order_items (is_active, order_status, product_id);
+CREATE INDEX idx_order_items_listing_created ON order_items (is_active, order_status, created_at);
+CREATE INDEX idx_order_items_listing_updated ON order_items (is_active, order_status, updated_at);
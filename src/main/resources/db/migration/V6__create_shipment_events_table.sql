@@ -0,0 +1,11 @@
+CREATE TABLE shipment_events (
+    event_id BIGINT NOT NULL AUTO_INCREMENT,
+    order_id INT NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    location VARCHAR(255) NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (event_id)
+);
+
+CREATE INDEX idx_shipment_events_order ON shipment_events (order_id, occurred_at);
@@ -0,0 +1,7 @@
+CREATE TABLE replica_heartbeat (
+    id INT NOT NULL,
+    beat_millis BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, 0);
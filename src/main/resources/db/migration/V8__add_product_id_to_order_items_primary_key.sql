@@ -0,0 +1,6 @@
+-- An order ships several products, one row each
+ALTER TABLE order_items DROP PRIMARY KEY;
+ALTER TABLE order_items ADD PRIMARY KEY (order_id, product_id);
+
+-- Rows of a product; InnoDB secondary indexes carry the primary key, so this covers (product_id, order_id)
+CREATE INDEX idx_order_items_product ON order_items (product_id);
@@ -0,0 +1,18 @@
+-- Soft-deleted shippings moved out of order_items by the background archiver. A pair can be
+-- re-created and deleted again after it was archived, so rows get their own key.
+CREATE TABLE order_items_archive (
+    archive_id BIGINT NOT NULL AUTO_INCREMENT,
+    order_id INT NOT NULL,
+    product_id INT NOT NULL,
+    ordered_quantity INT,
+    order_status VARCHAR(20) NULL,
+    created_at TIMESTAMP NULL,
+    deleted_at TIMESTAMP NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (archive_id)
+);
+
+CREATE INDEX idx_order_items_archive_order ON order_items_archive (order_id, product_id);
+
+-- Lets the archiver walk inactive rows in primary key order
+CREATE INDEX idx_order_items_inactive ON order_items (is_active, order_id, product_id);
@@ -0,0 +1,114 @@
+package com.selimhorri.app.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.archive.ShippingArchiver.ArchiveRun;
+
+@DisplayName("ShippingArchiver Tests")
+class ShippingArchiverTest {
+
+	private static final Timestamp LONG_AGO = Timestamp.from(Instant.now().minus(Duration.ofDays(90)).truncatedTo(ChronoUnit.SECONDS));
+	private static final Timestamp RECENTLY = Timestamp.from(Instant.now().minus(Duration.ofDays(1)).truncatedTo(ChronoUnit.SECONDS));
+
+	private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+			"jdbc:h2:mem:archive_test;DB_CLOSE_DELAY=-1", "sa", "");
+	private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+	@BeforeEach
+	void setUp() {
+		Flyway.configure().dataSource(dataSource).load().migrate();
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.execute("DROP ALL OBJECTS");
+	}
+
+	@Test
+	@DisplayName("Should move only inactive rows past the minimum age, across several batches")
+	void shouldArchiveOldInactiveRowsInBatches() {
+		// Given
+		for (int orderId = 100; orderId < 107; orderId++) {
+			insert(orderId, 1, false, LONG_AGO);
+			insert(orderId, 2, false, LONG_AGO);
+		}
+		insert(200, 1, true, LONG_AGO);
+		insert(201, 1, false, RECENTLY);
+		final long hotRowsBefore = count("order_items");
+
+		// When
+		final ArchiveRun run = archiver(3, 100, true).archive();
+
+		// Then
+		assertEquals(14, run.getArchivedRows());
+		assertEquals(5, run.getBatches(), "batches of 3, the last one partial");
+		assertEquals(hotRowsBefore, run.getHotRowsBefore());
+		assertEquals(hotRowsBefore - 14, run.getHotRowsAfter());
+		assertTrue(run.getListingQueryMicrosAfter() >= 0);
+		assertEquals(14L, count("order_items_archive"));
+		assertEquals(0L, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM order_items WHERE order_id BETWEEN 100 AND 106", Long.class));
+		assertEquals(List.of(200, 201), jdbcTemplate.queryForList(
+				"SELECT order_id FROM order_items WHERE order_id >= 200 ORDER BY order_id", Integer.class));
+		assertEquals(LONG_AGO, jdbcTemplate.queryForObject(
+				"SELECT deleted_at FROM order_items_archive WHERE order_id = 103 AND product_id = 2", Timestamp.class));
+	}
+
+	@Test
+	@DisplayName("Should stop after the batch budget and resume from the start on the next run")
+	void shouldStopAfterMaxBatchesPerRun() {
+		// Given
+		for (int orderId = 100; orderId < 110; orderId++) {
+			insert(orderId, 1, false, LONG_AGO);
+		}
+		final ShippingArchiver archiver = archiver(2, 3, false);
+
+		// When
+		final ArchiveRun first = archiver.archive();
+		final ArchiveRun second = archiver.archive();
+
+		// Then
+		assertEquals(6, first.getArchivedRows());
+		assertEquals(4, second.getArchivedRows());
+		assertEquals(0, archiver.archive().getArchivedRows());
+		assertEquals(5L, archiver.getBatchCount());
+		assertEquals(10L, count("order_items_archive"));
+		// Not asked to measure, so neither the count nor the listing probe ran
+		assertEquals(-1L, first.getHotRowsBefore());
+		assertEquals(-1L, archiver.getHotRows());
+		assertEquals(-1L, archiver.getListingQueryNanos());
+	}
+
+	private ShippingArchiver archiver(final int batchSize, final int maxBatchesPerRun, final boolean measureImpact) {
+		return new ShippingArchiver(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+				Duration.ofDays(30), batchSize, maxBatchesPerRun, 1.0, Duration.ZERO, measureImpact);
+	}
+
+	private void insert(final int orderId, final int productId, final boolean active, final Timestamp updatedAt) {
+		jdbcTemplate.update("INSERT INTO order_items (order_id, product_id, ordered_quantity, is_active, "
+				+ "order_status, created_at, updated_at) VALUES (?, ?, 1, ?, 'ORDERED', ?, ?)",
+				orderId, productId, active, LONG_AGO, updatedAt);
+	}
+
+	private long count(final String table) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+	}
+
+}
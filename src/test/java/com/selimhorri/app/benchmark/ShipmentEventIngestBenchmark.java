@@ -0,0 +1,157 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.ShipmentEvent;
+import com.selimhorri.app.dto.ShipmentEventType;
+import com.selimhorri.app.tracking.ShipmentEventBatcher;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Sustained ingest rate and commit latency of {@link ShipmentEventBatcher} against an
+ * in-memory H2 database migrated by Flyway, for several batch sizes. Each batch size is
+ * run twice: saturated, with producers posting as fast as the backlog admits them, and
+ * paced at {@code tracking.rate} events per second to show commit latency below saturation.
+ * <pre>
+ * mvn -Ptracking-benchmark test-compile exec:exec -Dtracking.batch-sizes=1,50,500 -Dtracking.rate=20000
+ * </pre>
+ */
+public final class ShipmentEventIngestBenchmark {
+
+	private static final ShipmentEventType[] TYPES = ShipmentEventType.values();
+
+	private ShipmentEventIngestBenchmark() {
+	}
+
+	public static void main(final String[] args) throws Exception {
+		final String[] batchSizes = System.getProperty("tracking.batch-sizes", "1,50,500").split(",");
+		final int producers = Integer.getInteger("tracking.producers", 4);
+		final int eventsPerRequest = Integer.getInteger("tracking.events-per-request", 200);
+		final int rate = Integer.getInteger("tracking.rate", 20_000);
+		final long maxDelayMillis = Long.getLong("tracking.max-delay-ms", 50L);
+		final Duration duration = Duration.parse(System.getProperty("tracking.duration", "PT10S"));
+		System.out.printf("Shipment event ingest on H2, %d producers x %d events/request, max delay %d ms, %s per run%n",
+				producers, eventsPerRequest, maxDelayMillis, duration);
+
+		for (final String batchSize : batchSizes) {
+			for (final int paced : new int[] { 0, rate }) {
+				try (HikariDataSource dataSource = dataSource()) {
+					final Result result = run(dataSource, Integer.parseInt(batchSize.trim()), maxDelayMillis,
+							producers, eventsPerRequest, paced, duration);
+					System.out.printf("batch %4s  %-14s  written %9.0f events/s  rejected %9d  commits %7d"
+							+ "  latency p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms%n",
+							batchSize.trim(), paced == 0 ? "saturated" : "paced " + paced + "/s",
+							result.writtenPerSecond, result.rejected, result.commits,
+							result.p50Millis, result.p99Millis, result.maxMillis);
+				}
+			}
+		}
+	}
+
+	private static Result run(final HikariDataSource dataSource, final int batchSize, final long maxDelayMillis,
+			final int producers, final int eventsPerRequest, final int rate, final Duration duration)
+			throws InterruptedException {
+		final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		final Timer commitLatency = Timer.builder("commit.latency").publishPercentiles(0.5, 0.99).register(registry);
+		final ShipmentEventBatcher batcher = new ShipmentEventBatcher(new JdbcTemplate(dataSource),
+				new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+				100_000, batchSize, maxDelayMillis, 1, 0);
+		batcher.setCommitLatencyRecorder(nanos -> commitLatency.record(nanos, TimeUnit.NANOSECONDS));
+		batcher.start();
+
+		final long intervalNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(1) * producers * eventsPerRequest / rate : 0L;
+		final long startNanos = System.nanoTime();
+		final long endNanos = startNanos + duration.toNanos();
+		final List<Thread> threads = new ArrayList<>(producers);
+		for (int p = 0; p < producers; p++) {
+			final Thread thread = new Thread(() -> {
+				long next = System.nanoTime();
+				while (System.nanoTime() < endNanos) {
+					if (!batcher.offer(events(eventsPerRequest))) {
+						// A carrier would honour Retry-After; back off briefly instead
+						LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+						continue;
+					}
+					if (intervalNanos > 0) {
+						next += intervalNanos;
+						LockSupport.parkNanos(next - System.nanoTime());
+					}
+				}
+			}, "producer-" + p);
+			thread.start();
+			threads.add(thread);
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		batcher.stop();
+		final double seconds = (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+
+		final Result result = new Result();
+		result.writtenPerSecond = batcher.getWrittenCount() / seconds;
+		result.rejected = batcher.getRejectedCount();
+		result.commits = batcher.getBatchCount();
+		for (final ValueAtPercentile percentile : commitLatency.takeSnapshot().percentileValues()) {
+			if (percentile.percentile() == 0.5) {
+				result.p50Millis = percentile.value(TimeUnit.MILLISECONDS);
+			} else {
+				result.p99Millis = percentile.value(TimeUnit.MILLISECONDS);
+			}
+		}
+		result.maxMillis = commitLatency.max(TimeUnit.MILLISECONDS);
+		return result;
+	}
+
+	private static HikariDataSource dataSource() {
+		final HikariConfig config = new HikariConfig();
+		config.setJdbcUrl("jdbc:h2:mem:tracking_benchmark;DB_CLOSE_DELAY=-1");
+		config.setUsername("sa");
+		config.setPassword("");
+		final HikariDataSource dataSource = new HikariDataSource(config);
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		new JdbcTemplate(dataSource).execute("TRUNCATE TABLE shipment_events");
+		return dataSource;
+	}
+
+	private static List<ShipmentEvent> events(final int count) {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final Instant now = Instant.now();
+		final List<ShipmentEvent> events = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			events.add(ShipmentEvent.builder()
+					.orderId(1 + random.nextInt(100_000))
+					.eventType(TYPES[random.nextInt(TYPES.length)])
+					.location("HUB-" + random.nextInt(500))
+					.occurredAt(now)
+					.receivedAt(now)
+					.build());
+		}
+		return events;
+	}
+
+	private static final class Result {
+		private double writtenPerSecond;
+		private long rejected;
+		private long commits;
+		private double p50Millis;
+		private double p99Millis;
+		private double maxMillis;
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.selimhorri.app.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import com.selimhorri.app.collection.IntIntArrayHashMap;
+import com.selimhorri.app.collection.LongIntHashMap;
+
+/**
+ * Retained heap of the in-memory shipping index against the same index built from boxed
+ * {@code HashMap} maps. Each variant is measured as the heap
+ * still in use after a full GC while it is reachable, minus the baseline.
+ * <pre>
+ * mvn -Pfootprint test-compile exec:exec -Dfootprint.rows=1000000 -Dfootprint.products=10000
+ * </pre>
+ */
+public final class ShippingIndexFootprint {
+
+	private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+	private ShippingIndexFootprint() {
+	}
+
+	public static void main(final String[] args) {
+		final int rows = Integer.getInteger("footprint.rows", 1_000_000);
+		final int products = Integer.getInteger("footprint.products", 10_000);
+		System.out.printf("Shipping index footprint, %,d rows over %,d products%n", rows, products);
+
+		final long primitiveRows = measure(() -> primitiveRows(rows, products));
+		final long primitiveProducts = measure(() -> primitiveProducts(rows, products));
+		final long boxedRows = measure(() -> boxedRows(rows, products));
+		final long boxedProducts = measure(() -> boxedProducts(rows, products));
+
+		report("shipping -> quantity", primitiveRows, boxedRows, rows);
+		report("productId -> orderIds", primitiveProducts, boxedProducts, rows);
+		report("total", primitiveRows + primitiveProducts, boxedRows + boxedProducts, rows);
+	}
+
+	private static LongIntHashMap primitiveRows(final int rows, final int products) {
+		final Random random = new Random(42);
+		final LongIntHashMap map = new LongIntHashMap();
+		for (int orderId = 1; orderId <= rows; orderId++) {
+			map.put((long) orderId << 32 | (1 + random.nextInt(products)), 1 + random.nextInt(10));
+		}
+		return map;
+	}
+
+	private static IntIntArrayHashMap primitiveProducts(final int rows, final int products) {
+		final Random random = new Random(42);
+		final IntIntArrayHashMap map = new IntIntArrayHashMap();
+		for (int orderId = 1; orderId <= rows; orderId++) {
+			map.add(1 + random.nextInt(products), orderId);
+			random.nextInt(10);
+		}
+		return map;
+	}
+
+	private static Map<List<Integer>, Integer> boxedRows(final int rows, final int products) {
+		final Random random = new Random(42);
+		final Map<List<Integer>, Integer> map = new HashMap<>();
+		for (int orderId = 1; orderId <= rows; orderId++) {
+			map.put(List.of(orderId, 1 + random.nextInt(products)), 1 + random.nextInt(10));
+		}
+		return map;
+	}
+
+	private static Map<Integer, List<Integer>> boxedProducts(final int rows, final int products) {
+		final Random random = new Random(42);
+		final Map<Integer, List<Integer>> map = new HashMap<>();
+		for (int orderId = 1; orderId <= rows; orderId++) {
+			map.computeIfAbsent(1 + random.nextInt(products), k -> new ArrayList<>()).add(orderId);
+			random.nextInt(10);
+		}
+		return map;
+	}
+
+	private static long measure(final Supplier<Object> builder) {
+		final long baseline = usedAfterGc();
+		final Object retained = builder.get();
+		final long used = usedAfterGc() - baseline;
+		// Keeps the structure reachable until after the second measurement
+		if (retained.hashCode() == System.nanoTime()) {
+			System.out.print("");
+		}
+		return used;
+	}
+
+	private static long usedAfterGc() {
+		long used = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			used = Math.min(used, MEMORY.getHeapMemoryUsage().getUsed());
+		}
+		return used;
+	}
+
+	private static void report(final String index, final long primitive, final long boxed, final int rows) {
+		System.out.printf("%-22s primitive %8.1f MB (%5.1f B/row)   boxed %8.1f MB (%5.1f B/row)   %.1fx smaller%n",
+				index, mb(primitive), (double) primitive / rows, mb(boxed), (double) boxed / rows,
+				(double) boxed / primitive);
+	}
+
+	private static double mb(final long bytes) {
+		return bytes / (1024.0 * 1024.0);
+	}
+
+}
@@ -0,0 +1,111 @@
+package com.selimhorri.app.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.ShippingListing;
+import com.selimhorri.app.helper.OrderItemMappingHelper;
+import com.selimhorri.app.json.ShippingListingJsonWriter;
+
+/**
+ * Serializing an enriched listing of {@code rows} shippings, as the previous path did it
+ * (a placeholder DTO graph per row, filled in and written by Jackson) against
+ * {@link ShippingListingJsonWriter} straight from the rows. Both write the same bytes into
+ * a discarding stream, so only serialization is measured. Run with {@code -prof gc} for
+ * the allocation rate per operation:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark="ShippingListingSerializationBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShippingListingSerializationBenchmark {
+
+	private static final OutputStream DISCARD = OutputStream.nullOutputStream();
+
+	@Param({ "100", "5000" })
+	private int rows;
+
+	private ObjectMapper objectMapper;
+	private ObjectWriter objectWriter;
+	private ShippingListing listing;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.objectMapper = new MapperConfig().objectMapperBean();
+		this.objectWriter = this.objectMapper.writer();
+		final List<OrderItem> orderItems = new ArrayList<>(this.rows);
+		final Map<Integer, ProductDto> products = new HashMap<>();
+		final Map<Integer, OrderDto> orders = new HashMap<>();
+		for (int i = 0; i < this.rows; i++) {
+			// A few products per order and a catalogue that repeats, as in a real listing
+			final int orderId = 1 + i / 3;
+			final int productId = 1 + i % 200;
+			orderItems.add(OrderItem.builder().orderId(orderId).productId(productId)
+					.orderedQuantity(1 + i % 7).isActive(true).build());
+			products.computeIfAbsent(productId, id -> new ProductDto(id, "Product " + id,
+					"https://cdn.example.com/products/" + id + ".png", "SKU-" + id, 9.99 + id, 100 + id, null));
+			orders.computeIfAbsent(orderId, id -> new OrderDto(id, LocalDateTime.of(2024, 1, 1, 10, 0).plusMinutes(id),
+					"Order " + id, 2.5, "ORDERED", null));
+		}
+		this.listing = new ShippingListing(orderItems, products, orders);
+	}
+
+	@Benchmark
+	public void dtoGraphWithJackson() throws IOException {
+		final List<OrderItemDto> dtos = this.listing.getOrderItems().stream()
+				.map(orderItem -> {
+					final OrderItemDto dto = OrderItemMappingHelper.map(orderItem);
+					dto.setProductDto(this.listing.productOf(orderItem));
+					dto.setOrderDto(this.listing.orderOf(orderItem));
+					return dto;
+				})
+				.collect(Collectors.toUnmodifiableList());
+		// As MappingJackson2HttpMessageConverter writes a response body
+		final JsonGenerator generator = this.objectMapper.createGenerator(DISCARD, JsonEncoding.UTF8);
+		this.objectWriter.writeValue(generator, new DtoCollectionResponse<>(dtos));
+		generator.flush();
+	}
+
+	@Benchmark
+	public void directJsonGenerator() throws IOException {
+		final JsonGenerator generator = this.objectMapper.createGenerator(DISCARD, JsonEncoding.UTF8);
+		ShippingListingJsonWriter.write(this.listing, generator);
+		generator.flush();
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.selimhorri.app.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures time-to-ready of the shipping service across repeated cold starts, with and
+ * without the {@code fast-startup} profile. Each start is a fresh JVM on the test
+ * classpath that exits as soon as it reports ready; the reported figure is the JVM
+ * uptime logged by {@code StartupTimeReporter}.
+ * <pre>
+ * mvn -Pstartup-benchmark test-compile exec:exec -Dstartup.runs=5 -Dstartup.jvm-args="-XX:SharedArchiveFile=app.jsa"
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+	private static final Pattern TIME_TO_READY = Pattern.compile("time-to-ready=(\\d+)ms");
+
+	private StartupBenchmark() {
+	}
+
+	public static void main(final String[] args) throws Exception {
+		final int runs = Integer.getInteger("startup.runs", 5);
+		final String jvmArgs = System.getProperty("startup.jvm-args", "").trim();
+		System.out.printf("Startup benchmark, %d runs per variant, extra JVM args [%s]%n", runs, jvmArgs);
+		for (final String profiles : new String[] { "dev", "dev,fast-startup" }) {
+			final List<Long> samples = new ArrayList<>();
+			for (int i = 0; i < runs; i++) {
+				samples.add(timeToReady(profiles, jvmArgs));
+			}
+			Collections.sort(samples);
+			System.out.printf("%-18s min %6d ms  median %6d ms  max %6d ms  %s%n", profiles,
+					samples.get(0), samples.get(samples.size() / 2), samples.get(samples.size() - 1), samples);
+		}
+	}
+
+	private static long timeToReady(final String profiles, final String jvmArgs) throws IOException, InterruptedException {
+		final List<String> command = new ArrayList<>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		if (!jvmArgs.isEmpty()) {
+			command.addAll(Arrays.asList(jvmArgs.split("\\s+")));
+		}
+		command.addAll(Arrays.asList(
+				"-Dspring.devtools.restart.enabled=false",
+				"-cp", System.getProperty("java.class.path"),
+				"com.selimhorri.app.ShippingServiceApplication",
+				"--spring.profiles.active=" + profiles,
+				"--server.port=0",
+				"--eureka.client.enabled=false",
+				"--spring.zipkin.enabled=false",
+				"--shipping.startup.exit-on-ready=true"));
+		final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		long timeToReady = -1;
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				final Matcher matcher = TIME_TO_READY.matcher(line);
+				if (matcher.find()) {
+					timeToReady = Long.parseLong(matcher.group(1));
+				}
+			}
+		}
+		process.waitFor();
+		if (timeToReady < 0) {
+			throw new IllegalStateException("Application did not report ready, exit code " + process.exitValue());
+		}
+		return timeToReady;
+	}
+
+}
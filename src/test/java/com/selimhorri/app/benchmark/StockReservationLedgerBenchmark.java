@@ -0,0 +1,64 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.repository.ProductReservationRepository;
+import com.selimhorri.app.reservation.StockReservationLedger;
+
+/**
+ * Concurrent saves against one hot product: every operation reserves a unit and
+ * gives it back, the way a create followed by a soft-delete would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockReservationLedgerBenchmark {
+
+	private static final int HOT_PRODUCT_ID = 1;
+
+	private StockReservationLedger stockReservationLedger;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.stockReservationLedger = new StockReservationLedger(Mockito.mock(ProductReservationRepository.class),
+				Mockito.mock(OrderItemRepository.class));
+		this.stockReservationLedger.seed(HOT_PRODUCT_ID, Integer.MAX_VALUE / 2);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public boolean reserveAndRelease_1thread() {
+		return this.reserveAndRelease();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public boolean reserveAndRelease_8threads() {
+		return this.reserveAndRelease();
+	}
+
+	private boolean reserveAndRelease() {
+		final boolean reserved = this.stockReservationLedger.tryReserve(HOT_PRODUCT_ID, 1);
+		this.stockReservationLedger.releaseOnCommit(HOT_PRODUCT_ID, 1);
+		return reserved;
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.selimhorri.app.changefeed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.dto.OrderStatus;
+import com.selimhorri.app.dto.ShippingChangeDto;
+import com.selimhorri.app.dto.ShippingChangeType;
+
+@DisplayName("ShippingChangeJournal Tests")
+class ShippingChangeJournalTest {
+
+	private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+			"jdbc:h2:mem:change_journal_test;DB_CLOSE_DELAY=-1", "sa", "");
+	private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+	private final TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+	private final ShippingChangeJournal journal = new ShippingChangeJournal(jdbcTemplate);
+
+	private long cursor;
+
+	@BeforeEach
+	void setUp() {
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		// The migration journals the seeded shippings; start after them
+		cursor = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(change_id), 0) FROM order_item_changes", Long.class);
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.execute("DROP ALL OBJECTS");
+	}
+
+	@Test
+	@DisplayName("Should journal changes on commit, drop them on rollback and read them back in order with current state")
+	void shouldJournalCommittedChangesInOrder() {
+		// Given
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.update("INSERT INTO order_items (order_id, product_id, ordered_quantity, order_status) VALUES (500, 1, 3, 'ORDERED')");
+			jdbcTemplate.update("INSERT INTO order_items (order_id, product_id, ordered_quantity, order_status) VALUES (500, 2, 1, 'ORDERED')");
+			journal.record(ShippingChangeType.CREATED, 500, 1);
+			journal.record(ShippingChangeType.CREATED, 500, 2);
+			assertEquals(cursor, maxChangeId(), "nothing written before commit");
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			journal.record(ShippingChangeType.DEACTIVATED, 500, 1);
+			status.setRollbackOnly();
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.update("UPDATE order_items SET order_status = 'PAID' WHERE order_id = 500");
+			journal.recordOrder(ShippingChangeType.UPDATED, 500);
+		});
+
+		// When
+		final List<ShippingChangeDto> changes = journal.read(cursor, Duration.ZERO, 10);
+
+		// Then
+		assertEquals(List.of("CREATED 500/1", "CREATED 500/2", "UPDATED 500/1", "UPDATED 500/2"), describe(changes));
+		assertTrue(changes.stream().allMatch(change -> change.isActive() && change.getOrderStatus() == OrderStatus.PAID));
+		assertEquals(3, changes.get(0).getOrderedQuantity());
+		assertEquals(4L, journal.getRecordedCount());
+	}
+
+	@Test
+	@DisplayName("Should page by cursor, hide unsettled changes and report archived rows as inactive without state")
+	void shouldPageByCursorAndHideUnsettledChanges() {
+		// Given
+		for (int productId = 1; productId <= 5; productId++) {
+			journal.record(ShippingChangeType.DEACTIVATED, 600, productId);
+		}
+
+		// When
+		final List<ShippingChangeDto> first = journal.read(cursor, Duration.ZERO, 3);
+		final List<ShippingChangeDto> second = journal.read(first.get(2).getChangeId(), Duration.ZERO, 3);
+
+		// Then
+		assertEquals(List.of("DEACTIVATED 600/1", "DEACTIVATED 600/2", "DEACTIVATED 600/3"), describe(first));
+		assertEquals(List.of("DEACTIVATED 600/4", "DEACTIVATED 600/5"), describe(second));
+		assertFalse(second.get(0).isActive());
+		assertNull(second.get(0).getOrderedQuantity());
+		assertNull(second.get(0).getOrderStatus());
+		assertTrue(journal.read(cursor, Duration.ofMinutes(1), 10).isEmpty());
+	}
+
+	private long maxChangeId() {
+		return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(change_id), 0) FROM order_item_changes", Long.class);
+	}
+
+	private static List<String> describe(final List<ShippingChangeDto> changes) {
+		return changes.stream()
+				.map(change -> change.getChangeType() + " " + change.getOrderId() + "/" + change.getProductId())
+				.collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,153 @@
+package com.selimhorri.app.client.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.ProductDto;
+
+@DisplayName("LookupCacheSnapshot Tests")
+class LookupCacheSnapshotTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	@DisplayName("restore - Should bring back saved entries that are still young enough")
+	void restore_ShouldRestoreEntries_WithinMaxAge() throws IOException {
+		// Given
+		final Path file = this.tempDir.resolve("lookup.snapshot");
+		final RefreshAheadCache<ProductDto> products = productCache();
+		final RefreshAheadCache<OrderDto> orders = orderCache();
+		final ProductDto product = ProductDto.builder()
+				.productId(1).productTitle("Café crème").sku("SKU-1").priceUnit(9.5).quantity(3).build();
+		final OrderDto order = OrderDto.builder()
+				.orderId(2).orderDate(LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_000_000))
+				.orderDesc("desc").orderFee(12.0).orderStatus("ORDERED").build();
+		products.get(1, () -> product);
+		orders.get(2, () -> order);
+		orders.restore(3, OrderDto.builder().orderId(3).build(), 90_000, 100_000);
+		final int saved = snapshot(file, products, orders).save();
+
+		// When
+		final RefreshAheadCache<ProductDto> restoredProducts = productCache();
+		final RefreshAheadCache<OrderDto> restoredOrders = orderCache();
+		final LookupCacheSnapshot restoring = new LookupCacheSnapshot(file)
+				.section(restoredProducts, LookupSnapshotCodecs.PRODUCT, 60_000)
+				.section(restoredOrders, LookupSnapshotCodecs.ORDER, 60_000);
+		final int restored = restoring.restore();
+
+		// Then
+		assertEquals(3, saved);
+		assertEquals(2, restored);
+		assertEquals(product, restoredProducts.get(1, () -> null));
+		assertEquals(order, restoredOrders.get(2, () -> null));
+		assertNull(restoredOrders.get(3, () -> null));
+		assertEquals(2, restoredProducts.getHitCount() + restoredOrders.getHitCount());
+	}
+
+	@Test
+	@DisplayName("restore - Should restore a snapshot left one save interval ago, past the TTL, and renew on first read")
+	void restore_ShouldRestoreEntries_WhenSnapshotIsOneIntervalOld() throws IOException {
+		// Given: saved by the periodic task a minute before a crash, with a 30 s TTL
+		final Path file = this.tempDir.resolve("lookup.snapshot");
+		final RefreshAheadCache<OrderDto> orders = orderCache();
+		final OrderDto saved = OrderDto.builder().orderId(5).orderStatus("ORDERED").build();
+		orders.get(5, () -> saved);
+		snapshot(file, productCache(), orders).save();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			final ByteBuffer writtenAt = ByteBuffer.allocate(Long.BYTES).putLong(0, System.currentTimeMillis() - 60_000);
+			channel.write(writtenAt, 8);
+		}
+
+		// When
+		final RefreshAheadCache<OrderDto> restoredOrders = orderCache();
+		final int restored = new LookupCacheSnapshot(file)
+				.section(restoredOrders, LookupSnapshotCodecs.ORDER, 120_000)
+				.restore();
+
+		// Then
+		assertEquals(1, restored);
+		final OrderDto fresh = OrderDto.builder().orderId(5).orderStatus("PAID").build();
+		assertEquals(saved, restoredOrders.get(5, () -> fresh), "served while the renewal runs");
+		assertEquals(fresh, restoredOrders.get(5, () -> null));
+		assertEquals(1, restoredOrders.getRefreshCount());
+	}
+
+	@Test
+	@DisplayName("restore - Should ignore a snapshot whose checksum does not match")
+	void restore_ShouldIgnoreSnapshot_WhenCorrupted() throws IOException {
+		// Given
+		final Path file = this.tempDir.resolve("lookup.snapshot");
+		final RefreshAheadCache<ProductDto> products = productCache();
+		products.get(1, () -> ProductDto.builder().productId(1).productTitle("title").build());
+		snapshot(file, products, orderCache()).save();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			final ByteBuffer lastByte = ByteBuffer.allocate(1);
+			channel.read(lastByte, channel.size() - 1);
+			lastByte.put(0, (byte) (lastByte.get(0) ^ 0x5A)).rewind();
+			channel.write(lastByte, channel.size() - 1);
+		}
+
+		// When
+		final RefreshAheadCache<ProductDto> restoredProducts = productCache();
+		final LookupCacheSnapshot restoring = snapshot(file, restoredProducts, orderCache());
+		final int restored = restoring.restore();
+
+		// Then
+		assertEquals(0, restored);
+		assertEquals(0, restoredProducts.size());
+		assertEquals(1, restoring.getFailureCount());
+	}
+
+	@Test
+	@DisplayName("restore - Should ignore a snapshot written in another format version")
+	void restore_ShouldIgnoreSnapshot_WhenVersionDiffers() throws IOException {
+		// Given
+		final Path file = this.tempDir.resolve("lookup.snapshot");
+		final RefreshAheadCache<OrderDto> orders = orderCache();
+		orders.get(4, () -> OrderDto.builder().orderId(4).build());
+		snapshot(file, productCache(), orders).save();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			final ByteBuffer version = ByteBuffer.allocate(Short.BYTES).putShort(0, (short) (LookupCacheSnapshot.VERSION + 1));
+			channel.write(version, 4);
+		}
+
+		// When
+		final RefreshAheadCache<OrderDto> restoredOrders = orderCache();
+		final LookupCacheSnapshot restoring = snapshot(file, productCache(), restoredOrders);
+		final int restored = restoring.restore();
+
+		// Then
+		assertEquals(0, restored);
+		assertEquals(0, restoredOrders.size());
+		assertEquals(1, restoring.getFailureCount());
+	}
+
+	private static LookupCacheSnapshot snapshot(final Path file, final RefreshAheadCache<ProductDto> products,
+			final RefreshAheadCache<OrderDto> orders) {
+		return new LookupCacheSnapshot(file)
+				.section(products, LookupSnapshotCodecs.PRODUCT, 60_000)
+				.section(orders, LookupSnapshotCodecs.ORDER, 60_000);
+	}
+
+	private static RefreshAheadCache<ProductDto> productCache() {
+		return new RefreshAheadCache<>("product", 30_000, 0.2, 10, Runnable::run, 1);
+	}
+
+	private static RefreshAheadCache<OrderDto> orderCache() {
+		return new RefreshAheadCache<>("order", 30_000, 0.2, 10, Runnable::run, 1);
+	}
+
+}
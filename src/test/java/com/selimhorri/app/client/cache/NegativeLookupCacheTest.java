@@ -0,0 +1,66 @@
+package com.selimhorri.app.client.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+@DisplayName("NegativeLookupCache Tests")
+class NegativeLookupCacheTest {
+
+	@Test
+	@DisplayName("lookup - Should replay a 404 without calling the service again")
+	void lookup_ShouldReplayNotFound_WithoutRemoteCall() {
+		// Given
+		final NegativeLookupCache<String> cache = new NegativeLookupCache<>("product", 60_000, 10);
+		final AtomicInteger calls = new AtomicInteger();
+		final HttpClientErrorException notFound = HttpClientErrorException.create(
+				HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, new byte[0], null);
+
+		// When
+		final HttpClientErrorException first = assertThrows(HttpClientErrorException.NotFound.class,
+				() -> cache.lookup(7, () -> {
+					calls.incrementAndGet();
+					throw notFound;
+				}));
+		final HttpClientErrorException second = assertThrows(HttpClientErrorException.NotFound.class,
+				() -> cache.lookup(7, () -> {
+					calls.incrementAndGet();
+					return "found";
+				}));
+
+		// Then
+		assertSame(first, second);
+		assertEquals(1, calls.get());
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	@DisplayName("lookup - Should not cache transient server errors")
+	void lookup_ShouldNotCache_ServerErrors() {
+		// Given
+		final NegativeLookupCache<String> cache = new NegativeLookupCache<>("order", 60_000, 10);
+		final HttpServerErrorException unavailable = HttpServerErrorException.create(
+				HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", HttpHeaders.EMPTY, new byte[0], null);
+
+		// When
+		assertThrows(HttpServerErrorException.class, () -> cache.lookup(3, () -> {
+			throw unavailable;
+		}));
+		final String recovered = cache.lookup(3, () -> "found");
+
+		// Then
+		assertEquals("found", recovered);
+		assertEquals(0, cache.getHitCount());
+		assertEquals(0, cache.size());
+	}
+
+}
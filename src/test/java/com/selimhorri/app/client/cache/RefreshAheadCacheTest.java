@@ -0,0 +1,116 @@
+package com.selimhorri.app.client.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+@DisplayName("RefreshAheadCache Tests")
+class RefreshAheadCacheTest {
+
+	// Refresh tasks are queued here and only run when the test says so
+	private final List<Runnable> pendingRefreshes = new ArrayList<>();
+
+	@Test
+	@DisplayName("get - Should keep serving the cached value while renewing it in the background")
+	void get_ShouldServeCachedValue_WhileRefreshingAhead() throws InterruptedException {
+		// Given
+		final RefreshAheadCache<String> cache = new RefreshAheadCache<>("product", 300, 0.8, 10, pendingRefreshes::add, 4);
+		final AtomicInteger calls = new AtomicInteger();
+		assertEquals("v1", cache.get(7, () -> "v" + calls.incrementAndGet()));
+		Thread.sleep(100);
+
+		// When
+		final String duringRefresh = cache.get(7, () -> "v" + calls.incrementAndGet());
+		cache.get(7, () -> "v" + calls.incrementAndGet());
+		pendingRefreshes.forEach(Runnable::run);
+
+		// Then
+		assertEquals("v1", duringRefresh);
+		assertEquals(1, pendingRefreshes.size(), "one renewal per entry at a time");
+		assertEquals("v2", cache.get(7, () -> "v" + calls.incrementAndGet()));
+		assertEquals(2, calls.get());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getRefreshCount());
+	}
+
+	@Test
+	@DisplayName("get - Should skip renewals past the cap and keep the old value when one fails")
+	void get_ShouldCapRefreshes_AndKeepValueOnFailure() throws InterruptedException {
+		// Given
+		final RefreshAheadCache<String> cache = new RefreshAheadCache<>("order", 300, 0.8, 10, pendingRefreshes::add, 1);
+		final HttpServerErrorException unavailable = HttpServerErrorException.create(
+				HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", HttpHeaders.EMPTY, new byte[0], null);
+		cache.get(1, () -> "one");
+		cache.get(2, () -> "two");
+		Thread.sleep(100);
+
+		// When
+		cache.get(1, () -> {
+			throw unavailable;
+		});
+		cache.get(2, () -> "two again");
+		pendingRefreshes.forEach(Runnable::run);
+
+		// Then
+		assertEquals(1, pendingRefreshes.size());
+		assertEquals(1, cache.getSkippedRefreshCount());
+		assertEquals(1, cache.getFailedRefreshCount());
+		assertEquals("one", cache.get(1, () -> "not yet"));
+		assertEquals("two", cache.get(2, () -> "not yet"));
+	}
+
+	@Test
+	@DisplayName("get - Should drop an entry whose renewal finds it gone")
+	void get_ShouldDropEntry_WhenRefreshFindsNotFound() throws InterruptedException {
+		// Given
+		final RefreshAheadCache<String> cache = new RefreshAheadCache<>("order", 300, 0.8, 10, pendingRefreshes::add, 4);
+		final HttpClientErrorException notFound = HttpClientErrorException.create(
+				HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, new byte[0], null);
+		cache.get(5, () -> "five");
+		Thread.sleep(100);
+
+		// When
+		cache.get(5, () -> {
+			throw notFound;
+		});
+		pendingRefreshes.forEach(Runnable::run);
+
+		// Then
+		assertEquals(0, cache.size());
+		assertEquals("reloaded", cache.get(5, () -> "reloaded"));
+		assertEquals(2, cache.getMissCount());
+	}
+
+	@Test
+	@DisplayName("restore - Should serve an entry older than the TTL once and renew it on that first read")
+	void restore_ShouldRenewOnFirstRead_WhenOlderThanTtl() {
+		// Given
+		final RefreshAheadCache<String> cache = new RefreshAheadCache<>("order", 10_000, 0.2, 10, pendingRefreshes::add, 4);
+
+		// When
+		final boolean pastMaxAge = cache.restore(1, "expired", 120_000, 120_000);
+		final boolean pastTtl = cache.restore(2, "stale", 60_000, 120_000);
+
+		// Then
+		assertFalse(pastMaxAge);
+		assertTrue(pastTtl);
+		assertEquals("stale", cache.get(2, () -> "reloaded"));
+		assertEquals(1, pendingRefreshes.size(), "restored due for renewal");
+		pendingRefreshes.forEach(Runnable::run);
+		assertEquals("reloaded", cache.get(2, () -> "again"));
+		assertEquals("reloaded", cache.get(1, () -> "reloaded"));
+		assertEquals(1, cache.getRefreshCount());
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.selimhorri.app.client.hedging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+@DisplayName("HedgedRequestExecutor Tests")
+class HedgedRequestExecutorTest {
+
+	private static final String URL = "http://PRODUCT-SERVICE/product-service/api/products/1";
+	private static final URI SLOW_URI = URI.create("http://slow:8500/product-service/api/products/1");
+	private static final URI FAST_URI = URI.create("http://fast:8500/product-service/api/products/1");
+
+	@Test
+	@DisplayName("getForObject - Should answer from the hedge when the first instance is slow")
+	void getForObject_ShouldReturnHedgeResponse_WhenPrimaryIsSlow() {
+		// Given
+		final RestTemplate instanceRestTemplate = this.slowAndFastInstances();
+		final HedgedRequestExecutor executor = new HedgedRequestExecutor(mock(RestTemplate.class), instanceRestTemplate,
+				this.discoveryClient(), new SimpleAsyncTaskExecutor(), 95, 20, 5, 0.1, 10);
+
+		// When
+		final String body = executor.getForObject(URL, String.class);
+
+		// Then
+		assertEquals("fast", body);
+		assertEquals(1, executor.getHedgeCount());
+		assertEquals(1, executor.getHedgeWinCount());
+	}
+
+	@Test
+	@DisplayName("getForObject - Should stop hedging once the hedge budget is spent")
+	void getForObject_ShouldWaitForPrimary_WhenBudgetIsSpent() {
+		// Given
+		final RestTemplate instanceRestTemplate = this.slowAndFastInstances();
+		final HedgedRequestExecutor executor = new HedgedRequestExecutor(mock(RestTemplate.class), instanceRestTemplate,
+				this.discoveryClient(), new SimpleAsyncTaskExecutor(), 95, 20, 5, 0.0, 1);
+
+		// When
+		final String first = executor.getForObject(URL, String.class);
+		// Round robin starts the second lookup on the fast instance, so the third is the one that matters
+		executor.getForObject(URL, String.class);
+		final String third = executor.getForObject(URL, String.class);
+
+		// Then
+		assertEquals("fast", first);
+		assertEquals("slow", third);
+		assertEquals(1, executor.getHedgeCount());
+		assertEquals(1, executor.getBudgetExhaustedCount());
+	}
+
+	private DiscoveryClient discoveryClient() {
+		final DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+		when(discoveryClient.getInstances("PRODUCT-SERVICE")).thenReturn(List.of(
+				new DefaultServiceInstance("slow", "PRODUCT-SERVICE", "slow", 8500, false),
+				new DefaultServiceInstance("fast", "PRODUCT-SERVICE", "fast", 8500, false)));
+		return discoveryClient;
+	}
+
+	private RestTemplate slowAndFastInstances() {
+		final RestTemplate restTemplate = mock(RestTemplate.class);
+		when(restTemplate.getForEntity(eq(SLOW_URI), eq(String.class))).thenAnswer(invocation -> {
+			Thread.sleep(300);
+			return ResponseEntity.ok("slow");
+		});
+		when(restTemplate.getForEntity(eq(FAST_URI), eq(String.class))).thenReturn(ResponseEntity.ok("fast"));
+		return restTemplate;
+	}
+
+}
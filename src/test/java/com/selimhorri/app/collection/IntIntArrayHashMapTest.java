@@ -0,0 +1,54 @@
+package com.selimhorri.app.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IntIntArrayHashMap Tests")
+class IntIntArrayHashMapTest {
+
+	@Test
+	@DisplayName("Should behave like a HashMap of lists under random adds and removes")
+	void shouldMatchHashMapOfLists_WhenMutatedRandomly() {
+		// Given
+		final IntIntArrayHashMap map = new IntIntArrayHashMap();
+		final Map<Integer, List<Integer>> expected = new HashMap<>();
+		final Random random = new Random(42);
+
+		// When
+		for (int i = 0; i < 200_000; i++) {
+			final int key = random.nextInt(500) - 50;
+			final int value = random.nextInt(40);
+			if (random.nextInt(3) == 0) {
+				final List<Integer> values = expected.get(key);
+				final boolean removed = values != null && values.remove(Integer.valueOf(value));
+				if (values != null && values.isEmpty()) {
+					expected.remove(key);
+				}
+				assertEquals(removed, map.removeValue(key, value));
+			} else {
+				expected.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+				map.add(key, value);
+			}
+		}
+
+		// Then
+		assertEquals(expected.size(), map.size());
+		expected.forEach((key, values) -> {
+			// Removal moves the last value into the gap, so only the contents are compared
+			final int[] actual = map.get(key);
+			Arrays.sort(actual);
+			assertArrayEquals(values.stream().mapToInt(Integer::intValue).sorted().toArray(), actual);
+		});
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.selimhorri.app.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IntLongHashMap Tests")
+class IntLongHashMapTest {
+
+	@Test
+	@DisplayName("Should behave like a HashMap under random adds and removes")
+	void shouldMatchHashMap_WhenMutatedRandomly() {
+		// Given
+		final IntLongHashMap map = new IntLongHashMap();
+		final Map<Integer, Long> expected = new HashMap<>();
+		final Random random = new Random(42);
+
+		// When
+		for (int i = 0; i < 200_000; i++) {
+			final int key = random.nextInt(2_000) - 100;
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(key) != null, map.remove(key));
+			} else {
+				final long delta = random.nextInt(10);
+				assertEquals(expected.merge(key, delta, Long::sum), map.addTo(key, delta));
+			}
+		}
+
+		// Then
+		assertEquals(expected.size(), map.size());
+		final Map<Integer, Long> actual = new HashMap<>();
+		map.forEach(actual::put);
+		assertEquals(expected, actual);
+	}
+
+}
@@ -0,0 +1,42 @@
+package com.selimhorri.app.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LongIntHashMap Tests")
+class LongIntHashMapTest {
+
+	@Test
+	@DisplayName("Should behave like a HashMap under random adds and removes")
+	void shouldMatchHashMap_WhenMutatedRandomly() {
+		// Given
+		final LongIntHashMap map = new LongIntHashMap();
+		final Map<Long, Integer> expected = new HashMap<>();
+		final Random random = new Random(42);
+
+		// When
+		for (int i = 0; i < 200_000; i++) {
+			// Packed pairs, as the shipping index uses them
+			final long key = (long) random.nextInt(50) << 32 | ((random.nextInt(40) - 5) & 0xFFFFFFFFL);
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(key) != null, map.remove(key));
+			} else {
+				final int delta = random.nextInt(10);
+				assertEquals(expected.merge(key, delta, Integer::sum), map.addTo(key, delta));
+			}
+		}
+
+		// Then
+		assertEquals(expected.size(), map.size());
+		final Map<Long, Integer> actual = new HashMap<>();
+		map.forEach(actual::put);
+		assertEquals(expected, actual);
+	}
+
+}
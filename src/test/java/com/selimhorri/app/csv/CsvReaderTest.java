@@ -0,0 +1,56 @@
+package com.selimhorri.app.csv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CsvReader Tests")
+class CsvReaderTest {
+
+	@Test
+	@DisplayName("Should read quoted fields with commas, quotes and line breaks written by CsvWriter")
+	void shouldRoundTripQuotedFields() throws IOException {
+		// Given
+		final StringWriter out = new StringWriter();
+		final CsvWriter writer = new CsvWriter(out);
+		writer.writeRecord("order_id", "location");
+		writer.writeRecord(1, "Hub \"North\", gate 2");
+		writer.writeRecord(2, "line one\nline two");
+		writer.writeRecord(3, null);
+
+		// When
+		final CsvReader reader = new CsvReader(new StringReader(out.toString()), 1024);
+
+		// Then
+		assertEquals(List.of("order_id", "location"), reader.readRecord());
+		assertEquals(List.of("1", "Hub \"North\", gate 2"), reader.readRecord());
+		assertEquals(List.of("2", "line one\nline two"), reader.readRecord());
+		assertEquals(3, reader.getRecordLineNumber());
+		assertEquals(List.of("3", ""), reader.readRecord());
+		assertEquals(5, reader.getRecordLineNumber());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	@DisplayName("Should reject an unterminated quote instead of buffering the rest of the input")
+	void shouldRejectOversizedRecord() throws IOException {
+		// Given
+		final CsvReader reader = new CsvReader(new StringReader("1,2\n3,\"never closed,4\n5,6\n7,8\n"), 8);
+
+		// When
+		reader.readRecord();
+		final CsvFormatException e = assertThrows(CsvFormatException.class, reader::readRecord);
+
+		// Then
+		assertEquals(2, e.getLineNumber());
+	}
+
+}
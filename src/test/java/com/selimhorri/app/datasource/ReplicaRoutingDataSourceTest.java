@@ -0,0 +1,127 @@
+package com.selimhorri.app.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+	private final JdbcTemplate primary = new JdbcTemplate(h2("routing_primary"));
+	private final JdbcTemplate replica = new JdbcTemplate(h2("routing_replica"));
+	private final ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(primary.getDataSource(), replica.getDataSource(), 1_000, 1_000);
+
+	private JdbcTemplate routed;
+	private TransactionTemplate readOnly;
+	private TransactionTemplate readWrite;
+
+	@BeforeEach
+	void setUp() {
+		for (final JdbcTemplate database : new JdbcTemplate[] { primary, replica }) {
+			database.execute("CREATE TABLE replica_heartbeat (id INT NOT NULL PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+			database.execute("INSERT INTO replica_heartbeat VALUES (1, 0)");
+			database.execute("CREATE TABLE origin (name VARCHAR(16))");
+		}
+		primary.update("INSERT INTO origin VALUES ('primary')");
+		replica.update("INSERT INTO origin VALUES ('replica')");
+
+		final LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+				new ReplicaRoutingDataSource(primary.getDataSource(), replica.getDataSource(), lagMonitor));
+		routed = new JdbcTemplate(dataSource);
+		final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		readWrite = new TransactionTemplate(transactionManager);
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReadYourWrites.clear();
+		primary.execute("DROP ALL OBJECTS");
+		replica.execute("DROP ALL OBJECTS");
+	}
+
+	@Test
+	@DisplayName("Should route read-only transactions to a replica that keeps up and everything else to the primary")
+	void shouldRouteReadOnlyTransactionsToReplica() {
+		// Given
+		assertEquals("primary", origin(readOnly), "no heartbeat checked yet");
+		lagMonitor.check();
+		assertEquals("primary", origin(readOnly), "the replica has not applied a beat yet");
+		replicate();
+
+		// When
+		lagMonitor.check();
+
+		// Then
+		assertEquals("replica", origin(readOnly));
+		assertEquals("primary", origin(readWrite));
+		assertEquals("primary", routed.queryForObject("SELECT name FROM origin", String.class));
+	}
+
+	@Test
+	@DisplayName("Should keep reads on the primary while the replica lags or has not applied the caller's write")
+	void shouldFallBackToPrimaryWhenReplicaIsBehind() {
+		// Given
+		lagMonitor.check();
+		replicate();
+		lagMonitor.check();
+		final long replicatedUpTo = replica.queryForObject("SELECT beat_millis FROM replica_heartbeat", Long.class);
+
+		// When / Then
+		ReadYourWrites.bind(replicatedUpTo);
+		assertEquals("replica", origin(readOnly));
+		ReadYourWrites.bind(replicatedUpTo + 1);
+		assertEquals("primary", origin(readOnly));
+
+		ReadYourWrites.clear();
+		replica.update("UPDATE replica_heartbeat SET beat_millis = ?", System.currentTimeMillis() - 5_000);
+		lagMonitor.check();
+		assertEquals("primary", origin(readOnly));
+	}
+
+	@Test
+	@DisplayName("Should allow for one heartbeat interval between beats when the replica trails by a realistic delay")
+	void shouldMeasureLagBeyondHeartbeatInterval() {
+		// Given: the last applied beat was written one interval plus 300 ms of replication delay ago
+		replica.update("UPDATE replica_heartbeat SET beat_millis = ?", System.currentTimeMillis() - 1_300);
+
+		// When
+		lagMonitor.check();
+
+		// Then
+		assertEquals("replica", origin(readOnly));
+		assertTrue(lagMonitor.getLagMillis() < 1_000, "lag " + lagMonitor.getLagMillis());
+
+		// A replica 1.5 s behind on top of the interval is past max-lag
+		replica.update("UPDATE replica_heartbeat SET beat_millis = ?", System.currentTimeMillis() - 2_500);
+		lagMonitor.check();
+		assertEquals("primary", origin(readOnly));
+	}
+
+	private String origin(final TransactionTemplate transactionTemplate) {
+		return transactionTemplate.execute(status -> routed.queryForObject("SELECT name FROM origin", String.class));
+	}
+
+	/**
+	 * Stands in for replication: the replica applies the beat last written to the primary.
+	 */
+	private void replicate() {
+		replica.update("UPDATE replica_heartbeat SET beat_millis = ?",
+				primary.queryForObject("SELECT beat_millis FROM replica_heartbeat", Long.class));
+	}
+
+	private static DriverManagerDataSource h2(final String name) {
+		return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.selimhorri.app.deadline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+import com.selimhorri.app.exception.wrapper.DeadlineExceededException;
+
+@DisplayName("DeadlinePropagationInterceptor Tests")
+class DeadlinePropagationInterceptorTest {
+
+	private final DeadlinePropagationInterceptor interceptor = new DeadlinePropagationInterceptor();
+
+	@AfterEach
+	void tearDown() {
+		Deadline.bind(null);
+	}
+
+	@Test
+	@DisplayName("intercept - Should forward the remaining budget downstream")
+	void intercept_ShouldSetTimeoutHeader_WhenDeadlineIsBound() throws Exception {
+		// Given
+		final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+				URI.create("http://PRODUCT-SERVICE/product-service/api/products/1"));
+		final ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+		when(execution.execute(any(), any())).thenReturn(mock(ClientHttpResponse.class));
+		Deadline.bind(Deadline.after(2_000));
+
+		// When
+		this.interceptor.intercept(request, new byte[0], execution);
+
+		// Then
+		final long forwarded = Long.parseLong(request.getHeaders().getFirst(Deadline.TIMEOUT_HEADER));
+		assertTrue(forwarded > 0 && forwarded <= 2_000);
+		assertEquals(0, this.interceptor.getWastedCount());
+	}
+
+	@Test
+	@DisplayName("intercept - Should not call downstream once the deadline has passed")
+	void intercept_ShouldSkipCall_WhenDeadlineExpired() throws Exception {
+		// Given
+		final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+				URI.create("http://ORDER-SERVICE/order-service/api/orders/1"));
+		final ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+		Deadline.bind(Deadline.after(0));
+
+		// When / Then
+		assertThrows(DeadlineExceededException.class,
+				() -> this.interceptor.intercept(request, new byte[0], execution));
+		verify(execution, never()).execute(any(), any());
+		assertEquals(1, this.interceptor.getSkippedCount());
+	}
+
+}
@@ -0,0 +1,107 @@
+package com.selimhorri.app.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.ShippingListing;
+
+@DisplayName("ShippingListingJsonWriter Tests")
+class ShippingListingJsonWriterTest {
+
+	private final ObjectMapper objectMapper = new MapperConfig().objectMapperBean();
+
+	@Test
+	@DisplayName("write - Should produce the same bytes as Jackson for the equivalent DTO collection")
+	void write_ShouldMatchJackson_ForFullyPopulatedRows() throws IOException {
+		// Given
+		final Map<Integer, ProductDto> products = new HashMap<>();
+		products.put(100, new ProductDto(100, "Tent \"Alpine\" 2p", "https://img/1?a=b&c=é", "SKU-100", 249.9, 12, null));
+		products.put(200, new ProductDto(200, null, null, null, null, null, null));
+		final Map<Integer, OrderDto> orders = new HashMap<>();
+		orders.put(1, new OrderDto(1, LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_456_000), "first\norder", 2.0, "ORDERED", null));
+		orders.put(2, new OrderDto(2, null, null, null, null, null));
+
+		final ShippingListing listing = new ShippingListing(Arrays.asList(
+				item(1, 100, 5), item(1, 200, 1), item(2, 100, 0)), products, orders);
+
+		// Then
+		assertEquals(jackson(listing), written(listing));
+	}
+
+	@Test
+	@DisplayName("write - Should format order dates exactly as the Jackson date serializer")
+	void write_ShouldMatchJackson_ForOrderDates() throws IOException {
+		// Given
+		final List<LocalDateTime> dates = Arrays.asList(
+				LocalDateTime.of(1, 1, 1, 0, 0),
+				LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999),
+				LocalDateTime.of(987, 2, 3, 4, 5, 6, 7_000),
+				LocalDateTime.of(12345, 6, 7, 8, 9, 10),
+				LocalDateTime.of(-5, 6, 7, 8, 9, 10));
+		final List<OrderItem> orderItems = new ArrayList<>();
+		final Map<Integer, OrderDto> orders = new HashMap<>();
+		for (int i = 0; i < dates.size(); i++) {
+			orderItems.add(item(i, 1, 1));
+			orders.put(i, new OrderDto(i, dates.get(i), null, null, "ORDERED", null));
+		}
+		final ShippingListing listing = new ShippingListing(orderItems, Map.of(1, new ProductDto()), orders);
+
+		// Then
+		assertEquals(jackson(listing), written(listing));
+	}
+
+	@Test
+	@DisplayName("write - Should match Jackson for an empty listing and for nested order items")
+	void write_ShouldMatchJackson_ForEmptyAndNestedCollections() throws IOException {
+		// Given
+		final ShippingListing empty = new ShippingListing(Collections.emptyList(), Map.of(), Map.of());
+		final ProductDto product = new ProductDto(7, "p", null, null, 1.5, 3,
+				Set.of(OrderItemDto.builder().productId(7).orderId(9).orderedQuantity(1).build()));
+		final ShippingListing nested = new ShippingListing(List.of(item(9, 7, 1)), Map.of(7, product),
+				Map.of(9, new OrderDto(9, null, "d", 0.0, "ORDERED", Set.of())));
+
+		// Then
+		assertEquals(jackson(empty), written(empty));
+		assertEquals(jackson(nested), written(nested));
+	}
+
+	private String jackson(final ShippingListing listing) throws IOException {
+		return this.objectMapper.writeValueAsString(new DtoCollectionResponse<>(listing.toDtos()));
+	}
+
+	private String written(final ShippingListing listing) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (JsonGenerator generator = this.objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+			ShippingListingJsonWriter.write(listing, generator);
+		}
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	private static OrderItem item(final int orderId, final int productId, final int quantity) {
+		return OrderItem.builder().orderId(orderId).productId(productId).orderedQuantity(quantity).isActive(true).build();
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.selimhorri.app.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+	@Test
+	@DisplayName("tryAcquire - Should reject immediately once the limit is in flight")
+	void tryAcquire_ShouldReject_WhenLimitReached() {
+		// Given
+		final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", 2, 1, 10, 1_000, 0.5);
+
+		// When
+		final boolean first = limiter.tryAcquire();
+		final boolean second = limiter.tryAcquire();
+		final boolean third = limiter.tryAcquire();
+
+		// Then
+		assertTrue(first);
+		assertTrue(second);
+		assertFalse(third);
+		assertEquals(2, limiter.getInFlight());
+		assertEquals(1, limiter.getRejectedCount());
+	}
+
+	@Test
+	@DisplayName("release - Should grow on fast saturated requests and back off once per round on slow ones")
+	void release_ShouldAdjustLimit_FromObservedLatency() {
+		// Given
+		final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("write", 4, 1, 10, 50, 0.5);
+
+		// When
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire();
+			limiter.release(System.nanoTime(), 4, false);
+		}
+		final int grown = limiter.getLimit();
+		final long slowStart = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(100);
+		limiter.tryAcquire();
+		limiter.tryAcquire();
+		limiter.release(slowStart, 2, false);
+		limiter.release(slowStart, 2, false);
+		final int shrunk = limiter.getLimit();
+
+		// Then
+		assertEquals(7, grown);
+		assertEquals(3, shrunk);
+		assertEquals(0, limiter.getInFlight());
+	}
+
+}
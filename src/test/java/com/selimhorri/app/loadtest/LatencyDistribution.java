@@ -0,0 +1,43 @@
+package com.selimhorri.app.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Injected response delay of a stub service, in milliseconds. Parsed from specs like
+ * {@code fixed:10}, {@code uniform:5:50}, {@code exponential:20} (mean) or
+ * {@code lognormal:20:0.8} (median, sigma).
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+	
+	long nextMillis();
+	
+	static LatencyDistribution parse(final String spec) {
+		final String[] parts = spec.trim().split(":");
+		switch (parts[0]) {
+			case "none":
+				return () -> 0L;
+			case "fixed": {
+				final long millis = Long.parseLong(parts[1]);
+				return () -> millis;
+			}
+			case "uniform": {
+				final long min = Long.parseLong(parts[1]);
+				final long max = Long.parseLong(parts[2]);
+				return () -> ThreadLocalRandom.current().nextLong(min, max + 1);
+			}
+			case "exponential": {
+				final double mean = Double.parseDouble(parts[1]);
+				return () -> Math.round(-mean * Math.log(1.0 - ThreadLocalRandom.current().nextDouble()));
+			}
+			case "lognormal": {
+				final double mu = Math.log(Double.parseDouble(parts[1]));
+				final double sigma = Double.parseDouble(parts[2]);
+				return () -> Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+			}
+			default:
+				throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+		}
+	}
+	
+}
@@ -0,0 +1,199 @@
+package com.selimhorri.app.loadtest;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-model load generator for {@code /api/shippings}: requests arrive as a Poisson
+ * process at a fixed rate regardless of how fast responses come back, and latency is
+ * measured from each request's intended start time, so a stalled server shows up in
+ * the percentiles instead of silently lowering the offered load.
+ */
+public final class OpenWorkloadGenerator {
+
+	public enum Operation { LIST, GET, CREATE, DELETE }
+
+	private static final int FIRST_GENERATED_ORDER_ID = 1_000_000;
+	private static final int PRODUCT_COUNT = 50;
+
+	private final HttpClient httpClient;
+	private final String baseUrl;
+	private final NavigableMap<Integer, Operation> mix = new TreeMap<>();
+	private final int mixTotal;
+	private final int maxInFlight;
+
+	private final AtomicInteger nextOrderId = new AtomicInteger(FIRST_GENERATED_ORDER_ID);
+	private final ConcurrentLinkedDeque<Integer> liveOrderIds = new ConcurrentLinkedDeque<>();
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	public OpenWorkloadGenerator(final HttpClient httpClient, final String baseUrl,
+			final Map<Operation, Integer> weights, final int maxInFlight) {
+		this.httpClient = httpClient;
+		this.baseUrl = baseUrl;
+		int total = 0;
+		for (final Map.Entry<Operation, Integer> weight : weights.entrySet()) {
+			if (weight.getValue() > 0) {
+				total += weight.getValue();
+				this.mix.put(total, weight.getKey());
+			}
+		}
+		this.mixTotal = total;
+		this.maxInFlight = maxInFlight;
+	}
+
+	/**
+	 * Parses a mix such as {@code list:10,get:60,create:20,delete:10}.
+	 */
+	public static Map<Operation, Integer> parseMix(final String spec) {
+		final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+		for (final String part : spec.split(",")) {
+			final String[] kv = part.trim().split(":");
+			weights.put(Operation.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+		}
+		return weights;
+	}
+
+	public Report run(final double ratePerSecond, final Duration duration) throws InterruptedException {
+		final Report report = new Report(duration);
+		final double meanInterArrivalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+		final long start = System.nanoTime();
+		final long end = start + duration.toNanos();
+		long intendedStart = start;
+		while (intendedStart < end) {
+			long now;
+			while ((now = System.nanoTime()) < intendedStart) {
+				LockSupport.parkNanos(intendedStart - now);
+			}
+			this.fire(this.nextOperation(), intendedStart, report);
+			intendedStart += (long) (-meanInterArrivalNanos * Math.log(1.0 - ThreadLocalRandom.current().nextDouble()));
+		}
+		final long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (this.inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+			Thread.sleep(10);
+		}
+		report.elapsedNanos = System.nanoTime() - start;
+		return report;
+	}
+
+	private Operation nextOperation() {
+		return this.mix.higherEntry(ThreadLocalRandom.current().nextInt(this.mixTotal)).getValue();
+	}
+
+	private void fire(final Operation operation, final long intendedStart, final Report report) {
+		final OperationStats stats = report.stats.get(operation);
+		if (this.inFlight.get() >= this.maxInFlight) {
+			stats.shed.incrementAndGet();
+			return;
+		}
+		final Integer liveOrderId = operation == Operation.DELETE ? this.liveOrderIds.pollFirst()
+				: operation == Operation.GET ? this.liveOrderIds.peekLast() : null;
+		final HttpRequest request;
+		final int createdOrderId;
+		switch (operation) {
+			case LIST:
+				createdOrderId = -1;
+				request = HttpRequest.newBuilder(URI.create(this.baseUrl)).GET().build();
+				break;
+			case GET:
+				createdOrderId = -1;
+				request = HttpRequest.newBuilder(URI.create(this.baseUrl + "/"
+						+ (liveOrderId != null ? liveOrderId : 1 + ThreadLocalRandom.current().nextInt(4)))).GET().build();
+				break;
+			case CREATE:
+				createdOrderId = this.nextOrderId.getAndIncrement();
+				request = HttpRequest.newBuilder(URI.create(this.baseUrl))
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString(String.format(
+								"{\"orderId\":%d,\"productId\":%d,\"orderedQuantity\":1}",
+								createdOrderId, 1 + ThreadLocalRandom.current().nextInt(PRODUCT_COUNT))))
+						.build();
+				break;
+			case DELETE:
+				if (liveOrderId == null) {
+					stats.skipped.incrementAndGet();
+					return;
+				}
+				createdOrderId = -1;
+				request = HttpRequest.newBuilder(URI.create(this.baseUrl + "/" + liveOrderId)).DELETE().build();
+				break;
+			default:
+				throw new IllegalStateException("Unknown operation " + operation);
+		}
+
+		this.inFlight.incrementAndGet();
+		this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.whenComplete((response, error) -> {
+					this.inFlight.decrementAndGet();
+					stats.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart));
+					if (error == null && response.statusCode() < 400) {
+						stats.ok.incrementAndGet();
+						if (createdOrderId > 0) {
+							this.liveOrderIds.addLast(createdOrderId);
+						}
+					} else {
+						stats.failed.incrementAndGet();
+						if (operation == Operation.DELETE) {
+							this.liveOrderIds.addLast(liveOrderId);
+						}
+					}
+				});
+	}
+
+	static final class OperationStats {
+		final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(5), 3);
+		final AtomicLong ok = new AtomicLong();
+		final AtomicLong failed = new AtomicLong();
+		final AtomicLong shed = new AtomicLong();
+		final AtomicLong skipped = new AtomicLong();
+	}
+
+	public static final class Report {
+
+		private final Duration targetDuration;
+		private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+		private long elapsedNanos;
+
+		Report(final Duration targetDuration) {
+			this.targetDuration = targetDuration;
+			for (final Operation operation : Operation.values()) {
+				this.stats.put(operation, new OperationStats());
+			}
+		}
+
+		public void print(final PrintStream out) {
+			final double seconds = this.elapsedNanos / 1e9;
+			out.printf("%nOpen-model run: target %ss, elapsed %.1fs%n", this.targetDuration.getSeconds(), seconds);
+			out.printf("%-7s %9s %9s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+					"op", "ok", "failed", "shed", "skipped", "ok/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+			for (final Map.Entry<Operation, OperationStats> entry : this.stats.entrySet()) {
+				final OperationStats s = entry.getValue();
+				final Histogram h = s.latency;
+				out.printf("%-7s %9d %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+						entry.getKey(), s.ok.get(), s.failed.get(), s.shed.get(), s.skipped.get(),
+						s.ok.get() / seconds,
+						h.getValueAtPercentile(50) / 1e3, h.getValueAtPercentile(90) / 1e3,
+						h.getValueAtPercentile(99) / 1e3, h.getValueAtPercentile(99.9) / 1e3,
+						h.getMaxValue() / 1e3);
+			}
+		}
+
+	}
+
+}
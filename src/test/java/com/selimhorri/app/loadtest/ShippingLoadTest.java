@@ -0,0 +1,93 @@
+package com.selimhorri.app.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.selimhorri.app.ShippingServiceApplication;
+
+/**
+ * Self-contained load test: starts stub PRODUCT- and ORDER-SERVICE instances on local
+ * ports, boots the shipping service against them with Eureka, Zipkin and the config
+ * server out of the picture, then drives {@code /api/shippings} with an open-model
+ * workload and prints throughput and latency percentiles. Runs offline once the
+ * Maven dependencies are in the local repository:
+ * <pre>
+ * mvn -Pload-test test-compile exec:exec -Dloadtest.rate=200 -Dloadtest.duration=PT60S
+ * </pre>
+ * Tunables (system properties, defaults in brackets): {@code loadtest.rate} [100 req/s],
+ * {@code loadtest.duration} [PT30S], {@code loadtest.warmup} [PT10S],
+ * {@code loadtest.mix} [list:10,get:60,create:20,delete:10], {@code loadtest.max-in-flight} [2000],
+ * {@code loadtest.product.latency} / {@code loadtest.order.latency} [exponential:10],
+ * {@code loadtest.product.error-rate} / {@code loadtest.order.error-rate} [0.0],
+ * {@code loadtest.payload-bytes} [256].
+ */
+public final class ShippingLoadTest {
+
+	private ShippingLoadTest() {
+	}
+
+	public static void main(final String[] args) throws Exception {
+		final double rate = Double.parseDouble(System.getProperty("loadtest.rate", "100"));
+		final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+		final Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+		final String mix = System.getProperty("loadtest.mix", "list:10,get:60,create:20,delete:10");
+		final int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 2000);
+		final int payloadBytes = Integer.getInteger("loadtest.payload-bytes", 256);
+
+		try (StubDownstreamServer products = new StubDownstreamServer(StubDownstreamServer.Kind.PRODUCT,
+					LatencyDistribution.parse(System.getProperty("loadtest.product.latency", "exponential:10")),
+					Double.parseDouble(System.getProperty("loadtest.product.error-rate", "0.0")), payloadBytes);
+				StubDownstreamServer orders = new StubDownstreamServer(StubDownstreamServer.Kind.ORDER,
+					LatencyDistribution.parse(System.getProperty("loadtest.order.latency", "exponential:10")),
+					Double.parseDouble(System.getProperty("loadtest.order.error-rate", "0.0")), payloadBytes)) {
+
+			// Devtools is on the test classpath; its restarter would fork a second main thread
+			System.setProperty("spring.devtools.restart.enabled", "false");
+			final ConfigurableApplicationContext context = new SpringApplicationBuilder(ShippingServiceApplication.class)
+					.run(
+							"--server.port=0",
+							"--eureka.client.enabled=false",
+							"--spring.zipkin.enabled=false",
+							"--spring.cloud.discovery.client.simple.instances.PRODUCT-SERVICE[0].uri=" + products.uri(),
+							"--spring.cloud.discovery.client.simple.instances.ORDER-SERVICE[0].uri=" + orders.uri(),
+							"--spring.jpa.show-sql=false",
+							"--logging.level.root=WARN",
+							"--logging.level.org.hibernate.SQL=WARN",
+							"--logging.level.org.springframework.web=WARN",
+							"--logging.level.org.springframework.data=WARN",
+							"--logging.level.com.selimhorri.app=WARN");
+			final ExecutorService clientExecutor = Executors.newCachedThreadPool();
+			try {
+				final int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+				final String baseUrl = "http://127.0.0.1:" + port + "/shipping-service/api/shippings";
+				final HttpClient httpClient = HttpClient.newBuilder()
+						.version(HttpClient.Version.HTTP_1_1)
+						.connectTimeout(Duration.ofSeconds(5))
+						.executor(clientExecutor)
+						.build();
+
+				System.out.printf("Shipping service on %s, PRODUCT-SERVICE stub %s, ORDER-SERVICE stub %s%n",
+						baseUrl, products.uri(), orders.uri());
+				final OpenWorkloadGenerator generator =
+						new OpenWorkloadGenerator(httpClient, baseUrl, OpenWorkloadGenerator.parseMix(mix), maxInFlight);
+				if (!warmup.isZero()) {
+					generator.run(Math.max(1.0, rate / 4), warmup);
+				}
+				final OpenWorkloadGenerator.Report report = generator.run(rate, duration);
+				System.out.printf("Offered rate %.1f req/s, mix %s%n", rate, mix);
+				report.print(System.out);
+				System.out.printf("Downstream calls: product=%d (injected errors %d), order=%d (injected errors %d)%n",
+						products.requests(), products.injectedErrors(), orders.requests(), orders.injectedErrors());
+			} finally {
+				clientExecutor.shutdownNow();
+				context.close();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,154 @@
+package com.selimhorri.app.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Stand-in for PRODUCT-SERVICE or ORDER-SERVICE on a local port, answering the
+ * endpoints the shipping service calls with configurable latency, error rate and
+ * payload size. Orders below {@link #SEEDED_ORDER_ID_LIMIT} start ORDERED, any
+ * other order starts CREATED and becomes ORDERED once its status is patched.
+ */
+public final class StubDownstreamServer implements AutoCloseable {
+	
+	public static final int SEEDED_ORDER_ID_LIMIT = 1_000;
+	
+	private static final Pattern PRODUCT_PATH = Pattern.compile("/product-service/api/products/(\\d+)");
+	private static final Pattern ORDER_PATH = Pattern.compile("/order-service/api/orders/(\\d+)(/status)?");
+	
+	public enum Kind { PRODUCT, ORDER }
+	
+	private final Kind kind;
+	private final LatencyDistribution latency;
+	private final double errorRate;
+	private final String padding;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final Map<Integer, String> orderStatuses = new ConcurrentHashMap<>();
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong injectedErrors = new AtomicLong();
+	
+	public StubDownstreamServer(final Kind kind, final LatencyDistribution latency,
+			final double errorRate, final int payloadBytes) throws IOException {
+		this.kind = kind;
+		this.latency = latency;
+		this.errorRate = errorRate;
+		this.padding = "x".repeat(Math.max(0, payloadBytes));
+		this.executor = Executors.newCachedThreadPool(runnable -> {
+			final Thread thread = new Thread(runnable, "stub-" + kind.name().toLowerCase());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+		this.server.createContext("/", this::handle);
+		this.server.setExecutor(this.executor);
+		this.server.start();
+	}
+	
+	public int port() {
+		return this.server.getAddress().getPort();
+	}
+	
+	public String uri() {
+		return "http://127.0.0.1:" + this.port();
+	}
+	
+	public long requests() {
+		return this.requests.get();
+	}
+	
+	public long injectedErrors() {
+		return this.injectedErrors.get();
+	}
+	
+	private void handle(final HttpExchange exchange) throws IOException {
+		try {
+			// Drain the request so the connection can be kept alive for the next call
+			exchange.getRequestBody().readAllBytes();
+			this.requests.incrementAndGet();
+			final long delay = this.latency.nextMillis();
+			if (delay > 0) {
+				Thread.sleep(delay);
+			}
+			if (this.errorRate > 0 && ThreadLocalRandom.current().nextDouble() < this.errorRate) {
+				this.injectedErrors.incrementAndGet();
+				this.respond(exchange, 500, "{\"msg\":\"injected failure\"}");
+				return;
+			}
+			final String path = exchange.getRequestURI().getPath();
+			if (this.kind == Kind.PRODUCT) {
+				this.handleProduct(exchange, path);
+			} else {
+				this.handleOrder(exchange, path);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			exchange.close();
+		}
+	}
+	
+	private void handleProduct(final HttpExchange exchange, final String path) throws IOException {
+		final Matcher matcher = PRODUCT_PATH.matcher(path);
+		if (!matcher.matches() || !"GET".equals(exchange.getRequestMethod())) {
+			this.respond(exchange, 404, "{}");
+			return;
+		}
+		final int productId = Integer.parseInt(matcher.group(1));
+		this.respond(exchange, 200, String.format(
+				"{\"productId\":%d,\"productTitle\":\"Product %d %s\",\"imageUrl\":\"http://img/%d\","
+						+ "\"sku\":\"SKU-%d\",\"priceUnit\":9.99,\"quantity\":%d}",
+				productId, productId, this.padding, productId, productId, Integer.MAX_VALUE / 2));
+	}
+	
+	private void handleOrder(final HttpExchange exchange, final String path) throws IOException {
+		final Matcher matcher = ORDER_PATH.matcher(path);
+		if (!matcher.matches()) {
+			this.respond(exchange, 404, "{}");
+			return;
+		}
+		final int orderId = Integer.parseInt(matcher.group(1));
+		if (matcher.group(2) != null && "PATCH".equals(exchange.getRequestMethod())) {
+			this.orderStatuses.put(orderId, "ORDERED");
+			this.respond(exchange, 200, "");
+			return;
+		}
+		final String status = this.orderStatuses.getOrDefault(orderId,
+				orderId < SEEDED_ORDER_ID_LIMIT ? "ORDERED" : "CREATED");
+		this.respond(exchange, 200, String.format(
+				"{\"orderId\":%d,\"orderDate\":\"01-01-2024__10:00:00:000000\",\"orderDesc\":\"Order %d %s\","
+						+ "\"orderFee\":5.0,\"orderStatus\":\"%s\"}",
+				orderId, orderId, this.padding, status));
+	}
+	
+	private void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+		final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+		if (bytes.length > 0) {
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		}
+	}
+	
+	@Override
+	public void close() {
+		this.server.stop(0);
+		this.executor.shutdownNow();
+	}
+	
+}
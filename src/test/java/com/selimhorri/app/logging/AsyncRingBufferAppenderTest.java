@@ -0,0 +1,93 @@
+package com.selimhorri.app.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+@DisplayName("AsyncRingBufferAppender Tests")
+class AsyncRingBufferAppenderTest {
+
+	private final LoggerContext loggerContext = new LoggerContext();
+	private final Logger logger = loggerContext.getLogger("test");
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final List<ILoggingEvent> written = new CopyOnWriteArrayList<>();
+
+	private AsyncRingBufferAppender asyncAppender;
+
+	@BeforeEach
+	void setUp() {
+		// Downstream appender that stalls until released, standing in for slow console I/O
+		final AppenderBase<ILoggingEvent> slowAppender = new AppenderBase<ILoggingEvent>() {
+			@Override
+			protected void append(final ILoggingEvent event) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				written.add(event);
+			}
+		};
+		slowAppender.setContext(loggerContext);
+		slowAppender.start();
+
+		asyncAppender = new AsyncRingBufferAppender();
+		asyncAppender.setContext(loggerContext);
+		asyncAppender.setName("ASYNC_TEST");
+		asyncAppender.setCapacity(16);
+		asyncAppender.setDiscardingThreshold(4);
+		asyncAppender.addAppender(slowAppender);
+		asyncAppender.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		asyncAppender.stop();
+	}
+
+	@Test
+	@DisplayName("append - Should drop instead of blocking and keep warnings over info when nearly full")
+	void append_ShouldDropByLevel_WhenBufferFills() {
+		// Given
+		final long start = System.nanoTime();
+
+		// When
+		for (int i = 0; i < 100; i++) {
+			asyncAppender.doAppend(event(Level.INFO, "info " + i));
+		}
+		for (int i = 0; i < 3; i++) {
+			asyncAppender.doAppend(event(Level.WARN, "warn " + i));
+		}
+		final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		release.countDown();
+		asyncAppender.stop();
+
+		// Then
+		assertTrue(elapsedMillis < 1_000, "producers must never wait on the stalled appender");
+		assertTrue(asyncAppender.getDiscardedCount() > 0);
+		assertEquals(3, written.stream().filter(e -> e.getLevel() == Level.WARN).count());
+		assertEquals(103, written.size() + asyncAppender.getDiscardedCount() + asyncAppender.getOverflowCount());
+	}
+
+	private LoggingEvent event(final Level level, final String message) {
+		return new LoggingEvent(Logger.class.getName(), logger, level, message, null, null);
+	}
+
+}
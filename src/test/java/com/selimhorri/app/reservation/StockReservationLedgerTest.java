@@ -0,0 +1,209 @@
+package com.selimhorri.app.reservation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.selimhorri.app.domain.ProductReservation;
+import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.repository.ProductReservationRepository;
+import com.selimhorri.app.repository.projection.ProductShippingTotals;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockReservationLedger Tests")
+class StockReservationLedgerTest {
+
+	@Mock
+	private ProductReservationRepository productReservationRepository;
+
+	@Mock
+	private OrderItemRepository orderItemRepository;
+
+	private StockReservationLedger stockReservationLedger;
+
+	@BeforeEach
+	void setUp() {
+		stockReservationLedger = new StockReservationLedger(productReservationRepository, orderItemRepository);
+	}
+
+	@Test
+	@DisplayName("tryReserve - Should never reserve more than the stock under concurrent callers")
+	void tryReserve_ShouldNotOversell_WhenCalledConcurrently() throws InterruptedException {
+		// Given
+		stockReservationLedger.seed(1, 1_000);
+		final int threads = 8;
+		final AtomicInteger granted = new AtomicInteger();
+		final CountDownLatch start = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		// When
+		for (int t = 0; t < threads; t++) {
+			executor.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int i = 0; i < 500; i++) {
+					if (stockReservationLedger.tryReserve(1, 1)) {
+						granted.incrementAndGet();
+					}
+				}
+			});
+		}
+		start.countDown();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		// Then
+		assertEquals(1_000, granted.get());
+		assertEquals(0, stockReservationLedger.available(1));
+	}
+
+	@Test
+	@DisplayName("tryReserve - Should reject non-positive quantities without touching the reservations")
+	void tryReserve_ShouldReject_NonPositiveQuantities() {
+		// Given
+		stockReservationLedger.seed(1, 10);
+		stockReservationLedger.tryReserve(1, 4);
+
+		// When
+		assertThrows(IllegalArgumentException.class, () -> stockReservationLedger.tryReserve(1, 0));
+		assertThrows(IllegalArgumentException.class, () -> stockReservationLedger.tryReserve(1, -3));
+
+		// Then
+		assertEquals(6, stockReservationLedger.available(1));
+	}
+
+	@Test
+	@DisplayName("seed - Should count units already held by existing shippings")
+	void seed_ShouldStartFromExistingReservations() {
+		// Given
+		stockReservationLedger.seed(1, 10, 7);
+
+		// When
+		final boolean tooMany = stockReservationLedger.tryReserve(1, 4);
+		stockReservationLedger.releaseOnCommit(1, 7);
+		stockReservationLedger.seed(1, 50, 0);
+
+		// Then
+		assertFalse(tooMany);
+		assertEquals(10, stockReservationLedger.available(1));
+	}
+
+	@Test
+	@DisplayName("reserveUnchecked - Should count units past the stock so releasing them stays balanced")
+	void reserveUnchecked_ShouldCountUnits_BeyondAvailability() {
+		// Given
+		stockReservationLedger.seed(1, 5);
+		stockReservationLedger.tryReserve(1, 4);
+
+		// When
+		stockReservationLedger.reserveUnchecked(1, 3);
+		stockReservationLedger.releaseOnCommit(1, 3);
+
+		// Then
+		assertEquals(1, stockReservationLedger.available(1));
+	}
+
+	@Test
+	@DisplayName("updateStock - Should keep outstanding reservations when stock is reconciled")
+	void updateStock_ShouldKeepReservations_WhenStockChanges() {
+		// Given
+		stockReservationLedger.seed(1, 10);
+		stockReservationLedger.tryReserve(1, 4);
+
+		// When
+		stockReservationLedger.updateStock(1, 5);
+
+		// Then
+		assertEquals(1, stockReservationLedger.available(1));
+		assertFalse(stockReservationLedger.tryReserve(1, 2));
+	}
+
+	@Test
+	@DisplayName("flush - Should persist stock and reserved units of changed products")
+	@SuppressWarnings("unchecked")
+	void flush_ShouldPersistChangedProducts() {
+		// Given
+		stockReservationLedger.seed(1, 10);
+		stockReservationLedger.tryReserve(1, 3);
+		when(productReservationRepository.findAllById(anyList())).thenReturn(Collections.emptyList());
+
+		// When
+		stockReservationLedger.flush();
+
+		// Then
+		final ArgumentCaptor<List<ProductReservation>> captor = ArgumentCaptor.forClass(List.class);
+		verify(productReservationRepository).saveAll(captor.capture());
+		assertEquals(1, captor.getValue().size());
+		assertEquals(10, captor.getValue().get(0).getStockQuantity());
+		assertEquals(3, captor.getValue().get(0).getReservedQuantity());
+	}
+
+	@Test
+	@DisplayName("load - Should take stock from the stored row but recount reservations from active shippings")
+	@SuppressWarnings("unchecked")
+	void load_ShouldRecountReserved_WhenStoredRowIsStale() {
+		// Given: 4 units were committed after the last flush, then the process died
+		when(productReservationRepository.findAll()).thenReturn(List.of(
+				ProductReservation.builder().productId(1).stockQuantity(10).reservedQuantity(3).build(),
+				ProductReservation.builder().productId(2).stockQuantity(5).reservedQuantity(2).build()));
+		when(orderItemRepository.sumActiveByProductId()).thenReturn(List.of(totals(1, 3, 7), totals(2, 1, 2)));
+		when(productReservationRepository.findAllById(anyList())).thenReturn(Collections.emptyList());
+
+		// When
+		stockReservationLedger.load();
+
+		// Then
+		assertEquals(3, stockReservationLedger.available(1));
+		assertFalse(stockReservationLedger.tryReserve(1, 4));
+		assertEquals(3, stockReservationLedger.available(2));
+
+		// Only the corrected product is written back
+		stockReservationLedger.flush();
+		final ArgumentCaptor<List<ProductReservation>> captor = ArgumentCaptor.forClass(List.class);
+		verify(productReservationRepository).saveAll(captor.capture());
+		assertEquals(1, captor.getValue().size());
+		assertEquals(7, captor.getValue().get(0).getReservedQuantity());
+	}
+
+	private static ProductShippingTotals totals(final int productId, final long count, final long quantity) {
+		return new ProductShippingTotals() {
+			@Override
+			public Integer getProductId() {
+				return productId;
+			}
+			@Override
+			public Long getShippingCount() {
+				return count;
+			}
+			@Override
+			public Long getTotalQuantity() {
+				return quantity;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.selimhorri.app.scheduler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import com.selimhorri.app.client.OrderClient;
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderStatus;
+import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.service.OrderItemService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderStatusReconciliationScheduler Tests")
+class OrderStatusReconciliationSchedulerTest {
+
+	@Mock
+	private OrderItemRepository orderItemRepository;
+
+	@Mock
+	private OrderClient orderClient;
+
+	@Mock
+	private OrderItemService orderItemService;
+
+	@Test
+	@DisplayName("reconcile - Should keep sweeping after an order fails with any runtime error")
+	void reconcile_ShouldContinue_WhenOneOrderFails() {
+		// Given
+		final OrderStatusReconciliationScheduler scheduler = new OrderStatusReconciliationScheduler(
+				this.orderItemRepository, this.orderClient, this.orderItemService, 200);
+		when(this.orderItemRepository.findByIsActiveTrue(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(
+				OrderItem.builder().orderId(1).productId(10).isActive(true).orderStatus(OrderStatus.ORDERED).build(),
+				OrderItem.builder().orderId(2).productId(20).isActive(true).orderStatus(OrderStatus.ORDERED).build())));
+		when(this.orderClient.findById(1))
+				.thenThrow(new IllegalStateException("No instances available for ORDER-SERVICE"));
+		when(this.orderClient.findById(2)).thenReturn(OrderDto.builder().orderId(2).orderStatus("PAID").build());
+
+		// When
+		scheduler.reconcile();
+
+		// Then
+		verify(this.orderItemService).updateOrderStatus(2, OrderStatus.PAID);
+		verify(this.orderItemService, never()).updateOrderStatus(eq(1), any(OrderStatus.class));
+	}
+
+}
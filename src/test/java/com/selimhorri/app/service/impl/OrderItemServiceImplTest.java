@@ -1,6 +1,7 @@
 package com.selimhorri.app.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -18,26 +19,42 @@ import static org.mockito.Mockito.when;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.changefeed.ShippingChangeJournal;
+import com.selimhorri.app.client.OrderClient;
+import com.selimhorri.app.client.ProductClient;
+import com.selimhorri.app.client.cache.NegativeLookupCache;
+import com.selimhorri.app.client.cache.RefreshAheadCache;
+import com.selimhorri.app.client.hedging.HedgedRequestExecutor;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.domain.OrderItemId;
+import com.selimhorri.app.dto.LookupStatus;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.OrderItemFilter;
+import com.selimhorri.app.dto.OrderItemLookupDto;
 import com.selimhorri.app.dto.OrderStatus;
+import com.selimhorri.app.dto.ShippingChangeType;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.event.ShippingChangedEvent;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.repository.ProductReservationRepository;
+import com.selimhorri.app.reservation.StockReservationLedger;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("OrderItemServiceImpl Tests")
@@ -49,7 +66,17 @@ class OrderItemServiceImplTest {
 	@Mock
 	private RestTemplate restTemplate;
 
-	@InjectMocks
+	@Mock
+	private ProductReservationRepository productReservationRepository;
+
+	@Mock
+	private ApplicationEventPublisher applicationEventPublisher;
+
+	@Mock
+	private ShippingChangeJournal shippingChangeJournal;
+
+	private StockReservationLedger stockReservationLedger;
+
 	private OrderItemServiceImpl orderItemService;
 
 	private OrderItem orderItem;
@@ -59,6 +86,18 @@ class OrderItemServiceImplTest {
 
 	@BeforeEach
 	void setUp() {
+		stockReservationLedger = new StockReservationLedger(productReservationRepository, orderItemRepository);
+		orderItemService = new OrderItemServiceImpl(
+				orderItemRepository,
+				new ProductClient(HedgedRequestExecutor.unhedged(restTemplate), new NegativeLookupCache<>("product", 0, 0),
+						new RefreshAheadCache<>("product", 0, 0, 0, Runnable::run, 0)),
+				new OrderClient(restTemplate, HedgedRequestExecutor.unhedged(restTemplate), new NegativeLookupCache<>("order", 0, 0),
+						new RefreshAheadCache<>("order", 0, 0, 0, Runnable::run, 0)),
+				Runnable::run,
+				stockReservationLedger,
+				applicationEventPublisher,
+				shippingChangeJournal);
+
 		// Setup OrderItem
 		orderItem = OrderItem.builder()
 				.orderId(1)
@@ -97,7 +136,7 @@ class OrderItemServiceImplTest {
 	@DisplayName("findAll - Should return empty list when no active order items exist")
 	void findAll_ShouldReturnEmptyList_WhenNoActiveOrderItems() {
 		// Given
-		when(orderItemRepository.findByIsActiveTrue()).thenReturn(Collections.emptyList());
+		when(orderItemRepository.findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED)).thenReturn(Collections.emptyList());
 
 		// When
 		List<OrderItemDto> result = orderItemService.findAll();
@@ -105,7 +144,7 @@ class OrderItemServiceImplTest {
 		// Then
 		assertNotNull(result);
 		assertTrue(result.isEmpty());
-		verify(orderItemRepository).findByIsActiveTrue();
+		verify(orderItemRepository).findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED);
 	}
 
 	@Test
@@ -115,7 +154,7 @@ class OrderItemServiceImplTest {
 		OrderItem item1 = OrderItem.builder().orderId(1).productId(100).orderedQuantity(5).isActive(true).build();
 		OrderItem item2 = OrderItem.builder().orderId(2).productId(200).orderedQuantity(3).isActive(true).build();
 
-		when(orderItemRepository.findByIsActiveTrue()).thenReturn(Arrays.asList(item1, item2));
+		when(orderItemRepository.findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED)).thenReturn(Arrays.asList(item1, item2));
 
 		ProductDto product1 = ProductDto.builder().productId(100).build();
 		ProductDto product2 = ProductDto.builder().productId(200).build();
@@ -141,7 +180,7 @@ class OrderItemServiceImplTest {
 		// Then
 		assertNotNull(result);
 		assertEquals(2, result.size());
-		verify(orderItemRepository).findByIsActiveTrue();
+		verify(orderItemRepository).findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED);
 	}
 
 	@Test
@@ -150,7 +189,7 @@ class OrderItemServiceImplTest {
 		// Given
 		OrderItem item1 = OrderItem.builder().orderId(1).productId(100).orderedQuantity(5).isActive(true).build();
 
-		when(orderItemRepository.findByIsActiveTrue()).thenReturn(Collections.singletonList(item1));
+		when(orderItemRepository.findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED)).thenReturn(Collections.singletonList(item1));
 		when(restTemplate.getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
 				eq(ProductDto.class))).thenReturn(null);
@@ -161,7 +200,7 @@ class OrderItemServiceImplTest {
 		// Then
 		assertNotNull(result);
 		assertTrue(result.isEmpty());
-		verify(orderItemRepository).findByIsActiveTrue();
+		verify(orderItemRepository).findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED);
 	}
 
 	@Test
@@ -170,7 +209,7 @@ class OrderItemServiceImplTest {
 		// Given
 		OrderItem item1 = OrderItem.builder().orderId(1).productId(100).orderedQuantity(5).isActive(true).build();
 
-		when(orderItemRepository.findByIsActiveTrue()).thenReturn(Collections.singletonList(item1));
+		when(orderItemRepository.findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED)).thenReturn(Collections.singletonList(item1));
 		when(restTemplate.getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
 				eq(ProductDto.class))).thenThrow(new RestClientException("Product service unavailable"));
@@ -181,25 +220,70 @@ class OrderItemServiceImplTest {
 		// Then
 		assertNotNull(result);
 		assertTrue(result.isEmpty());
-		verify(orderItemRepository).findByIsActiveTrue();
+		verify(orderItemRepository).findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED);
 	}
 
 	@Test
-	@DisplayName("findAll - Should filter out items when order status is not ORDERED")
-	void findAll_ShouldFilterOutItems_WhenOrderStatusNotOrdered() {
+	@DisplayName("findAll - Should look a failing product up once however many rows reference it")
+	void findAll_ShouldLookUpFailingProductOnce_WhenSeveralRowsReferenceIt() {
 		// Given
 		OrderItem item1 = OrderItem.builder().orderId(1).productId(100).orderedQuantity(5).isActive(true).build();
+		OrderItem item2 = OrderItem.builder().orderId(2).productId(100).orderedQuantity(3).isActive(true).build();
+		OrderItem item3 = OrderItem.builder().orderId(3).productId(100).orderedQuantity(1).isActive(true).build();
+
+		when(orderItemRepository.findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED))
+				.thenReturn(Arrays.asList(item1, item2, item3));
+		when(restTemplate.getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
+				eq(ProductDto.class))).thenThrow(new RestClientException("Product service unavailable"));
+
+		// When
+		List<OrderItemDto> result = orderItemService.findAll();
+
+		// Then
+		assertTrue(result.isEmpty());
+		verify(restTemplate, times(1)).getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
+				eq(ProductDto.class));
+		verify(restTemplate, never()).getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
+				eq(OrderDto.class));
+	}
+
+	@Test
+	@DisplayName("findAll - Should filter by local ORDERED status in the repository instead of remotely")
+	void findAll_ShouldFilterByLocalOrderStatus_WhenListing() {
+		// Given
+		when(orderItemRepository.findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED))
+				.thenReturn(Collections.emptyList());
+
+		// When
+		List<OrderItemDto> result = orderItemService.findAll();
+
+		// Then
+		assertTrue(result.isEmpty());
+		verify(orderItemRepository).findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED);
+		verify(orderItemRepository, never()).findByIsActiveTrue();
+		verify(restTemplate, never()).getForObject(anyString(), any(Class.class));
+	}
+
+	@Test
+	@DisplayName("findAll - Should filter out items when order is not found")
+	void findAll_ShouldFilterOutItems_WhenOrderNotFound() {
+		// Given
+		OrderItem item1 = OrderItem.builder().orderId(1).productId(100).orderedQuantity(5).isActive(true)
+				.orderStatus(OrderStatus.ORDERED).build();
 
 		ProductDto product1 = ProductDto.builder().productId(100).build();
-		OrderDto order1 = OrderDto.builder().orderId(1).orderStatus(OrderStatus.CREATED.name()).build();
 
-		when(orderItemRepository.findByIsActiveTrue()).thenReturn(Collections.singletonList(item1));
+		when(orderItemRepository.findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED))
+				.thenReturn(Collections.singletonList(item1));
 		when(restTemplate.getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
 				eq(ProductDto.class))).thenReturn(product1);
 		when(restTemplate.getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
-				eq(OrderDto.class))).thenReturn(order1);
+				eq(OrderDto.class))).thenReturn(null);
 
 		// When
 		List<OrderItemDto> result = orderItemService.findAll();
@@ -207,7 +291,34 @@ class OrderItemServiceImplTest {
 		// Then
 		assertNotNull(result);
 		assertTrue(result.isEmpty());
-		verify(orderItemRepository).findByIsActiveTrue();
+		verify(orderItemRepository).findByIsActiveTrueAndOrderStatus(OrderStatus.ORDERED);
+	}
+
+	@Test
+	@DisplayName("findAll with filter - Should query by specification instead of listing everything")
+	@SuppressWarnings("unchecked")
+	void findAllWithFilter_ShouldUseSpecification_WhenCriteriaGiven() {
+		// Given
+		OrderItemFilter filter = OrderItemFilter.builder().productId(100).minQuantity(2).build();
+		when(orderItemRepository.findAll(any(Specification.class))).thenReturn(Collections.emptyList());
+
+		// When
+		List<OrderItemDto> result = orderItemService.findAll(filter);
+
+		// Then
+		assertTrue(result.isEmpty());
+		verify(orderItemRepository).findAll(any(Specification.class));
+		verify(orderItemRepository, never()).findByIsActiveTrueAndOrderStatus(any());
+	}
+
+	@Test
+	@DisplayName("findAll with filter - Should reject an inverted quantity range")
+	void findAllWithFilter_ShouldThrowException_WhenQuantityRangeInverted() {
+		// Given
+		OrderItemFilter filter = OrderItemFilter.builder().minQuantity(5).maxQuantity(2).build();
+
+		// When & Then
+		assertThrows(IllegalArgumentException.class, () -> orderItemService.findAll(filter));
 	}
 
 	// ========== findById() Tests ==========
@@ -216,7 +327,7 @@ class OrderItemServiceImplTest {
 	@DisplayName("findById - Should return OrderItemDto when order item exists and is active")
 	void findById_ShouldReturnOrderItemDto_WhenOrderItemExistsAndActive() {
 		// Given
-		when(orderItemRepository.findById(1)).thenReturn(Optional.of(orderItem));
+		when(orderItemRepository.findById(new OrderItemId(1, 100))).thenReturn(Optional.of(orderItem));
 		when(restTemplate.getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
 				eq(ProductDto.class))).thenReturn(productDto);
@@ -225,14 +336,14 @@ class OrderItemServiceImplTest {
 				eq(OrderDto.class))).thenReturn(orderDto);
 
 		// When
-		OrderItemDto result = orderItemService.findById(1);
+		OrderItemDto result = orderItemService.findById(new OrderItemId(1, 100));
 
 		// Then
 		assertNotNull(result);
 		assertEquals(1, result.getOrderId());
 		assertEquals(100, result.getProductId());
 		assertEquals(5, result.getOrderedQuantity());
-		verify(orderItemRepository).findById(1);
+		verify(orderItemRepository).findById(new OrderItemId(1, 100));
 		verify(restTemplate).getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
 				eq(ProductDto.class));
@@ -245,11 +356,11 @@ class OrderItemServiceImplTest {
 	@DisplayName("findById - Should throw OrderItemNotFoundException when order item not found")
 	void findById_ShouldThrowException_WhenOrderItemNotFound() {
 		// Given
-		when(orderItemRepository.findById(999)).thenReturn(Optional.empty());
+		when(orderItemRepository.findById(new OrderItemId(999, 100))).thenReturn(Optional.empty());
 
 		// When & Then
-		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.findById(999));
-		verify(orderItemRepository).findById(999);
+		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.findById(new OrderItemId(999, 100)));
+		verify(orderItemRepository).findById(new OrderItemId(999, 100));
 		verify(restTemplate, never()).getForObject(anyString(), any(Class.class));
 	}
 
@@ -263,11 +374,11 @@ class OrderItemServiceImplTest {
 				.orderedQuantity(5)
 				.isActive(false)
 				.build();
-		when(orderItemRepository.findById(1)).thenReturn(Optional.of(inactiveItem));
+		when(orderItemRepository.findById(new OrderItemId(1, 100))).thenReturn(Optional.of(inactiveItem));
 
 		// When & Then
-		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.findById(1));
-		verify(orderItemRepository).findById(1);
+		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.findById(new OrderItemId(1, 100)));
+		verify(orderItemRepository).findById(new OrderItemId(1, 100));
 		verify(restTemplate, never()).getForObject(anyString(), any(Class.class));
 	}
 
@@ -275,14 +386,14 @@ class OrderItemServiceImplTest {
 	@DisplayName("findById - Should throw OrderItemNotFoundException when product fetch fails")
 	void findById_ShouldThrowException_WhenProductFetchFails() {
 		// Given
-		when(orderItemRepository.findById(1)).thenReturn(Optional.of(orderItem));
+		when(orderItemRepository.findById(new OrderItemId(1, 100))).thenReturn(Optional.of(orderItem));
 		when(restTemplate.getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
 				eq(ProductDto.class))).thenThrow(new RestClientException("Product service unavailable"));
 
 		// When & Then
-		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.findById(1));
-		verify(orderItemRepository).findById(1);
+		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.findById(new OrderItemId(1, 100)));
+		verify(orderItemRepository).findById(new OrderItemId(1, 100));
 		verify(restTemplate).getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
 				eq(ProductDto.class));
@@ -297,7 +408,7 @@ class OrderItemServiceImplTest {
 				.orderStatus(OrderStatus.CREATED.name())
 				.build();
 
-		when(orderItemRepository.findById(1)).thenReturn(Optional.of(orderItem));
+		when(orderItemRepository.findById(new OrderItemId(1, 100))).thenReturn(Optional.of(orderItem));
 		when(restTemplate.getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
 				eq(ProductDto.class))).thenReturn(productDto);
@@ -306,8 +417,8 @@ class OrderItemServiceImplTest {
 				eq(OrderDto.class))).thenReturn(createdOrder);
 
 		// When & Then
-		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.findById(1));
-		verify(orderItemRepository).findById(1);
+		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.findById(new OrderItemId(1, 100)));
+		verify(orderItemRepository).findById(new OrderItemId(1, 100));
 		verify(restTemplate).getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
 				eq(ProductDto.class));
@@ -320,7 +431,7 @@ class OrderItemServiceImplTest {
 	@DisplayName("findById - Should throw OrderItemNotFoundException when order is null")
 	void findById_ShouldThrowException_WhenOrderIsNull() {
 		// Given
-		when(orderItemRepository.findById(1)).thenReturn(Optional.of(orderItem));
+		when(orderItemRepository.findById(new OrderItemId(1, 100))).thenReturn(Optional.of(orderItem));
 		when(restTemplate.getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
 				eq(ProductDto.class))).thenReturn(productDto);
@@ -329,15 +440,15 @@ class OrderItemServiceImplTest {
 				eq(OrderDto.class))).thenReturn(null);
 
 		// When & Then
-		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.findById(1));
-		verify(orderItemRepository).findById(1);
+		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.findById(new OrderItemId(1, 100)));
+		verify(orderItemRepository).findById(new OrderItemId(1, 100));
 	}
 
 	@Test
 	@DisplayName("findById - Should throw OrderItemNotFoundException when order fetch fails")
 	void findById_ShouldThrowException_WhenOrderFetchFails() {
 		// Given
-		when(orderItemRepository.findById(1)).thenReturn(Optional.of(orderItem));
+		when(orderItemRepository.findById(new OrderItemId(1, 100))).thenReturn(Optional.of(orderItem));
 		when(restTemplate.getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
 				eq(ProductDto.class))).thenReturn(productDto);
@@ -346,8 +457,102 @@ class OrderItemServiceImplTest {
 				eq(OrderDto.class))).thenThrow(new RestClientException("Order service unavailable"));
 
 		// When & Then
-		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.findById(1));
-		verify(orderItemRepository).findById(1);
+		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.findById(new OrderItemId(1, 100)));
+		verify(orderItemRepository).findById(new OrderItemId(1, 100));
+	}
+
+	// ========== findAllByOrderIds() Tests ==========
+
+	@Test
+	@DisplayName("findAllByOrderIds - Should key results by order id with per-id markers")
+	void findAllByOrderIds_ShouldReturnPerIdResults_WhenSomeIdsAreMissingOrFailing() {
+		// Given
+		OrderItem item1 = OrderItem.builder().orderId(1).productId(100).orderedQuantity(5).isActive(true).build();
+		OrderItem item2 = OrderItem.builder().orderId(2).productId(100).orderedQuantity(3).isActive(true).build();
+
+		when(orderItemRepository.findByOrderIdInAndIsActiveTrue(any()))
+				.thenReturn(Arrays.asList(item1, item2));
+		when(restTemplate.getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
+				eq(ProductDto.class))).thenReturn(productDto);
+		when(restTemplate.getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
+				eq(OrderDto.class))).thenReturn(orderDto);
+		when(restTemplate.getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/2"),
+				eq(OrderDto.class))).thenThrow(new RestClientException("Order service unavailable"));
+
+		// When
+		Map<Integer, OrderItemLookupDto> result = orderItemService.findAllByOrderIds(Arrays.asList(1, 2, 3, 1));
+
+		// Then
+		assertEquals(Arrays.asList(1, 2, 3), List.copyOf(result.keySet()));
+		assertEquals(LookupStatus.FOUND, result.get(1).getStatus());
+		assertEquals(productDto, result.get(1).getOrderItemDtos().get(0).getProductDto());
+		assertEquals(LookupStatus.ERROR, result.get(2).getStatus());
+		assertEquals(LookupStatus.NOT_FOUND, result.get(3).getStatus());
+		verify(orderItemRepository).findByOrderIdInAndIsActiveTrue(any());
+		verify(restTemplate, times(1)).getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
+				eq(ProductDto.class));
+	}
+
+	@Test
+	@DisplayName("findAllByOrderIds - Should mark shipping as not found when order status is not ORDERED")
+	void findAllByOrderIds_ShouldReturnNotFound_WhenOrderStatusNotOrdered() {
+		// Given
+		OrderDto createdOrder = OrderDto.builder().orderId(1).orderStatus(OrderStatus.CREATED.name()).build();
+
+		when(orderItemRepository.findByOrderIdInAndIsActiveTrue(any()))
+				.thenReturn(Collections.singletonList(orderItem));
+		when(restTemplate.getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
+				eq(ProductDto.class))).thenReturn(productDto);
+		when(restTemplate.getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
+				eq(OrderDto.class))).thenReturn(createdOrder);
+
+		// When
+		Map<Integer, OrderItemLookupDto> result = orderItemService.findAllByOrderIds(Collections.singletonList(1));
+
+		// Then
+		assertEquals(LookupStatus.NOT_FOUND, result.get(1).getStatus());
+	}
+
+	// ========== findByOrderId() Tests ==========
+
+	@Test
+	@DisplayName("findByOrderId - Should return every item of the order with one lookup per distinct product")
+	void findByOrderId_ShouldReturnAllItemsOfOrder() {
+		// Given
+		OrderItem item1 = OrderItem.builder().orderId(1).productId(200).orderedQuantity(2).isActive(true).build();
+		OrderItem item2 = OrderItem.builder().orderId(1).productId(100).orderedQuantity(5).isActive(true).build();
+		ProductDto otherProduct = ProductDto.builder().productId(200).productTitle("Other Product").build();
+
+		when(orderItemRepository.findByOrderIdInAndIsActiveTrue(any()))
+				.thenReturn(Arrays.asList(item1, item2));
+		when(restTemplate.getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
+				eq(ProductDto.class))).thenReturn(productDto);
+		when(restTemplate.getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/200"),
+				eq(ProductDto.class))).thenReturn(otherProduct);
+		when(restTemplate.getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
+				eq(OrderDto.class))).thenReturn(orderDto);
+
+		// When
+		List<OrderItemDto> result = orderItemService.findByOrderId(1);
+
+		// Then
+		assertEquals(2, result.size());
+		assertEquals(productDto, result.get(0).getProductDto());
+		assertEquals(otherProduct, result.get(1).getProductDto());
+		assertEquals(orderDto, result.get(1).getOrderDto());
+		verify(orderItemRepository).findByOrderIdInAndIsActiveTrue(any());
+		verify(restTemplate, times(1)).getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
+				eq(OrderDto.class));
 	}
 
 	// ========== save() Tests ==========
@@ -377,6 +582,7 @@ class OrderItemServiceImplTest {
 				.productId(100)
 				.orderedQuantity(5)
 				.isActive(true)
+				.orderStatus(OrderStatus.CREATED)
 				.build();
 
 		when(restTemplate.getForObject(
@@ -407,6 +613,120 @@ class OrderItemServiceImplTest {
 				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1/status"),
 				isNull(),
 				eq(Void.class));
+		assertEquals(OrderStatus.ORDERED, savedItem.getOrderStatus());
+		verify(applicationEventPublisher).publishEvent(any(ShippingChangedEvent.class));
+	}
+
+	@Test
+	@DisplayName("save - Should add a further product to an order it already moved to ORDERED")
+	void save_ShouldAddProductToOrderedOrder_WhenOrderAlreadyHasItems() {
+		// Given
+		OrderItemDto inputDto = OrderItemDto.builder()
+				.orderId(1)
+				.productId(200)
+				.orderedQuantity(2)
+				.build();
+		OrderItem savedItem = OrderItem.builder()
+				.orderId(1)
+				.productId(200)
+				.orderedQuantity(2)
+				.isActive(true)
+				.orderStatus(OrderStatus.CREATED)
+				.build();
+
+		stockReservationLedger.seed(200, 10);
+		when(restTemplate.getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
+				eq(OrderDto.class))).thenReturn(orderDto);
+		when(orderItemRepository.existsByOrderIdAndIsActiveTrue(1)).thenReturn(true);
+		when(orderItemRepository.save(any(OrderItem.class))).thenReturn(savedItem);
+
+		// When
+		orderItemService.save(inputDto);
+
+		// Then
+		verify(orderItemRepository).findById(new OrderItemId(1, 200));
+		verify(restTemplate, never()).patchForObject(anyString(), any(), any(Class.class));
+		assertEquals(OrderStatus.ORDERED, savedItem.getOrderStatus());
+		assertEquals(8, stockReservationLedger.available(200));
+	}
+
+	@Test
+	@DisplayName("save - Should throw IllegalArgumentException when the order already ships this product")
+	void save_ShouldThrowException_WhenShippingAlreadyExists() {
+		// Given
+		OrderItemDto inputDto = OrderItemDto.builder()
+				.orderId(1)
+				.productId(100)
+				.orderedQuantity(2)
+				.build();
+
+		stockReservationLedger.seed(100, 10);
+		when(orderItemRepository.findById(new OrderItemId(1, 100))).thenReturn(Optional.of(orderItem));
+
+		// When & Then
+		assertThrows(IllegalArgumentException.class, () -> orderItemService.save(inputDto));
+		verify(restTemplate, never()).getForObject(anyString(), any(Class.class));
+		verify(orderItemRepository, never()).save(any(OrderItem.class));
+		assertEquals(10, stockReservationLedger.available(100));
+	}
+
+	@Test
+	@DisplayName("save - Should reserve from the ledger without calling PRODUCT-SERVICE when product is tracked")
+	void save_ShouldSkipProductLookup_WhenProductAlreadyTracked() {
+		// Given
+		OrderItemDto inputDto = OrderItemDto.builder()
+				.orderId(1)
+				.productId(100)
+				.orderedQuantity(5)
+				.build();
+
+		OrderDto createdOrder = OrderDto.builder()
+				.orderId(1)
+				.orderStatus(OrderStatus.CREATED.name())
+				.build();
+
+		stockReservationLedger.seed(100, 10);
+		when(restTemplate.getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
+				eq(OrderDto.class))).thenReturn(createdOrder);
+		when(orderItemRepository.save(any(OrderItem.class))).thenReturn(orderItem);
+
+		// When
+		orderItemService.save(inputDto);
+
+		// Then
+		assertEquals(5, stockReservationLedger.available(100));
+		verify(restTemplate, never()).getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/100"),
+				eq(ProductDto.class));
+	}
+
+	@Test
+	@DisplayName("save - Should throw IllegalArgumentException when earlier reservations exhausted the stock")
+	void save_ShouldThrowException_WhenStockAlreadyReserved() {
+		// Given
+		OrderItemDto inputDto = OrderItemDto.builder()
+				.orderId(1)
+				.productId(100)
+				.orderedQuantity(5)
+				.build();
+
+		OrderDto createdOrder = OrderDto.builder()
+				.orderId(1)
+				.orderStatus(OrderStatus.CREATED.name())
+				.build();
+
+		stockReservationLedger.seed(100, 10);
+		stockReservationLedger.tryReserve(100, 8);
+		when(restTemplate.getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
+				eq(OrderDto.class))).thenReturn(createdOrder);
+
+		// When & Then
+		assertThrows(IllegalArgumentException.class, () -> orderItemService.save(inputDto));
+		assertEquals(2, stockReservationLedger.available(100));
+		verify(orderItemRepository, never()).save(any(OrderItem.class));
 	}
 
 	@Test
@@ -654,6 +974,7 @@ class OrderItemServiceImplTest {
 				.productId(100)
 				.orderedQuantity(5)
 				.isActive(true)
+				.orderStatus(OrderStatus.CREATED)
 				.build();
 
 		when(restTemplate.getForObject(
@@ -671,6 +992,7 @@ class OrderItemServiceImplTest {
 
 		// Then
 		assertNotNull(result);
+		assertEquals(OrderStatus.CREATED, savedItem.getOrderStatus());
 		verify(orderItemRepository).save(any(OrderItem.class));
 		verify(restTemplate).patchForObject(
 				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1/status"),
@@ -681,8 +1003,46 @@ class OrderItemServiceImplTest {
 	// ========== deleteById() Tests ==========
 
 	@Test
-	@DisplayName("deleteById - Should soft delete order item when all validations pass")
-	void deleteById_ShouldSoftDeleteOrderItem_WhenAllValidationsPass() {
+	@DisplayName("deleteById - Should soft delete only the addressed item and release its units")
+	void deleteById_ShouldSoftDeleteItem_WhenAllValidationsPass() {
+		// Given
+		stockReservationLedger.seed(100, 10);
+		stockReservationLedger.tryReserve(100, 5);
+		when(orderItemRepository.findById(new OrderItemId(1, 100))).thenReturn(Optional.of(orderItem));
+		when(restTemplate.getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
+				eq(OrderDto.class))).thenReturn(orderDto);
+
+		// When
+		orderItemService.deleteById(new OrderItemId(1, 100));
+
+		// Then
+		verify(orderItemRepository).save(orderItem);
+		verify(orderItemRepository, never()).findByOrderIdAndIsActiveTrueOrderByProductId(anyInt());
+		verify(applicationEventPublisher).publishEvent(any(ShippingChangedEvent.class));
+		verify(shippingChangeJournal).record(ShippingChangeType.DEACTIVATED, 1, 100);
+		assertFalse(orderItem.isActive());
+		assertEquals(10, stockReservationLedger.available(100));
+	}
+
+	@Test
+	@DisplayName("deleteById - Should throw OrderItemNotFoundException when the item is already inactive")
+	void deleteById_ShouldThrowException_WhenOrderItemInactive() {
+		// Given
+		orderItem.setActive(false);
+		when(orderItemRepository.findById(new OrderItemId(1, 100))).thenReturn(Optional.of(orderItem));
+
+		// When & Then
+		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.deleteById(new OrderItemId(1, 100)));
+		verify(restTemplate, never()).getForObject(anyString(), any(Class.class));
+		verify(orderItemRepository, never()).save(any(OrderItem.class));
+	}
+
+	// ========== deleteByOrderId() Tests ==========
+
+	@Test
+	@DisplayName("deleteByOrderId - Should soft delete order item when all validations pass")
+	void deleteByOrderId_ShouldSoftDeleteOrderItem_WhenAllValidationsPass() {
 		// Given
 		OrderItem itemToDelete = OrderItem.builder()
 				.orderId(1)
@@ -696,39 +1056,63 @@ class OrderItemServiceImplTest {
 				.orderStatus(OrderStatus.ORDERED.name())
 				.build();
 
-		when(orderItemRepository.findByOrderIdAndIsActiveTrue(1)).thenReturn(Optional.of(itemToDelete));
+		when(orderItemRepository.findByOrderIdAndIsActiveTrueOrderByProductId(1)).thenReturn(List.of(itemToDelete));
 		when(restTemplate.getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
 				eq(OrderDto.class))).thenReturn(orderedOrder);
 		when(orderItemRepository.save(any(OrderItem.class))).thenReturn(itemToDelete);
 
 		// When
-		orderItemService.deleteById(1);
+		orderItemService.deleteByOrderId(1);
 
 		// Then
-		verify(orderItemRepository).findByOrderIdAndIsActiveTrue(1);
+		verify(orderItemRepository).findByOrderIdAndIsActiveTrueOrderByProductId(1);
 		verify(restTemplate).getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
 				eq(OrderDto.class));
 		verify(orderItemRepository).save(any(OrderItem.class));
+		verify(applicationEventPublisher).publishEvent(any(ShippingChangedEvent.class));
 	}
 
 	@Test
-	@DisplayName("deleteById - Should throw OrderItemNotFoundException when order item not found")
-	void deleteById_ShouldThrowException_WhenOrderItemNotFound() {
+	@DisplayName("deleteByOrderId - Should release the reserved units when order item is deactivated")
+	void deleteByOrderId_ShouldReleaseReservation_WhenOrderItemDeactivated() {
 		// Given
-		when(orderItemRepository.findByOrderIdAndIsActiveTrue(999)).thenReturn(Optional.empty());
+		OrderDto orderedOrder = OrderDto.builder()
+				.orderId(1)
+				.orderStatus(OrderStatus.ORDERED.name())
+				.build();
+
+		stockReservationLedger.seed(100, 10);
+		stockReservationLedger.tryReserve(100, 5);
+		when(orderItemRepository.findByOrderIdAndIsActiveTrueOrderByProductId(1)).thenReturn(List.of(orderItem));
+		when(restTemplate.getForObject(
+				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
+				eq(OrderDto.class))).thenReturn(orderedOrder);
+
+		// When
+		orderItemService.deleteByOrderId(1);
+
+		// Then
+		assertEquals(10, stockReservationLedger.available(100));
+	}
+
+	@Test
+	@DisplayName("deleteByOrderId - Should throw OrderItemNotFoundException when order item not found")
+	void deleteByOrderId_ShouldThrowException_WhenOrderItemNotFound() {
+		// Given
+		when(orderItemRepository.findByOrderIdAndIsActiveTrueOrderByProductId(999)).thenReturn(Collections.emptyList());
 
 		// When & Then
-		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.deleteById(999));
-		verify(orderItemRepository).findByOrderIdAndIsActiveTrue(999);
+		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.deleteByOrderId(999));
+		verify(orderItemRepository).findByOrderIdAndIsActiveTrueOrderByProductId(999);
 		verify(restTemplate, never()).getForObject(anyString(), any(Class.class));
 		verify(orderItemRepository, never()).save(any(OrderItem.class));
 	}
 
 	@Test
-	@DisplayName("deleteById - Should throw OrderItemNotFoundException when order not found")
-	void deleteById_ShouldThrowException_WhenOrderNotFound() {
+	@DisplayName("deleteByOrderId - Should throw OrderItemNotFoundException when order not found")
+	void deleteByOrderId_ShouldThrowException_WhenOrderNotFound() {
 		// Given
 		OrderItem itemToDelete = OrderItem.builder()
 				.orderId(1)
@@ -737,14 +1121,14 @@ class OrderItemServiceImplTest {
 				.isActive(true)
 				.build();
 
-		when(orderItemRepository.findByOrderIdAndIsActiveTrue(1)).thenReturn(Optional.of(itemToDelete));
+		when(orderItemRepository.findByOrderIdAndIsActiveTrueOrderByProductId(1)).thenReturn(List.of(itemToDelete));
 		when(restTemplate.getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
 				eq(OrderDto.class))).thenReturn(null);
 
 		// When & Then
-		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.deleteById(1));
-		verify(orderItemRepository).findByOrderIdAndIsActiveTrue(1);
+		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.deleteByOrderId(1));
+		verify(orderItemRepository).findByOrderIdAndIsActiveTrueOrderByProductId(1);
 		verify(restTemplate).getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
 				eq(OrderDto.class));
@@ -752,8 +1136,8 @@ class OrderItemServiceImplTest {
 	}
 
 	@Test
-	@DisplayName("deleteById - Should throw IllegalStateException when order status is not ORDERED")
-	void deleteById_ShouldThrowException_WhenOrderStatusNotOrdered() {
+	@DisplayName("deleteByOrderId - Should throw IllegalStateException when order status is not ORDERED")
+	void deleteByOrderId_ShouldThrowException_WhenOrderStatusNotOrdered() {
 		// Given
 		OrderItem itemToDelete = OrderItem.builder()
 				.orderId(1)
@@ -767,14 +1151,14 @@ class OrderItemServiceImplTest {
 				.orderStatus(OrderStatus.CREATED.name())
 				.build();
 
-		when(orderItemRepository.findByOrderIdAndIsActiveTrue(1)).thenReturn(Optional.of(itemToDelete));
+		when(orderItemRepository.findByOrderIdAndIsActiveTrueOrderByProductId(1)).thenReturn(List.of(itemToDelete));
 		when(restTemplate.getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
 				eq(OrderDto.class))).thenReturn(createdOrder);
 
 		// When & Then
-		assertThrows(IllegalStateException.class, () -> orderItemService.deleteById(1));
-		verify(orderItemRepository).findByOrderIdAndIsActiveTrue(1);
+		assertThrows(IllegalStateException.class, () -> orderItemService.deleteByOrderId(1));
+		verify(orderItemRepository).findByOrderIdAndIsActiveTrueOrderByProductId(1);
 		verify(restTemplate).getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
 				eq(OrderDto.class));
@@ -782,8 +1166,8 @@ class OrderItemServiceImplTest {
 	}
 
 	@Test
-	@DisplayName("deleteById - Should throw OrderItemNotFoundException when order fetch fails")
-	void deleteById_ShouldThrowException_WhenOrderFetchFails() {
+	@DisplayName("deleteByOrderId - Should throw OrderItemNotFoundException when order fetch fails")
+	void deleteByOrderId_ShouldThrowException_WhenOrderFetchFails() {
 		// Given
 		OrderItem itemToDelete = OrderItem.builder()
 				.orderId(1)
@@ -792,19 +1176,47 @@ class OrderItemServiceImplTest {
 				.isActive(true)
 				.build();
 
-		when(orderItemRepository.findByOrderIdAndIsActiveTrue(1)).thenReturn(Optional.of(itemToDelete));
+		when(orderItemRepository.findByOrderIdAndIsActiveTrueOrderByProductId(1)).thenReturn(List.of(itemToDelete));
 		when(restTemplate.getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
 				eq(OrderDto.class))).thenThrow(new RestClientException("Order service unavailable"));
 
 		// When & Then
-		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.deleteById(1));
-		verify(orderItemRepository).findByOrderIdAndIsActiveTrue(1);
+		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.deleteByOrderId(1));
+		verify(orderItemRepository).findByOrderIdAndIsActiveTrueOrderByProductId(1);
 		verify(restTemplate).getForObject(
 				eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/1"),
 				eq(OrderDto.class));
 		verify(orderItemRepository, never()).save(any(OrderItem.class));
 	}
 
-}
+	// ========== updateOrderStatus() Tests ==========
+
+	@Test
+	@DisplayName("updateOrderStatus - Should update the local order status when order item exists")
+	void updateOrderStatus_ShouldUpdateLocalStatus_WhenOrderItemExists() {
+		// Given
+		when(orderItemRepository.updateOrderStatus(1, OrderStatus.PAID)).thenReturn(1);
+
+		// When
+		orderItemService.updateOrderStatus(1, OrderStatus.PAID);
+
+		// Then
+		verify(orderItemRepository).updateOrderStatus(1, OrderStatus.PAID);
+		verify(restTemplate, never()).getForObject(anyString(), any(Class.class));
+		verify(shippingChangeJournal).recordOrder(ShippingChangeType.UPDATED, 1);
+	}
 
+	@Test
+	@DisplayName("updateOrderStatus - Should throw OrderItemNotFoundException when order item not found")
+	void updateOrderStatus_ShouldThrowException_WhenOrderItemNotFound() {
+		// Given
+		when(orderItemRepository.updateOrderStatus(999, OrderStatus.PAID)).thenReturn(0);
+
+		// When & Then
+		assertThrows(OrderItemNotFoundException.class, () -> orderItemService.updateOrderStatus(999, OrderStatus.PAID));
+		verify(orderItemRepository).updateOrderStatus(999, OrderStatus.PAID);
+		verify(shippingChangeJournal, never()).recordOrder(any(), anyInt());
+	}
+
+}
@@ -0,0 +1,142 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.selimhorri.app.changefeed.ShippingChangeJournal;
+import com.selimhorri.app.domain.OrderItemId;
+import com.selimhorri.app.dto.ShippingChangeType;
+import com.selimhorri.app.dto.ShippingCsvImportResultDto;
+import com.selimhorri.app.event.ShippingChangedEvent;
+import com.selimhorri.app.reservation.StockReservationLedger;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShippingCsvServiceImpl Tests")
+class ShippingCsvServiceImplTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Mock
+	private ApplicationEventPublisher applicationEventPublisher;
+
+	@Mock
+	private ShippingChangeJournal shippingChangeJournal;
+
+	@Mock
+	private StockReservationLedger stockReservationLedger;
+
+	private ShippingCsvServiceImpl shippingCsvService;
+
+	@BeforeEach
+	void setUp() {
+		shippingCsvService = new ShippingCsvServiceImpl(jdbcTemplate, namedParameterJdbcTemplate, transactionManager,
+				applicationEventPublisher, shippingChangeJournal, stockReservationLedger, 2, 1000, 1000);
+	}
+
+	@Test
+	@DisplayName("importCsv - Should write chunks, reject duplicates and journal, publish and reserve new rows")
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	void importCsv_ShouldImportChunks_AndRejectDuplicates() throws IOException {
+		// Given
+		final String csv = "order_id,product_id,ordered_quantity,order_status,is_active\n"
+				+ "1,10,2,ORDERED,true\n"
+				+ "1,11,3,ORDERED,false\n"
+				+ "2,10,4,ORDERED,true\n"
+				+ "3,12,5,ORDERED,true\n";
+		when(namedParameterJdbcTemplate.query(anyString(), anyMap(), any(RowMapper.class)))
+				.thenReturn(Collections.emptyList(), List.of(new OrderItemId(2, 10)));
+
+		// When
+		final ShippingCsvImportResultDto result = shippingCsvService.importCsv(
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		// Then
+		assertTrue(result.isCompleted());
+		assertEquals(4, result.getRowsRead());
+		assertEquals(3, result.getRowsImported());
+		assertEquals(1, result.getRowsRejected());
+		assertEquals(4, result.getErrors().get(0).getLine());
+
+		final ArgumentCaptor<Collection> chunks = ArgumentCaptor.forClass(Collection.class);
+		verify(jdbcTemplate, times(2)).batchUpdate(anyString(), chunks.capture(), anyInt(),
+				any(ParameterizedPreparedStatementSetter.class));
+		assertEquals(2, chunks.getAllValues().get(0).size());
+		assertEquals(1, chunks.getAllValues().get(1).size());
+
+		verify(shippingChangeJournal).record(ShippingChangeType.CREATED, 1, 10);
+		verify(shippingChangeJournal).record(ShippingChangeType.CREATED, 3, 12);
+		verify(shippingChangeJournal, never()).record(any(ShippingChangeType.class), eq(2), eq(10));
+
+		// An inactive row reaches the feed as deactivated, never as a live shipping
+		verify(shippingChangeJournal).record(ShippingChangeType.DEACTIVATED, 1, 11);
+		verify(shippingChangeJournal, never()).record(ShippingChangeType.CREATED, 1, 11);
+
+		// Only active rows reach the stats, index and ledger
+		verify(applicationEventPublisher, times(2)).publishEvent(any(ShippingChangedEvent.class));
+		verify(stockReservationLedger).reserveUnchecked(10, 2);
+		verify(stockReservationLedger).reserveUnchecked(12, 5);
+		verify(stockReservationLedger, never()).reserveUnchecked(eq(11), anyInt());
+		verify(stockReservationLedger, never()).reserveUnchecked(10, 4);
+	}
+
+	@Test
+	@DisplayName("importCsv - Should report malformed rows and keep importing the rest")
+	@SuppressWarnings("unchecked")
+	void importCsv_ShouldRejectInvalidRows_AndContinue() throws IOException {
+		// Given
+		final String csv = "order_id,product_id,ordered_quantity\n"
+				+ "1,10,0\n"
+				+ "2,20,1\n";
+		when(namedParameterJdbcTemplate.query(anyString(), anyMap(), any(RowMapper.class)))
+				.thenReturn(Collections.emptyList());
+
+		// When
+		final ShippingCsvImportResultDto result = shippingCsvService.importCsv(
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		// Then
+		assertEquals(1, result.getRowsImported());
+		assertEquals(1, result.getRowsRejected());
+		assertEquals(2, result.getErrors().get(0).getLine());
+		verify(shippingChangeJournal).record(ShippingChangeType.CREATED, 2, 20);
+		verify(stockReservationLedger).reserveUnchecked(20, 1);
+	}
+
+}
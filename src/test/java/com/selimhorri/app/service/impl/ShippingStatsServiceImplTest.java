@@ -0,0 +1,104 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.ShippingStatsDto;
+import com.selimhorri.app.event.ShippingChangedEvent;
+import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.repository.projection.ProductShippingTotals;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShippingStatsServiceImpl Tests")
+class ShippingStatsServiceImplTest {
+
+	@Mock
+	private OrderItemRepository orderItemRepository;
+
+	private ShippingStatsServiceImpl shippingStatsService;
+
+	@BeforeEach
+	void setUp() {
+		shippingStatsService = new ShippingStatsServiceImpl(orderItemRepository);
+	}
+
+	@Test
+	@DisplayName("getStats - Should start from the grouped query and apply committed changes")
+	void getStats_ShouldApplyChanges_AfterRebuild() {
+		// Given
+		when(orderItemRepository.sumActiveByProductId()).thenReturn(Arrays.asList(
+				totals(100, 2, 7),
+				totals(200, 1, 3)));
+		shippingStatsService.rebuild();
+
+		// When
+		shippingStatsService.onShippingChanged(ShippingChangedEvent.created(orderItem(10, 300, 4)));
+		shippingStatsService.onShippingChanged(ShippingChangedEvent.created(orderItem(11, 100, 1)));
+		shippingStatsService.onShippingChanged(ShippingChangedEvent.deleted(orderItem(3, 200, 3)));
+		final ShippingStatsDto stats = shippingStatsService.getStats();
+
+		// Then
+		assertEquals(4, stats.getActiveShippings());
+		assertEquals(12, stats.getTotalQuantity());
+		assertEquals(2, stats.getProducts().size());
+		assertEquals(100, stats.getProducts().get(0).getProductId());
+		assertEquals(3, stats.getProducts().get(0).getActiveShippings());
+		assertEquals(8, stats.getProducts().get(0).getTotalQuantity());
+		assertEquals(300, stats.getProducts().get(1).getProductId());
+		assertEquals(4, stats.getProducts().get(1).getTotalQuantity());
+	}
+
+	@Test
+	@DisplayName("rebuild - Should discard incremental state")
+	void rebuild_ShouldReplaceIncrementalState() {
+		// Given
+		when(orderItemRepository.sumActiveByProductId()).thenReturn(Arrays.asList());
+		shippingStatsService.onShippingChanged(ShippingChangedEvent.created(orderItem(10, 300, 4)));
+
+		// When
+		shippingStatsService.rebuild();
+
+		// Then
+		final ShippingStatsDto stats = shippingStatsService.getStats();
+		assertEquals(0, stats.getActiveShippings());
+		assertTrue(stats.getProducts().isEmpty());
+	}
+
+	private static OrderItem orderItem(final int orderId, final int productId, final int quantity) {
+		return OrderItem.builder()
+				.orderId(orderId)
+				.productId(productId)
+				.orderedQuantity(quantity)
+				.isActive(true)
+				.build();
+	}
+
+	private static ProductShippingTotals totals(final int productId, final long count, final long quantity) {
+		return new ProductShippingTotals() {
+			@Override
+			public Integer getProductId() {
+				return productId;
+			}
+			@Override
+			public Long getShippingCount() {
+				return count;
+			}
+			@Override
+			public Long getTotalQuantity() {
+				return quantity;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,213 @@
+package com.selimhorri.app.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.dto.ShippingChangeType;
+import com.selimhorri.app.dto.ShippingStreamEventDto;
+import com.selimhorri.app.resource.ShippingStreamResource;
+import com.selimhorri.app.service.impl.ShippingStreamServiceImpl;
+
+@DisplayName("ShippingEventBroadcaster Tests")
+class ShippingEventBroadcasterTest {
+
+	@Test
+	@DisplayName("Should push events to subscribers and replay what followed a Last-Event-ID")
+	void shouldPushAndReplayFromLastEventId() throws Exception {
+		// Given
+		final ShippingEventBroadcaster broadcaster = broadcaster(Runnable::run, 8);
+		final MockMvc mockMvc = mockMvc(broadcaster);
+		final MockHttpServletResponse live = subscribe(mockMvc, null);
+
+		// When
+		broadcaster.publish(event(ShippingChangeType.CREATED, 700));
+		broadcaster.publish(event(ShippingChangeType.DEACTIVATED, 701));
+		final String firstId = eventIds(live.getContentAsString()).get(0);
+		final MockHttpServletResponse resumed = subscribe(mockMvc, firstId);
+		final MockHttpServletResponse foreign = subscribe(mockMvc, "0badc0de-1");
+
+		// Then
+		final String stream = live.getContentAsString();
+		assertTrue(stream.contains("\"changeType\":\"CREATED\",\"orderId\":700"), stream);
+		assertTrue(stream.contains("\"changeType\":\"DEACTIVATED\",\"orderId\":701"), stream);
+		assertEquals(1, eventIds(resumed.getContentAsString()).size(), "only the second event is replayed");
+		assertTrue(resumed.getContentAsString().contains("\"orderId\":701"));
+		assertFalse(resumed.getContentAsString().contains("\"orderId\":700"));
+		assertTrue(foreign.getContentAsString().contains("event:" + ShippingEventBroadcaster.RESET_EVENT));
+		assertEquals(1L, broadcaster.getReplayedCount());
+		assertEquals(1L, broadcaster.getResetCount());
+		assertEquals(3, broadcaster.getSubscriberCount());
+	}
+
+	@Test
+	@DisplayName("Should disconnect a subscriber whose buffer overflows without holding up the publisher")
+	void shouldDisconnectSlowSubscriber() throws Exception {
+		// Given
+		final List<Runnable> stalled = new ArrayList<>();
+		final ShippingEventBroadcaster broadcaster = broadcaster(stalled::add, 4);
+		subscribe(mockMvc(broadcaster), null);
+
+		// When
+		for (int orderId = 1; orderId <= 4; orderId++) {
+			broadcaster.publish(event(ShippingChangeType.CREATED, orderId));
+		}
+
+		// Then
+		assertEquals(0, broadcaster.getSubscriberCount());
+		assertEquals(1L, broadcaster.getSlowDisconnectCount());
+		assertEquals(4L, broadcaster.getPublishedCount());
+		assertEquals(1, stalled.size(), "one drain task per subscriber at a time");
+	}
+
+	@Test
+	@DisplayName("Should never admit more than max-subscribers under concurrent subscribes, and free slots on disconnect")
+	void shouldCapConcurrentSubscribers() throws Exception {
+		// Given
+		final List<Runnable> queued = new CopyOnWriteArrayList<>();
+		final ShippingEventBroadcaster broadcaster = broadcaster(queued::add, 4);
+		final int threads = 8;
+		final CountDownLatch start = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		final List<Future<Integer>> admitted = new ArrayList<>();
+
+		// When
+		for (int t = 0; t < threads; t++) {
+			admitted.add(executor.submit(() -> {
+				start.await();
+				int count = 0;
+				for (int i = 0; i < 5; i++) {
+					if (broadcaster.subscribe(null) != null) {
+						count++;
+					}
+				}
+				return count;
+			}));
+		}
+		start.countDown();
+		int total = 0;
+		for (final Future<Integer> future : admitted) {
+			total += future.get(5, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		// Then
+		assertEquals(10, total);
+		assertEquals(10, broadcaster.getSubscriberCount());
+		assertNull(broadcaster.subscribe(null));
+
+		// Overflowing every buffer disconnects them all and gives their slots back
+		for (int orderId = 1; orderId <= 4; orderId++) {
+			broadcaster.publish(event(ShippingChangeType.CREATED, orderId));
+		}
+		assertEquals(0, broadcaster.getSubscriberCount());
+		assertNotNull(broadcaster.subscribe(null));
+	}
+
+	private static ShippingEventBroadcaster broadcaster(final Executor sendExecutor, final int bufferSize) {
+		return broadcaster(sendExecutor, bufferSize, 16);
+	}
+
+	private static ShippingEventBroadcaster broadcaster(final Executor sendExecutor, final int bufferSize,
+			final int maxFramesPerDrain) {
+		// Indented like the application's mapper
+		return new ShippingEventBroadcaster(new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT), sendExecutor,
+				bufferSize, 16, 10, 60_000L, 1_000L, maxFramesPerDrain, 10_000L);
+	}
+
+	@Test
+	@DisplayName("Should write a limited number of frames per drain and requeue the subscriber for the rest")
+	void shouldYieldSendThreadAfterFrameBudget() throws Exception {
+		// Given
+		final List<Runnable> queued = new ArrayList<>();
+		final ShippingEventBroadcaster broadcaster = broadcaster(queued::add, 8, 2);
+		final MockHttpServletResponse live = subscribe(mockMvc(broadcaster), null);
+		for (int orderId = 1; orderId <= 3; orderId++) {
+			broadcaster.publish(event(ShippingChangeType.CREATED, orderId));
+		}
+
+		// When
+		queued.remove(0).run();
+		final long sentInFirstTurn = broadcaster.getSentFrameCount();
+		final int requeued = queued.size();
+		queued.remove(0).run();
+
+		// Then
+		assertEquals(2L, sentInFirstTurn, "the greeting and the first event");
+		assertEquals(1, requeued, "the rest waits for another turn");
+		assertEquals(4L, broadcaster.getSentFrameCount());
+		assertTrue(queued.isEmpty());
+		assertEquals(3, eventIds(live.getContentAsString()).size());
+	}
+
+	@Test
+	@DisplayName("Should keep an idle subscriber on heartbeat")
+	void shouldNotTreatIdleSubscriberAsStalled() throws Exception {
+		// Given
+		final ShippingEventBroadcaster broadcaster = broadcaster(Runnable::run, 8);
+		subscribe(mockMvc(broadcaster), null);
+
+		// When
+		broadcaster.heartbeat();
+
+		// Then
+		assertEquals(1, broadcaster.getSubscriberCount());
+		assertEquals(0L, broadcaster.getStalledDisconnectCount());
+		assertEquals(2L, broadcaster.getSentFrameCount());
+	}
+
+	private static MockMvc mockMvc(final ShippingEventBroadcaster broadcaster) {
+		return MockMvcBuilders.standaloneSetup(new ShippingStreamResource(new ShippingStreamServiceImpl(broadcaster))).build();
+	}
+
+	private static MockHttpServletResponse subscribe(final MockMvc mockMvc, final String lastEventId) throws Exception {
+		return mockMvc.perform(lastEventId != null
+						? get(ShippingStreamResource.STREAM_PATH).header(ShippingStreamResource.LAST_EVENT_ID_HEADER, lastEventId)
+						: get(ShippingStreamResource.STREAM_PATH))
+				.andExpect(request().asyncStarted())
+				.andReturn()
+				.getResponse();
+	}
+
+	private static ShippingStreamEventDto event(final ShippingChangeType changeType, final int orderId) {
+		return ShippingStreamEventDto.builder()
+				.changeType(changeType)
+				.orderId(orderId)
+				.productId(1)
+				.orderedQuantity(1)
+				.build();
+	}
+
+	private static List<String> eventIds(final String stream) {
+		final List<String> ids = new ArrayList<>();
+		for (final String line : stream.split("\n")) {
+			if (line.startsWith("id:")) {
+				ids.add(line.substring(3));
+			}
+		}
+		return ids;
+	}
+
+}
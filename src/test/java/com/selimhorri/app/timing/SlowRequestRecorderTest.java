@@ -0,0 +1,41 @@
+package com.selimhorri.app.timing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SlowRequestRecorder Tests")
+class SlowRequestRecorderTest {
+
+	@Test
+	@DisplayName("record - Should keep only the slowest requests and reject faster ones up front")
+	void record_ShouldKeepSlowestRequests_WhenCapacityExceeded() {
+		// Given
+		final SlowRequestRecorder recorder = new SlowRequestRecorder(3);
+		final long[] totalsMillis = { 5, 40, 12, 90, 1, 33 };
+
+		// When
+		for (final long millis : totalsMillis) {
+			final long nanos = TimeUnit.MILLISECONDS.toNanos(millis);
+			if (recorder.isCandidate(nanos)) {
+				recorder.record(new RequestTiming().toSlowRequest("GET", "/api/shippings", 200, nanos));
+			}
+		}
+
+		// Then
+		final List<SlowRequest> slowest = recorder.snapshot();
+		assertEquals(3, slowest.size());
+		assertEquals(90.0, slowest.get(0).getTotalMillis());
+		assertEquals(40.0, slowest.get(1).getTotalMillis());
+		assertEquals(33.0, slowest.get(2).getTotalMillis());
+		assertFalse(recorder.isCandidate(TimeUnit.MILLISECONDS.toNanos(20)));
+		assertTrue(recorder.isCandidate(TimeUnit.MILLISECONDS.toNanos(50)));
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.selimhorri.app.tracking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.ShipmentEvent;
+import com.selimhorri.app.dto.ShipmentEventType;
+
+@DisplayName("ShipmentEventBatcher Tests")
+class ShipmentEventBatcherTest {
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+	private ShipmentEventBatcher batcher;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+				.thenAnswer(invocation -> {
+					batchSizes.add(invocation.<Collection<?>>getArgument(1).size());
+					return new int[0][];
+				});
+		// Delay long enough that only a full batch or stop() can trigger a write
+		batcher = new ShipmentEventBatcher(jdbcTemplate, new TransactionTemplate(transactionManager),
+				10, 4, 60_000, 1, 0);
+		batcher.start();
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		batcher.stop();
+	}
+
+	@Test
+	@DisplayName("Should write a batch as soon as batchSize events are queued and the rest on stop")
+	@SuppressWarnings("unchecked")
+	void shouldWriteFullBatchesImmediatelyAndRemainderOnStop() throws InterruptedException {
+		// Given / When
+		assertTrue(batcher.offer(events(6)));
+
+		// Then
+		verify(jdbcTemplate, timeout(5_000)).batchUpdate(anyString(), any(Collection.class), anyInt(),
+				any(ParameterizedPreparedStatementSetter.class));
+		// The writer gives back the backlog only after batchUpdate has returned
+		awaitUntil(() -> batcher.getBacklog() == 2);
+		assertEquals(List.of(4), batchSizes);
+		assertEquals(4, batcher.getWrittenCount());
+
+		batcher.stop();
+		assertEquals(List.of(4, 2), batchSizes);
+		assertEquals(6, batcher.getWrittenCount());
+		assertEquals(0, batcher.getBacklog());
+	}
+
+	@Test
+	@DisplayName("Should reject a request that does not fit in full, queueing none of its events")
+	void shouldRejectWholeRequestWhenBacklogIsFull() throws InterruptedException {
+		// Given
+		assertTrue(batcher.offer(events(3)));
+
+		// When
+		final boolean accepted = batcher.offer(events(8));
+
+		// Then
+		assertFalse(accepted);
+		assertEquals(8, batcher.getRejectedCount());
+		batcher.stop();
+		assertEquals(3, batcher.getWrittenCount());
+		assertFalse(batcher.offer(events(1)));
+	}
+
+	private static void awaitUntil(final BooleanSupplier condition) throws InterruptedException {
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() - deadline < 0, "condition not met within 5 s");
+			Thread.sleep(10);
+		}
+	}
+
+	private static List<ShipmentEvent> events(final int count) {
+		final Instant now = Instant.now();
+		return IntStream.range(0, count)
+				.mapToObj(i -> ShipmentEvent.builder()
+						.orderId(i)
+						.eventType(ShipmentEventType.IN_TRANSIT)
+						.occurredAt(now)
+						.receivedAt(now)
+						.build())
+				.collect(Collectors.toCollection(ArrayList::new));
+	}
+
+}
@@ -0,0 +1,120 @@
+package com.selimhorri.app.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.selimhorri.app.client.OrderClient;
+import com.selimhorri.app.client.ProductClient;
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderStatus;
+import com.selimhorri.app.repository.OrderItemRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WarmUpRunner Tests")
+class WarmUpRunnerTest {
+
+	// Nothing listens here, so every synthetic request fails fast
+	private static final String UNREACHABLE = "http://localhost:1/shipping-service";
+
+	@Mock
+	private OrderItemRepository orderItemRepository;
+
+	@Mock
+	private ProductClient productClient;
+
+	@Mock
+	private OrderClient orderClient;
+
+	@Test
+	@DisplayName("Should prefetch each distinct product and order once, then report the instance UP")
+	void shouldPrefetchDistinctLookupsAndReportUp() throws Exception {
+		// Given
+		when(orderItemRepository.findByIsActiveTrueAndOrderStatus(eq(OrderStatus.ORDERED), any(Pageable.class)))
+				.thenReturn(new SliceImpl<>(Arrays.asList(item(1, 10), item(1, 11), item(2, 10))));
+		when(orderClient.findCachedById(1)).thenReturn(new OrderDto());
+		when(orderClient.findCachedById(2)).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+		final WarmUpRunner runner = new WarmUpRunner(orderItemRepository, productClient, orderClient,
+				Duration.ofSeconds(30), 200, 4, 5, 2);
+		final WarmUpHealthCheckHandler handler = new WarmUpHealthCheckHandler(runner);
+		final WarmUpHealthIndicator indicator = new WarmUpHealthIndicator(runner);
+		final AtomicInteger finished = new AtomicInteger();
+		runner.onFinished(finished::incrementAndGet);
+		assertEquals(InstanceStatus.STARTING, handler.getStatus(InstanceStatus.STARTING));
+		assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+
+		// When
+		final WarmUpRunner.State state = runner.start(UNREACHABLE).get(30, TimeUnit.SECONDS);
+
+		// Then
+		assertEquals(WarmUpRunner.State.COMPLETED, state);
+		verify(productClient, times(1)).findCachedById(10);
+		verify(productClient, times(1)).findCachedById(11);
+		verify(orderClient, times(1)).findCachedById(1);
+		verify(orderClient, times(1)).findCachedById(2);
+		assertEquals(3, runner.getLookupCount());
+		assertEquals(1, runner.getFailedLookupCount());
+		assertEquals(5, runner.getRequestCount() + runner.getFailedRequestCount());
+		assertEquals(1, finished.get());
+		assertEquals(InstanceStatus.UP, handler.getStatus(InstanceStatus.STARTING));
+		assertEquals(InstanceStatus.OUT_OF_SERVICE, handler.getStatus(InstanceStatus.OUT_OF_SERVICE));
+		assertEquals(Status.UP, indicator.health().getStatus());
+	}
+
+	@Test
+	@DisplayName("Should stop waiting on a slow downstream once the timeout has passed")
+	void shouldTimeOut() throws Exception {
+		// Given
+		when(orderItemRepository.findByIsActiveTrueAndOrderStatus(eq(OrderStatus.ORDERED), any(Pageable.class)))
+				.thenReturn(new SliceImpl<>(Arrays.asList(item(1, 10), item(2, 11))));
+		when(productClient.findCachedById(anyInt())).thenAnswer(invocation -> {
+			Thread.sleep(5_000);
+			return null;
+		});
+		final WarmUpRunner runner = new WarmUpRunner(orderItemRepository, productClient, orderClient,
+				Duration.ofMillis(200), 200, 1, 5, 1);
+
+		// When
+		final WarmUpRunner.State state = runner.start(UNREACHABLE).get(30, TimeUnit.SECONDS);
+
+		// Then
+		assertEquals(WarmUpRunner.State.TIMED_OUT, state);
+		assertTrue(runner.isFinished());
+		assertTrue(runner.getDurationMillis() < 5_000, "finished before the slow lookup returned");
+		assertEquals(InstanceStatus.UP, new WarmUpHealthCheckHandler(runner).getStatus(InstanceStatus.STARTING));
+	}
+
+	private static OrderItem item(final int orderId, final int productId) {
+		return OrderItem.builder()
+				.orderId(orderId)
+				.productId(productId)
+				.orderedQuantity(1)
+				.orderStatus(OrderStatus.ORDERED)
+				.isActive(true)
+				.build();
+	}
+
+}